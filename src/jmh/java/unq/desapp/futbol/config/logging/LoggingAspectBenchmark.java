@@ -0,0 +1,118 @@
+package unq.desapp.futbol.config.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-call overhead of {@link LoggingAspect} on a trivial service method,
+ * against a direct call. FULL with the synchronous appender is the former
+ * behaviour; SAMPLED with the asynchronous appender is the production setup.
+ * Output goes through the real JSON encoder into a null stream, so encoding
+ * is measured but I/O is not. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoggingAspectBenchmark {
+
+    @Param({ "FULL", "SAMPLED" })
+    private String mode;
+
+    @Param({ "SYNC", "ASYNC" })
+    private String appender;
+
+    private BenchService target;
+    private BenchService advised;
+    private LoggerContext loggerContext;
+
+    @Setup
+    public void setUp() {
+        loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.reset();
+
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(loggerContext);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> json = new OutputStreamAppender<>();
+        json.setContext(loggerContext);
+        json.setEncoder(encoder);
+        json.setOutputStream(OutputStream.nullOutputStream());
+        json.start();
+
+        Appender<ILoggingEvent> root = json;
+        if ("ASYNC".equals(appender)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(loggerContext);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(819);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(json);
+            async.start();
+            root = async;
+        }
+        ch.qos.logback.classic.Logger rootLogger = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(Level.INFO);
+        rootLogger.addAppender(root);
+
+        target = new BenchService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggingAspect(LoggingAspect.Mode.valueOf(mode), 0.01, Duration.ofMillis(500)));
+        advised = factory.getProxy();
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.reset();
+    }
+
+    @Benchmark
+    public String directCall() {
+        return target.lookup("Boca");
+    }
+
+    @Benchmark
+    public String advisedCall() {
+        return advised.lookup("Boca");
+    }
+
+    @Benchmark
+    public String advisedMono() {
+        return advised.lookupReactive("Boca").block();
+    }
+
+    @Service
+    public static class BenchService {
+
+        public String lookup(String name) {
+            return name;
+        }
+
+        public Mono<String> lookupReactive(String name) {
+            return Mono.just(name);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package unq.desapp.futbol.security;
+
+import io.jsonwebtoken.Jwts;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
+import unq.desapp.futbol.model.Role;
+import unq.desapp.futbol.model.User;
+import unq.desapp.futbol.service.ReactiveUserService;
+
+/**
+ * Cost of authenticating one request with a bearer token: the former path
+ * (two parsers, two signature checks), a single verification without and
+ * with the verified-token cache, and the whole authentication manager with
+ * both caches warm. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthenticationBenchmark {
+
+    private JwtTokenProvider uncachedProvider;
+    private JwtTokenProvider cachedProvider;
+    private ReactiveJwtAuthenticationManager authenticationManager;
+    private String token;
+    private Authentication bearer;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[32];
+        for (int i = 0; i < secret.length; i++) {
+            secret[i] = (byte) (i + 1);
+        }
+        String secretBase64 = Base64.getEncoder().encodeToString(secret);
+        uncachedProvider = new JwtTokenProvider(secretBase64, 3_600_000L, Duration.ofMinutes(5), 0);
+        cachedProvider = new JwtTokenProvider(secretBase64, 3_600_000L, Duration.ofMinutes(5), 10_000);
+
+        User user = new User("bench@example.com", "hash", "Bench", "User", Role.USER);
+        user.setId(1L);
+        token = cachedProvider.generateToken(user);
+        bearer = new UsernamePasswordAuthenticationToken(null, token);
+        authenticationManager = new ReactiveJwtAuthenticationManager(cachedProvider, new ReactiveUserService() {
+            @Override
+            public Mono<User> findByEmail(String email) {
+                return Mono.just(user);
+            }
+
+            @Override
+            public Mono<User> loginUser(String email, String password) {
+                return Mono.empty();
+            }
+
+            @Override
+            public Mono<User> registerUser(User newUser) {
+                return Mono.empty();
+            }
+        }, new PrincipalCache(Duration.ofMinutes(5), 10_000));
+    }
+
+    @Benchmark
+    public void twoParsersTwoVerifications(Blackhole blackhole) {
+        blackhole.consume(Jwts.parser().verifyWith(uncachedProvider.getKey()).build().parseSignedClaims(token));
+        blackhole.consume(Jwts.parser().verifyWith(uncachedProvider.getKey()).build().parseSignedClaims(token)
+                .getPayload().getSubject());
+    }
+
+    @Benchmark
+    public Object verifyWithoutCache() {
+        return uncachedProvider.verify(token);
+    }
+
+    @Benchmark
+    public Object verifyCached() {
+        return cachedProvider.verify(token);
+    }
+
+    @Benchmark
+    public Object authenticateCached() {
+        return authenticationManager.authenticate(bearer).block();
+    }
+}
@@ -0,0 +1,273 @@
+package unq.desapp.futbol.service.impl;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.LoggerFactory;
+import unq.desapp.futbol.config.cache.ResultCacheManager;
+import unq.desapp.futbol.config.metrics.ScrapeStages;
+import unq.desapp.futbol.config.tracing.TraceSpans;
+import unq.desapp.futbol.model.Player;
+
+/**
+ * Throughput of the CPU-bound half of each scrape in
+ * {@link ScrapingServiceImpl}, from the downloaded body to the mapped result:
+ * the fixtures page and its data literal, the match page and its data
+ * literal, the statistics feed and its squad mapping, and search-page
+ * selection. Pages approximate the size and shape of the real ones (a
+ * season of fixtures, a full squad, tens of search results, the surrounding
+ * scripts and markup) and are generated from the rows of the WireMock
+ * fixtures. Run with {@code ./gradlew jmh}; the {@code gc} profiler adds the
+ * allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ScrapingParseBenchmark {
+
+    private static final String BASE_URL = "https://www.whoscored.com";
+    private static final String FIXTURES_MARKER = "require.config.params['args']";
+    private static final String MATCH_MARKER = "require.config.params[\"args\"]";
+    private static final int FIXTURES = 60;
+    private static final int SQUAD_SIZE = 32;
+    private static final int SEARCH_RESULTS = 40;
+    private static final int MEETINGS = 10;
+    private static final String[] TEAMS = { "River Plate", "Boca Juniors", "Racing Club", "Independiente",
+            "San Lorenzo", "Talleres", "Estudiantes", "Velez Sarsfield", "Lanus", "Huracan", "Rosario Central",
+            "Argentinos Juniors" };
+    private static final String[] COUNTRIES = { "England", "Spain", "Italy", "Germany", "France", "Brazil",
+            "Uruguay", "Chile" };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ScrapingServiceImpl service;
+    private String fixturesHtml;
+    private String fixturesScript;
+    private String matchHtml;
+    private String matchScript;
+    private String squadFeed;
+    private JsonNode squadArray;
+    private String searchHtml;
+    private Document searchPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Plain logback defaults to DEBUG on the console, which would dominate
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.getLogger("unq.desapp.futbol").setLevel(Level.WARN);
+
+        service = new ScrapingServiceImpl(BASE_URL, new ResultCacheManager(Duration.ofMinutes(5), 100),
+                new ScrapeStages(new SimpleMeterRegistry(), TraceSpans.NOOP));
+
+        fixturesHtml = page("Fixtures", "<script>\n" + FIXTURES_MARKER + " = " + fixturesLiteral() + ";\n</script>");
+        fixturesScript = ScrapingServiceImpl.findScript(Jsoup.parse(fixturesHtml, BASE_URL), FIXTURES_MARKER);
+        matchHtml = page("Match Preview", "<script>\n" + MATCH_MARKER + " = " + matchLiteral() + ";\n</script>");
+        matchScript = ScrapingServiceImpl.findScript(Jsoup.parse(matchHtml, BASE_URL), MATCH_MARKER);
+        squadFeed = squadFeed();
+        squadArray = objectMapper.readTree(squadFeed).path("playerTableStats");
+        searchHtml = page("Search", searchResults());
+        searchPage = Jsoup.parse(searchHtml, BASE_URL);
+
+        verify();
+    }
+
+    @Benchmark
+    public List<List<Object>> buildFixtureMatches() throws IOException {
+        return service.parseFixtureMatches(fixturesScript);
+    }
+
+    @Benchmark
+    public List<List<Object>> fixturesPage() throws IOException {
+        Document page = Jsoup.parse(fixturesHtml, BASE_URL);
+        return service.parseFixtureMatches(ScrapingServiceImpl.findScript(page, FIXTURES_MARKER));
+    }
+
+    @Benchmark
+    public JsonNode parseMatchJson() throws IOException {
+        return service.parseMatchJson(matchScript);
+    }
+
+    @Benchmark
+    public JsonNode extractMatchJson() throws IOException {
+        Document page = Jsoup.parse(matchHtml, BASE_URL);
+        return service.parseMatchJson(ScrapingServiceImpl.findScript(page, MATCH_MARKER));
+    }
+
+    @Benchmark
+    public List<Player> mapSquad() {
+        return service.mapPlayers(squadArray);
+    }
+
+    @Benchmark
+    public List<Player> squadFeed() throws IOException {
+        // The feed goes through the HTML parser first, like any fetched document
+        String json = Jsoup.parse(squadFeed, BASE_URL).body().text();
+        return service.mapPlayers(objectMapper.readTree(json).path("playerTableStats"));
+    }
+
+    @Benchmark
+    public String selectTeamUrl() {
+        return service.selectTeamUrl(searchPage, "Boca Juniors", "Uruguay");
+    }
+
+    @Benchmark
+    public String teamSearchPage() {
+        return service.selectTeamUrl(Jsoup.parse(searchHtml, BASE_URL), "Boca Juniors", "Uruguay");
+    }
+
+    @Benchmark
+    public String playerSearchPage() throws IOException {
+        return service.selectPlayerUrl(Jsoup.parse(searchHtml, BASE_URL), "Player 0");
+    }
+
+    private void verify() throws IOException {
+        if (buildFixtureMatches().size() != FIXTURES
+                || parseMatchJson().path("homeMatches").get(0).size() != MEETINGS
+                || mapSquad().size() != SQUAD_SIZE
+                || !selectTeamUrl().contains("/teams/")) {
+            throw new IllegalStateException("Generated pages no longer match what the scraper expects");
+        }
+    }
+
+    // Real pages carry a large header, navigation and a score of unrelated scripts around the data
+    private static String page(String title, String content) {
+        StringBuilder html = new StringBuilder(256 * 1024)
+                .append("<!DOCTYPE html>\n<html>\n<head>\n<title>WhoScored - ").append(title).append("</title>\n");
+        for (int i = 0; i < 20; i++) {
+            html.append("<script>\nvar module").append(i).append(" = { id: ").append(i)
+                    .append(", settings: { lazy: true, retries: 3, endpoints: [");
+            for (int j = 0; j < 40; j++) {
+                html.append("'/static/js/module-").append(i).append('-').append(j).append(".js', ");
+            }
+            html.append("] } };\n</script>\n");
+        }
+        html.append("<link rel=\"stylesheet\" href=\"/static/css/main.css\">\n</head>\n<body>\n<nav class=\"main-nav\"><ul>\n");
+        for (int i = 0; i < 600; i++) {
+            html.append("<li class=\"nav-item\"><a href=\"/regions/").append(i).append("/tournaments/").append(i * 3)
+                    .append("\" title=\"Tournament ").append(i).append("\">Tournament ").append(i).append("</a></li>\n");
+        }
+        html.append("</ul></nav>\n<div id=\"layout-wrapper\">\n").append(content).append("\n</div>\n");
+        for (int i = 0; i < 200; i++) {
+            html.append("<div class=\"footer-link\"><span>Link ").append(i).append("</span></div>\n");
+        }
+        return html.append("</body>\n</html>\n").toString();
+    }
+
+    private static String fixturesLiteral() {
+        StringBuilder literal = new StringBuilder("{\n    fixtureMatches: [\n");
+        LocalDate date = LocalDate.of(2024, 8, 1);
+        for (int i = 0; i < FIXTURES; i++) {
+            boolean played = i < FIXTURES * 2 / 3;
+            literal.append("        ").append(fixtureRow(1_800_000 + i, date.plusDays(5L * i),
+                    TEAMS[i % TEAMS.length], TEAMS[(i + 5) % TEAMS.length],
+                    played ? (i % 4) + "-" + (i % 3) : "vs", i % 5 == 0 ? "Copa Argentina" : "Liga Profesional", ""))
+                    .append(i < FIXTURES - 1 ? ",\n" : "\n");
+        }
+        return literal.append("    ]\n}").toString();
+    }
+
+    private static String matchLiteral() {
+        StringBuilder literal = new StringBuilder("{\n    \"previousMeetings\": [\n");
+        appendRows(literal, 1_700_000, 18);
+        literal.append("    ],\n    \"showLeagueTableStandings\": true,\n    \"standings\": [\n");
+        for (int i = 0; i < 28; i++) {
+            literal.append("        [").append(i + 1).append(", '").append(TEAMS[i % TEAMS.length]).append("', ")
+                    .append(27).append(", ").append(30 - i).append(", ").append(i % 7).append(", ")
+                    .append(i).append("]").append(i < 27 ? ",\n" : "\n");
+        }
+        literal.append("    ],\n    \"homeMatches\": [\n        [\n");
+        appendRows(literal, 1_710_000, 16);
+        literal.append("        ]\n    ],\n    \"awayMatches\": [\n        [\n");
+        appendRows(literal, 1_720_000, 16);
+        return literal.append("        ]\n    ]\n}").toString();
+    }
+
+    // Meetings carry the goals in their last three fields, after a run of unused ones
+    private static void appendRows(StringBuilder literal, int firstId, int unusedFields) {
+        LocalDate date = LocalDate.of(2024, 5, 1);
+        for (int i = 0; i < MEETINGS; i++) {
+            int home = i % 4;
+            int away = i % 3;
+            String goals = ", 0".repeat(unusedFields) + ", '" + (home + away) + "', '" + home + "', '" + away + "'";
+            literal.append("            ").append(fixtureRow(firstId + i, date.minusDays(14L * i),
+                    TEAMS[i % TEAMS.length], TEAMS[(i + 1) % TEAMS.length], home + "-" + away, "Liga Profesional",
+                    goals)).append(i < MEETINGS - 1 ? ",\n" : "\n");
+        }
+    }
+
+    // Same layout as the WireMock fixtures: id, date, home team, away team, score, competition
+    private static String fixtureRow(int id, LocalDate date, String home, String away, String score,
+            String competition, String tail) {
+        return "[" + id + ", '', '" + date + "', 0, 0, '" + home + "', 0, 0, '" + away + "', 0, '" + score
+                + "', 0, 0, 0, 0, 0, '" + competition + "'" + tail + "]";
+    }
+
+    private static String squadFeed() {
+        StringBuilder json = new StringBuilder("{\"playerTableStats\":[");
+        for (int i = 0; i < SQUAD_SIZE; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"playerId\":").append(300_000 + i)
+                    .append(",\"name\":\"Player ").append(i).append('"')
+                    .append(",\"firstName\":\"Player\",\"lastName\":\"").append(i).append('"')
+                    .append(",\"age\":").append(18 + i % 18)
+                    .append(",\"teamId\":69,\"teamName\":\"River Plate\",\"teamRegionName\":\"")
+                    .append(COUNTRIES[i % COUNTRIES.length]).append('"')
+                    .append(",\"regionCode\":\"ar\",\"tournamentId\":67,\"tournamentName\":\"Liga Profesional\"")
+                    .append(",\"seasonId\":10000,\"seasonName\":\"2024\",\"positionText\":\"")
+                    .append(i % 4 == 0 ? "Defender" : i % 4 == 1 ? "Midfielder" : i % 4 == 2 ? "Forward" : "Goalkeeper")
+                    .append("\",\"playedPositions\":\"-DC-DMC-\",\"height\":").append(170 + i % 25)
+                    .append(",\"weight\":").append(65 + i % 20)
+                    .append(",\"apps\":").append(i % 30).append(",\"subOn\":").append(i % 6)
+                    .append(",\"minsPlayed\":").append(90 * (i % 30))
+                    .append(",\"rating\":").append(6.0 + (i % 20) / 10.0)
+                    .append(",\"goal\":").append(i % 9).append(",\"assistTotal\":").append(i % 7)
+                    .append(",\"yellowCard\":").append(i % 5).append(",\"redCard\":").append(i % 2)
+                    .append(",\"shotsPerGame\":").append((i % 10) / 4.0)
+                    .append(",\"aerialWonPerGame\":").append((i % 8) / 3.0)
+                    .append(",\"manOfTheMatch\":").append(i % 3)
+                    .append(",\"passSuccess\":").append(70.0 + i % 25)
+                    .append(",\"ranking\":").append(i + 1)
+                    .append(",\"isManOfTheMatch\":false,\"isOpta\":true}");
+        }
+        return json.append("],\"paging\":{\"currentPage\":1,\"totalPages\":1,\"resultsPerPage\":")
+                .append(SQUAD_SIZE).append(",\"totalResults\":").append(SQUAD_SIZE).append("}}").toString();
+    }
+
+    // The requested team sits near the end, so selection walks most of the table
+    private static String searchResults() {
+        StringBuilder html = new StringBuilder("<div class=\"search-result\">\n<h2>Teams:</h2>\n<table>\n");
+        html.append("<tr><th>Name</th><th>Country</th></tr>\n");
+        for (int i = 0; i < SEARCH_RESULTS; i++) {
+            String name = TEAMS[i % TEAMS.length];
+            String country = i == SEARCH_RESULTS - 3 ? "Uruguay" : COUNTRIES[i % (COUNTRIES.length - 2)];
+            html.append("<tr><td><a href=\"/teams/").append(1000 + i).append("/show/")
+                    .append(name.replace(' ', '-')).append("\" class=\"team-link\">").append(name)
+                    .append("</a></td><td>").append(country).append("</td></tr>\n");
+        }
+        html.append("</table>\n<h2>Players:</h2>\n<table>\n");
+        for (int i = 0; i < SEARCH_RESULTS; i++) {
+            html.append("<tr><td><a href=\"/Players/").append(5000 + i).append("/show/Player-").append(i)
+                    .append("\">Player ").append(i).append("</a></td><td>").append(TEAMS[i % TEAMS.length])
+                    .append("</td></tr>\n");
+        }
+        return html.append("</table>\n</div>").toString();
+    }
+}
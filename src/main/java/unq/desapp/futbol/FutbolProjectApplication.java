@@ -7,8 +7,11 @@ import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// The R2DBC connection factory is built by ReactiveDatabaseConfig; exposing one as a
+// bean would make Spring Boot back off from the JDBC DataSource that JPA relies on
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @OpenAPIDefinition(info = @Info(
 	title = "Advanced Football Analytics API",
 	version = "1.0",
@@ -0,0 +1,60 @@
+package unq.desapp.futbol.config;
+
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import java.time.Duration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Opens the same H2 database used by JPA through R2DBC, so that request paths
+ * can read and write users and history through reactive repositories. The H2
+ * driver still runs each statement on the subscribing thread, which is why the
+ * repositories subscribe on the bounded elastic scheduler. The pool is
+ * deliberately not registered as a {@code ConnectionFactory} bean: Spring Boot
+ * would then skip the JDBC {@code DataSource} configuration.
+ */
+@Configuration
+public class ReactiveDatabaseConfig implements DisposableBean {
+
+    private static final String JDBC_H2_PREFIX = "jdbc:h2:";
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(
+            @Value("${spring.datasource.url}") String jdbcUrl,
+            @Value("${spring.datasource.username:sa}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${app.r2dbc.pool.max-size:10}") int maxSize,
+            @Value("${app.r2dbc.pool.max-idle-time:PT30M}") Duration maxIdleTime) {
+        if (!jdbcUrl.startsWith(JDBC_H2_PREFIX)) {
+            throw new IllegalStateException("Reactive persistence only supports H2, got: " + jdbcUrl);
+        }
+
+        H2ConnectionFactory connectionFactory = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+                .url(jdbcUrl.substring(JDBC_H2_PREFIX.length()))
+                .username(username)
+                .password(password)
+                .build());
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("futbol-r2dbc")
+                .initialSize(1)
+                .maxSize(maxSize)
+                .maxIdleTime(maxIdleTime)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
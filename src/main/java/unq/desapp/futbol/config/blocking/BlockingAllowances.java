@@ -0,0 +1,20 @@
+package unq.desapp.futbol.config.blocking;
+
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+/**
+ * Blocking calls known to be harmless on event loops, registered as a
+ * service so that every BlockHound installation picks them up, including the
+ * one the test platform makes: {@link java.util.UUID#randomUUID()} reads the
+ * seeded entropy pool once, and the console appenders write to a local
+ * stream (the production profile logs through an asynchronous appender).
+ */
+public class BlockingAllowances implements BlockHoundIntegration {
+
+    @Override
+    public void applyTo(BlockHound.Builder builder) {
+        builder.allowBlockingCallsInside("java.util.UUID", "randomUUID")
+                .allowBlockingCallsInside("ch.qos.logback.core.OutputStreamAppender", "subAppend");
+    }
+}
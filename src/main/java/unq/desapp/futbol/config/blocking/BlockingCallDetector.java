@@ -0,0 +1,169 @@
+package unq.desapp.futbol.config.blocking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingMethod;
+import reactor.blockhound.BlockingOperationError;
+
+/**
+ * Detects blocking calls made on non-blocking threads (Netty event loops and
+ * Reactor's parallel schedulers) with BlockHound. {@code REPORT} counts each
+ * violation by its signature, the blocking method and the first application
+ * frame that led to it, and logs the stack the first time a signature is
+ * seen; {@code FAIL} additionally throws, so the offending request or test
+ * fails. BlockHound instruments the JVM once and for good, so the callback
+ * goes to whichever detector is currently running. Needs the JVM flag
+ * {@code -XX:+AllowRedefinitionToAddDeleteMethods}; without it detection
+ * stays off and a warning says so.
+ */
+@Component
+public class BlockingCallDetector implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlockingCallDetector.class);
+    private static final String APP_PACKAGE = "unq.desapp.futbol.";
+    static final String OVERFLOW = "other";
+    static final String UNKNOWN_CALLER = "unknown";
+
+    private static final AtomicBoolean INSTALLED = new AtomicBoolean();
+    private static final AtomicReference<BlockingCallDetector> ACTIVE = new AtomicReference<>();
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    public enum Mode {
+        OFF,
+        REPORT,
+        FAIL
+    }
+
+    private final Mode mode;
+    private final MeterRegistry meterRegistry;
+    private final int maxSignatures;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    // Set once the signature budget is spent; new signatures then skip the lock
+    private volatile Counter overflow;
+    private volatile boolean running;
+
+    public BlockingCallDetector(
+            @Value("${app.blocking.detection:OFF}") Mode mode,
+            MeterRegistry meterRegistry,
+            @Value("${app.blocking.max-signatures:100}") int maxSignatures) {
+        this.mode = mode;
+        this.meterRegistry = meterRegistry;
+        this.maxSignatures = Math.max(1, maxSignatures);
+    }
+
+    @Override
+    public void start() {
+        if (mode != Mode.OFF && install()) {
+            ACTIVE.set(this);
+            logger.info("Blocking call detection enabled in {} mode", mode);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        ACTIVE.compareAndSet(this, null);
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Counts the call under its signature and, in {@code FAIL} mode, throws
+     * BlockHound's error. Runs on the offending thread.
+     */
+    void onBlockingCall(BlockingMethod method) {
+        String caller = WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE)
+                        && !frame.getClassName().equals(BlockingCallDetector.class.getName()))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(APP_PACKAGE.length()) + "." + frame.getMethodName())
+                .orElse(UNKNOWN_CALLER));
+
+        String blockingMethod = method.toString();
+        String signature = blockingMethod + " <- " + caller;
+        Counter counter = counters.get(signature);
+        if (counter == null) {
+            Counter shared = overflow;
+            counter = shared != null ? shared : register(signature, blockingMethod, caller, method);
+        }
+        counter.increment();
+
+        if (mode == Mode.FAIL) {
+            throw new BlockingOperationError(method);
+        }
+    }
+
+    private synchronized Counter register(String signature, String blockingMethod, String caller,
+            BlockingMethod method) {
+        Counter counter = counters.get(signature);
+        if (counter != null) {
+            return counter;
+        }
+
+        if (counters.size() >= maxSignatures) {
+            // Further signatures share one series to keep the cardinality bounded
+            if (overflow == null) {
+                overflow = counter(OVERFLOW, OVERFLOW);
+            }
+            return overflow;
+        }
+
+        logger.warn("Blocking call {} from {} on non-blocking thread {}", blockingMethod, caller,
+                Thread.currentThread().getName(), new BlockingOperationError(method));
+        counter = counter(blockingMethod, caller);
+        counters.put(signature, counter);
+        return counter;
+    }
+
+    private Counter counter(String blockingMethod, String caller) {
+        return Counter.builder("app_blocking_calls_total")
+                .description("Blocking calls made on non-blocking threads")
+                .tag("method", blockingMethod)
+                .tag("caller", caller)
+                .register(meterRegistry);
+    }
+
+    private static void dispatch(BlockingMethod method) {
+        BlockingCallDetector detector = ACTIVE.get();
+        if (detector != null) {
+            detector.onBlockingCall(method);
+        }
+    }
+
+    private static boolean install() {
+        if (INSTALLED.get()) {
+            return true;
+        }
+        synchronized (INSTALLED) {
+            if (INSTALLED.get()) {
+                return true;
+            }
+            try {
+                // Allowances registered as services (BlockingAllowances) are loaded as well
+                BlockHound.install(builder -> builder
+                        .allowBlockingCallsInside(BlockingCallDetector.class.getName(), "register")
+                        .blockingMethodCallback(BlockingCallDetector::dispatch));
+                INSTALLED.set(true);
+                return true;
+            } catch (RuntimeException | LinkageError e) {
+                logger.warn("Blocking call detection is off: BlockHound could not be installed "
+                        + "(the JVM needs -XX:+AllowRedefinitionToAddDeleteMethods)", e);
+                return false;
+            }
+        }
+    }
+}
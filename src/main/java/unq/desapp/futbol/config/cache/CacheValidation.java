@@ -0,0 +1,161 @@
+package unq.desapp.futbol.config.cache;
+
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import org.springframework.http.CacheControl;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * Per-request accumulator of the cache validators behind a response.
+ * It travels in the Reactor context and is bound to the worker thread while
+ * blocking scraping code runs, so every {@link ResultCache} hit or load can
+ * contribute its validator and expiry. Validators are opaque tokens that
+ * identify one version of one value, e.g. {@code squads:1718000000123}.
+ */
+public class CacheValidation {
+
+    public static final String CONTEXT_KEY = CacheValidation.class.getName();
+
+    private static final ThreadLocal<CacheValidation> CURRENT = new ThreadLocal<>();
+    private static final ContextSnapshotFactory SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    private static final int ETAG_BYTES = 16;
+
+    private final String ifNoneMatch;
+    private final SortedSet<String> validators = new TreeSet<>();
+    private Instant expiresAt;
+
+    public CacheValidation(String ifNoneMatch) {
+        this.ifNoneMatch = ifNoneMatch;
+    }
+
+    /**
+     * Same as {@link Mono#fromCallable(Callable)}, but binds the request's
+     * {@link CacheValidation} to the thread executing the callable. Registered
+     * thread locals (e.g. the correlation ID in the MDC) are restored from the
+     * context as well, since the callable runs outside any operator that would
+     * restore them.
+     */
+    public static <T> Mono<T> fromCallable(Callable<T> callable) {
+        return Mono.deferContextual(context -> {
+            CacheValidation validation = from(context);
+            return Mono.fromCallable(() -> {
+                CacheValidation previous = CURRENT.get();
+                CURRENT.set(validation);
+                try (ContextSnapshot.Scope scope = SNAPSHOTS.setThreadLocalsFrom(context)) {
+                    return callable.call();
+                } finally {
+                    CURRENT.set(previous);
+                }
+            });
+        });
+    }
+
+    /**
+     * Emits the value after folding its validators into the request's
+     * {@link CacheValidation}, for values that do not come from a {@link ResultCache}.
+     */
+    public static <T> Mono<T> justRecorded(T value, String validator, Instant expiresAt) {
+        return Mono.deferContextual(context -> {
+            CacheValidation validation = from(context);
+            if (validation != null) {
+                validation.record(validator, expiresAt);
+            }
+            return Mono.just(value);
+        });
+    }
+
+    public static CacheValidation from(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    public static void recordCurrent(String validator, Instant expiresAt) {
+        CacheValidation validation = CURRENT.get();
+        if (validation != null) {
+            validation.record(validator, expiresAt);
+        }
+    }
+
+    /**
+     * Adds a validator. The ETag digests the sorted set of validators, so
+     * concurrent contributions (e.g. both sides of a comparison) always
+     * produce the same ETag, while different sets do not collide the way a
+     * sum of versions can.
+     */
+    public synchronized void record(String validator, Instant entryExpiresAt) {
+        validators.add(validator);
+        if (expiresAt == null || entryExpiresAt.isBefore(expiresAt)) {
+            expiresAt = entryExpiresAt;
+        }
+    }
+
+    public synchronized boolean hasValidators() {
+        return !validators.isEmpty();
+    }
+
+    public synchronized String getETag() {
+        MessageDigest digest = sha256();
+        for (String validator : validators) {
+            digest.update(validator.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        byte[] hash = digest.digest();
+        return "\"" + HexFormat.of().formatHex(hash, 0, ETAG_BYTES) + "\"";
+    }
+
+    public synchronized Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public synchronized CacheControl getCacheControl(Instant now) {
+        return cacheControl(expiresAt, now);
+    }
+
+    public boolean isNotModified() {
+        return hasValidators() && matches(ifNoneMatch, getETag());
+    }
+
+    static CacheControl cacheControl(Instant expiresAt, Instant now) {
+        long remainingSeconds = Math.max(0, Duration.between(now, expiresAt).getSeconds());
+        return CacheControl.maxAge(Duration.ofSeconds(remainingSeconds));
+    }
+
+    /**
+     * Whether an If-None-Match header value matches the ETag, using the weak
+     * comparison GET requests call for.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
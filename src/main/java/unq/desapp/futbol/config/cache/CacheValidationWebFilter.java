@@ -0,0 +1,87 @@
+package unq.desapp.futbol.config.cache;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Opens a {@link CacheValidation} for GET requests to the team and player
+ * endpoints, so their responses can carry validators and honour If-None-Match.
+ * The last ETag issued for each URL is remembered until its validators
+ * expire; none of them can change before then, so a request presenting it
+ * gets its 304 without scraping or recording history.
+ */
+@Component
+public class CacheValidationWebFilter implements WebFilter {
+
+    private static final List<String> CACHEABLE_PATH_PREFIXES = List.of("/teams/", "/player/");
+
+    private final Map<String, IssuedETag> issued;
+
+    public CacheValidationWebFilter(@Value("${app.cache.max-entries:10000}") int maxEntries) {
+        this.issued = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IssuedETag> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!HttpMethod.GET.equals(request.getMethod()) || !isCacheable(request)) {
+            return chain.filter(exchange);
+        }
+
+        String url = request.getURI().getRawPath() + "?" + request.getURI().getRawQuery();
+        String ifNoneMatch = request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        Instant now = Instant.now();
+        IssuedETag current = issued.get(url);
+        if (current != null && current.expiresAt().isAfter(now)
+                && CacheValidation.matches(ifNoneMatch, current.etag())) {
+            return notModified(exchange.getResponse(), current, now);
+        }
+
+        CacheValidation validation = new CacheValidation(ifNoneMatch);
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(CacheValidation.CONTEXT_KEY, validation))
+                .doOnSuccess(ignored -> remember(url, validation, exchange.getResponse().getStatusCode()));
+    }
+
+    private void remember(String url, CacheValidation validation, HttpStatusCode status) {
+        boolean validated = HttpStatus.OK.equals(status) || HttpStatus.NOT_MODIFIED.equals(status);
+        if (validated && validation.hasValidators()) {
+            issued.put(url, new IssuedETag(validation.getETag(), validation.getExpiresAt()));
+        }
+    }
+
+    private Mono<Void> notModified(ServerHttpResponse response, IssuedETag current, Instant now) {
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+        response.getHeaders().setETag(current.etag());
+        response.getHeaders().setCacheControl(CacheValidation.cacheControl(current.expiresAt(), now));
+        return response.setComplete();
+    }
+
+    private boolean isCacheable(ServerHttpRequest request) {
+        String path = request.getPath().pathWithinApplication().value();
+        return CACHEABLE_PATH_PREFIXES.stream().anyMatch(path::startsWith);
+    }
+
+    private record IssuedETag(String etag, Instant expiresAt) {
+    }
+}
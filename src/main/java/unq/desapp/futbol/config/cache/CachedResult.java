@@ -0,0 +1,14 @@
+package unq.desapp.futbol.config.cache;
+
+import java.time.Instant;
+
+/**
+ * A cached value together with the validators derived from it: a version
+ * that changes every time the value is reloaded and the instant it expires.
+ */
+public record CachedResult<V>(V value, long version, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
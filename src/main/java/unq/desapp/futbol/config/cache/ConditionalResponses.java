@@ -0,0 +1,35 @@
+package unq.desapp.futbol.config.cache;
+
+import java.time.Instant;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+/**
+ * Builds 200 responses carrying ETag and Cache-Control from the request's
+ * {@link CacheValidation}, or a bodiless 304 when the client already holds
+ * the current version.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ConditionalResponses {
+
+    public static <T> Mono<ResponseEntity<T>> ok(T body) {
+        return Mono.deferContextual(context -> {
+            CacheValidation validation = CacheValidation.from(context);
+            if (validation == null || !validation.hasValidators()) {
+                return Mono.just(ResponseEntity.ok(body));
+            }
+
+            boolean notModified = validation.isNotModified();
+            ResponseEntity.BodyBuilder builder = notModified
+                    ? ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    : ResponseEntity.ok();
+            builder.eTag(validation.getETag())
+                    .cacheControl(validation.getCacheControl(Instant.now()));
+
+            return Mono.just(notModified ? builder.<T>build() : builder.body(body));
+        });
+    }
+}
@@ -0,0 +1,222 @@
+package unq.desapp.futbol.config.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded in-memory TTL cache for scraped results. Every load gets a new
+ * version so callers can expose it as an HTTP validator. Concurrent misses on
+ * the same key share a single load, and the least recently used entries go
+ * first once the cache is full. Values are handed out through the cache's
+ * copier, so callers never mutate the cached instance. A load that finds
+ * nothing returns null, which is handed back without being cached. Entries
+ * restored from a {@link ResultCacheSnapshot} are only decoded when first
+ * requested.
+ */
+public class ResultCache<V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultCache.class);
+
+    private final String name;
+    private final TypeReference<V> valueType;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final LongSupplier versionSource;
+    private final UnaryOperator<V> copier;
+    private final Map<String, Node<V>> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CachedResult<V>>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong accessClock = new AtomicLong();
+    private volatile Map<String, SnapshotEntry> restored = new ConcurrentHashMap<>();
+
+    public ResultCache(String name, TypeReference<V> valueType, Duration ttl, int maxEntries,
+            LongSupplier versionSource, UnaryOperator<V> copier) {
+        this.name = name;
+        this.valueType = valueType;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.versionSource = versionSource;
+        this.copier = copier;
+    }
+
+    /**
+     * Returns a copy of the cached value for the key, loading it when missing
+     * or expired, or null when the loader finds nothing. The validators of a
+     * cached entry are recorded on the current {@link CacheValidation}, if
+     * any.
+     */
+    public V getOrLoad(String key, ResultLoader<V> loader) throws IOException {
+        Instant now = Instant.now();
+        CachedResult<V> cached = lookup(key, now);
+        if (cached == null) {
+            cached = load(key, loader, now);
+            if (cached == null) {
+                return null;
+            }
+        }
+
+        CacheValidation.recordCurrent(validatorOf(cached), cached.expiresAt());
+        return copier.apply(cached.value());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    void attachSnapshot(Map<String, SnapshotEntry> snapshotEntries) {
+        this.restored = new ConcurrentHashMap<>(snapshotEntries);
+    }
+
+    Map<String, CachedResult<V>> liveEntries(Instant now) {
+        return entries.entrySet().stream()
+                .filter(entry -> !entry.getValue().result.isExpired(now))
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().result));
+    }
+
+    Map<String, SnapshotEntry> pendingSnapshotEntries(Instant now) {
+        return restored.entrySet().stream()
+                .filter(entry -> !entry.getValue().isExpired(now) && !entries.containsKey(entry.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private CachedResult<V> lookup(String key, Instant now) {
+        Node<V> node = entries.get(key);
+        CachedResult<V> cached = node != null ? node.result : restore(key, now);
+        if (cached == null || cached.isExpired(now)) {
+            return null;
+        }
+        if (node != null) {
+            node.lastAccess = accessClock.incrementAndGet();
+        }
+        return cached;
+    }
+
+    /**
+     * Loads the key, or waits for the load another thread already started so
+     * that a burst of misses scrapes the page once. Null when the loader
+     * returned null, which is not cached.
+     */
+    private CachedResult<V> load(String key, ResultLoader<V> loader, Instant now) throws IOException {
+        CompletableFuture<CachedResult<V>> mine = new CompletableFuture<>();
+        CompletableFuture<CachedResult<V>> running = loading.putIfAbsent(key, mine);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            // The previous load may have finished between the lookup and the claim
+            CachedResult<V> cached = lookup(key, now);
+            if (cached == null) {
+                V value = loader.load();
+                if (value != null) {
+                    cached = new CachedResult<>(value, versionSource.getAsLong(), now.plus(ttl));
+                    entries.put(key, new Node<>(cached, accessClock.incrementAndGet()));
+                    evictIfNeeded(now);
+                }
+            }
+            mine.complete(cached);
+            return cached;
+        } catch (IOException | RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    private CachedResult<V> await(CompletableFuture<CachedResult<V>> running) throws IOException {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private CachedResult<V> restore(String key, Instant now) {
+        SnapshotEntry entry = restored.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        try {
+            if (entry.isExpired(now)) {
+                return null;
+            }
+            V value = ResultCacheSnapshot.decode(entry, valueType);
+            Node<V> node = new Node<>(new CachedResult<>(value, entry.version(), entry.expiresAt()),
+                    accessClock.incrementAndGet());
+            Node<V> existing = entries.putIfAbsent(key, node);
+            return (existing != null ? existing : node).result;
+        } catch (IOException e) {
+            logger.warn("Discarding unreadable snapshot entry '{}' of cache '{}'", key, name, e);
+            return null;
+        } finally {
+            restored.remove(key);
+        }
+    }
+
+    /**
+     * Drops the expired entries and then the least recently used ones. Once
+     * full, the cache shrinks a tenth below its bound so that the sort is paid
+     * once per batch of inserts rather than on every one.
+     */
+    private void evictIfNeeded(Instant now) {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+
+        entries.values().removeIf(node -> node.result.isExpired(now));
+
+        int target = maxEntries - maxEntries / 10;
+        int excess = entries.size() - target;
+        if (excess <= 0) {
+            return;
+        }
+        // Sort on a copy of the access times, as they keep moving while we sort
+        entries.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().lastAccess))
+                .sorted(Map.Entry.comparingByValue())
+                .limit(excess)
+                .forEach(entry -> entries.remove(entry.getKey()));
+    }
+
+    private String validatorOf(CachedResult<V> cached) {
+        return name + ":" + cached.version();
+    }
+
+    private static final class Node<V> {
+
+        private final CachedResult<V> result;
+        private volatile long lastAccess;
+
+        private Node(CachedResult<V> result, long lastAccess) {
+            this.result = result;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
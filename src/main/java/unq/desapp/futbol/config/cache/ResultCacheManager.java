@@ -0,0 +1,71 @@
+package unq.desapp.futbol.config.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates and keeps track of the named result caches. Versions are drawn from
+ * a single monotonic sequence seeded with the start time, so a restarted
+ * instance does not hand out versions it already used. Restoring a snapshot
+ * moves the sequence past every restored version for the same reason.
+ */
+@Component
+public class ResultCacheManager {
+
+    private final Duration ttl;
+    private final int maxEntries;
+    private final AtomicLong versionSequence = new AtomicLong(System.currentTimeMillis());
+    private final Map<String, ResultCache<?>> caches = new ConcurrentHashMap<>();
+    private volatile ResultCacheSnapshot.Contents restored;
+
+    public ResultCacheManager(
+            @Value("${app.cache.ttl:PT30M}") Duration ttl,
+            @Value("${app.cache.max-entries:10000}") int maxEntries) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Creates a cache whose values are handed out through the copier: a copy
+     * of mutable values, or an immutable view, so that no caller can change
+     * what the next one gets. Pass {@link UnaryOperator#identity()}
+     * for immutable values.
+     */
+    public <V> ResultCache<V> create(String name, TypeReference<V> valueType, UnaryOperator<V> copier) {
+        ResultCache<V> cache = new ResultCache<>(name, valueType, ttl, maxEntries, versionSequence::incrementAndGet,
+                copier);
+        caches.put(name, cache);
+
+        ResultCacheSnapshot.Contents contents = restored;
+        if (contents != null) {
+            cache.attachSnapshot(contents.entriesOf(name));
+        }
+        return cache;
+    }
+
+    /**
+     * Makes the snapshot entries available to the caches already created and
+     * to the ones created afterwards.
+     */
+    public void restore(ResultCacheSnapshot.Contents contents) {
+        versionSequence.accumulateAndGet(contents.maxVersion(), Math::max);
+        restored = contents;
+        caches.values().forEach(cache -> cache.attachSnapshot(contents.entriesOf(cache.getName())));
+    }
+
+    public Collection<ResultCache<?>> getCaches() {
+        return Collections.unmodifiableCollection(caches.values());
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+}
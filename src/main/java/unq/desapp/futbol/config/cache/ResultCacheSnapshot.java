@@ -0,0 +1,186 @@
+package unq.desapp.futbol.config.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Binary snapshot format for the result caches.
+ *
+ * <pre>
+ * int magic, int formatVersion, int cacheCount
+ *   per cache: string name, int entryCount
+ *     per entry: string key, long version, long expiresAtMillis, int length, byte[length] value
+ * </pre>
+ *
+ * Strings are an int length followed by UTF-8 bytes and values are Smile
+ * encoded. Opening a snapshot only maps the file and indexes the keys; values
+ * stay in the mapping until a cache asks for them.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ResultCacheSnapshot {
+
+    private static final int MAGIC = 0x46524353;
+    private static final int FORMAT_VERSION = 1;
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory());
+
+    /**
+     * Entries restored from a snapshot, grouped by cache name, and the
+     * highest version found in it.
+     */
+    public record Contents(Map<String, Map<String, SnapshotEntry>> caches, long maxVersion) {
+
+        public Map<String, SnapshotEntry> entriesOf(String cacheName) {
+            return caches.getOrDefault(cacheName, Map.of());
+        }
+
+        public int size() {
+            return caches.values().stream().mapToInt(Map::size).sum();
+        }
+    }
+
+    /**
+     * Maps the snapshot file and indexes its entries, skipping the ones that
+     * are already expired.
+     */
+    public static Contents open(Path file, Instant now) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Unrecognized cache snapshot format: " + file);
+            }
+
+            Map<String, Map<String, SnapshotEntry>> caches = new HashMap<>();
+            long maxVersion = 0;
+            int cacheCount = buffer.getInt();
+            for (int i = 0; i < cacheCount; i++) {
+                String cacheName = readString(buffer);
+                Map<String, SnapshotEntry> entries = caches.computeIfAbsent(cacheName, name -> new HashMap<>());
+
+                int entryCount = buffer.getInt();
+                for (int j = 0; j < entryCount; j++) {
+                    String key = readString(buffer);
+                    long version = buffer.getLong();
+                    Instant expiresAt = Instant.ofEpochMilli(buffer.getLong());
+                    ByteBuffer value = slice(buffer, buffer.getInt());
+
+                    maxVersion = Math.max(maxVersion, version);
+                    SnapshotEntry entry = new SnapshotEntry(value, version, expiresAt);
+                    if (!entry.isExpired(now)) {
+                        entries.put(key, entry);
+                    }
+                }
+            }
+            return new Contents(caches, maxVersion);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Truncated cache snapshot: " + file, e);
+        }
+    }
+
+    /**
+     * Writes every live entry of the given caches, including restored entries
+     * that were never requested, to a temporary file that then replaces the
+     * snapshot atomically. Returns the number of entries written.
+     */
+    public static int write(Path file, Collection<ResultCache<?>> caches, Instant now) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        int written = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(caches.size());
+            for (ResultCache<?> cache : caches) {
+                written += writeCache(out, cache, now);
+            }
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written;
+    }
+
+    static <V> V decode(SnapshotEntry entry, TypeReference<V> valueType) throws IOException {
+        try (InputStream in = new ByteBufferBackedInputStream(entry.value().duplicate())) {
+            return SMILE_MAPPER.readValue(in, valueType);
+        }
+    }
+
+    private static <V> int writeCache(DataOutputStream out, ResultCache<V> cache, Instant now) throws IOException {
+        Map<String, CachedResult<V>> live = cache.liveEntries(now);
+        Map<String, SnapshotEntry> pending = cache.pendingSnapshotEntries(now);
+
+        writeString(out, cache.getName());
+        out.writeInt(live.size() + pending.size());
+
+        for (Map.Entry<String, CachedResult<V>> entry : live.entrySet()) {
+            CachedResult<V> cached = entry.getValue();
+            writeEntry(out, entry.getKey(), cached.version(), cached.expiresAt(),
+                    SMILE_MAPPER.writeValueAsBytes(cached.value()));
+        }
+        for (Map.Entry<String, SnapshotEntry> entry : pending.entrySet()) {
+            SnapshotEntry restored = entry.getValue();
+            ByteBuffer value = restored.value().duplicate();
+            byte[] bytes = new byte[value.remaining()];
+            value.get(bytes);
+            writeEntry(out, entry.getKey(), restored.version(), restored.expiresAt(), bytes);
+        }
+        return live.size() + pending.size();
+    }
+
+    private static void writeEntry(DataOutputStream out, String key, long version, Instant expiresAt, byte[] value)
+            throws IOException {
+        writeString(out, key);
+        out.writeLong(version);
+        out.writeLong(expiresAt.toEpochMilli());
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        ByteBuffer bytes = slice(buffer, buffer.getInt());
+        return StandardCharsets.UTF_8.decode(bytes).toString();
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int length) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        ByteBuffer slice = buffer.slice(buffer.position(), length).asReadOnlyBuffer();
+        buffer.position(buffer.position() + length);
+        return slice;
+    }
+}
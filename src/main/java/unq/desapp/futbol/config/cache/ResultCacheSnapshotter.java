@@ -0,0 +1,70 @@
+package unq.desapp.futbol.config.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Restores the result caches from the snapshot file on startup and writes a
+ * new snapshot periodically and on shutdown, so a redeployed instance starts
+ * with the data the previous one had already scraped.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.snapshot.enabled", havingValue = "true", matchIfMissing = true)
+public class ResultCacheSnapshotter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultCacheSnapshotter.class);
+
+    private final ResultCacheManager cacheManager;
+    private final Path snapshotFile;
+
+    public ResultCacheSnapshotter(ResultCacheManager cacheManager,
+            @Value("${app.cache.snapshot.path:./data/result-cache.snapshot}") String snapshotFile) {
+        this.cacheManager = cacheManager;
+        this.snapshotFile = Path.of(snapshotFile);
+    }
+
+    @PostConstruct
+    public void restore() {
+        if (!Files.isRegularFile(snapshotFile)) {
+            logger.info("No result cache snapshot at {}, starting cold", snapshotFile);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            ResultCacheSnapshot.Contents contents = ResultCacheSnapshot.open(snapshotFile, Instant.now());
+            cacheManager.restore(contents);
+            logger.info("Restored {} cache entries from {} in {} ms", contents.size(), snapshotFile,
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable result cache snapshot {}", snapshotFile, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.snapshot.interval:PT5M}",
+            initialDelayString = "${app.cache.snapshot.interval:PT5M}")
+    public void snapshot() {
+        try {
+            int written = ResultCacheSnapshot.write(snapshotFile, cacheManager.getCaches(), Instant.now());
+            logger.debug("Wrote {} cache entries to {}", written, snapshotFile);
+        } catch (IOException e) {
+            logger.warn("Could not write result cache snapshot {}", snapshotFile, e);
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+}
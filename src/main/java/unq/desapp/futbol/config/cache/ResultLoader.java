@@ -0,0 +1,9 @@
+package unq.desapp.futbol.config.cache;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface ResultLoader<V> {
+
+    V load() throws IOException;
+}
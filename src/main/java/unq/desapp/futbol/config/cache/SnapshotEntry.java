@@ -0,0 +1,15 @@
+package unq.desapp.futbol.config.cache;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+/**
+ * A cache entry restored from a snapshot whose value has not been decoded
+ * yet. The value is a read-only view into the memory-mapped snapshot file.
+ */
+public record SnapshotEntry(ByteBuffer value, long version, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,46 @@
+package unq.desapp.futbol.config.logging;
+
+import java.util.UUID;
+import java.util.regex.Pattern;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.slf4j.MDC;
+import reactor.util.context.ContextView;
+
+/**
+ * The identifier shared by every log line, metric exemplar and response of
+ * one exchange. It is assigned once by {@link CorrelationIdWebFilter}, travels
+ * in the Reactor context and is mirrored into the MDC by
+ * {@link CorrelationIdAccessor} wherever Reactor restores thread locals.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CorrelationId {
+
+    public static final String CONTEXT_KEY = CorrelationId.class.getName();
+    public static final String MDC_KEY = "correlation_id";
+
+    private static final Pattern ACCEPTED = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    /**
+     * Returns the identifier sent by the client when it is short and made of
+     * safe characters, so it can be logged and echoed as is; a new one otherwise.
+     */
+    public static String acceptOrCreate(String requested) {
+        if (requested != null && ACCEPTED.matcher(requested).matches()) {
+            return requested;
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    public static String from(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    /**
+     * The identifier of the exchange the current thread is working for, or
+     * {@code null} outside of one (e.g. scheduled jobs).
+     */
+    public static String current() {
+        return MDC.get(MDC_KEY);
+    }
+}
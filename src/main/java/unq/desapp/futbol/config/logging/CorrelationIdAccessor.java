@@ -0,0 +1,33 @@
+package unq.desapp.futbol.config.logging;
+
+import io.micrometer.context.ThreadLocalAccessor;
+import org.slf4j.MDC;
+
+/**
+ * Bridges the correlation ID between the Reactor context and the MDC. It is
+ * registered through {@code META-INF/services}, so both automatic context
+ * propagation and explicit snapshots (see
+ * {@link unq.desapp.futbol.config.cache.CacheValidation#fromCallable}) pick it up.
+ */
+public class CorrelationIdAccessor implements ThreadLocalAccessor<String> {
+
+    @Override
+    public Object key() {
+        return CorrelationId.CONTEXT_KEY;
+    }
+
+    @Override
+    public String getValue() {
+        return MDC.get(CorrelationId.MDC_KEY);
+    }
+
+    @Override
+    public void setValue(String value) {
+        MDC.put(CorrelationId.MDC_KEY, value);
+    }
+
+    @Override
+    public void setValue() {
+        MDC.remove(CorrelationId.MDC_KEY);
+    }
+}
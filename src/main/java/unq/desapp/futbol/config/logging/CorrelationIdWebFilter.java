@@ -0,0 +1,30 @@
+package unq.desapp.futbol.config.logging;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import unq.desapp.futbol.constants.ApiHeaders;
+
+/**
+ * Assigns the exchange's correlation ID, accepting the one sent in
+ * {@code X-Correlation-Id} when it is well formed, echoes it in the response
+ * and puts it in the Reactor context. It runs before the security chain so
+ * rejected requests carry it too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdWebFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String correlationId = CorrelationId.acceptOrCreate(
+                exchange.getRequest().getHeaders().getFirst(ApiHeaders.CORRELATION_ID));
+        exchange.getResponse().getHeaders().set(ApiHeaders.CORRELATION_ID, correlationId);
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(CorrelationId.CONTEXT_KEY, correlationId));
+    }
+}
@@ -1,6 +1,11 @@
 package unq.desapp.futbol.config.logging;
 
-import java.util.UUID;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -8,6 +13,7 @@ import org.aspectj.lang.annotation.Pointcut;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -17,11 +23,43 @@ import reactor.core.publisher.Signal;
  * Aspect for cross-cutting logging concerns.
  * Automatically intercepts methods in @Service and @RestController classes
  * to provide standardized logging with MDC enrichment.
+ * <p>
+ * In {@link Mode#FULL} every call is logged. In {@link Mode#SAMPLED} only
+ * slow calls, failed calls and a random sample of the rest are, and an
+ * exception travelling through several layers is logged once.
+ * <p>
+ * The correlation ID is the one assigned by {@link CorrelationIdWebFilter};
+ * none is generated here.
  */
 @Aspect
 @Component
 public class LoggingAspect {
 
+    public enum Mode {
+        FULL, SAMPLED
+    }
+
+    private final Mode mode;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final Set<Throwable> loggedErrors = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+    private final ClassValue<ClassMetadata> classMetadata = new ClassValue<>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(getLogger(type), type.getSimpleName());
+        }
+    };
+
+    public LoggingAspect(
+            @Value("${app.logging.aspect.mode:FULL}") Mode mode,
+            @Value("${app.logging.aspect.sample-rate:0.01}") double sampleRate,
+            @Value("${app.logging.aspect.slow-threshold:PT0.5S}") Duration slowThreshold) {
+        this.mode = mode;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
     /**
      * Pointcut for all methods in classes annotated with @Service
      */
@@ -49,76 +87,158 @@ public class LoggingAspect {
      */
     @Around("serviceLayer() || webLayer()")
     public Object logMethodExecution(ProceedingJoinPoint joinPoint) throws Throwable {
-        Logger logger = getLogger(joinPoint.getTarget().getClass());
-        String className = joinPoint.getTarget().getClass().getSimpleName();
+        if (mode == Mode.SAMPLED) {
+            return logSampled(joinPoint);
+        }
+
+        ClassMetadata metadata = classMetadata.get(joinPoint.getTarget().getClass());
         String methodName = joinPoint.getSignature().getName();
+        long startTime = System.nanoTime();
+
+        try {
+            Object result = joinPoint.proceed();
+
+            if (result instanceof Mono) {
+                return ((Mono<?>) result)
+                        .doOnEach(signal -> log(metadata, methodName, startTime, signal));
+            }
 
-        // Generate or retrieve correlation ID
-        String correlationId = MDC.get("correlation_id");
-        if (correlationId == null || correlationId.isEmpty()) {
-            correlationId = UUID.randomUUID().toString();
+            if (result instanceof Flux) {
+                return ((Flux<?>) result)
+                        .doOnEach(signal -> log(metadata, methodName, startTime, signal));
+            }
+
+            logSuccess(metadata, methodName, CorrelationId.current(), elapsedMillis(startTime));
+            return result;
+        } catch (Throwable throwable) {
+            logError(metadata, methodName, CorrelationId.current(), elapsedMillis(startTime), throwable);
+            throw throwable;
         }
+    }
 
-        long startTime = System.currentTimeMillis();
+    /**
+     * Decides upfront whether the call is part of the sample, so calls that
+     * are neither sampled, slow nor failed cost a clock read and a random
+     * number.
+     */
+    private Object logSampled(ProceedingJoinPoint joinPoint) throws Throwable {
+        ClassMetadata metadata = classMetadata.get(joinPoint.getTarget().getClass());
+        String methodName = joinPoint.getSignature().getName();
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < sampleRate;
+        long startTime = System.nanoTime();
 
         try {
             Object result = joinPoint.proceed();
 
             if (result instanceof Mono) {
-                String finalCorrelationId = correlationId;
                 return ((Mono<?>) result)
-                        .doOnEach(signal -> log(logger, className, methodName, startTime, finalCorrelationId, signal))
-                        .contextWrite(ctx -> ctx.put("correlation_id", finalCorrelationId));
+                        .doOnEach(signal -> logSampled(metadata, methodName, startTime, sampled, signal));
             }
 
             if (result instanceof Flux) {
-                String finalCorrelationId = correlationId;
                 return ((Flux<?>) result)
-                        .doOnEach(signal -> log(logger, className, methodName, startTime, finalCorrelationId, signal))
-                        .contextWrite(ctx -> ctx.put("correlation_id", finalCorrelationId));
+                        .doOnEach(signal -> logSampled(metadata, methodName, startTime, sampled, signal));
             }
 
-            logSuccess(logger, className, methodName, correlationId, startTime);
+            logSampledSuccess(metadata, methodName, startTime, sampled, null);
             return result;
         } catch (Throwable throwable) {
-            logError(logger, className, methodName, correlationId, startTime, throwable);
+            logSampledError(metadata, methodName, startTime, throwable, null);
             throw throwable;
         }
     }
 
-    private void log(Logger logger, String className, String methodName, long startTime,
-            String finalCorrelationId, Signal<?> signal) {
+    private void log(ClassMetadata metadata, String methodName, long startTime, Signal<?> signal) {
+        if (signal.isOnComplete()) {
+            logSuccess(metadata, methodName, correlationId(signal), elapsedMillis(startTime));
+        } else if (signal.isOnError()) {
+            logError(metadata, methodName, correlationId(signal), elapsedMillis(startTime), signal.getThrowable());
+        }
+    }
+
+    private void logSampled(ClassMetadata metadata, String methodName, long startTime, boolean sampled,
+            Signal<?> signal) {
         if (signal.isOnComplete()) {
-            logSuccess(logger, className, methodName, finalCorrelationId, startTime);
+            logSampledSuccess(metadata, methodName, startTime, sampled, signal);
         } else if (signal.isOnError()) {
-            logError(logger, className, methodName, finalCorrelationId, startTime,
-                    signal.getThrowable());
+            logSampledError(metadata, methodName, startTime, signal.getThrowable(), signal);
+        }
+    }
+
+    private void logSampledSuccess(ClassMetadata metadata, String methodName, long startTime, boolean sampled,
+            Signal<?> signal) {
+        long elapsedNanos = System.nanoTime() - startTime;
+        if (sampled || elapsedNanos >= slowThresholdNanos) {
+            logSuccess(metadata, methodName, correlationId(signal), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
         }
     }
 
-    private void logSuccess(Logger logger, String className, String methodName, String correlationId, long startTime) {
-        long executionTime = System.currentTimeMillis() - startTime;
-        try (MDC.MDCCloseable c1 = MDC.putCloseable("class_name", className);
+    private void logSampledError(ClassMetadata metadata, String methodName, long startTime, Throwable throwable,
+            Signal<?> signal) {
+        if (loggedErrors.add(throwable)) {
+            logError(metadata, methodName, correlationId(signal), elapsedMillis(startTime), throwable);
+        }
+    }
+
+    /**
+     * The exchange's correlation ID, taken from the signal's context when
+     * there is one and from the MDC otherwise.
+     */
+    private static String correlationId(Signal<?> signal) {
+        String correlationId = signal != null ? CorrelationId.from(signal.getContextView()) : null;
+        return correlationId != null ? correlationId : CorrelationId.current();
+    }
+
+    private void logSuccess(ClassMetadata metadata, String methodName, String correlationId, long executionTime) {
+        String previousCorrelationId = putCorrelationId(correlationId);
+        try (MDC.MDCCloseable c1 = MDC.putCloseable("class_name", metadata.simpleName());
                 MDC.MDCCloseable c2 = MDC.putCloseable("method_name", methodName);
-                MDC.MDCCloseable c3 = MDC.putCloseable("correlation_id", correlationId);
-                MDC.MDCCloseable c4 = MDC.putCloseable("execution_time_ms", String.valueOf(executionTime))) {
+                MDC.MDCCloseable c3 = MDC.putCloseable("execution_time_ms", String.valueOf(executionTime))) {
 
-            logger.info("Method executed successfully in {} ms", executionTime);
+            metadata.logger().info("Method executed successfully in {} ms", executionTime);
+        } finally {
+            restoreCorrelationId(previousCorrelationId);
         }
     }
 
-    private void logError(Logger logger, String className, String methodName, String correlationId, long startTime,
+    private void logError(ClassMetadata metadata, String methodName, String correlationId, long executionTime,
             Throwable throwable) {
-        long executionTime = System.currentTimeMillis() - startTime;
-        try (MDC.MDCCloseable c1 = MDC.putCloseable("class_name", className);
+        String previousCorrelationId = putCorrelationId(correlationId);
+        try (MDC.MDCCloseable c1 = MDC.putCloseable("class_name", metadata.simpleName());
                 MDC.MDCCloseable c2 = MDC.putCloseable("method_name", methodName);
-                MDC.MDCCloseable c3 = MDC.putCloseable("correlation_id", correlationId);
-                MDC.MDCCloseable c4 = MDC.putCloseable("execution_time_ms", String.valueOf(executionTime))) {
+                MDC.MDCCloseable c3 = MDC.putCloseable("execution_time_ms", String.valueOf(executionTime))) {
 
-            logger.error("Error executing method: {}", throwable.getMessage(), throwable);
+            metadata.logger().error("Error executing method: {}", throwable.getMessage(), throwable);
+        } finally {
+            restoreCorrelationId(previousCorrelationId);
         }
     }
 
+    /**
+     * The correlation ID may already be in the MDC through context
+     * propagation; it is put for the log line and then the previous value is
+     * restored, rather than removed, so later work on the thread keeps it.
+     */
+    private static String putCorrelationId(String correlationId) {
+        String previous = MDC.get(CorrelationId.MDC_KEY);
+        if (correlationId != null) {
+            MDC.put(CorrelationId.MDC_KEY, correlationId);
+        }
+        return previous;
+    }
+
+    private static void restoreCorrelationId(String previous) {
+        if (previous != null) {
+            MDC.put(CorrelationId.MDC_KEY, previous);
+        } else {
+            MDC.remove(CorrelationId.MDC_KEY);
+        }
+    }
+
+    private static long elapsedMillis(long startTime) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
     /**
      * Protected method to get logger.
      *
@@ -128,4 +248,7 @@ public class LoggingAspect {
     protected Logger getLogger(Class<?> clazz) {
         return LoggerFactory.getLogger(clazz);
     }
+
+    private record ClassMetadata(Logger logger, String simpleName) {
+    }
 }
@@ -2,40 +2,227 @@ package unq.desapp.futbol.config.metrics;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
-import org.aspectj.lang.annotation.AfterThrowing;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
+/**
+ * Times every {@link BusinessMetric} operation and counts its outcome. For
+ * reactive results the measurement runs from subscription to the terminal
+ * signal, since returning the publisher says nothing about how the work went.
+ * Meters are resolved once per method when the context starts.
+ */
 @Aspect
 @Component
 public class BusinessMetricsAspect {
 
+    private static final Duration[] SERVICE_LEVEL_OBJECTIVES = {
+            Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500),
+            Duration.ofSeconds(1), Duration.ofMillis(2500), Duration.ofSeconds(5), Duration.ofSeconds(10) };
+
+    enum Outcome {
+        SUCCESS, EMPTY, ERROR, CANCELLED;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
     private final MeterRegistry meterRegistry;
+    private final Map<Method, OperationMeters> operations = new ConcurrentHashMap<>();
 
     public BusinessMetricsAspect(MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
     }
 
-    @AfterReturning(pointcut = "@annotation(businessMetric)", returning = "result")
-    public void countSuccess(JoinPoint joinPoint, BusinessMetric businessMetric, Object result) {
-        Counter.builder("app_business_operation_success_total")
-                .description(businessMetric.help())
-                .tag("operation", businessMetric.name())
-                .tag("class", joinPoint.getSignature().getDeclaringTypeName())
-                .register(meterRegistry)
-                .increment();
-    }
-
-    @AfterThrowing(pointcut = "@annotation(businessMetric)", throwing = "exception")
-    public void countFailure(JoinPoint joinPoint, BusinessMetric businessMetric, Exception exception) {
-        Counter.builder("app_business_operation_failed_total")
-                .description(businessMetric.help())
-                .tag("operation", businessMetric.name())
-                .tag("class", joinPoint.getSignature().getDeclaringTypeName())
-                .tag("exception", exception.getClass().getSimpleName())
-                .register(meterRegistry)
-                .increment();
+    @EventListener
+    public void resolveMeters(ContextRefreshedEvent event) {
+        ApplicationContext context = event.getApplicationContext();
+        for (String beanName : context.getBeanDefinitionNames()) {
+            Class<?> beanType = context.getType(beanName, false);
+            if (beanType == null) {
+                continue;
+            }
+            MethodIntrospector.selectMethods(ClassUtils.getUserClass(beanType),
+                    (MethodIntrospector.MetadataLookup<BusinessMetric>) method -> AnnotatedElementUtils
+                            .findMergedAnnotation(method, BusinessMetric.class))
+                    .forEach(this::metersFor);
+        }
+    }
+
+    @Around("@annotation(businessMetric)")
+    public Object measure(ProceedingJoinPoint joinPoint, BusinessMetric businessMetric) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        OperationMeters meters = metersFor(method, businessMetric);
+        long start = System.nanoTime();
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable throwable) {
+            meters.record(outcomeOf(throwable), System.nanoTime() - start, throwable);
+            throw throwable;
+        }
+
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                Measurement measurement = new Measurement(meters);
+                return mono.doOnNext(measurement::onNext)
+                        .doOnError(measurement::onError)
+                        .doFinally(measurement::onFinally);
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                Measurement measurement = new Measurement(meters);
+                return flux.doOnNext(measurement::onNext)
+                        .doOnError(measurement::onError)
+                        .doFinally(measurement::onFinally);
+            });
+        }
+
+        Outcome outcome = result == null && method.getReturnType() != void.class ? Outcome.EMPTY : outcomeOf(result);
+        meters.record(outcome, System.nanoTime() - start, null);
+        return result;
+    }
+
+    private OperationMeters metersFor(Method method, BusinessMetric businessMetric) {
+        OperationMeters meters = operations.get(method);
+        if (meters != null) {
+            return meters;
+        }
+        return operations.computeIfAbsent(method,
+                m -> new OperationMeters(businessMetric, m.getDeclaringClass().getName(), meterRegistry));
+    }
+
+    // A 404 answers the question asked, so it is not an error of the operation
+    static Outcome outcomeOf(Object value) {
+        if (value instanceof ResponseEntity<?> response && response.getStatusCode().value() == 404) {
+            return Outcome.EMPTY;
+        }
+        return Outcome.SUCCESS;
+    }
+
+    static Outcome outcomeOf(Throwable throwable) {
+        if (throwable instanceof ErrorResponse errorResponse) {
+            return errorResponse.getStatusCode().value() == 404 ? Outcome.EMPTY : Outcome.ERROR;
+        }
+        ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(throwable.getClass(), ResponseStatus.class);
+        return status != null && status.code() == HttpStatus.NOT_FOUND ? Outcome.EMPTY : Outcome.ERROR;
+    }
+
+    /**
+     * Meters of one annotated method. Only the failure counters depend on
+     * the exception, so those are created on first use.
+     */
+    private static final class OperationMeters {
+
+        private final BusinessMetric businessMetric;
+        private final String className;
+        private final MeterRegistry meterRegistry;
+        private final Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+        private final Counter successCounter;
+        private final Map<Class<?>, Counter> failureCounters = new ConcurrentHashMap<>();
+
+        OperationMeters(BusinessMetric businessMetric, String className, MeterRegistry meterRegistry) {
+            this.businessMetric = businessMetric;
+            this.className = className;
+            this.meterRegistry = meterRegistry;
+            for (Outcome outcome : Outcome.values()) {
+                timers.put(outcome, Timer.builder("app_business_operation_seconds")
+                        .description(businessMetric.help())
+                        .tag("operation", businessMetric.name())
+                        .tag("class", className)
+                        .tag("outcome", outcome.tag())
+                        .publishPercentileHistogram()
+                        .serviceLevelObjectives(SERVICE_LEVEL_OBJECTIVES)
+                        .register(meterRegistry));
+            }
+            this.successCounter = Counter.builder("app_business_operation_success_total")
+                    .description(businessMetric.help())
+                    .tag("operation", businessMetric.name())
+                    .tag("class", className)
+                    .register(meterRegistry);
+        }
+
+        void record(Outcome outcome, long nanos, Throwable error) {
+            timers.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+            if (outcome == Outcome.SUCCESS) {
+                successCounter.increment();
+            } else if (outcome == Outcome.ERROR && error != null) {
+                failureCounters.computeIfAbsent(error.getClass(), this::failureCounter).increment();
+            }
+        }
+
+        private Counter failureCounter(Class<?> exceptionType) {
+            return Counter.builder("app_business_operation_failed_total")
+                    .description(businessMetric.help())
+                    .tag("operation", businessMetric.name())
+                    .tag("class", className)
+                    .tag("exception", exceptionType.getSimpleName())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * State of one subscription to a reactive result. A cancellation after a
+     * value arrived is how some operators end a Mono, so it keeps the outcome
+     * of that value.
+     */
+    private static final class Measurement {
+
+        private final OperationMeters meters;
+        private final long start = System.nanoTime();
+        private Outcome valueOutcome;
+        private Throwable error;
+
+        Measurement(OperationMeters meters) {
+            this.meters = meters;
+        }
+
+        void onNext(Object value) {
+            if (valueOutcome != Outcome.SUCCESS) {
+                valueOutcome = outcomeOf(value);
+            }
+        }
+
+        void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        void onFinally(SignalType signal) {
+            Outcome outcome;
+            if (signal == SignalType.ON_ERROR) {
+                outcome = outcomeOf(error);
+            } else if (valueOutcome != null) {
+                outcome = valueOutcome;
+            } else {
+                outcome = signal == SignalType.CANCEL ? Outcome.CANCELLED : Outcome.EMPTY;
+            }
+            meters.record(outcome, System.nanoTime() - start, error);
+        }
     }
 }
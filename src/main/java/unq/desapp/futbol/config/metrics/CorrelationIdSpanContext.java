@@ -0,0 +1,51 @@
+package unq.desapp.futbol.config.metrics;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.prometheus.metrics.tracer.common.SpanContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import unq.desapp.futbol.config.logging.CorrelationId;
+
+/**
+ * Lets the Prometheus registry attach exemplars to histogram and counter
+ * samples, so a latency outlier on a dashboard leads to its trace or at
+ * least its log lines. A sampled span provides the trace and span IDs;
+ * otherwise the correlation ID fills both, as exemplars need the two labels.
+ */
+@Component
+public class CorrelationIdSpanContext implements SpanContext {
+
+    private final Tracer tracer;
+
+    public CorrelationIdSpanContext(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+    }
+
+    @Override
+    public String getCurrentTraceId() {
+        Span span = sampledSpan();
+        return span != null ? span.context().traceId() : CorrelationId.current();
+    }
+
+    @Override
+    public String getCurrentSpanId() {
+        Span span = sampledSpan();
+        return span != null ? span.context().spanId() : CorrelationId.current();
+    }
+
+    @Override
+    public boolean isCurrentSpanSampled() {
+        return sampledSpan() != null || CorrelationId.current() != null;
+    }
+
+    @Override
+    public void markCurrentSpanAsExemplar() {
+        // Nothing to mark: exemplar spans are not sampled downstream
+    }
+
+    private Span sampledSpan() {
+        Span span = tracer.currentSpan();
+        return span != null && Boolean.TRUE.equals(span.context().sampled()) ? span : null;
+    }
+}
@@ -0,0 +1,15 @@
+package unq.desapp.futbol.config.metrics;
+
+import java.util.Locale;
+
+/**
+ * Disjoint steps of a scrape. Resolving a name covers the whole search page
+ * round trip; the other stages apply to the data endpoints.
+ */
+public enum ScrapeStage {
+    RESOLVE, FETCH, PARSE, MAP;
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,118 @@
+package unq.desapp.futbol.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Tracer;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import unq.desapp.futbol.config.cache.CacheValidation;
+import unq.desapp.futbol.config.tracing.TraceSpans;
+
+/**
+ * Records how long each stage of a scrape takes and how many bytes each
+ * endpoint returns, tagged by the operation that triggered it. The operation
+ * and the request's {@link StageTimings} are bound to the worker thread while
+ * the blocking scraping code runs, so shared loaders are attributed to the
+ * operation that called them. Each scrape and each of its stages is also a
+ * tracing span.
+ */
+@Component
+public class ScrapeStages {
+
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+    private static final Trace UNBOUND = new Trace("none", null);
+
+    private final MeterRegistry meterRegistry;
+    private final TraceSpans spans;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> responseSizes = new ConcurrentHashMap<>();
+
+    public ScrapeStages(MeterRegistry meterRegistry, TraceSpans spans) {
+        this.meterRegistry = meterRegistry;
+        this.spans = spans;
+    }
+
+    /**
+     * Same as {@link CacheValidation#fromCallable(Callable)}, additionally
+     * binding the operation and the request's {@link StageTimings}.
+     */
+    public <T> Mono<T> fromCallable(String operation, Callable<T> callable) {
+        return Mono.deferContextual(context -> {
+            Trace trace = new Trace(operation, StageTimings.from(context));
+            return CacheValidation.fromCallable(() -> {
+                Trace previous = CURRENT.get();
+                CURRENT.set(trace);
+                try (Tracer.SpanInScope bound = spans.bind(context)) {
+                    return spans.inSpan("scrape", callable::call, "operation", operation);
+                } finally {
+                    if (previous == null) {
+                        CURRENT.remove();
+                    } else {
+                        CURRENT.set(previous);
+                    }
+                }
+            });
+        });
+    }
+
+    public <T> T time(ScrapeStage stage, String endpoint, StageWork<T> work) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return spans.inSpan("scrape." + stage.tag(), work::run, "endpoint", endpoint);
+        } finally {
+            record(stage, endpoint, System.nanoTime() - start);
+        }
+    }
+
+    public void recordBytes(String endpoint, long bytes) {
+        Trace trace = current();
+        responseSizes.computeIfAbsent(trace.operation() + '|' + endpoint,
+                key -> DistributionSummary.builder("app_scraping_response_bytes")
+                        .description("Size of the bodies returned by the scraped site")
+                        .baseUnit("bytes")
+                        .tag("operation", trace.operation())
+                        .tag("endpoint", endpoint)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry))
+                .record(bytes);
+        if (trace.timings() != null) {
+            trace.timings().addBytes(bytes);
+        }
+        spans.tagCurrent("response.bytes." + endpoint, Long.toString(bytes));
+    }
+
+    private void record(ScrapeStage stage, String endpoint, long nanos) {
+        Trace trace = current();
+        timers.computeIfAbsent(trace.operation() + '|' + stage.tag() + '|' + endpoint,
+                key -> Timer.builder("app_scraping_stage_seconds")
+                        .description("Time spent in one stage of a scrape")
+                        .tag("operation", trace.operation())
+                        .tag("stage", stage.tag())
+                        .tag("endpoint", endpoint)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (trace.timings() != null) {
+            trace.timings().add(stage, nanos);
+        }
+    }
+
+    private static Trace current() {
+        Trace trace = CURRENT.get();
+        return trace != null ? trace : UNBOUND;
+    }
+
+    @FunctionalInterface
+    public interface StageWork<T> {
+        T run() throws IOException;
+    }
+
+    private record Trace(String operation, StageTimings timings) {
+    }
+}
@@ -0,0 +1,42 @@
+package unq.desapp.futbol.config.metrics;
+
+import java.util.List;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import unq.desapp.futbol.constants.ApiHeaders;
+
+/**
+ * Opens a {@link StageTimings} for requests that may scrape, and adds its
+ * totals as a Server-Timing header when the response is committed.
+ */
+@Component
+public class ServerTimingWebFilter implements WebFilter {
+
+    private static final List<String> SCRAPING_PATH_PREFIXES = List.of("/teams/", "/player/");
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!isScraping(exchange.getRequest())) {
+            return chain.filter(exchange);
+        }
+
+        StageTimings timings = new StageTimings();
+        exchange.getResponse().beforeCommit(() -> {
+            if (!timings.isEmpty()) {
+                exchange.getResponse().getHeaders().add(ApiHeaders.SERVER_TIMING, timings.toServerTiming());
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(StageTimings.CONTEXT_KEY, timings));
+    }
+
+    private boolean isScraping(ServerHttpRequest request) {
+        String path = request.getPath().pathWithinApplication().value();
+        return SCRAPING_PATH_PREFIXES.stream().anyMatch(path::startsWith);
+    }
+}
@@ -0,0 +1,58 @@
+package unq.desapp.futbol.config.metrics;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import reactor.util.context.ContextView;
+
+/**
+ * Per-request totals of the scraping stages, rendered as a Server-Timing
+ * header. It travels in the Reactor context like the cache validation does,
+ * and both sides of a comparison add to the same instance.
+ */
+public class StageTimings {
+
+    public static final String CONTEXT_KEY = StageTimings.class.getName();
+
+    private final Map<ScrapeStage, Long> nanos = new EnumMap<>(ScrapeStage.class);
+    private long bytes;
+
+    public static StageTimings from(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    public synchronized void add(ScrapeStage stage, long stageNanos) {
+        nanos.merge(stage, stageNanos, Long::sum);
+    }
+
+    public synchronized void addBytes(long received) {
+        bytes += received;
+    }
+
+    public synchronized boolean isEmpty() {
+        return nanos.isEmpty() && bytes == 0;
+    }
+
+    /**
+     * Renders the totals as Server-Timing metrics in stage order, e.g.
+     * {@code resolve;dur=210.4, fetch;dur=512.0, parse;dur=31.7, map;dur=2.1, bytes;desc="48213"}.
+     */
+    public synchronized String toServerTiming() {
+        StringBuilder header = new StringBuilder();
+        for (Map.Entry<ScrapeStage, Long> entry : nanos.entrySet()) {
+            if (!header.isEmpty()) {
+                header.append(", ");
+            }
+            header.append(entry.getKey().tag())
+                    .append(";dur=")
+                    .append(String.format(Locale.ROOT, "%.1f", entry.getValue() / 1_000_000.0));
+        }
+        if (bytes > 0) {
+            if (!header.isEmpty()) {
+                header.append(", ");
+            }
+            header.append("bytes;desc=\"").append(bytes).append('"');
+        }
+        return header.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package unq.desapp.futbol.config.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One CPU-bound step of authenticating a request: verifying a bearer token
+ * or hashing or checking a password.
+ */
+@Name("unq.desapp.futbol.Authentication")
+@Label("Authentication")
+@Category({ "Futbol API", "Security" })
+@Description("Token verification or password hashing step")
+@StackTrace(false)
+public class AuthenticationEvent extends Event {
+
+    public static final String JWT_VERIFY = "jwt_verify";
+    public static final String PASSWORD_MATCHES = "password_matches";
+    public static final String PASSWORD_ENCODE = "password_encode";
+
+    @Label("Step")
+    private String step;
+
+    @Label("Cached")
+    @Description("Whether the result came from a cache instead of being computed")
+    private boolean cached;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    private AuthenticationEvent(String step) {
+        this.step = step;
+    }
+
+    public static AuthenticationEvent start(String step) {
+        AuthenticationEvent event = new AuthenticationEvent(step);
+        event.begin();
+        return event;
+    }
+
+    public void markCached() {
+        cached = true;
+    }
+
+    public void finish(boolean success) {
+        end();
+        if (shouldCommit()) {
+            succeeded = success;
+            commit();
+        }
+    }
+}
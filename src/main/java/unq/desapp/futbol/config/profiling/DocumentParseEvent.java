@@ -0,0 +1,47 @@
+package unq.desapp.futbol.config.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Parsing of a fetched body into an HTML document or a JSON tree.
+ */
+@Name("unq.desapp.futbol.DocumentParse")
+@Label("Document Parse")
+@Category({ "Futbol API", "Scraping" })
+@Description("Parsing of one fetched body into a document or JSON tree")
+@StackTrace(false)
+public class DocumentParseEvent extends Event {
+
+    @Label("Endpoint")
+    @Description("Class of URL the body came from, e.g. search or match_page")
+    private String endpoint;
+
+    @Label("Format")
+    private String format;
+
+    @Label("Input Size")
+    @DataAmount
+    private long bytes;
+
+    private DocumentParseEvent(String endpoint, String format, long bytes) {
+        this.endpoint = endpoint;
+        this.format = format;
+        this.bytes = bytes;
+    }
+
+    public static DocumentParseEvent start(String endpoint, String format, long bytes) {
+        DocumentParseEvent event = new DocumentParseEvent(endpoint, format, bytes);
+        event.begin();
+        return event;
+    }
+
+    public void finish() {
+        commit();
+    }
+}
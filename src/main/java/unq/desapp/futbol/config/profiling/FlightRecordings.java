@@ -0,0 +1,171 @@
+package unq.desapp.futbol.config.profiling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Owns the Flight Recorder recordings of the application: an optional
+ * continuous one with the low-overhead {@code default} settings, kept for a
+ * bounded age and size, and at most one on-demand recording started through
+ * {@link JfrEndpoint}. Both include the application's own events.
+ */
+@Component
+public class FlightRecordings implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordings.class);
+    private static final List<Class<? extends Event>> APPLICATION_EVENTS = List.of(
+            UpstreamFetchEvent.class, DocumentParseEvent.class, JsonRewriteEvent.class, AuthenticationEvent.class);
+
+    private final boolean continuousEnabled;
+    private final Duration continuousMaxAge;
+    private final long maxSizeBytes;
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+
+    private Recording continuous;
+    private Recording onDemand;
+    private volatile boolean running;
+
+    public FlightRecordings(
+            @Value("${app.profiling.jfr.continuous.enabled:false}") boolean continuousEnabled,
+            @Value("${app.profiling.jfr.continuous.max-age:PT30M}") Duration continuousMaxAge,
+            @Value("${app.profiling.jfr.max-size:64MB}") DataSize maxSize,
+            @Value("${app.profiling.jfr.default-duration:PT1M}") Duration defaultDuration,
+            @Value("${app.profiling.jfr.max-duration:PT10M}") Duration maxDuration) {
+        this.continuousEnabled = continuousEnabled;
+        this.continuousMaxAge = continuousMaxAge;
+        this.maxSizeBytes = maxSize.toBytes();
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+    }
+
+    /**
+     * Starts an on-demand recording with the named settings ({@code default}
+     * or {@code profile}), capped at the configured maximum duration.
+     *
+     * @throws IllegalArgumentException if the settings are unknown
+     * @throws IllegalStateException if an on-demand recording is in progress
+     */
+    public synchronized RecordingInfo start(String profile, Duration duration) {
+        if (onDemand != null && onDemand.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+
+        String settings = profile == null || profile.isBlank() ? "default" : profile;
+        Duration requested = duration == null || duration.isNegative() || duration.isZero()
+                ? defaultDuration : duration;
+        Duration effective = requested.compareTo(maxDuration) > 0 ? maxDuration : requested;
+
+        closeOnDemand();
+        Recording recording = new Recording(configuration(settings));
+        recording.setName("on-demand");
+        recording.setToDisk(true);
+        recording.setMaxSize(maxSizeBytes);
+        recording.setDuration(effective);
+        enableApplicationEvents(recording);
+        recording.start();
+        onDemand = recording;
+
+        logger.info("Started on-demand flight recording with '{}' settings for {}", settings, effective);
+        return new RecordingInfo(recording.getId(), settings, effective);
+    }
+
+    /**
+     * Writes what the on-demand recording has captured so far, or else the
+     * last {@code maxAge} of the continuous one, to a temporary file the
+     * caller has to delete. Neither recording is stopped, so it can be dumped
+     * again. Empty when there is neither.
+     */
+    public synchronized Optional<Path> dump() throws IOException {
+        Recording recording = onDemand != null ? onDemand : continuous;
+        if (recording == null) {
+            return Optional.empty();
+        }
+
+        Path file = Files.createTempFile("futbol-api-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return Optional.of(file);
+    }
+
+    /**
+     * Stops the on-demand recording, if still running, and discards it.
+     */
+    public synchronized boolean cancel() {
+        boolean present = onDemand != null;
+        closeOnDemand();
+        return present;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (continuousEnabled) {
+            Recording recording = new Recording(configuration("default"));
+            recording.setName("continuous");
+            recording.setToDisk(true);
+            recording.setMaxAge(continuousMaxAge);
+            recording.setMaxSize(maxSizeBytes);
+            enableApplicationEvents(recording);
+            recording.start();
+            continuous = recording;
+            logger.info("Started continuous flight recording keeping the last {}", continuousMaxAge);
+        }
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        closeOnDemand();
+        if (continuous != null) {
+            continuous.close();
+            continuous = null;
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void closeOnDemand() {
+        if (onDemand != null) {
+            onDemand.close();
+            onDemand = null;
+        }
+    }
+
+    private static Configuration configuration(String settings) {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown recording settings: " + settings, e);
+        }
+    }
+
+    private static void enableApplicationEvents(Recording recording) {
+        APPLICATION_EVENTS.forEach(event -> recording.enable(event).withoutStackTrace());
+    }
+
+    public record RecordingInfo(long id, String settings, Duration duration) {
+    }
+}
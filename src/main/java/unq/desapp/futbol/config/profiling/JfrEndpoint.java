@@ -0,0 +1,66 @@
+package unq.desapp.futbol.config.profiling;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/jfr}: POST starts a recording ({@code profile} is
+ * {@code default} or {@code profile}, {@code duration} an ISO-8601 duration),
+ * GET returns what it has recorded so far as a {@code .jfr} file, or the
+ * recent history of the continuous recording when no on-demand one exists,
+ * and DELETE stops and discards it. GET leaves the recording running, so it
+ * can be repeated. Restricted to admins by the security configuration.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private final FlightRecordings recordings;
+
+    public JfrEndpoint(FlightRecordings recordings) {
+        this.recordings = recordings;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> start(@Nullable String profile, @Nullable Duration duration) {
+        try {
+            return new WebEndpointResponse<>(recordings.start(profile, duration), WebEndpointResponse.STATUS_OK);
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), WebEndpointResponse.STATUS_BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), 409);
+        }
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump() throws IOException {
+        Optional<Path> file = recordings.dump();
+        if (file.isEmpty()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+
+        // Streamed rather than loaded, as it can reach the recording's maximum size
+        InputStream content = Files.newInputStream(file.get(), StandardOpenOption.DELETE_ON_CLOSE);
+        return new WebEndpointResponse<>(new InputStreamResource(content), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public Map<String, Boolean> stop() {
+        return Map.of("stopped", recordings.cancel());
+    }
+}
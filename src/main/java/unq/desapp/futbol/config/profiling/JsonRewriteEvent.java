@@ -0,0 +1,52 @@
+package unq.desapp.futbol.config.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Rewriting of a JavaScript object literal found in a page into valid JSON,
+ * a chain of regular expression replacements over the whole literal.
+ */
+@Name("unq.desapp.futbol.JsonRewrite")
+@Label("JSON Rewrite")
+@Category({ "Futbol API", "Scraping" })
+@Description("Rewrite of an embedded JavaScript literal into JSON")
+@StackTrace(false)
+public class JsonRewriteEvent extends Event {
+
+    @Label("Endpoint")
+    @Description("Class of URL the literal came from, e.g. fixtures_data")
+    private String endpoint;
+
+    @Label("Input Size")
+    @DataAmount
+    private long inputBytes;
+
+    @Label("Output Size")
+    @DataAmount
+    private long outputBytes;
+
+    private JsonRewriteEvent(String endpoint, long inputBytes) {
+        this.endpoint = endpoint;
+        this.inputBytes = inputBytes;
+    }
+
+    public static JsonRewriteEvent start(String endpoint, int inputChars) {
+        JsonRewriteEvent event = new JsonRewriteEvent(endpoint, inputChars);
+        event.begin();
+        return event;
+    }
+
+    public void finish(int outputChars) {
+        end();
+        if (shouldCommit()) {
+            outputBytes = outputChars;
+            commit();
+        }
+    }
+}
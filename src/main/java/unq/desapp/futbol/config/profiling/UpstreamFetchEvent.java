@@ -0,0 +1,51 @@
+package unq.desapp.futbol.config.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One round trip to the scraped site, from sending the request to having the
+ * whole body buffered.
+ */
+@Name("unq.desapp.futbol.UpstreamFetch")
+@Label("Upstream Fetch")
+@Category({ "Futbol API", "Scraping" })
+@Description("Download of one page or data feed from the scraped site")
+@StackTrace(false)
+public class UpstreamFetchEvent extends Event {
+
+    @Label("Endpoint")
+    @Description("Class of URL fetched, e.g. search or match_page")
+    private String endpoint;
+
+    @Label("Status")
+    private int status;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    private UpstreamFetchEvent(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public static UpstreamFetchEvent start(String endpoint) {
+        UpstreamFetchEvent event = new UpstreamFetchEvent(endpoint);
+        event.begin();
+        return event;
+    }
+
+    public void finish(int responseStatus, long responseBytes) {
+        end();
+        if (shouldCommit()) {
+            status = responseStatus;
+            bytes = responseBytes;
+            commit();
+        }
+    }
+}
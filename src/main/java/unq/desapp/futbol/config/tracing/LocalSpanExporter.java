@@ -0,0 +1,121 @@
+package unq.desapp.futbol.config.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exports finished spans without an external collector: the most recent
+ * ones are kept in a bounded buffer served by {@link TracesEndpoint}, and
+ * every batch can also be appended to a file as one line of OTLP/JSON.
+ * The SDK's batch processor calls it from its own thread, so the file write
+ * blocks nobody.
+ */
+@Component
+public class LocalSpanExporter implements SpanExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalSpanExporter.class);
+
+    private final OtlpJson otlpJson;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final Path file;
+    private final Deque<SpanData> buffer = new ArrayDeque<>();
+
+    public LocalSpanExporter(ObjectMapper objectMapper,
+            @Value("${app.tracing.export.buffer-size:2048}") int bufferSize,
+            @Value("${app.tracing.export.file:}") String file) {
+        this.objectMapper = objectMapper;
+        this.otlpJson = new OtlpJson(objectMapper);
+        this.bufferSize = bufferSize;
+        this.file = file.isBlank() ? null : Path.of(file);
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        buffer(spans);
+        if (file == null) {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        try {
+            append(otlpJson.toRequest(spans));
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            logger.warn("Could not append {} spans to {}", spans.size(), file, e);
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    /**
+     * The buffered spans, oldest first, as one OTLP/JSON export request.
+     */
+    public ObjectNode snapshot() {
+        List<SpanData> spans;
+        synchronized (buffer) {
+            spans = new ArrayList<>(buffer);
+        }
+        return otlpJson.toRequest(spans);
+    }
+
+    public int clear() {
+        synchronized (buffer) {
+            int cleared = buffer.size();
+            buffer.clear();
+            return cleared;
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private void buffer(Collection<SpanData> spans) {
+        if (bufferSize <= 0) {
+            return;
+        }
+        synchronized (buffer) {
+            for (SpanData span : spans) {
+                if (buffer.size() == bufferSize) {
+                    buffer.removeFirst();
+                }
+                buffer.addLast(span);
+            }
+        }
+    }
+
+    private synchronized void append(ObjectNode request) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(objectMapper.writeValueAsString(request));
+            writer.write('\n');
+        }
+    }
+}
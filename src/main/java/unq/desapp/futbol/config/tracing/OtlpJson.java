@@ -0,0 +1,116 @@
+package unq.desapp.futbol.config.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders spans as an OTLP/JSON {@code ExportTraceServiceRequest}, the format
+ * OTLP receivers and the collector's file exporter read: hex trace and span
+ * IDs, enum values as numbers and 64-bit integers as strings.
+ */
+final class OtlpJson {
+
+    private final ObjectMapper objectMapper;
+
+    OtlpJson(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    ObjectNode toRequest(Collection<SpanData> spans) {
+        Map<Resource, Map<InstrumentationScopeInfo, List<SpanData>>> grouped = new LinkedHashMap<>();
+        for (SpanData span : spans) {
+            grouped.computeIfAbsent(span.getResource(), resource -> new LinkedHashMap<>())
+                    .computeIfAbsent(span.getInstrumentationScopeInfo(), scope -> new ArrayList<>())
+                    .add(span);
+        }
+
+        ObjectNode request = objectMapper.createObjectNode();
+        ArrayNode resourceSpans = request.putArray("resourceSpans");
+        grouped.forEach((resource, scopes) -> {
+            ObjectNode resourceNode = resourceSpans.addObject();
+            resourceNode.putObject("resource").set("attributes", attributes(resource.getAttributes()));
+            ArrayNode scopeSpans = resourceNode.putArray("scopeSpans");
+            scopes.forEach((scope, scopeSpanList) -> {
+                ObjectNode scopeNode = scopeSpans.addObject();
+                ObjectNode scopeInfo = scopeNode.putObject("scope");
+                scopeInfo.put("name", scope.getName());
+                if (scope.getVersion() != null) {
+                    scopeInfo.put("version", scope.getVersion());
+                }
+                ArrayNode spanNodes = scopeNode.putArray("spans");
+                scopeSpanList.forEach(span -> spanNodes.add(span(span)));
+            });
+        });
+        return request;
+    }
+
+    private ObjectNode span(SpanData span) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("traceId", span.getTraceId());
+        node.put("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            node.put("parentSpanId", span.getParentSpanId());
+        }
+        node.put("name", span.getName());
+        // OTLP numbers kinds from 1 (internal) in the same order as the SDK enum
+        node.put("kind", span.getKind().ordinal() + 1);
+        node.put("startTimeUnixNano", Long.toString(span.getStartEpochNanos()));
+        node.put("endTimeUnixNano", Long.toString(span.getEndEpochNanos()));
+        node.set("attributes", attributes(span.getAttributes()));
+
+        ArrayNode events = node.putArray("events");
+        for (EventData event : span.getEvents()) {
+            ObjectNode eventNode = events.addObject();
+            eventNode.put("timeUnixNano", Long.toString(event.getEpochNanos()));
+            eventNode.put("name", event.getName());
+            eventNode.set("attributes", attributes(event.getAttributes()));
+        }
+
+        ObjectNode status = node.putObject("status");
+        // UNSET, OK and ERROR are 0, 1 and 2 in both
+        status.put("code", span.getStatus().getStatusCode().ordinal());
+        if (!span.getStatus().getDescription().isEmpty()) {
+            status.put("message", span.getStatus().getDescription());
+        }
+        return node;
+    }
+
+    private ArrayNode attributes(Attributes attributes) {
+        ArrayNode array = objectMapper.createArrayNode();
+        attributes.forEach((AttributeKey<?> key, Object value) -> {
+            ObjectNode attribute = array.addObject();
+            attribute.put("key", key.getKey());
+            attribute.set("value", value(value));
+        });
+        return array;
+    }
+
+    private ObjectNode value(Object value) {
+        ObjectNode node = objectMapper.createObjectNode();
+        if (value instanceof Boolean bool) {
+            node.put("boolValue", bool);
+        } else if (value instanceof Long number) {
+            node.put("intValue", Long.toString(number));
+        } else if (value instanceof Double number) {
+            node.put("doubleValue", number);
+        } else if (value instanceof List<?> list) {
+            ArrayNode values = node.putObject("arrayValue").putArray("values");
+            list.forEach(item -> values.add(value(item)));
+        } else {
+            node.put("stringValue", String.valueOf(value));
+        }
+        return node;
+    }
+}
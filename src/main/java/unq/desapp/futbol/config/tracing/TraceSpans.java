@@ -0,0 +1,111 @@
+package unq.desapp.futbol.config.tracing;
+
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * Opens tracing spans around reactive pipelines and blocking work. A span
+ * opened by {@link #trace} travels in the Reactor context, so work moved to
+ * another thread (see {@link #bind}) nests under it; otherwise spans nest
+ * under the exchange's server span. Without a tracer every call is a no-op.
+ */
+@Component
+public class TraceSpans {
+
+    public static final String CONTEXT_KEY = TraceSpans.class.getName();
+    public static final TraceSpans NOOP = of(Tracer.NOOP);
+
+    private static final ContextSnapshotFactory SNAPSHOTS = ContextSnapshotFactory.builder().build();
+    private static final Tracer.SpanInScope NOT_BOUND = () -> {
+    };
+
+    private final Tracer tracer;
+
+    public TraceSpans(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+    }
+
+    /**
+     * Spans opened with the given tracer, for code built outside the context.
+     */
+    public static TraceSpans of(Tracer tracer) {
+        return new TraceSpans(new StaticListableBeanFactory(Map.of("tracer", tracer)).getBeanProvider(Tracer.class));
+    }
+
+    /**
+     * Wraps the source in a span that starts on subscription and ends when it
+     * terminates or is cancelled. Tags are given as name/value pairs.
+     */
+    public <T> Mono<T> trace(String name, Mono<T> source, String... tags) {
+        return Mono.deferContextual(context -> {
+            Span span = start(context, name, tags);
+            return source
+                    .doOnError(span::error)
+                    .doOnCancel(() -> span.event("cancelled"))
+                    .doFinally(signal -> span.end())
+                    .contextWrite(inner -> inner.put(CONTEXT_KEY, span));
+        });
+    }
+
+    /**
+     * Runs blocking work in a span nested under the one in scope on this thread.
+     */
+    public <T, E extends Exception> T inSpan(String name, SpanWork<T, E> work, String... tags) throws E {
+        Span span = tag(tracer.nextSpan().name(name), tags).start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            return work.run();
+        } catch (Throwable throwable) {
+            span.error(throwable);
+            throw throwable;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Puts the span opened by an enclosing {@link #trace} in scope on the
+     * current thread, for blocking work subscribed on a worker.
+     */
+    public Tracer.SpanInScope bind(ContextView context) {
+        Span span = context.getOrDefault(CONTEXT_KEY, null);
+        return span != null ? tracer.withSpan(span) : NOT_BOUND;
+    }
+
+    public void tagCurrent(String key, String value) {
+        Span span = tracer.currentSpan();
+        if (span != null) {
+            span.tag(key, value);
+        }
+    }
+
+    private Span start(ContextView context, String name, String... tags) {
+        Span parent = context.getOrDefault(CONTEXT_KEY, null);
+        if (parent != null) {
+            return tag(tracer.nextSpan(parent).name(name), tags).start();
+        }
+        // The server span is only reachable through the thread locals kept in the context
+        try (ContextSnapshot.Scope scope = SNAPSHOTS.setThreadLocalsFrom(context)) {
+            return tag(tracer.nextSpan().name(name), tags).start();
+        }
+    }
+
+    private static Span tag(Span span, String... tags) {
+        for (int i = 0; i + 1 < tags.length; i += 2) {
+            span.tag(tags[i], tags[i + 1]);
+        }
+        return span;
+    }
+
+    @FunctionalInterface
+    public interface SpanWork<T, E extends Exception> {
+        T run() throws E;
+    }
+}
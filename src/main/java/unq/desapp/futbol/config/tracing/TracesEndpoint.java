@@ -0,0 +1,34 @@
+package unq.desapp.futbol.config.tracing;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/traces}: the spans buffered by {@link LocalSpanExporter}
+ * as OTLP/JSON, ready to load into any OTLP-aware viewer. Restricted to
+ * admins by the security configuration.
+ */
+@Component
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private final LocalSpanExporter exporter;
+
+    public TracesEndpoint(LocalSpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @ReadOperation
+    public ObjectNode traces() {
+        return exporter.snapshot();
+    }
+
+    @DeleteOperation
+    public Map<String, Integer> clear() {
+        return Map.of("cleared", exporter.clear());
+    }
+}
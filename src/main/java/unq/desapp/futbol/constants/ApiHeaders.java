@@ -0,0 +1,11 @@
+package unq.desapp.futbol.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ApiHeaders {
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+    public static final String SERVER_TIMING = "Server-Timing";
+    public static final String CORRELATION_ID = "X-Correlation-Id";
+}
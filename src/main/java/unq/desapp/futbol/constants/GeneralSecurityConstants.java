@@ -21,7 +21,13 @@ public final class GeneralSecurityConstants {
             HttpMethod.OPTIONS.name());
         public static final List<String> EXPOSED_HEADERS = List.of(
             HttpHeaders.AUTHORIZATION,
-            HttpHeaders.CONTENT_TYPE);
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.ETAG,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.RETRY_AFTER,
+            ApiHeaders.NEXT_CURSOR,
+            ApiHeaders.SERVER_TIMING,
+            ApiHeaders.CORRELATION_ID);
         public static final String PATTERN = "/**";
     }
 
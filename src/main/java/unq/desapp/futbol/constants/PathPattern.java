@@ -6,5 +6,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class PathPattern {
     public static final String ACTUATOR = "/actuator/**";
+    public static final String ACTUATOR_TRACES = "/actuator/traces/**";
+    public static final String ACTUATOR_JFR = "/actuator/jfr/**";
     public static final String AUTH = "/auth/**";
 }
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import unq.desapp.futbol.exceptions.EmailAlreadyTakenException;
 import unq.desapp.futbol.model.Role;
 import unq.desapp.futbol.model.User;
 import reactor.core.publisher.Mono;
@@ -19,7 +20,7 @@ import unq.desapp.futbol.model.RegisterRequest;
 import unq.desapp.futbol.model.AuthRequest;
 import unq.desapp.futbol.model.AuthResponse;
 import unq.desapp.futbol.security.JwtTokenProvider;
-import unq.desapp.futbol.service.UserService;
+import unq.desapp.futbol.service.ReactiveUserService;
 import unq.desapp.futbol.config.metrics.BusinessMetric;
 
 @RestController
@@ -27,13 +28,13 @@ import unq.desapp.futbol.config.metrics.BusinessMetric;
 @RequestMapping("/auth")
 public class AuthController {
     private static final String BEARER = "Bearer";
-    private final UserService footballService;
+    private final ReactiveUserService reactiveUserService;
     private final JwtTokenProvider jwtTokenProvider;
 
     public AuthController(
-            UserService footballService,
+            ReactiveUserService reactiveUserService,
             JwtTokenProvider jwtTokenProvider) {
-        this.footballService = footballService;
+        this.reactiveUserService = reactiveUserService;
         this.jwtTokenProvider = jwtTokenProvider;
     }
 
@@ -42,8 +43,9 @@ public class AuthController {
     @Operation(summary = "User Login", description = "Authenticates a user with email and password, returning a JWT.")
     @ApiResponse(responseCode = "200", description = "Authentication successful", content = @Content(schema = @Schema(implementation = AuthResponse.class)))
     @ApiResponse(responseCode = "401", description = "Invalid credentials", content = @Content)
+    @ApiResponse(responseCode = "503", description = "Too many logins in progress, retry later", content = @Content)
     public Mono<ResponseEntity<AuthResponse>> login(@RequestBody AuthRequest request) {
-        return Mono.justOrEmpty(footballService.loginUser(request.getEmail(), request.getPassword()))
+        return reactiveUserService.loginUser(request.getEmail(), request.getPassword())
                 .map(this::buildResponse)
                 .map(ResponseEntity::ok)
                 .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials")));
@@ -54,6 +56,7 @@ public class AuthController {
     @Operation(summary = "Register a new user", description = "Creates a new user account and returns a JWT.")
     @ApiResponse(responseCode = "201", description = "User registered successfully", content = @Content(schema = @Schema(implementation = AuthResponse.class)))
     @ApiResponse(responseCode = "400", description = "Invalid user data or email already taken", content = @Content)
+    @ApiResponse(responseCode = "503", description = "Too many registrations in progress, retry later", content = @Content)
     public Mono<ResponseEntity<AuthResponse>> register(@RequestBody RegisterRequest request) {
         User newUser = new User(
                 request.getEmail(),
@@ -62,13 +65,9 @@ public class AuthController {
                 request.getLastName(),
                 Role.USER // Assign default role
         );
-        return Mono.fromCallable(() -> {
-            try {
-                return footballService.addUser(newUser);
-            } catch (IllegalArgumentException e) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
-            }
-        })
+        return reactiveUserService.registerUser(newUser)
+                .onErrorMap(e -> e instanceof EmailAlreadyTakenException || e instanceof IllegalArgumentException,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()))
                 .map(this::buildResponse)
                 .map(authResponse -> new ResponseEntity<>(authResponse, HttpStatus.CREATED));
     }
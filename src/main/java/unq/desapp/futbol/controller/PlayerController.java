@@ -18,6 +18,7 @@ import reactor.core.publisher.Mono;
 import unq.desapp.futbol.model.PlayerPerformance;
 import unq.desapp.futbol.model.User;
 import unq.desapp.futbol.service.PlayerService;
+import unq.desapp.futbol.config.cache.ConditionalResponses;
 import unq.desapp.futbol.config.metrics.BusinessMetric;
 
 @RestController
@@ -46,7 +47,7 @@ public class PlayerController {
 
                 String playerName = name.replace('-', ' ');
                 return playerService.getPlayerPerformance(playerName, user)
-                                .map(ResponseEntity::ok)
+                                .flatMap(ConditionalResponses::ok)
                                 .defaultIfEmpty(ResponseEntity.notFound().build());
         }
 }
@@ -0,0 +1,67 @@
+package unq.desapp.futbol.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import unq.desapp.futbol.config.cache.ConditionalResponses;
+import unq.desapp.futbol.config.metrics.BusinessMetric;
+import unq.desapp.futbol.model.PlayerTimeline;
+import unq.desapp.futbol.service.SquadHistoryService;
+
+@RestController
+@Tag(name = "Teams")
+@SecurityRequirement(name = "BearerAuth")
+@RequestMapping("/teams")
+public class SquadHistoryController {
+
+        private final SquadHistoryService squadHistoryService;
+
+        public SquadHistoryController(SquadHistoryService squadHistoryService) {
+                this.squadHistoryService = squadHistoryService;
+        }
+
+        @GetMapping("/{country}/{name}/squad/history")
+        @BusinessMetric(name = "team_squad_history", help = "Counts team squad history requests")
+        @Operation(summary = "Get Team Squad History", description = "Returns the time series of every player of the team, built from the squads fetched on previous days. It is served from local storage, keyed by the team's upstream id, and is not recorded in the user's search history.")
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the squad history", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = PlayerTimeline.class))))
+        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token is missing or invalid", content = @Content)
+        @ApiResponse(responseCode = "404", description = "No squad of the team has been stored yet", content = @Content)
+        public Mono<ResponseEntity<List<PlayerTimeline>>> getSquadHistory(
+                        @Parameter(description = "Country of the team", required = true, example = "England") @PathVariable String country,
+                        @Parameter(description = "Name of the team, use hyphens for spaces", required = true, example = "manchester-united") @PathVariable String name) {
+
+                String teamName = name.replace('-', ' ');
+                return squadHistoryService.findTimelines(teamName, country)
+                                .flatMap(ConditionalResponses::ok)
+                                .defaultIfEmpty(ResponseEntity.notFound().build());
+        }
+
+        @GetMapping("/{country}/{name}/squad/history/{player}")
+        @BusinessMetric(name = "player_squad_history", help = "Counts player squad history requests")
+        @Operation(summary = "Get Player History Within a Team", description = "Returns the time series of one player of the team, one point per day on which the squad was fetched. It is served from local storage, keyed by the team's upstream id, and is not recorded in the user's search history.")
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the player history", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PlayerTimeline.class)))
+        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token is missing or invalid", content = @Content)
+        @ApiResponse(responseCode = "404", description = "The player was never stored in a squad of the team", content = @Content)
+        public Mono<ResponseEntity<PlayerTimeline>> getPlayerHistory(
+                        @Parameter(description = "Country of the team", required = true, example = "England") @PathVariable String country,
+                        @Parameter(description = "Name of the team, use hyphens for spaces", required = true, example = "manchester-united") @PathVariable String name,
+                        @Parameter(description = "Name of the player, use hyphens for spaces", required = true, example = "bruno-fernandes") @PathVariable String player) {
+
+                String teamName = name.replace('-', ' ');
+                return squadHistoryService.findPlayerTimeline(teamName, country, player)
+                                .flatMap(ConditionalResponses::ok)
+                                .defaultIfEmpty(ResponseEntity.notFound().build());
+        }
+}
@@ -20,6 +20,7 @@ import unq.desapp.futbol.model.TeamStats;
 import unq.desapp.futbol.model.Player;
 import unq.desapp.futbol.model.User;
 import unq.desapp.futbol.service.TeamService;
+import unq.desapp.futbol.config.cache.ConditionalResponses;
 import unq.desapp.futbol.config.metrics.BusinessMetric;
 import java.util.List;
 
@@ -50,7 +51,7 @@ public class TeamController {
 
                 String teamName = name.replace('-', ' ');
                 return teamService.getTeamSquad(teamName, country, user)
-                                .map(ResponseEntity::ok)
+                                .flatMap(ConditionalResponses::ok)
                                 .defaultIfEmpty(ResponseEntity.notFound().build());
         }
 
@@ -69,7 +70,7 @@ public class TeamController {
 
                 String teamName = name.replace('-', ' ');
                 return teamService.getUpcomingMatches(teamName, country, user)
-                                .map(ResponseEntity::ok)
+                                .flatMap(ConditionalResponses::ok)
                                 .defaultIfEmpty(ResponseEntity.notFound().build());
         }
 
@@ -88,7 +89,7 @@ public class TeamController {
 
                 String teamName = name.replace('-', ' ');
                 return teamService.getNextMatchPrediction(teamName, country, user)
-                                .map(ResponseEntity::ok)
+                                .flatMap(ConditionalResponses::ok)
                                 .defaultIfEmpty(ResponseEntity.notFound().build());
 
         }
@@ -108,7 +109,7 @@ public class TeamController {
 
                 String teamName = name.replace('-', ' ');
                 return teamService.getSingleTeamStats(teamName, country, user)
-                                .map(ResponseEntity::ok)
+                                .flatMap(ConditionalResponses::ok)
                                 .defaultIfEmpty(ResponseEntity.notFound().build());
         }
 
@@ -130,7 +131,7 @@ public class TeamController {
                 String teamNameA = nameA.replace('-', ' ');
                 String teamNameB = nameB.replace('-', ' ');
                 return teamService.getTeamsComparasion(teamNameA, countryA, teamNameB, countryB, user)
-                                .map(ResponseEntity::ok)
+                                .flatMap(ConditionalResponses::ok)
                                 .defaultIfEmpty(ResponseEntity.notFound().build());
         }
 }
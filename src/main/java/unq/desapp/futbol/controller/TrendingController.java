@@ -0,0 +1,51 @@
+package unq.desapp.futbol.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import unq.desapp.futbol.model.SearchType;
+import unq.desapp.futbol.model.TrendingQuery;
+import unq.desapp.futbol.model.TrendingWindow;
+import unq.desapp.futbol.service.TrendingService;
+import unq.desapp.futbol.config.metrics.BusinessMetric;
+
+@RestController
+@Tag(name = "Trending")
+@RequestMapping("/trending")
+@SecurityRequirement(name = "BearerAuth")
+public class TrendingController {
+
+        private final TrendingService trendingService;
+
+        public TrendingController(TrendingService trendingService) {
+                this.trendingService = trendingService;
+        }
+
+        @GetMapping
+        @BusinessMetric(name = "trending_queries", help = "Counts trending queries requests")
+        @Operation(summary = "Get Trending Searches", description = "Returns the most searched teams and players of all users within a sliding time window. Counts are approximate upper bounds and are refreshed every few seconds.")
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved trending searches", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TrendingQuery.class))))
+        @ApiResponse(responseCode = "400", description = "Bad Request - Unknown window", content = @Content)
+        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token is missing or invalid", content = @Content)
+        public Mono<ResponseEntity<List<TrendingQuery>>> getTrending(
+                        @Parameter(description = "Sliding window: 1h, 24h or 7d.", required = false, example = "24h") @RequestParam(defaultValue = "24h") String window,
+                        @Parameter(description = "Filter by type (TEAM or PLAYER). If omitted, both are ranked together.", required = false) @RequestParam(required = false) SearchType type,
+                        @Parameter(description = "Maximum number of queries to return.", required = false) @RequestParam(defaultValue = "10") int limit) {
+
+                return Mono.fromCallable(() -> TrendingWindow.fromLabel(window))
+                                .flatMap(trendingWindow -> trendingService.findTrending(trendingWindow, type, limit))
+                                .map(ResponseEntity::ok);
+        }
+}
@@ -16,9 +16,13 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 import java.util.List;
+import unq.desapp.futbol.constants.ApiHeaders;
 import unq.desapp.futbol.model.SearchHistoryEntry;
+import unq.desapp.futbol.model.HistorySort;
+import unq.desapp.futbol.model.SearchHistoryOverview;
 import unq.desapp.futbol.model.SearchType;
 import unq.desapp.futbol.model.User;
+import unq.desapp.futbol.service.SearchHistoryService;
 import unq.desapp.futbol.config.metrics.BusinessMetric;
 
 @RestController
@@ -27,24 +31,44 @@ import unq.desapp.futbol.config.metrics.BusinessMetric;
 @SecurityRequirement(name = "BearerAuth")
 public class UserController {
 
+        private final SearchHistoryService searchHistoryService;
+
+        public UserController(SearchHistoryService searchHistoryService) {
+                this.searchHistoryService = searchHistoryService;
+        }
+
         @GetMapping("/history")
         @BusinessMetric(name = "user_search_history", help = "Counts user search history requests")
-        @Operation(summary = "Get User Search History", description = "Returns the search history for the authenticated user.")
+        @Operation(summary = "Get User Search History", description = "Returns one page of the search history for the authenticated user, one entry per distinct search with its hit count and last access time. Entries are ordered by recency or by frequency. When more entries exist, the cursor for the next page is returned in the X-Next-Cursor header.")
         @ApiResponse(responseCode = "200", description = "Successfully retrieved search history", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = SearchHistoryEntry.class))))
+        @ApiResponse(responseCode = "400", description = "Bad Request - Malformed cursor", content = @Content)
         @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token is missing or invalid", content = @Content)
         public Mono<ResponseEntity<List<SearchHistoryEntry>>> getSearchHistory(@AuthenticationPrincipal User user,
-                        @Parameter(description = "Filter history by type (TEAM or PLAYER). If omitted, all history is returned.", required = false) @RequestParam(required = false) SearchType type) {
+                        @Parameter(description = "Filter history by type (TEAM or PLAYER). If omitted, all history is returned.", required = false) @RequestParam(required = false) SearchType type,
+                        @Parameter(description = "RECENT for most recently searched first, FREQUENT for most searched first.", required = false) @RequestParam(defaultValue = "RECENT") HistorySort sort,
+                        @Parameter(description = "Maximum number of entries to return (1 to 100).", required = false) @RequestParam(defaultValue = "20") int limit,
+                        @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page, requested with the same sort.", required = false) @RequestParam(required = false) String cursor) {
 
-                return Mono.just(user)
-                                .map(User::getSearchHistory)
-                                .map(history -> {
-                                        if (type == null) {
-                                                return history;
+                return searchHistoryService.findHistory(user, type, sort, limit, cursor)
+                                .map(page -> {
+                                        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+                                        if (page.nextCursor() != null) {
+                                                builder.header(ApiHeaders.NEXT_CURSOR, page.nextCursor());
                                         }
-                                        return history.stream()
-                                                        .filter(entry -> entry.getType() == type)
-                                                        .toList();
-                                })
+                                        return builder.body(page.entries());
+                                });
+        }
+
+        @GetMapping("/history/overview")
+        @BusinessMetric(name = "user_search_history_overview", help = "Counts user search history overview requests")
+        @Operation(summary = "Get User Search History Overview", description = "Returns the most recent raw search history entries of the authenticated user together with the aggregated counts of older, compacted searches.")
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved search history overview", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SearchHistoryOverview.class)))
+        @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token is missing or invalid", content = @Content)
+        public Mono<ResponseEntity<SearchHistoryOverview>> getSearchHistoryOverview(@AuthenticationPrincipal User user,
+                        @Parameter(description = "Filter history by type (TEAM or PLAYER). If omitted, all history is returned.", required = false) @RequestParam(required = false) SearchType type,
+                        @Parameter(description = "Maximum number of raw entries and of aggregates to return (1 to 100).", required = false) @RequestParam(defaultValue = "20") int limit) {
+
+                return searchHistoryService.findOverview(user, type, limit)
                                 .map(ResponseEntity::ok);
         }
 }
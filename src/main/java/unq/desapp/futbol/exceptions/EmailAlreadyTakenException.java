@@ -0,0 +1,11 @@
+package unq.desapp.futbol.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class EmailAlreadyTakenException extends RuntimeException {
+    public EmailAlreadyTakenException(String email) {
+        super("Email is already taken: " + email);
+    }
+}
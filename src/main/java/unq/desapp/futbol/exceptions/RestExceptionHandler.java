@@ -1,6 +1,7 @@
 package unq.desapp.futbol.exceptions;
 
 import java.util.Map;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -27,4 +28,35 @@ public class RestExceptionHandler {
                 "message", ex.getMessage());
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseBody
+    public ResponseEntity<Map<String, String>> handleInvalidCursorException(InvalidCursorException ex) {
+        Map<String, String> errorResponse = Map.of(
+                "error", "Bad Request",
+                "message", ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidTrendingWindowException.class)
+    @ResponseBody
+    public ResponseEntity<Map<String, String>> handleInvalidTrendingWindowException(
+            InvalidTrendingWindowException ex) {
+        Map<String, String> errorResponse = Map.of(
+                "error", "Bad Request",
+                "message", ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    @ResponseBody
+    public ResponseEntity<Map<String, String>> handlePasswordHashingUnavailableException(
+            PasswordHashingUnavailableException ex) {
+        Map<String, String> errorResponse = Map.of(
+                "error", "Service Unavailable",
+                "message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+}
@@ -0,0 +1,9 @@
+package unq.desapp.futbol.model;
+
+public record CompletedMatch(
+        long matchId,
+        long homeTeamId,
+        String homeTeam,
+        int homeScore,
+        int awayScore) {
+}
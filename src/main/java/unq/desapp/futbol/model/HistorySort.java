@@ -0,0 +1,8 @@
+package unq.desapp.futbol.model;
+
+public enum HistorySort {
+    /** Most recently searched first. */
+    RECENT,
+    /** Most searched first. */
+    FREQUENT
+}
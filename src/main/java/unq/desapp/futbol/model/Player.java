@@ -22,4 +22,8 @@ public class Player {
     private Integer assist;
     private Integer redCards;
     private Integer yellowCards;
+
+    public Player copy() {
+        return new Player(name, age, nationality, position, rating, matches, goals, assist, redCards, yellowCards);
+    }
 }
@@ -0,0 +1,9 @@
+package unq.desapp.futbol.model;
+
+import java.util.List;
+
+/**
+ * Every stored snapshot of a player within a team, oldest first.
+ */
+public record PlayerTimeline(String player, List<PlayerTimelinePoint> points) {
+}
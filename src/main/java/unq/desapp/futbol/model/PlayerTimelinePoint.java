@@ -0,0 +1,12 @@
+package unq.desapp.futbol.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDate;
+
+/**
+ * The season figures of a player as they were in the squad snapshot of one day.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PlayerTimelinePoint(LocalDate date, Double rating, Integer matches, Integer goals, Integer assist,
+        Integer redCards, Integer yellowCards) {
+}
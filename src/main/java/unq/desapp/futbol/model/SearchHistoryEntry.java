@@ -10,21 +10,32 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import org.hibernate.annotations.ColumnDefault;
 
 @Getter
 @NoArgsConstructor
 @Entity
-@Table(name = "search_history")
+@Table(name = "search_history",
+        uniqueConstraints = @UniqueConstraint(name = SearchHistoryEntry.UNIQUE_QUERY_CONSTRAINT,
+                columnNames = { "user_id", "type", "query" }),
+        indexes = {
+                @Index(name = "idx_search_history_user_type_timestamp", columnList = "user_id, type, timestamp"),
+                @Index(name = "idx_search_history_user_hit_count", columnList = "user_id, hit_count")
+        })
 public class SearchHistoryEntry implements Serializable {
 
+    public static final String UNIQUE_QUERY_CONSTRAINT = "uk_search_history_user_type_query";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -38,11 +49,16 @@ public class SearchHistoryEntry implements Serializable {
     @Column(nullable = false, length = 500)
     private String query;
 
+    /** Last time the user searched this query. */
     @NonNull
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSSSSSSS")
     @Column(nullable = false)
     private LocalDateTime timestamp;
 
+    @ColumnDefault("1")
+    @Column(name = "hit_count", nullable = false)
+    private long hitCount = 1;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     @JsonIgnore
@@ -54,6 +70,11 @@ public class SearchHistoryEntry implements Serializable {
         this.timestamp = LocalDateTime.now();
     }
 
+    public void touch() {
+        this.hitCount++;
+        this.timestamp = LocalDateTime.now();
+    }
+
     public void setUser(User user) {
         this.user = user;
     }
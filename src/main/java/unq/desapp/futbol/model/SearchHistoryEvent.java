@@ -0,0 +1,10 @@
+package unq.desapp.futbol.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A search to be appended to a user's history, decoupled from the
+ * {@link User} aggregate so it can be written outside the request.
+ */
+public record SearchHistoryEvent(long userId, SearchType type, String query, LocalDateTime timestamp) {
+}
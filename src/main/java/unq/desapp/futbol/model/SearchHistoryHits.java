@@ -0,0 +1,32 @@
+package unq.desapp.futbol.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Searches of one user for the same type and query, folded into a single
+ * counter increment for the history upsert.
+ */
+public record SearchHistoryHits(long userId, SearchType type, String query, long hits, LocalDateTime lastAccess) {
+
+    public static List<SearchHistoryHits> coalesce(List<SearchHistoryEvent> events) {
+        Map<Key, SearchHistoryHits> byQuery = new LinkedHashMap<>();
+        for (SearchHistoryEvent event : events) {
+            byQuery.merge(new Key(event.userId(), event.type(), event.query()),
+                    new SearchHistoryHits(event.userId(), event.type(), event.query(), 1, event.timestamp()),
+                    SearchHistoryHits::plus);
+        }
+        return new ArrayList<>(byQuery.values());
+    }
+
+    private SearchHistoryHits plus(SearchHistoryHits other) {
+        LocalDateTime latest = lastAccess.isAfter(other.lastAccess) ? lastAccess : other.lastAccess;
+        return new SearchHistoryHits(userId, type, query, hits + other.hits, latest);
+    }
+
+    private record Key(long userId, SearchType type, String query) {
+    }
+}
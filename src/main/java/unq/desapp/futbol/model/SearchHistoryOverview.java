@@ -0,0 +1,11 @@
+package unq.desapp.futbol.model;
+
+import java.util.List;
+
+/**
+ * A user's most recent raw history entries together with the aggregates of
+ * the entries that were compacted away, most searched first.
+ */
+public record SearchHistoryOverview(List<SearchHistoryEntry> recent, String nextCursor,
+        List<SearchHistoryRollup> aggregates) {
+}
@@ -0,0 +1,10 @@
+package unq.desapp.futbol.model;
+
+import java.util.List;
+
+/**
+ * One page of a user's search history, newest first. {@code nextCursor} is
+ * null on the last page.
+ */
+public record SearchHistoryPage(List<SearchHistoryEntry> entries, String nextCursor) {
+}
@@ -0,0 +1,8 @@
+package unq.desapp.futbol.model;
+
+/**
+ * A query searched again after it was compacted: the raw entry counting the
+ * new searches and the {@link SearchHistoryRollup} holding the earlier ones.
+ */
+public record SearchHistoryReappearance(long entryId, long rollupId, long rolledUpHits) {
+}
@@ -0,0 +1,68 @@
+package unq.desapp.futbol.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregate of the history entries of one user for the same type and query
+ * that were compacted out of {@code search_history}.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "search_history_rollup", uniqueConstraints = @UniqueConstraint(
+        name = "uk_search_history_rollup_user_type_query", columnNames = { "user_id", "type", "query" }))
+public class SearchHistoryRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SearchType type;
+
+    @Column(nullable = false, length = 500)
+    private String query;
+
+    @Column(name = "hit_count", nullable = false)
+    private long hitCount;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSSSSSSS")
+    @Column(name = "first_seen", nullable = false)
+    private LocalDateTime firstSeen;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSSSSSSS")
+    @Column(name = "last_seen", nullable = false)
+    private LocalDateTime lastSeen;
+
+    public SearchHistoryRollup(User user, SearchType type, String query, long hitCount, LocalDateTime firstSeen,
+            LocalDateTime lastSeen) {
+        this.user = user;
+        this.type = type;
+        this.query = query;
+        this.hitCount = hitCount;
+        this.firstSeen = firstSeen;
+        this.lastSeen = lastSeen;
+    }
+}
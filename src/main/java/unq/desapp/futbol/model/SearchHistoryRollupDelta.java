@@ -0,0 +1,11 @@
+package unq.desapp.futbol.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contribution of a batch of compacted history entries to one
+ * {@link SearchHistoryRollup}.
+ */
+public record SearchHistoryRollupDelta(long userId, SearchType type, String query, long hits,
+        LocalDateTime firstSeen, LocalDateTime lastSeen) {
+}
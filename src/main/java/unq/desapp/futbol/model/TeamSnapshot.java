@@ -0,0 +1,9 @@
+package unq.desapp.futbol.model;
+
+import java.util.List;
+
+public record TeamSnapshot(
+        int teamId,
+        List<Player> squad,
+        List<CompletedMatch> completedMatches) {
+}
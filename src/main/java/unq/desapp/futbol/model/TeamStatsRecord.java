@@ -0,0 +1,178 @@
+package unq.desapp.futbol.model;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Materialized team statistics keyed by the WhoScored team id.
+ * Keeps the raw counts and sums behind every average so that new squad and
+ * fixture snapshots can be folded in without recomputing from scratch.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "team_stats", indexes = @Index(name = "idx_team_stats_name_country", columnList = "team_name, country"))
+public class TeamStatsRecord {
+
+    @Id
+    private Integer teamId;
+
+    @Column(nullable = false)
+    private String teamName;
+
+    @Column(nullable = false)
+    private String country;
+
+    private int ageCount;
+    private long ageSum;
+    private int ratingCount;
+    private double ratingSum;
+    private String bestPlayer;
+    private double bestRating;
+
+    private int wins;
+    private int draws;
+    private int defeats;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "team_stats_applied_match", joinColumns = @JoinColumn(name = "team_id"))
+    @Column(name = "match_id", nullable = false)
+    private Set<Long> appliedMatchIds = new HashSet<>();
+
+    @Column(nullable = false)
+    private Instant refreshedAt;
+
+    @Version
+    private Long version;
+
+    public TeamStatsRecord(int teamId, String teamName, String country) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.country = country;
+        this.refreshedAt = Instant.EPOCH;
+        this.appliedMatchIds = new HashSet<>();
+    }
+
+    public void rename(String teamName, String country) {
+        this.teamName = teamName;
+        this.country = country;
+    }
+
+    /**
+     * Replaces the player-based sums with the given squad. Squads are full
+     * snapshots, so they are never merged with the previous one.
+     */
+    public void applySquad(List<Player> squad) {
+        ageCount = 0;
+        ageSum = 0;
+        ratingCount = 0;
+        ratingSum = 0.0;
+        bestPlayer = null;
+        bestRating = 0.0;
+
+        if (squad == null) {
+            return;
+        }
+
+        for (Player player : squad) {
+            if (player.getAge() != null) {
+                ageCount++;
+                ageSum += player.getAge();
+            }
+            if (player.getRating() != null) {
+                double rating = player.getRating();
+                ratingCount++;
+                ratingSum += rating;
+                if (bestPlayer == null || rating > bestRating) {
+                    bestPlayer = player.getName();
+                    bestRating = rating;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies only the completed matches that were not applied before. If a
+     * previously applied match is no longer part of the snapshot (e.g. a new
+     * season started) the results are rebuilt from the snapshot.
+     *
+     * @return the number of matches applied by this call
+     */
+    public int applyCompletedMatches(List<CompletedMatch> completedMatches, String queriedTeamName) {
+        Set<Long> snapshotIds = new HashSet<>();
+        for (CompletedMatch match : completedMatches) {
+            snapshotIds.add(match.matchId());
+        }
+
+        if (!snapshotIds.containsAll(appliedMatchIds)) {
+            wins = 0;
+            draws = 0;
+            defeats = 0;
+            appliedMatchIds.clear();
+        }
+
+        int applied = 0;
+        for (CompletedMatch match : completedMatches) {
+            if (appliedMatchIds.add(match.matchId())) {
+                applyResult(match, queriedTeamName);
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    private void applyResult(CompletedMatch match, String queriedTeamName) {
+        boolean isHome = match.homeTeamId() == teamId || queriedTeamName.equalsIgnoreCase(match.homeTeam());
+        if (match.homeScore() == match.awayScore()) {
+            draws++;
+        } else if ((isHome && match.homeScore() > match.awayScore())
+                || (!isHome && match.awayScore() > match.homeScore())) {
+            wins++;
+        } else {
+            defeats++;
+        }
+    }
+
+    public void markRefreshed(Instant refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+
+    public boolean isFresh(Instant now, Duration refreshInterval) {
+        return refreshedAt != null && refreshedAt.plus(refreshInterval).isAfter(now);
+    }
+
+    public TeamStats toTeamStats(String teamName, String country) {
+        TeamStats stats = new TeamStats(teamName, country);
+        stats.setAverageAge(roundToOneDecimal(ageCount == 0 ? 0.0 : (double) ageSum / ageCount));
+        stats.setAverageRating(roundToOneDecimal(ratingCount == 0 ? 0.0 : ratingSum / ratingCount));
+        stats.setBestPlayer(bestPlayer);
+        stats.setWins(wins);
+        stats.setDraws(draws);
+        stats.setDefeats(defeats);
+
+        int totalMatches = wins + draws + defeats;
+        if (totalMatches > 0) {
+            stats.setWinRate(Math.round(((double) wins / totalMatches) * 1000.0) / 10.0);
+        }
+        return stats;
+    }
+
+    private static double roundToOneDecimal(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
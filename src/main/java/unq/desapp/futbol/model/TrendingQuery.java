@@ -0,0 +1,8 @@
+package unq.desapp.futbol.model;
+
+/**
+ * A frequently searched query within a trending window. The count is an
+ * upper bound that overestimates the real one by at most {@code error}.
+ */
+public record TrendingQuery(SearchType type, String query, long count, long error) {
+}
@@ -0,0 +1,41 @@
+package unq.desapp.futbol.model;
+
+import java.time.Duration;
+import java.util.Arrays;
+import unq.desapp.futbol.exceptions.InvalidTrendingWindowException;
+
+public enum TrendingWindow {
+    LAST_HOUR("1h", Duration.ofHours(1), 12),
+    LAST_DAY("24h", Duration.ofDays(1), 24),
+    LAST_WEEK("7d", Duration.ofDays(7), 28);
+
+    private final String label;
+    private final Duration length;
+    private final int buckets;
+
+    TrendingWindow(String label, Duration length, int buckets) {
+        this.label = label;
+        this.length = length;
+        this.buckets = buckets;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public long getBucketMillis() {
+        return length.toMillis() / buckets;
+    }
+
+    public static TrendingWindow fromLabel(String label) {
+        return Arrays.stream(values())
+                .filter(window -> window.label.equalsIgnoreCase(label))
+                .findFirst()
+                .orElseThrow(() -> new InvalidTrendingWindowException(
+                        "Unknown trending window: " + label + ", expected one of 1h, 24h or 7d"));
+    }
+}
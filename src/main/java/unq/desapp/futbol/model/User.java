@@ -16,7 +16,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -48,7 +50,9 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private Role role;
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<SearchHistoryEntry> searchHistory = new ArrayList<>();
 
     public User(String email, String password, String firstName, String lastName, Role role) {
@@ -61,6 +65,13 @@ public class User implements UserDetails {
     }
 
     public void addSearchHistory(SearchType type, String query) {
+        for (SearchHistoryEntry existing : searchHistory) {
+            if (existing.getType() == type && existing.getQuery().equals(query)) {
+                existing.touch();
+                return;
+            }
+        }
+
         SearchHistoryEntry entry = new SearchHistoryEntry(type, query);
         entry.setUser(this);
         this.searchHistory.add(entry);
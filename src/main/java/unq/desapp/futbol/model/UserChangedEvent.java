@@ -0,0 +1,8 @@
+package unq.desapp.futbol.model;
+
+/**
+ * Published after a user is created or updated, so anything derived from
+ * the stored user, such as cached principals, can be dropped.
+ */
+public record UserChangedEvent(String email) {
+}
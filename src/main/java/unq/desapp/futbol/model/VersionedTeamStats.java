@@ -0,0 +1,20 @@
+package unq.desapp.futbol.model;
+
+import java.time.Instant;
+
+/**
+ * Team stats as a reusable unit: the stats themselves, a version that changes
+ * whenever the underlying row is refreshed and the instant they go stale. The
+ * version is made of the row's team id, optimistic-lock version and refresh
+ * time, so two different rows or refreshes never share it.
+ */
+public record VersionedTeamStats(TeamStats stats, String version, Instant expiresAt) {
+
+    public static String versionOf(TeamStatsRecord record) {
+        return record.getTeamId() + ":" + record.getVersion() + ":" + record.getRefreshedAt().toEpochMilli();
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,146 @@
+package unq.desapp.futbol.persistence.eventlog;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import unq.desapp.futbol.model.SearchType;
+
+/**
+ * One memory-mapped file of fixed-size records, little-endian:
+ * <pre>
+ *  0  long  timestamp (epoch millis, written last; 0 means not written yet)
+ *  8  long  user id
+ * 16  int   search type ordinal
+ * 20  int   query dictionary id
+ * </pre>
+ * Slots are reserved by the log, so concurrent writers never share one.
+ */
+final class LogSegment {
+
+    static final int RECORD_BYTES = 24;
+
+    private static final String FILE_PREFIX = "events-";
+    private static final String FILE_SUFFIX = ".seg";
+    private static final SearchType[] TYPES = SearchType.values();
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    private final long baseSequence;
+    private final int capacity;
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final boolean writable;
+
+    private LogSegment(long baseSequence, int capacity, Path file, MappedByteBuffer buffer, boolean writable) {
+        this.baseSequence = baseSequence;
+        this.capacity = capacity;
+        this.file = file;
+        this.buffer = buffer;
+        this.writable = writable;
+    }
+
+    static LogSegment open(Path directory, long baseSequence, int capacity, boolean writable) throws IOException {
+        Path file = directory.resolve(fileName(baseSequence));
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        try (FileChannel channel = writable
+                ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ)) {
+            // An existing segment keeps its size even if the configured one changed
+            long size = channel.size() > 0 ? channel.size() : (long) capacity * RECORD_BYTES;
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(mode, 0, size);
+            return new LogSegment(baseSequence, (int) (size / RECORD_BYTES), file, buffer, writable);
+        }
+    }
+
+    static String fileName(long baseSequence) {
+        return String.format("%s%020d%s", FILE_PREFIX, baseSequence, FILE_SUFFIX);
+    }
+
+    static boolean isSegmentFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+    }
+
+    static long baseSequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+    }
+
+    long baseSequence() {
+        return baseSequence;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    boolean contains(long sequence) {
+        return sequence >= baseSequence && sequence < baseSequence + capacity;
+    }
+
+    void write(int slot, long timestampMillis, long userId, SearchType type, int queryId) {
+        int offset = slot * RECORD_BYTES;
+        LONG.set(buffer, offset + 8, userId);
+        INT.set(buffer, offset + 16, type.ordinal());
+        INT.set(buffer, offset + 20, queryId);
+        // Publishing the timestamp makes the whole record visible to readers
+        LONG.setRelease(buffer, offset, timestampMillis);
+    }
+
+    /**
+     * Flushes the records written so far to the file, so they survive a
+     * crash of the host and not only of the process.
+     */
+    void force() {
+        if (writable) {
+            buffer.force();
+        }
+    }
+
+    boolean isWritten(int slot) {
+        return timestampAt(slot) != 0;
+    }
+
+    /**
+     * Hands the record to the consumer if it has been written.
+     */
+    boolean read(int slot, SearchEventConsumer consumer) {
+        int offset = slot * RECORD_BYTES;
+        long timestamp = timestampAt(slot);
+        if (timestamp == 0) {
+            return false;
+        }
+        consumer.accept(baseSequence + slot, timestamp, (long) LONG.get(buffer, offset + 8),
+                TYPES[(int) INT.get(buffer, offset + 16)], (int) INT.get(buffer, offset + 20));
+        return true;
+    }
+
+    /**
+     * Slot after the last written record, for resuming appends after a
+     * restart.
+     */
+    int writtenLimit() {
+        for (int slot = capacity - 1; slot >= 0; slot--) {
+            if (isWritten(slot)) {
+                return slot + 1;
+            }
+        }
+        return 0;
+    }
+
+    private long timestampAt(int slot) {
+        return (long) LONG.getAcquire(buffer, slot * RECORD_BYTES);
+    }
+}
@@ -0,0 +1,123 @@
+package unq.desapp.futbol.persistence.eventlog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only dictionary of query texts, so records only store an int id.
+ * The file holds length-prefixed UTF-8 strings and the id of a query is its
+ * position in the file. Known queries are resolved without locking or
+ * allocation; only a new query takes the lock and touches the file.
+ */
+final class QueryDictionary implements AutoCloseable {
+
+    static final String FILE_NAME = "queries.dict";
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final FileChannel channel;
+
+    private volatile String[] entries = new String[64];
+    private volatile int count;
+
+    private QueryDictionary(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    static QueryDictionary open(Path directory, boolean writable) throws IOException {
+        Path file = directory.resolve(FILE_NAME);
+        if (!writable) {
+            QueryDictionary dictionary = new QueryDictionary(null);
+            if (Files.exists(file)) {
+                dictionary.load(ByteBuffer.wrap(Files.readAllBytes(file)));
+            }
+            return dictionary;
+        }
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        QueryDictionary dictionary = new QueryDictionary(channel);
+        long valid = dictionary.load(ByteBuffer.wrap(Files.readAllBytes(file)));
+        // Drops an entry cut short by a crash, so the next one starts aligned
+        channel.truncate(valid);
+        channel.position(valid);
+        return dictionary;
+    }
+
+    int idOf(String query) {
+        Integer id = ids.get(query);
+        return id != null ? id : register(query);
+    }
+
+    String queryOf(int id) {
+        int size = count;
+        String[] current = entries;
+        return id >= 0 && id < size ? current[id] : null;
+    }
+
+    int size() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private synchronized int register(String query) {
+        Integer existing = ids.get(query);
+        if (existing != null) {
+            return existing;
+        }
+
+        byte[] bytes = query.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer entry = ByteBuffer.allocate(Integer.BYTES + bytes.length).putInt(bytes.length).put(bytes).flip();
+        try {
+            while (entry.hasRemaining()) {
+                channel.write(entry);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not extend the query dictionary", e);
+        }
+        return add(query);
+    }
+
+    private long load(ByteBuffer content) {
+        while (content.remaining() >= Integer.BYTES) {
+            int start = content.position();
+            int length = content.getInt();
+            if (length < 0 || length > content.remaining()) {
+                content.position(start);
+                break;
+            }
+            byte[] bytes = new byte[length];
+            content.get(bytes);
+            add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return content.position();
+    }
+
+    private int add(String query) {
+        int id = count;
+        String[] current = entries;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[id] = query;
+        entries = current;
+        // Publishing the count last makes the entry visible to lock-free readers
+        count = id + 1;
+        ids.put(query, id);
+        return id;
+    }
+}
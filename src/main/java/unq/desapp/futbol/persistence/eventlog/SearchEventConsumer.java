@@ -0,0 +1,14 @@
+package unq.desapp.futbol.persistence.eventlog;
+
+import unq.desapp.futbol.model.SearchType;
+
+/**
+ * Receives events as primitives so that scanning the log allocates nothing
+ * per record. Resolve {@code queryId} through the log's dictionary when the
+ * text is needed.
+ */
+@FunctionalInterface
+public interface SearchEventConsumer {
+
+    void accept(long sequence, long timestampMillis, long userId, SearchType type, int queryId);
+}
@@ -0,0 +1,225 @@
+package unq.desapp.futbol.persistence.eventlog;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import unq.desapp.futbol.model.SearchType;
+
+/**
+ * Append-only log of every search, kept outside the JPA entity graph for
+ * analytics. Records have a fixed binary layout (see {@link LogSegment}) and
+ * live in memory-mapped segment files that are rotated when full; only the
+ * newest {@code maxSegments} are kept, unless an open tailer has not read
+ * past an older one yet.
+ * <p>
+ * Appending reserves a sequence number with a single atomic increment and
+ * writes the record straight into the mapping, so it neither locks nor
+ * allocates unless the query is new to the dictionary or the segment has to
+ * be rotated. Readers follow the log with {@link #tailer(long)}, or offline
+ * with {@link SearchEventLogReader}.
+ */
+@Component
+public class SearchEventLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchEventLog.class);
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final int maxSegments;
+    private final ConcurrentSkipListMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final Set<SearchEventTailer> tailers = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean enabled;
+    private volatile LogSegment active;
+    private QueryDictionary dictionary;
+    private long recoveredSequence;
+
+    public SearchEventLog(
+            @Value("${app.eventlog.enabled:true}") boolean enabled,
+            @Value("${app.eventlog.path:./data/events}") String directory,
+            @Value("${app.eventlog.segment-size:16MB}") DataSize segmentSize,
+            @Value("${app.eventlog.max-segments:8}") int maxSegments) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.recordsPerSegment = (int) Math.min(Integer.MAX_VALUE / LogSegment.RECORD_BYTES,
+                Math.max(1, segmentSize.toBytes() / LogSegment.RECORD_BYTES));
+        this.maxSegments = Math.max(2, maxSegments);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Files.createDirectories(directory);
+        dictionary = QueryDictionary.open(directory, true);
+        List<Path> files = segmentFiles(directory);
+        for (int i = 0; i < files.size(); i++) {
+            long base = LogSegment.baseSequenceOf(files.get(i));
+            segments.put(base, LogSegment.open(directory, base, recordsPerSegment, i == files.size() - 1));
+        }
+
+        if (segments.isEmpty()) {
+            segments.put(0L, LogSegment.open(directory, 0, recordsPerSegment, true));
+        }
+        active = segments.lastEntry().getValue();
+        recoveredSequence = active.baseSequence() + active.writtenLimit();
+        nextSequence.set(recoveredSequence);
+        logger.info("Search event log opened at {} with {} segments, next sequence {}", directory,
+                segments.size(), recoveredSequence);
+    }
+
+    public void append(long timestampMillis, long userId, SearchType type, String query) {
+        if (!enabled) {
+            return;
+        }
+
+        int queryId = dictionary.idOf(query);
+        long sequence = nextSequence.getAndIncrement();
+        LogSegment segment = active;
+        if (segment == null) {
+            // Closed while this append was on its way
+            return;
+        }
+        if (!segment.contains(sequence)) {
+            segment = segmentFor(sequence);
+        }
+        segment.write((int) (sequence - segment.baseSequence()), timestampMillis, userId, type, queryId);
+    }
+
+    public SearchEventTailer tailer(long fromSequence) {
+        SearchEventTailer tailer = new SearchEventTailer(this, fromSequence);
+        tailers.add(tailer);
+        return tailer;
+    }
+
+    /**
+     * Tailer that only sees the events appended from now on.
+     */
+    public SearchEventTailer tailerFromEnd() {
+        return tailer(nextSequence.get());
+    }
+
+    public String queryOf(int queryId) {
+        return dictionary == null ? null : dictionary.queryOf(queryId);
+    }
+
+    public long firstSequence() {
+        Map.Entry<Long, LogSegment> first = segments.firstEntry();
+        return first == null ? 0 : first.getKey();
+    }
+
+    public long nextSequence() {
+        return nextSequence.get();
+    }
+
+    /**
+     * Stops appending and flushes the mapped segments to disk. The mappings
+     * themselves are released with the segments once they are unreachable;
+     * unmapping them eagerly would crash a tailer or a late append still
+     * holding one.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        enabled = false;
+        tailers.clear();
+        for (LogSegment segment : segments.values()) {
+            segment.force();
+        }
+        segments.clear();
+        active = null;
+        if (dictionary != null) {
+            try {
+                dictionary.close();
+            } catch (IOException e) {
+                logger.warn("Could not close the query dictionary", e);
+            }
+        }
+    }
+
+    void release(SearchEventTailer tailer) {
+        tailers.remove(tailer);
+    }
+
+    LogSegment segmentAt(long sequence) {
+        Map.Entry<Long, LogSegment> entry = segments.floorEntry(sequence);
+        return entry != null && entry.getValue().contains(sequence) ? entry.getValue() : null;
+    }
+
+    /**
+     * Sequences reserved before the last restart that were never written;
+     * they will stay empty, so tailers skip them instead of waiting.
+     */
+    long recoveredSequence() {
+        return recoveredSequence;
+    }
+
+    static List<Path> segmentFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(LogSegment::isSegmentFile)
+                    .sorted((a, b) -> Long.compare(LogSegment.baseSequenceOf(a), LogSegment.baseSequenceOf(b)))
+                    .toList();
+        }
+    }
+
+    private synchronized LogSegment segmentFor(long sequence) {
+        LogSegment existing = segmentAt(sequence);
+        if (existing != null) {
+            return existing;
+        }
+
+        LogSegment last = segments.lastEntry().getValue();
+        try {
+            while (!last.contains(sequence)) {
+                long base = last.baseSequence() + last.capacity();
+                last = LogSegment.open(directory, base, recordsPerSegment, true);
+                segments.put(base, last);
+            }
+        } catch (IOException e) {
+            // A reserved slot that can never be written would stall every tailer
+            enabled = false;
+            logger.error("Could not rotate the search event log, disabling it", e);
+            throw new UncheckedIOException(e);
+        }
+        active = last;
+        dropExpiredSegments();
+        return last;
+    }
+
+    /**
+     * Drops the oldest segments beyond retention, stopping at the first one
+     * an open tailer still has to read; it is retried on the next rotation.
+     */
+    private void dropExpiredSegments() {
+        while (segments.size() > maxSegments) {
+            LogSegment oldest = segments.firstEntry().getValue();
+            long end = oldest.baseSequence() + oldest.capacity();
+            if (tailers.stream().anyMatch(tailer -> tailer.position() < end)) {
+                return;
+            }
+            LogSegment expired = segments.pollFirstEntry().getValue();
+            try {
+                Files.deleteIfExists(expired.file());
+            } catch (IOException e) {
+                logger.warn("Could not delete expired event log segment {}", expired.file(), e);
+            }
+        }
+    }
+}
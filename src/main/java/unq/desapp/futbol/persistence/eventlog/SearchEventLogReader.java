@@ -0,0 +1,60 @@
+package unq.desapp.futbol.persistence.eventlog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a log directory without a running writer, for batch analytics or
+ * from a separate process. The segments are mapped read-only as they are at
+ * the time of opening; slots left empty by a crash are skipped.
+ */
+public final class SearchEventLogReader implements AutoCloseable {
+
+    private final List<LogSegment> segments;
+    private final QueryDictionary dictionary;
+
+    private SearchEventLogReader(List<LogSegment> segments, QueryDictionary dictionary) {
+        this.segments = segments;
+        this.dictionary = dictionary;
+    }
+
+    public static SearchEventLogReader open(Path directory) throws IOException {
+        List<LogSegment> segments = new ArrayList<>();
+        for (Path file : SearchEventLog.segmentFiles(directory)) {
+            segments.add(LogSegment.open(directory, LogSegment.baseSequenceOf(file), 0, false));
+        }
+        return new SearchEventLogReader(segments, QueryDictionary.open(directory, false));
+    }
+
+    /**
+     * Hands every event at or after {@code fromSequence} to the consumer, in
+     * sequence order, and returns how many were read.
+     */
+    public long read(long fromSequence, SearchEventConsumer consumer) {
+        long read = 0;
+        for (LogSegment segment : segments) {
+            long end = segment.baseSequence() + segment.capacity();
+            if (end <= fromSequence) {
+                continue;
+            }
+            int slot = (int) Math.max(0, fromSequence - segment.baseSequence());
+            for (; slot < segment.capacity(); slot++) {
+                if (segment.read(slot, consumer)) {
+                    read++;
+                }
+            }
+        }
+        return read;
+    }
+
+    public String queryOf(int queryId) {
+        return dictionary.queryOf(queryId);
+    }
+
+    @Override
+    public void close() throws IOException {
+        dictionary.close();
+    }
+}
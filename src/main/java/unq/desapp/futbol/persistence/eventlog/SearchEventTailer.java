@@ -0,0 +1,58 @@
+package unq.desapp.futbol.persistence.eventlog;
+
+/**
+ * Follows the live log from a sequence onwards. Not thread-safe: each
+ * consumer polls its own tailer. The log keeps every segment an open tailer
+ * has not read past yet, so a tailer that is no longer polled must be
+ * closed.
+ */
+public final class SearchEventTailer implements AutoCloseable {
+
+    private final SearchEventLog log;
+    // Read by the log when it drops expired segments
+    private volatile long position;
+    private LogSegment segment;
+
+    SearchEventTailer(SearchEventLog log, long fromSequence) {
+        this.log = log;
+        this.position = fromSequence;
+    }
+
+    /**
+     * Hands up to {@code maxRecords} new events to the consumer and returns
+     * how many were read; 0 means the tailer has caught up with the writers.
+     */
+    public int poll(SearchEventConsumer consumer, int maxRecords) {
+        int read = 0;
+        while (read < maxRecords) {
+            if (segment == null || !segment.contains(position)) {
+                if (position < log.firstSequence()) {
+                    // The segments this tailer was behind on have been dropped
+                    position = log.firstSequence();
+                }
+                segment = log.segmentAt(position);
+                if (segment == null) {
+                    break;
+                }
+            }
+
+            if (segment.read((int) (position - segment.baseSequence()), consumer)) {
+                read++;
+            } else if (position >= log.recoveredSequence()) {
+                break;
+            }
+            position++;
+        }
+        return read;
+    }
+
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void close() {
+        segment = null;
+        log.release(this);
+    }
+}
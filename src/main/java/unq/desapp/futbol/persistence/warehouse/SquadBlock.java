@@ -0,0 +1,136 @@
+package unq.desapp.futbol.persistence.warehouse;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import unq.desapp.futbol.model.Player;
+import unq.desapp.futbol.model.PlayerTimelinePoint;
+
+/**
+ * The squad of one team on one day, stored column by column: row {@code i} of
+ * every array describes the player whose dictionary id is {@code nameIds[i]}.
+ * Ratings are kept in hundredths and every figure fits in a {@code short}, so
+ * a row takes 16 bytes; {@link #MISSING} marks a figure upstream did not send.
+ */
+final class SquadBlock {
+
+    static final short MISSING = -1;
+
+    private static final int BYTES_PER_ROW = Integer.BYTES + 6 * Short.BYTES;
+
+    final int epochDay;
+    final int[] nameIds;
+    final short[] ratings;
+    final short[] matches;
+    final short[] goals;
+    final short[] assists;
+    final short[] redCards;
+    final short[] yellowCards;
+
+    private SquadBlock(int epochDay, int rows) {
+        this.epochDay = epochDay;
+        this.nameIds = new int[rows];
+        this.ratings = new short[rows];
+        this.matches = new short[rows];
+        this.goals = new short[rows];
+        this.assists = new short[rows];
+        this.redCards = new short[rows];
+        this.yellowCards = new short[rows];
+    }
+
+    static SquadBlock of(int epochDay, int[] nameIds, Player[] players) {
+        SquadBlock block = new SquadBlock(epochDay, players.length);
+        for (int row = 0; row < players.length; row++) {
+            Player player = players[row];
+            block.nameIds[row] = nameIds[row];
+            block.ratings[row] = player.getRating() == null ? MISSING : toShort(Math.round(player.getRating() * 100));
+            block.matches[row] = toShort(player.getMatches());
+            block.goals[row] = toShort(player.getGoals());
+            block.assists[row] = toShort(player.getAssist());
+            block.redCards[row] = toShort(player.getRedCards());
+            block.yellowCards[row] = toShort(player.getYellowCards());
+        }
+        return block;
+    }
+
+    int rows() {
+        return nameIds.length;
+    }
+
+    int rowOf(int nameId) {
+        for (int row = 0; row < nameIds.length; row++) {
+            if (nameIds[row] == nameId) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    PlayerTimelinePoint pointAt(int row) {
+        return new PlayerTimelinePoint(
+                LocalDate.ofEpochDay(epochDay),
+                ratings[row] == MISSING ? null : ratings[row] / 100.0,
+                fromShort(matches[row]),
+                fromShort(goals[row]),
+                fromShort(assists[row]),
+                fromShort(redCards[row]),
+                fromShort(yellowCards[row]));
+    }
+
+    boolean sameColumnsAs(SquadBlock other) {
+        return Arrays.equals(nameIds, other.nameIds)
+                && Arrays.equals(ratings, other.ratings)
+                && Arrays.equals(matches, other.matches)
+                && Arrays.equals(goals, other.goals)
+                && Arrays.equals(assists, other.assists)
+                && Arrays.equals(redCards, other.redCards)
+                && Arrays.equals(yellowCards, other.yellowCards);
+    }
+
+    int columnBytes() {
+        return Integer.BYTES + rows() * BYTES_PER_ROW;
+    }
+
+    void writeColumns(ByteBuffer buffer) {
+        buffer.putInt(rows());
+        buffer.asIntBuffer().put(nameIds);
+        buffer.position(buffer.position() + rows() * Integer.BYTES);
+        for (short[] column : shortColumns()) {
+            buffer.asShortBuffer().put(column);
+            buffer.position(buffer.position() + rows() * Short.BYTES);
+        }
+    }
+
+    static SquadBlock readColumns(int epochDay, ByteBuffer buffer) {
+        int rows = buffer.getInt();
+        if (rows < 0 || (long) rows * BYTES_PER_ROW > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        SquadBlock block = new SquadBlock(epochDay, rows);
+        buffer.asIntBuffer().get(block.nameIds);
+        buffer.position(buffer.position() + block.rows() * Integer.BYTES);
+        for (short[] column : block.shortColumns()) {
+            buffer.asShortBuffer().get(column);
+            buffer.position(buffer.position() + block.rows() * Short.BYTES);
+        }
+        return block;
+    }
+
+    private short[][] shortColumns() {
+        return new short[][] { ratings, matches, goals, assists, redCards, yellowCards };
+    }
+
+    private static short toShort(Integer value) {
+        return value == null ? MISSING : toShort((long) value);
+    }
+
+    private static short toShort(long value) {
+        return (short) Math.max(0, Math.min(Short.MAX_VALUE, value));
+    }
+
+    private static Integer fromShort(short value) {
+        return value == MISSING ? null : (int) value;
+    }
+}
@@ -0,0 +1,89 @@
+package unq.desapp.futbol.persistence.warehouse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import unq.desapp.futbol.model.Player;
+import unq.desapp.futbol.model.PlayerTimeline;
+
+/**
+ * Local history of squads: one dated, columnar snapshot per team and day
+ * (see {@link SquadBlock}), with player names dictionary-encoded per team.
+ * Each team lives in its own file under the warehouse directory, named after
+ * its upstream id so every spelling of the team shares it, and is loaded into
+ * memory the first time it is read or written. Reading a team that was never
+ * stored neither creates nor caches anything.
+ */
+@Component
+public class SquadWarehouse {
+
+    private final boolean enabled;
+    private final Path directory;
+    private final Map<Integer, TeamColumnStore> stores = new ConcurrentHashMap<>();
+
+    public SquadWarehouse(
+            @Value("${app.warehouse.enabled:true}") boolean enabled,
+            @Value("${app.warehouse.path:./data/warehouse}") String directory) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+    }
+
+    /**
+     * Stores the squad as the team's snapshot of {@code date}, replacing an
+     * earlier one of the same day. Returns false when nothing was written.
+     */
+    public boolean record(int teamId, LocalDate date, List<Player> squad) {
+        if (!enabled || squad == null || squad.isEmpty()) {
+            return false;
+        }
+
+        try {
+            Files.createDirectories(directory);
+            return storeOf(teamId).append((int) date.toEpochDay(), squad);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store the squad of team " + teamId, e);
+        }
+    }
+
+    public List<PlayerTimeline> timelines(int teamId) {
+        return storedOf(teamId).map(TeamColumnStore::timelines).orElse(List.of());
+    }
+
+    public Optional<PlayerTimeline> timeline(int teamId, String player) {
+        return storedOf(teamId).map(store -> store.timeline(player));
+    }
+
+    static String fileNameOf(int teamId) {
+        return "team-" + teamId + TeamColumnStore.FILE_SUFFIX;
+    }
+
+    private Optional<TeamColumnStore> storedOf(int teamId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        TeamColumnStore store = stores.get(teamId);
+        if (store != null) {
+            return Optional.of(store);
+        }
+        return Files.exists(directory.resolve(fileNameOf(teamId))) ? Optional.of(storeOf(teamId)) : Optional.empty();
+    }
+
+    private TeamColumnStore storeOf(int teamId) {
+        return stores.computeIfAbsent(teamId, id -> {
+            Path file = directory.resolve(fileNameOf(id));
+            try {
+                return TeamColumnStore.open(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not load " + file, e);
+            }
+        });
+    }
+}
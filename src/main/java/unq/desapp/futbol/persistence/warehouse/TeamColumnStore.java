@@ -0,0 +1,259 @@
+package unq.desapp.futbol.persistence.warehouse;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import unq.desapp.futbol.model.Player;
+import unq.desapp.futbol.model.PlayerTimeline;
+import unq.desapp.futbol.model.PlayerTimelinePoint;
+
+/**
+ * Every squad snapshot of one team, kept in memory and in one append-only
+ * file. After a short header the file is a sequence of length-prefixed
+ * frames; each frame carries the day, the player names first seen in it and
+ * the columns of a {@link SquadBlock}. A later frame for the same day
+ * replaces the earlier one when the file is loaded, and a frame cut short by
+ * a crash is truncated away.
+ */
+final class TeamColumnStore {
+
+    static final String FILE_SUFFIX = ".squad";
+
+    private static final int MAGIC = 0x53515744;
+    private static final short VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES;
+
+    private final Path file;
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> idsByKey = new HashMap<>();
+    private final List<SquadBlock> blocks = new ArrayList<>();
+    private int persistedNames;
+
+    private TeamColumnStore(Path file) {
+        this.file = file;
+    }
+
+    static TeamColumnStore open(Path file) throws IOException {
+        TeamColumnStore store = new TeamColumnStore(file);
+        if (Files.exists(file)) {
+            store.load();
+        }
+        return store;
+    }
+
+    /**
+     * Stores the squad as the snapshot of {@code epochDay}. Returns false when
+     * it is identical to the snapshot already stored for that day, or older
+     * than the latest one.
+     */
+    synchronized boolean append(int epochDay, List<Player> squad) throws IOException {
+        SquadBlock latest = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+        if (latest != null && epochDay < latest.epochDay) {
+            return false;
+        }
+
+        Player[] players = squad.toArray(Player[]::new);
+        int[] nameIds = new int[players.length];
+        for (int row = 0; row < players.length; row++) {
+            nameIds[row] = idOf(players[row].getName());
+        }
+        SquadBlock block = SquadBlock.of(epochDay, nameIds, players);
+        if (latest != null && latest.epochDay == epochDay && latest.sameColumnsAs(block)) {
+            return false;
+        }
+
+        writeFrame(block);
+        place(block);
+        return true;
+    }
+
+    synchronized List<PlayerTimeline> timelines() {
+        List<List<PlayerTimelinePoint>> points = new ArrayList<>(names.size());
+        int[] lastDay = new int[names.size()];
+        for (int id = 0; id < names.size(); id++) {
+            points.add(new ArrayList<>());
+            lastDay[id] = Integer.MIN_VALUE;
+        }
+        // One pass over the columns of every block instead of one per player
+        for (SquadBlock block : blocks) {
+            for (int row = 0; row < block.rows(); row++) {
+                int id = block.nameIds[row];
+                // A name repeated within one squad keeps its first row, as in timeline()
+                if (lastDay[id] != block.epochDay) {
+                    points.get(id).add(block.pointAt(row));
+                    lastDay[id] = block.epochDay;
+                }
+            }
+        }
+
+        List<PlayerTimeline> timelines = new ArrayList<>();
+        for (int id = 0; id < names.size(); id++) {
+            if (!points.get(id).isEmpty()) {
+                timelines.add(new PlayerTimeline(names.get(id), points.get(id)));
+            }
+        }
+        return timelines;
+    }
+
+    synchronized PlayerTimeline timeline(String player) {
+        Integer id = idsByKey.get(keyOf(player));
+        if (id == null) {
+            return null;
+        }
+
+        List<PlayerTimelinePoint> points = new ArrayList<>();
+        for (SquadBlock block : blocks) {
+            int row = block.rowOf(id);
+            if (row >= 0) {
+                points.add(block.pointAt(row));
+            }
+        }
+        return points.isEmpty() ? null : new PlayerTimeline(names.get(id), points);
+    }
+
+    synchronized int snapshots() {
+        return blocks.size();
+    }
+
+    /**
+     * Lower-cased with hyphens read as spaces, so the names typed in a URL
+     * match the ones received from upstream.
+     */
+    static String keyOf(String name) {
+        return name == null ? "" : name.trim().replace('-', ' ').toLowerCase(Locale.ROOT);
+    }
+
+    private int idOf(String name) {
+        String key = keyOf(name);
+        Integer id = idsByKey.get(key);
+        if (id != null) {
+            return id;
+        }
+
+        names.add(name == null ? "" : name);
+        idsByKey.put(key, names.size() - 1);
+        return names.size() - 1;
+    }
+
+    private void place(SquadBlock block) {
+        SquadBlock latest = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+        if (latest != null && latest.epochDay == block.epochDay) {
+            blocks.set(blocks.size() - 1, block);
+        } else if (latest == null || latest.epochDay < block.epochDay) {
+            blocks.add(block);
+        }
+    }
+
+    private void writeFrame(SquadBlock block) throws IOException {
+        // Names registered by a write that failed are carried by the next frame
+        List<byte[]> newNames = new ArrayList<>();
+        int namesBytes = 0;
+        for (String name : names.subList(persistedNames, names.size())) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            newNames.add(bytes);
+            namesBytes += Integer.BYTES + bytes.length;
+        }
+
+        int payload = 2 * Integer.BYTES + namesBytes + block.columnBytes();
+        boolean created = !Files.exists(file) || Files.size(file) == 0;
+        ByteBuffer buffer = ByteBuffer.allocate((created ? HEADER_BYTES : 0) + Integer.BYTES + payload);
+        if (created) {
+            buffer.putInt(MAGIC).putShort(VERSION);
+        }
+        buffer.putInt(payload).putInt(block.epochDay).putInt(newNames.size());
+        for (byte[] name : newNames) {
+            buffer.putInt(name.length).put(name);
+        }
+        block.writeColumns(buffer);
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            long size = channel.size();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                // A torn frame would hide every frame appended after it
+                channel.truncate(size);
+                throw e;
+            }
+        }
+        persistedNames = names.size();
+    }
+
+    private void load() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (!buffer.hasRemaining()) {
+            return;
+        }
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+            throw new IOException("Not a squad warehouse file: " + file);
+        }
+
+        int valid = buffer.position();
+        while (buffer.remaining() >= Integer.BYTES) {
+            int payload = buffer.getInt();
+            if (payload < 0 || payload > buffer.remaining()) {
+                break;
+            }
+            try {
+                readFrame(buffer.slice(buffer.position(), payload));
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                break;
+            }
+            buffer.position(buffer.position() + payload);
+            valid = buffer.position();
+        }
+
+        if (valid < buffer.limit()) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+            }
+        }
+    }
+
+    private void readFrame(ByteBuffer frame) {
+        int epochDay = frame.getInt();
+        int nameCount = frame.getInt();
+        if (nameCount < 0 || nameCount > frame.remaining() / Integer.BYTES) {
+            throw new BufferUnderflowException();
+        }
+
+        List<String> frameNames = new ArrayList<>(nameCount);
+        for (int i = 0; i < nameCount; i++) {
+            int length = frame.getInt();
+            if (length < 0 || length > frame.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            byte[] bytes = new byte[length];
+            frame.get(bytes);
+            frameNames.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        SquadBlock block = SquadBlock.readColumns(epochDay, frame);
+        for (int nameId : block.nameIds) {
+            if (nameId < 0 || nameId >= names.size() + frameNames.size()) {
+                throw new IllegalArgumentException("Unknown name id " + nameId);
+            }
+        }
+
+        // Only commits the frame once it has been read entirely
+        for (String name : frameNames) {
+            idsByKey.putIfAbsent(keyOf(name), names.size());
+            names.add(name);
+        }
+        persistedNames = names.size();
+        place(block);
+    }
+}
@@ -0,0 +1,65 @@
+package unq.desapp.futbol.repository;
+
+import java.util.List;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+import unq.desapp.futbol.model.SearchHistoryEvent;
+import unq.desapp.futbol.model.SearchHistoryHits;
+
+@Repository
+public class ReactiveSearchHistoryRepository {
+
+    private static final String UPSERT_SQL = """
+            MERGE INTO search_history h
+            USING (VALUES (CAST($1 AS BIGINT), CAST($2 AS VARCHAR(255)), CAST($3 AS VARCHAR(500)),
+                    CAST($4 AS BIGINT), CAST($5 AS TIMESTAMP(9))))
+                AS s(user_id, type, query, hits, last_access)
+            ON h.user_id = s.user_id AND h.type = s.type AND h.query = s.query
+            WHEN MATCHED THEN UPDATE SET
+                hit_count = h.hit_count + s.hits,
+                timestamp = GREATEST(h.timestamp, s.last_access)
+            WHEN NOT MATCHED THEN INSERT (user_id, type, query, hit_count, timestamp)
+                VALUES (s.user_id, s.type, s.query, s.hits, s.last_access)
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveSearchHistoryRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Adds the events to the per-query counters, one statement per query, and
+     * emits the number of upserted rows. A query inserted concurrently by the
+     * batch writer fails its MERGE on the unique key, so that row alone is
+     * retried once and then updates the row the other writer inserted. H2
+     * executes statements on the subscribing thread, hence the
+     * bounded-elastic scheduler.
+     */
+    public Mono<Long> append(List<SearchHistoryEvent> events) {
+        if (events.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        return Flux.fromIterable(SearchHistoryHits.coalesce(events))
+                .concatMap(hit -> upsert(hit).retryWhen(Retry.max(1).filter(DuplicateKeyException.class::isInstance)))
+                .reduce(0L, Long::sum)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Long> upsert(SearchHistoryHits hit) {
+        return databaseClient.sql(UPSERT_SQL)
+                .bind(0, hit.userId())
+                .bind(1, hit.type().name())
+                .bind(2, hit.query())
+                .bind(3, hit.hits())
+                .bind(4, hit.lastAccess())
+                .fetch()
+                .rowsUpdated();
+    }
+}
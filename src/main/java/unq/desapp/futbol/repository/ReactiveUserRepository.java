@@ -0,0 +1,90 @@
+package unq.desapp.futbol.repository;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import unq.desapp.futbol.model.Role;
+import unq.desapp.futbol.model.User;
+
+/**
+ * Users over R2DBC. The H2 driver executes statements synchronously on the
+ * subscribing thread, so every call subscribes on the bounded elastic
+ * scheduler to keep the database work off the event loops.
+ */
+@Repository
+public class ReactiveUserRepository {
+
+    // Until the stored emails are normalised, an exact match wins over case
+    // variants registered earlier
+    private static final String FIND_BY_EMAIL_SQL = """
+            SELECT id, email, password, first_name, last_name, role FROM users
+            WHERE LOWER(email) = LOWER(:email)
+            ORDER BY CASE WHEN email = :email THEN 0 ELSE 1 END, id
+            FETCH FIRST 1 ROW ONLY
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO users (email, password, first_name, last_name, role)
+            VALUES (:email, :password, :firstName, :lastName, :role)
+            """;
+
+    private static final String UPDATE_PASSWORD_SQL = "UPDATE users SET password = :password WHERE id = :id";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUserRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<User> findByEmailIgnoreCase(String email) {
+        return databaseClient.sql(FIND_BY_EMAIL_SQL)
+                .bind("email", email)
+                .map(ReactiveUserRepository::toUser)
+                .one()
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Inserts the user and sets its generated id. A taken email is reported
+     * by the unique constraint as a {@code DuplicateKeyException}, so no
+     * lookup is needed beforehand.
+     */
+    public Mono<User> insert(User user) {
+        return databaseClient.sql(INSERT_SQL)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("email", user.getEmail())
+                .bind("password", user.getPassword())
+                .bind("firstName", user.getFirstName())
+                .bind("lastName", user.getLastName())
+                .bind("role", user.getRole().name())
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(id -> {
+                    user.setId(id);
+                    return user;
+                });
+    }
+
+    public Mono<Long> updatePassword(Long id, String password) {
+        return databaseClient.sql(UPDATE_PASSWORD_SQL)
+                .bind("password", password)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static User toUser(Readable row) {
+        User user = new User(
+                row.get("email", String.class),
+                row.get("password", String.class),
+                row.get("first_name", String.class),
+                row.get("last_name", String.class),
+                Role.valueOf(row.get("role", String.class)));
+        user.setId(row.get("id", Long.class));
+        return user;
+    }
+}
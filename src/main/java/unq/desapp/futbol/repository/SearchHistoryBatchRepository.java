@@ -0,0 +1,116 @@
+package unq.desapp.futbol.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import unq.desapp.futbol.model.SearchHistoryEntry;
+import unq.desapp.futbol.model.SearchHistoryEvent;
+import unq.desapp.futbol.model.SearchHistoryHits;
+
+@Repository
+public class SearchHistoryBatchRepository {
+
+    private static final String UPSERT_SQL = """
+            MERGE INTO search_history h
+            USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(500)),
+                    CAST(? AS BIGINT), CAST(? AS TIMESTAMP(9))))
+                AS s(user_id, type, query, hits, last_access)
+            ON h.user_id = s.user_id AND h.type = s.type AND h.query = s.query
+            WHEN MATCHED THEN UPDATE SET
+                hit_count = h.hit_count + s.hits,
+                timestamp = GREATEST(h.timestamp, s.last_access)
+            WHEN NOT MATCHED THEN INSERT (user_id, type, query, hit_count, timestamp)
+                VALUES (s.user_id, s.type, s.query, s.hits, s.last_access)
+            """;
+
+    private static final String COUNT_DUPLICATES_SQL = """
+            SELECT COUNT(*) FROM (
+                SELECT 1 FROM search_history GROUP BY user_id, type, query HAVING COUNT(*) > 1
+            ) duplicates
+            """;
+
+    private static final String FOLD_DUPLICATES_SQL = """
+            UPDATE search_history h SET
+                hit_count = (SELECT SUM(d.hit_count) FROM search_history d
+                        WHERE d.user_id = h.user_id AND d.type = h.type AND d.query = h.query),
+                timestamp = (SELECT MAX(d.timestamp) FROM search_history d
+                        WHERE d.user_id = h.user_id AND d.type = h.type AND d.query = h.query)
+            WHERE h.id IN (SELECT MAX(id) FROM search_history GROUP BY user_id, type, query HAVING COUNT(*) > 1)
+            """;
+
+    private static final String DELETE_DUPLICATES_SQL = """
+            DELETE FROM search_history
+            WHERE id NOT IN (SELECT MAX(id) FROM search_history GROUP BY user_id, type, query)
+            """;
+
+    private static final String ADD_UNIQUE_CONSTRAINT_SQL = "ALTER TABLE search_history ADD CONSTRAINT IF NOT EXISTS "
+            + SearchHistoryEntry.UNIQUE_QUERY_CONSTRAINT + " UNIQUE (user_id, type, query)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchHistoryBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds the events to the per-query counters, inserting the queries the
+     * user never searched before. Repeated searches within the batch are
+     * folded first, so each query costs a single statement. The batch is
+     * applied as a whole or not at all; see {@link #upsertEach} for retrying
+     * it after a conflict.
+     */
+    @Transactional
+    public void upsertBatch(List<SearchHistoryEvent> events) {
+        List<SearchHistoryHits> hits = SearchHistoryHits.coalesce(events);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, hits, hits.size(), (statement, hit) -> bind(statement, hit));
+    }
+
+    /**
+     * Upserts the events one query at a time. MERGE does not lock the key it
+     * finds missing, so a concurrent write-through can insert the same query
+     * first; the loser retries once and then finds the row to update.
+     */
+    public void upsertEach(List<SearchHistoryEvent> events) {
+        for (SearchHistoryHits hit : SearchHistoryHits.coalesce(events)) {
+            try {
+                upsert(hit);
+            } catch (DuplicateKeyException e) {
+                upsert(hit);
+            }
+        }
+    }
+
+    /**
+     * Folds the rows written before history was counted into one row per
+     * query and adds the unique constraint, which schema update cannot add
+     * while duplicates exist. Returns the number of rows removed.
+     */
+    @Transactional
+    public int deduplicate() {
+        int removed = 0;
+        Long duplicated = jdbcTemplate.queryForObject(COUNT_DUPLICATES_SQL, Long.class);
+        if (duplicated != null && duplicated > 0) {
+            jdbcTemplate.update(FOLD_DUPLICATES_SQL);
+            removed = jdbcTemplate.update(DELETE_DUPLICATES_SQL);
+        }
+        jdbcTemplate.execute(ADD_UNIQUE_CONSTRAINT_SQL);
+        return removed;
+    }
+
+    private void upsert(SearchHistoryHits hit) {
+        jdbcTemplate.update(UPSERT_SQL, statement -> bind(statement, hit));
+    }
+
+    private static void bind(PreparedStatement statement, SearchHistoryHits hit) throws SQLException {
+        statement.setLong(1, hit.userId());
+        statement.setString(2, hit.type().name());
+        statement.setString(3, hit.query());
+        statement.setLong(4, hit.hits());
+        statement.setTimestamp(5, Timestamp.valueOf(hit.lastAccess()));
+    }
+}
@@ -0,0 +1,141 @@
+package unq.desapp.futbol.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import unq.desapp.futbol.model.SearchHistoryReappearance;
+import unq.desapp.futbol.model.SearchHistoryRollupDelta;
+import unq.desapp.futbol.model.SearchType;
+
+@Repository
+public class SearchHistoryCompactionRepository {
+
+    private static final String USERS_ABOVE_RETENTION_SQL = """
+            SELECT user_id FROM search_history
+            GROUP BY user_id
+            HAVING COUNT(*) > :retained
+            """;
+
+    private static final String IDS_BEYOND_RETENTION_SQL = """
+            SELECT id FROM search_history
+            WHERE user_id = :userId
+            ORDER BY timestamp DESC, id DESC
+            OFFSET :retained ROWS FETCH NEXT :batchSize ROWS ONLY
+            """;
+
+    private static final String AGGREGATE_SQL = """
+            SELECT user_id, type, query, SUM(hit_count) AS hits, MIN(timestamp) AS first_seen, MAX(timestamp) AS last_seen
+            FROM search_history
+            WHERE id IN (:ids)
+            GROUP BY user_id, type, query
+            """;
+
+    private static final String MERGE_ROLLUP_SQL = """
+            MERGE INTO search_history_rollup r
+            USING (VALUES (CAST(:userId AS BIGINT), CAST(:type AS VARCHAR(255)), CAST(:query AS VARCHAR(500)),
+                    CAST(:hits AS BIGINT), CAST(:firstSeen AS TIMESTAMP), CAST(:lastSeen AS TIMESTAMP)))
+                AS s(user_id, type, query, hits, first_seen, last_seen)
+            ON r.user_id = s.user_id AND r.type = s.type AND r.query = s.query
+            WHEN MATCHED THEN UPDATE SET
+                hit_count = r.hit_count + s.hits,
+                first_seen = LEAST(r.first_seen, s.first_seen),
+                last_seen = GREATEST(r.last_seen, s.last_seen)
+            WHEN NOT MATCHED THEN INSERT (user_id, type, query, hit_count, first_seen, last_seen)
+                VALUES (s.user_id, s.type, s.query, s.hits, s.first_seen, s.last_seen)
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM search_history WHERE id IN (:ids)";
+
+    private static final String USERS_WITH_REAPPEARANCES_SQL = """
+            SELECT DISTINCT r.user_id FROM search_history_rollup r
+            JOIN search_history h ON h.user_id = r.user_id AND h.type = r.type AND h.query = r.query
+            """;
+
+    private static final String REAPPEARANCES_SQL = """
+            SELECT h.id AS entry_id, r.id AS rollup_id, r.hit_count
+            FROM search_history_rollup r
+            JOIN search_history h ON h.user_id = r.user_id AND h.type = r.type AND h.query = r.query
+            WHERE r.user_id = :userId
+            """;
+
+    private static final String ADD_HITS_SQL = "UPDATE search_history SET hit_count = hit_count + :hits WHERE id = :id";
+
+    private static final String DELETE_ROLLUPS_SQL = "DELETE FROM search_history_rollup WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SearchHistoryCompactionRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Long> findUsersAboveRetention(int retained) {
+        return jdbcTemplate.queryForList(USERS_ABOVE_RETENTION_SQL, Map.of("retained", retained), Long.class);
+    }
+
+    public List<Long> findIdsBeyondRetention(long userId, int retained, int batchSize) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("retained", retained)
+                .addValue("batchSize", batchSize);
+        return jdbcTemplate.queryForList(IDS_BEYOND_RETENTION_SQL, params, Long.class);
+    }
+
+    public List<SearchHistoryRollupDelta> aggregate(List<Long> ids) {
+        return jdbcTemplate.query(AGGREGATE_SQL, Map.of("ids", ids), (rs, rowNum) -> new SearchHistoryRollupDelta(
+                rs.getLong("user_id"),
+                SearchType.valueOf(rs.getString("type")),
+                rs.getString("query"),
+                rs.getLong("hits"),
+                rs.getTimestamp("first_seen").toLocalDateTime(),
+                rs.getTimestamp("last_seen").toLocalDateTime()));
+    }
+
+    public void mergeRollups(List<SearchHistoryRollupDelta> deltas) {
+        SqlParameterSource[] batch = deltas.stream()
+                .map(delta -> new MapSqlParameterSource()
+                        .addValue("userId", delta.userId())
+                        .addValue("type", delta.type().name())
+                        .addValue("query", delta.query())
+                        .addValue("hits", delta.hits())
+                        .addValue("firstSeen", Timestamp.valueOf(delta.firstSeen()))
+                        .addValue("lastSeen", Timestamp.valueOf(delta.lastSeen())))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(MERGE_ROLLUP_SQL, batch);
+    }
+
+    public int deleteByIds(List<Long> ids) {
+        return jdbcTemplate.update(DELETE_SQL, Map.of("ids", ids));
+    }
+
+    public List<Long> findUsersWithReappearances() {
+        return jdbcTemplate.queryForList(USERS_WITH_REAPPEARANCES_SQL, Map.of(), Long.class);
+    }
+
+    public List<SearchHistoryReappearance> findReappearances(long userId) {
+        return jdbcTemplate.query(REAPPEARANCES_SQL, Map.of("userId", userId),
+                (rs, rowNum) -> new SearchHistoryReappearance(
+                        rs.getLong("entry_id"),
+                        rs.getLong("rollup_id"),
+                        rs.getLong("hit_count")));
+    }
+
+    /**
+     * Moves the rolled-up hits of queries searched again back into their raw
+     * entries and drops the emptied aggregates, so each query is counted in
+     * one table only. Must run in the caller's transaction.
+     */
+    public void absorbRollups(List<SearchHistoryReappearance> reappearances) {
+        SqlParameterSource[] batch = reappearances.stream()
+                .map(reappearance -> new MapSqlParameterSource()
+                        .addValue("id", reappearance.entryId())
+                        .addValue("hits", reappearance.rolledUpHits()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(ADD_HITS_SQL, batch);
+        jdbcTemplate.update(DELETE_ROLLUPS_SQL, Map.of("ids",
+                reappearances.stream().map(SearchHistoryReappearance::rollupId).toList()));
+    }
+}
@@ -0,0 +1,66 @@
+package unq.desapp.futbol.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import unq.desapp.futbol.model.SearchHistoryEntry;
+import unq.desapp.futbol.model.SearchType;
+
+@Repository
+public interface SearchHistoryRepository extends JpaRepository<SearchHistoryEntry, Long> {
+
+    /**
+     * Entries of the user strictly older than the (timestamp, id) cursor,
+     * newest first.
+     */
+    @Query("""
+            SELECT e FROM SearchHistoryEntry e
+            WHERE e.user.id = :userId
+              AND (e.timestamp < :timestamp OR (e.timestamp = :timestamp AND e.id < :id))
+            ORDER BY e.timestamp DESC, e.id DESC
+            """)
+    List<SearchHistoryEntry> findPageBefore(@Param("userId") Long userId,
+            @Param("timestamp") LocalDateTime timestamp, @Param("id") Long id, Limit limit);
+
+    /**
+     * Same as {@link #findPageBefore} restricted to one search type.
+     */
+    @Query("""
+            SELECT e FROM SearchHistoryEntry e
+            WHERE e.user.id = :userId AND e.type = :type
+              AND (e.timestamp < :timestamp OR (e.timestamp = :timestamp AND e.id < :id))
+            ORDER BY e.timestamp DESC, e.id DESC
+            """)
+    List<SearchHistoryEntry> findPageBeforeByType(@Param("userId") Long userId, @Param("type") SearchType type,
+            @Param("timestamp") LocalDateTime timestamp, @Param("id") Long id, Limit limit);
+
+    /**
+     * Ids of the user's entries, most searched first. Hit counts keep
+     * growing, so frequency pages are served from this ordering taken once
+     * rather than from a keyset over the counts.
+     */
+    @Query("""
+            SELECT e.id FROM SearchHistoryEntry e
+            WHERE e.user.id = :userId
+            ORDER BY e.hitCount DESC, e.id DESC
+            """)
+    List<Long> findMostSearchedIds(@Param("userId") Long userId, Limit limit);
+
+    /**
+     * Same as {@link #findMostSearchedIds} restricted to one search type.
+     */
+    @Query("""
+            SELECT e.id FROM SearchHistoryEntry e
+            WHERE e.user.id = :userId AND e.type = :type
+            ORDER BY e.hitCount DESC, e.id DESC
+            """)
+    List<Long> findMostSearchedIdsByType(@Param("userId") Long userId, @Param("type") SearchType type,
+            Limit limit);
+
+    List<SearchHistoryEntry> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
+}
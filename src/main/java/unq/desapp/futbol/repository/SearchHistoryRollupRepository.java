@@ -0,0 +1,17 @@
+package unq.desapp.futbol.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import unq.desapp.futbol.model.SearchHistoryRollup;
+import unq.desapp.futbol.model.SearchType;
+
+@Repository
+public interface SearchHistoryRollupRepository extends JpaRepository<SearchHistoryRollup, Long> {
+
+    List<SearchHistoryRollup> findByUserIdOrderByHitCountDescLastSeenDesc(Long userId, Limit limit);
+
+    List<SearchHistoryRollup> findByUserIdAndTypeOrderByHitCountDescLastSeenDesc(Long userId, SearchType type,
+            Limit limit);
+}
@@ -0,0 +1,12 @@
+package unq.desapp.futbol.repository;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import unq.desapp.futbol.model.TeamStatsRecord;
+
+@Repository
+public interface TeamStatsRecordRepository extends JpaRepository<TeamStatsRecord, Integer> {
+
+    Optional<TeamStatsRecord> findFirstByTeamNameIgnoreCaseAndCountryIgnoreCase(String teamName, String country);
+}
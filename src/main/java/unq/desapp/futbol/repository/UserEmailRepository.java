@@ -0,0 +1,58 @@
+package unq.desapp.futbol.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Schema upkeep for the users' emails. Registration stores emails in lower
+ * case, but rows written before it did may differ only in case, which the
+ * case-sensitive unique constraint on {@code email} lets through.
+ */
+@Repository
+public class UserEmailRepository {
+
+    public static final String UNIQUE_EMAIL_KEY_CONSTRAINT = "uk_users_email_key";
+
+    private static final String COUNT_CASE_DUPLICATES_SQL = """
+            SELECT COUNT(*) FROM (
+                SELECT 1 FROM users GROUP BY LOWER(email) HAVING COUNT(*) > 1
+            ) duplicates
+            """;
+
+    private static final String LOWER_EMAILS_SQL = "UPDATE users SET email = LOWER(email) WHERE email <> LOWER(email)";
+
+    private static final String ADD_EMAIL_KEY_SQL = """
+            ALTER TABLE users ADD COLUMN IF NOT EXISTS email_key VARCHAR(255)
+            GENERATED ALWAYS AS (LOWER(email))
+            """;
+
+    private static final String ADD_UNIQUE_EMAIL_KEY_SQL = "ALTER TABLE users ADD CONSTRAINT IF NOT EXISTS "
+            + UNIQUE_EMAIL_KEY_CONSTRAINT + " UNIQUE (email_key)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserEmailRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Lower-cases the stored emails and makes the database reject emails
+     * that differ only in case, through a unique generated column. Accounts
+     * sharing an email in different cases cannot be merged automatically, so
+     * when any exist nothing is changed and an {@link IllegalStateException}
+     * reports how many. Returns the number of rows lower-cased.
+     */
+    @Transactional
+    public int normalizeEmails() {
+        Long duplicated = jdbcTemplate.queryForObject(COUNT_CASE_DUPLICATES_SQL, Long.class);
+        if (duplicated != null && duplicated > 0) {
+            throw new IllegalStateException(duplicated + " emails are registered more than once in different cases");
+        }
+
+        int lowered = jdbcTemplate.update(LOWER_EMAILS_SQL);
+        jdbcTemplate.execute(ADD_EMAIL_KEY_SQL);
+        jdbcTemplate.execute(ADD_UNIQUE_EMAIL_KEY_SQL);
+        return lowered;
+    }
+}
@@ -1,27 +1,65 @@
 package unq.desapp.futbol.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.crypto.SecretKey;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
+import unq.desapp.futbol.config.profiling.AuthenticationEvent;
 import unq.desapp.futbol.model.User;
 import org.springframework.stereotype.Component;
 
+/**
+ * Issues and verifies the JWTs of the API. The parser is built once, and
+ * tokens that already passed signature verification are remembered by the
+ * SHA-256 of their text, so a client sending the same token on every request
+ * only pays for the HMAC check once per cache TTL. An entry never outlives
+ * the token it describes.
+ */
 @Component
-@Getter
 public class JwtTokenProvider {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    @Getter
     private final Long expirationTime;
+    @Getter
     private final SecretKey key;
+    private final JwtParser parser;
+    private final Duration verifiedTtl;
+    private final int verifiedMaxEntries;
+    private final Map<String, CachedToken> verifiedTokens = new ConcurrentHashMap<>();
 
     public JwtTokenProvider(
             @Value("${app.security.jwt.secret-key}") String secretKey,
-            @Value("${app.security.jwt.expiration}") Long expirationTime) {
+            @Value("${app.security.jwt.expiration}") Long expirationTime,
+            @Value("${app.security.jwt.verified-cache.ttl:PT5M}") Duration verifiedTtl,
+            @Value("${app.security.jwt.verified-cache.max-entries:10000}") int verifiedMaxEntries) {
         this.expirationTime = expirationTime;
         this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTtl = verifiedTtl;
+        this.verifiedMaxEntries = verifiedMaxEntries;
     }
 
     public String generateToken(User user) {
@@ -37,26 +75,84 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Checks the signature and expiry of the token and returns its subject
+     * and expiry in the same pass. Empty when the token is not valid.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
 
-        return claims.getSubject();
+        AuthenticationEvent event = AuthenticationEvent.start(AuthenticationEvent.JWT_VERIFY);
+        Optional<VerifiedToken> verified = verify(token, event);
+        event.finish(verified.isPresent());
+        return verified;
     }
 
-    public boolean validateToken(String token) {
+    private Optional<VerifiedToken> verify(String token, AuthenticationEvent event) {
+        Instant now = Instant.now();
+        String hash = verifiedMaxEntries > 0 ? hashOf(token) : null;
+        CachedToken cached = hash == null ? null : verifiedTokens.get(hash);
+        if (cached != null && cached.cacheUntil().isAfter(now)) {
+            event.markCached();
+            return Optional.of(cached.token());
+        }
+
+        Claims claims;
         try {
-            Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token);
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (RuntimeException exception) {
+            return Optional.empty();
+        }
+
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+        if (hash != null) {
+            cache(hash, verified, now);
+        }
+        return Optional.of(verified);
+    }
+
+    public String getUsernameFromToken(String token) {
+        return parser.parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+
+    private void cache(String hash, VerifiedToken verified, Instant now) {
+        Instant cacheUntil = now.plus(verifiedTtl);
+        if (verified.expiresAt() != null && verified.expiresAt().isBefore(cacheUntil)) {
+            cacheUntil = verified.expiresAt();
+        }
+        if (cacheUntil.isAfter(now)) {
+            verifiedTokens.put(hash, new CachedToken(verified, cacheUntil));
+            evictIfNeeded(now);
+        }
+    }
 
-            return true;
-        } catch (Exception exception) {
-            return false;
+    private void evictIfNeeded(Instant now) {
+        if (verifiedTokens.size() <= verifiedMaxEntries) {
+            return;
         }
+
+        verifiedTokens.values().removeIf(entry -> !entry.cacheUntil().isAfter(now));
+
+        Iterator<String> keys = verifiedTokens.keySet().iterator();
+        while (verifiedTokens.size() > verifiedMaxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    // The token itself is a bearer credential, so only its digest is kept
+    private static String hashOf(String token) {
+        MessageDigest digest = SHA_256.get();
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private record CachedToken(VerifiedToken token, Instant cacheUntil) {
     }
 }
@@ -0,0 +1,104 @@
+package unq.desapp.futbol.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import unq.desapp.futbol.model.User;
+import unq.desapp.futbol.model.UserChangedEvent;
+
+/**
+ * Bounded cache of authenticated principals keyed by token subject, so a
+ * request with a known token does not query the users table. An entry lives
+ * for the configured TTL but never beyond the expiry of the token that
+ * loaded it, and is dropped as soon as the user changes.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped on every invalidation, so a load that raced with it is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public PrincipalCache(
+            @Value("${app.security.principal-cache.ttl:PT5M}") Duration ttl,
+            @Value("${app.security.principal-cache.max-entries:10000}") int maxEntries) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+    }
+
+    public Mono<PrincipalSnapshot> getOrLoad(String subject, Instant tokenExpiry,
+            Function<String, Mono<User>> loader) {
+        String key = keyOf(subject);
+        Instant now = Instant.now();
+        Entry cached = entries.get(key);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return Mono.just(cached.principal());
+        }
+
+        long loadGeneration = generation.get();
+        return loader.apply(subject)
+                .map(PrincipalSnapshot::of)
+                .doOnNext(principal -> put(key, principal, tokenExpiry, loadGeneration));
+    }
+
+    public void invalidate(String subject) {
+        generation.incrementAndGet();
+        entries.remove(keyOf(subject));
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.email());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(String key, PrincipalSnapshot principal, Instant tokenExpiry, long loadGeneration) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(ttl);
+        if (tokenExpiry != null && tokenExpiry.isBefore(expiresAt)) {
+            expiresAt = tokenExpiry;
+        }
+        if (!expiresAt.isAfter(now) || generation.get() != loadGeneration) {
+            return;
+        }
+
+        entries.put(key, new Entry(principal, expiresAt));
+        evictIfNeeded(now);
+    }
+
+    private void evictIfNeeded(Instant now) {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+
+        entries.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    // Users are looked up ignoring case, so every spelling shares one entry
+    private static String keyOf(String subject) {
+        return subject.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(PrincipalSnapshot principal, Instant expiresAt) {
+    }
+}
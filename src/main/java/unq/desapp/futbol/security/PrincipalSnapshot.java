@@ -0,0 +1,27 @@
+package unq.desapp.futbol.security;
+
+import unq.desapp.futbol.model.Role;
+import unq.desapp.futbol.model.User;
+
+/**
+ * What authentication needs to know about a user, detached from the JPA
+ * entity: no password hash and no search history.
+ */
+public record PrincipalSnapshot(Long id, String email, String firstName, String lastName, Role role) {
+
+    public static PrincipalSnapshot of(User user) {
+        return new PrincipalSnapshot(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                user.getRole());
+    }
+
+    /**
+     * A new, unmanaged {@link User} for the security context, so controllers
+     * keep resolving {@code @AuthenticationPrincipal User}. Callers may not
+     * mutate the cached snapshot through it.
+     */
+    public User toUser() {
+        User user = new User(email, null, firstName, lastName, role);
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,76 @@
+package unq.desapp.futbol.security;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rejects with 429 the requests whose client or subject ran out of tokens.
+ * It is not a bean, because Spring would also register it outside the
+ * security chain; {@link SecurityConfig} adds it after authentication so the
+ * subject is known.
+ */
+public class RateLimitingWebFilter implements WebFilter {
+
+    private final RequestRateLimiter rateLimiter;
+
+    public RateLimitingWebFilter(RequestRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(authentication -> authentication.isAuthenticated()
+                        && !(authentication instanceof AnonymousAuthenticationToken))
+                .map(Authentication::getName)
+                .map(subject -> rateLimiter.tryAcquire(pathOf(exchange), clientIpOf(exchange), subject))
+                .switchIfEmpty(Mono.fromSupplier(
+                        () -> rateLimiter.tryAcquire(pathOf(exchange), clientIpOf(exchange), null)))
+                .flatMap(wait -> wait.isPresent()
+                        ? reject(exchange.getResponse(), wait.get())
+                        : chain.filter(exchange));
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, Duration wait) {
+        // Retry-After only takes whole seconds, so round up
+        long seconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        String errorMessage = "{\"error\": \"Too Many Requests\", \"message\": \"Rate limit exceeded, retry in "
+                + seconds + " seconds\"}";
+        DataBuffer buffer = response.bufferFactory().wrap(errorMessage.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    private static PathContainer pathOf(ServerWebExchange exchange) {
+        return exchange.getRequest().getPath().pathWithinApplication();
+    }
+
+    private static String clientIpOf(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null) {
+            return null;
+        }
+        return remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : remoteAddress.getHostString();
+    }
+}
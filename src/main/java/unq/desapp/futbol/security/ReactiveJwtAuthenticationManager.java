@@ -5,40 +5,39 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 import unq.desapp.futbol.constants.AuthenticationManager;
-import unq.desapp.futbol.service.UserService;
+import unq.desapp.futbol.service.ReactiveUserService;
 
 @Component
 @Qualifier(AuthenticationManager.JWT)
 @Primary
 public class ReactiveJwtAuthenticationManager implements ReactiveAuthenticationManager {
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserService footballService;
+    private final ReactiveUserService userService;
+    private final PrincipalCache principalCache;
 
-    public ReactiveJwtAuthenticationManager(JwtTokenProvider jwtTokenProvider, UserService footballService) {
+    public ReactiveJwtAuthenticationManager(JwtTokenProvider jwtTokenProvider, ReactiveUserService userService,
+            PrincipalCache principalCache) {
         this.jwtTokenProvider = jwtTokenProvider;
-        this.footballService = footballService;
+        this.userService = userService;
+        this.principalCache = principalCache;
     }
 
     @Override
     public Mono<Authentication> authenticate(Authentication authentication) {
         String token = authentication.getCredentials().toString();
 
-        if (!jwtTokenProvider.validateToken(token)) {
-            return Mono.empty();
-        }
-
-        String username = jwtTokenProvider.getUsernameFromToken(token);
-
-        return Mono.justOrEmpty(footballService.findByEmail(username))
-                .map(UserDetails.class::cast)
-                .map(userDetails -> new UsernamePasswordAuthenticationToken(
-                        userDetails,
+        // One signature check yields both the subject and the expiry
+        return Mono.justOrEmpty(jwtTokenProvider.verify(token))
+                .flatMap(verified -> principalCache.getOrLoad(verified.subject(), verified.expiresAt(),
+                        userService::findByEmail))
+                .map(PrincipalSnapshot::toUser)
+                .map(user -> new UsernamePasswordAuthenticationToken(
+                        user,
                         null,
-                        userDetails.getAuthorities()
+                        user.getAuthorities()
                 ));
     }
 }
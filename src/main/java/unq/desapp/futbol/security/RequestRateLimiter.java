@@ -0,0 +1,124 @@
+package unq.desapp.futbol.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Limits requests per client IP and per authenticated subject with token
+ * buckets. Each route costs a number of tokens close to the upstream scrapes
+ * it may trigger, so a comparison, which fetches two teams, drains a bucket
+ * faster than a squad lookup.
+ */
+@Component
+public class RequestRateLimiter {
+
+    private final boolean enabled;
+    private final TokenBuckets subjectBuckets;
+    private final TokenBuckets ipBuckets;
+    private final List<RouteCost> routeCosts;
+    private final int defaultCost;
+    private final Counter subjectRejections;
+    private final Counter ipRejections;
+
+    public RequestRateLimiter(MeterRegistry meterRegistry,
+            @Value("${app.security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.security.rate-limit.subject.capacity:60}") int subjectCapacity,
+            @Value("${app.security.rate-limit.subject.refill-period:PT1S}") Duration subjectRefillPeriod,
+            @Value("${app.security.rate-limit.ip.capacity:120}") int ipCapacity,
+            @Value("${app.security.rate-limit.ip.refill-period:PT0.5S}") Duration ipRefillPeriod,
+            @Value("${app.security.rate-limit.max-entries:100000}") int maxEntries,
+            @Value("${app.security.rate-limit.cost.compare:4}") int compareCost,
+            @Value("${app.security.rate-limit.cost.squad:1}") int squadCost,
+            @Value("${app.security.rate-limit.cost.default:1}") int defaultCost) {
+        this.enabled = enabled;
+        this.subjectBuckets = new TokenBuckets(subjectCapacity, subjectRefillPeriod, maxEntries);
+        this.ipBuckets = new TokenBuckets(ipCapacity, ipRefillPeriod, maxEntries);
+        this.defaultCost = defaultCost;
+
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        this.routeCosts = List.of(
+                new RouteCost(parser.parse("/actuator/**"), 0),
+                new RouteCost(parser.parse("/teams/compare/**"), compareCost),
+                new RouteCost(parser.parse("/teams/{country}/{name}/squad"), squadCost));
+
+        this.subjectRejections = rejections("subject", meterRegistry);
+        this.ipRejections = rejections("ip", meterRegistry);
+        Gauge.builder("app_rate_limit_buckets", this, limiter -> limiter.subjectBuckets.size())
+                .description("Token buckets currently kept in memory")
+                .tag("scope", "subject")
+                .register(meterRegistry);
+        Gauge.builder("app_rate_limit_buckets", this, limiter -> limiter.ipBuckets.size())
+                .description("Token buckets currently kept in memory")
+                .tag("scope", "ip")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Charges the request to its subject, when authenticated, and then to
+     * its client IP. Returns how long the client should wait when either
+     * bucket is short of tokens. A rejected request is charged to neither:
+     * one user running out does not drain the budget of everyone behind the
+     * same address, and the subject gets back what a request the IP's bucket
+     * turned away had taken.
+     */
+    public Optional<Duration> tryAcquire(PathContainer path, String clientIp, String subject) {
+        int cost = costOf(path);
+        if (!enabled || cost == 0) {
+            return Optional.empty();
+        }
+
+        if (subject != null) {
+            long wait = subjectBuckets.tryAcquire(subject, cost);
+            if (wait != TokenBuckets.GRANTED) {
+                subjectRejections.increment();
+                return Optional.of(Duration.ofNanos(wait));
+            }
+        }
+        if (clientIp != null) {
+            long wait = ipBuckets.tryAcquire(clientIp, cost);
+            if (wait != TokenBuckets.GRANTED) {
+                if (subject != null) {
+                    subjectBuckets.refund(subject, cost);
+                }
+                ipRejections.increment();
+                return Optional.of(Duration.ofNanos(wait));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.rate-limit.expiry-interval:PT1M}")
+    public void expireFullBuckets() {
+        subjectBuckets.expire();
+        ipBuckets.expire();
+    }
+
+    int costOf(PathContainer path) {
+        for (RouteCost routeCost : routeCosts) {
+            if (routeCost.pattern().matches(path)) {
+                return routeCost.cost();
+            }
+        }
+        return defaultCost;
+    }
+
+    private static Counter rejections(String scope, MeterRegistry meterRegistry) {
+        return Counter.builder("app_rate_limit_rejected_total")
+                .description("Requests rejected because a token bucket was empty")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    private record RouteCost(PathPattern pattern, int cost) {
+    }
+}
@@ -1,6 +1,8 @@
 package unq.desapp.futbol.security;
 
+import java.util.List;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -17,9 +19,11 @@ import org.springframework.security.web.server.authentication.ServerAuthenticati
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsConfigurationSource;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.server.adapter.ForwardedHeaderTransformer;
 import unq.desapp.futbol.constants.AuthenticationManager;
 import unq.desapp.futbol.constants.GeneralSecurityConstants.Cors;
 import unq.desapp.futbol.constants.PathPattern;
+import unq.desapp.futbol.model.Role;
 
 @Configuration
 @EnableWebFluxSecurity
@@ -27,8 +31,18 @@ import unq.desapp.futbol.constants.PathPattern;
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Replaces the transformer {@code server.forward-headers-strategy=framework}
+     * would register, which trusts the leftmost X-Forwarded-For value.
+     */
+    @Bean
+    public ForwardedHeaderTransformer forwardedHeaderTransformer(
+            @Value("${app.security.trusted-proxies:127.0.0.1,::1}") List<String> trustedProxies) {
+        return new TrustedProxyForwardedHeaderTransformer(trustedProxies);
     }
 
     @Bean
@@ -37,7 +51,8 @@ public class SecurityConfig {
             ServerHttpSecurity http,
             @Qualifier(AuthenticationManager.JWT) ReactiveAuthenticationManager authenticationManager,
             ReactiveJwtAuthenticationConverter authenticationConverter,
-            ReactiveAuthenticationEntryPoint authenticationEntryPoint) {
+            ReactiveAuthenticationEntryPoint authenticationEntryPoint,
+            RequestRateLimiter rateLimiter) {
         AuthenticationWebFilter authenticationWebFilter = buildAuthenticationWebFilter(
                 authenticationManager,
                 authenticationConverter,
@@ -48,6 +63,8 @@ public class SecurityConfig {
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource))
                 .authorizeExchange(authorizeExchange -> authorizeExchange
+                        .pathMatchers(PathPattern.ACTUATOR_TRACES, PathPattern.ACTUATOR_JFR)
+                        .hasRole(Role.ADMIN.name())
                         .pathMatchers(PathPattern.AUTH, PathPattern.ACTUATOR, "/swagger-ui.html",
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
@@ -58,6 +75,7 @@ public class SecurityConfig {
                 .exceptionHandling(exceptionHandling -> exceptionHandling
                         .authenticationEntryPoint(authenticationEntryPoint))
                 .addFilterAt(authenticationWebFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .addFilterAfter(new RateLimitingWebFilter(rateLimiter), SecurityWebFiltersOrder.AUTHENTICATION)
                 .build();
     }
 
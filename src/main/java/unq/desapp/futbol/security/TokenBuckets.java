@@ -0,0 +1,156 @@
+package unq.desapp.futbol.security;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by client, kept as the time at which each bucket would
+ * be full again. Taking tokens pushes that time forward with a compare-and-set,
+ * so no bucket is ever locked. A bucket whose time has passed is full and
+ * holds no information, which is what lets the map expire it. Keys are spread
+ * over fixed stripes, each bounded on its own, so a sweep only walks a
+ * fraction of the buckets and concurrent sweeps rarely meet. A stripe full of
+ * clients still being limited keeps them all and charges new keys to one
+ * shared bucket, so rotating keys can neither reset a limit nor push other
+ * clients' buckets out.
+ */
+final class TokenBuckets {
+
+    static final long GRANTED = 0;
+    private static final int STRIPES = 16;
+
+    private final int capacity;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final int maxEntriesPerStripe;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    TokenBuckets(int capacity, Duration refillPeriod, int maxEntries) {
+        if (capacity < 1 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("A token bucket needs a positive capacity and refill period");
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = refillPeriod.toNanos();
+        this.burstNanos = Math.multiplyExact(nanosPerToken, capacity);
+        this.maxEntriesPerStripe = Math.max(1, maxEntries / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Takes {@code cost} tokens from the bucket of the key. Returns
+     * {@link #GRANTED}, or the nanoseconds until the bucket holds enough
+     * tokens, in which case nothing is taken.
+     */
+    long tryAcquire(String key, int cost) {
+        long now = System.nanoTime();
+        AtomicLong fullAt = stripeOf(key).bucket(key, now);
+        // A request dearer than the whole bucket is charged as a full bucket
+        long increment = nanosPerToken * Math.min(Math.max(cost, 0), capacity);
+
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + increment;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return GRANTED;
+            }
+        }
+    }
+
+    /**
+     * Gives back {@code cost} tokens taken by a granted {@link #tryAcquire},
+     * for a request that was rejected further on.
+     */
+    void refund(String key, int cost) {
+        long decrement = nanosPerToken * Math.min(Math.max(cost, 0), capacity);
+        stripeOf(key).chargedBucket(key).addAndGet(-decrement);
+    }
+
+    /**
+     * Drops every bucket that has refilled completely.
+     */
+    void expire() {
+        long now = System.nanoTime();
+        for (Stripe stripe : stripes) {
+            stripe.expire(now);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private Stripe stripeOf(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private final class Stripe {
+
+        private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong shared = new AtomicLong(System.nanoTime());
+        private final AtomicBoolean sweeping = new AtomicBoolean();
+        // No bucket can be expired before this, so sweeping earlier frees nothing
+        private volatile long sweepAfter = System.nanoTime();
+
+        AtomicLong bucket(String key, long now) {
+            AtomicLong bucket = buckets.get(key);
+            if (bucket != null) {
+                return bucket;
+            }
+
+            if (buckets.size() >= maxEntriesPerStripe) {
+                if (now - sweepAfter >= 0 && sweeping.compareAndSet(false, true)) {
+                    try {
+                        sweep(now);
+                    } finally {
+                        sweeping.set(false);
+                    }
+                }
+                if (buckets.size() >= maxEntriesPerStripe) {
+                    return shared;
+                }
+            }
+
+            sweepAfter = now;
+            return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        AtomicLong chargedBucket(String key) {
+            AtomicLong bucket = buckets.get(key);
+            return bucket != null ? bucket : shared;
+        }
+
+        void expire(long now) {
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        }
+
+        private void sweep(long now) {
+            long earliest = Long.MAX_VALUE;
+            boolean kept = false;
+            for (Iterator<AtomicLong> it = buckets.values().iterator(); it.hasNext();) {
+                long fullAt = it.next().get();
+                if (fullAt - now <= 0) {
+                    it.remove();
+                } else if (!kept || fullAt - earliest < 0) {
+                    earliest = fullAt;
+                    kept = true;
+                }
+            }
+            sweepAfter = kept ? earliest : now;
+        }
+    }
+}
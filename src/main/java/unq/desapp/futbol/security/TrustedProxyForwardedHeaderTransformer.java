@@ -0,0 +1,104 @@
+package unq.desapp.futbol.security;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.adapter.ForwardedHeaderTransformer;
+
+/**
+ * Applies forwarded headers only when they come from a trusted proxy, and
+ * takes the client address from {@code X-Forwarded-For} by walking it from
+ * the right: the first hop that is not a trusted proxy is the client. The
+ * leftmost value, which Spring would use, is whatever the client chose to
+ * send, so trusting it would let anyone pick the IP bucket they are charged
+ * to. Requests from untrusted peers have their forwarded headers removed.
+ */
+class TrustedProxyForwardedHeaderTransformer extends ForwardedHeaderTransformer {
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+    private static final Pattern IP_LITERAL = Pattern.compile("[0-9A-Fa-f:.]+");
+
+    private final List<IpAddressMatcher> trustedProxies;
+    private final ForwardedHeaderTransformer remover = new ForwardedHeaderTransformer();
+
+    TrustedProxyForwardedHeaderTransformer(List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream()
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .map(IpAddressMatcher::new)
+                .toList();
+        this.remover.setRemoveOnly(true);
+    }
+
+    @Override
+    public ServerHttpRequest apply(ServerHttpRequest request) {
+        String peer = hostOf(request.getRemoteAddress());
+        if (peer == null || !isTrusted(peer)) {
+            return remover.apply(request);
+        }
+
+        String client = clientOf(request.getHeaders().get(X_FORWARDED_FOR), peer);
+        InetSocketAddress clientAddress = client.equals(peer)
+                ? request.getRemoteAddress()
+                : InetSocketAddress.createUnresolved(client, 0);
+        // Replaces the leftmost address the parent takes from the headers
+        return super.apply(request).mutate().remoteAddress(clientAddress).build();
+    }
+
+    private String clientOf(List<String> forwardedFor, String peer) {
+        List<String> hops = new ArrayList<>();
+        if (forwardedFor != null) {
+            for (String header : forwardedFor) {
+                for (String hop : StringUtils.tokenizeToStringArray(header, ",")) {
+                    hops.add(hop);
+                }
+            }
+        }
+
+        String client = peer;
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            String hop = stripPort(hops.get(i));
+            if (hop == null) {
+                // An obfuscated or malformed hop: nothing left of it can be trusted
+                return client;
+            }
+            client = hop;
+            if (!isTrusted(hop)) {
+                return hop;
+            }
+        }
+        return client;
+    }
+
+    private boolean isTrusted(String address) {
+        return trustedProxies.stream().anyMatch(matcher -> matcher.matches(address));
+    }
+
+    private static String hostOf(InetSocketAddress address) {
+        if (address == null) {
+            return null;
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+
+    /**
+     * Reduces a hop to a bare IP literal, or null when it is not one, so that
+     * matching it never triggers a DNS lookup.
+     */
+    private static String stripPort(String hop) {
+        String host = hop;
+        if (host.startsWith("[")) {
+            int end = host.indexOf(']');
+            host = end > 0 ? host.substring(1, end) : null;
+        } else if (host.indexOf(':') > 0 && host.indexOf(':') == host.lastIndexOf(':')) {
+            host = host.substring(0, host.indexOf(':'));
+        }
+        return host != null && IP_LITERAL.matcher(host).matches() && (host.contains(".") || host.contains(":"))
+                ? host
+                : null;
+    }
+}
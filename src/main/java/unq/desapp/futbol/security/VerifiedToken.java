@@ -0,0 +1,10 @@
+package unq.desapp.futbol.security;
+
+import java.time.Instant;
+
+/**
+ * The claims authentication needs from a token whose signature and expiry
+ * have been checked.
+ */
+public record VerifiedToken(String subject, Instant expiresAt) {
+}
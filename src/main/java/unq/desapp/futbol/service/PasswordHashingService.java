@@ -0,0 +1,22 @@
+package unq.desapp.futbol.service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Password hashing kept off the event loop. Every operation runs on a
+ * dedicated, bounded pool and fails with
+ * {@link unq.desapp.futbol.exceptions.PasswordHashingUnavailableException}
+ * when the pool and its queue are full.
+ */
+public interface PasswordHashingService {
+
+    Mono<Boolean> matches(String rawPassword, String encodedPassword);
+
+    Mono<String> encode(String rawPassword);
+
+    /**
+     * Whether the hash was produced with a cost factor other than the
+     * configured one, so it should be replaced after the next login.
+     */
+    boolean needsRehash(String encodedPassword);
+}
@@ -0,0 +1,22 @@
+package unq.desapp.futbol.service;
+
+import reactor.core.publisher.Mono;
+import unq.desapp.futbol.model.User;
+
+/**
+ * Non-blocking counterpart of {@link UserService} for the request paths that
+ * run on the event loop, such as token authentication and login.
+ */
+public interface ReactiveUserService {
+
+    Mono<User> findByEmail(String email);
+
+    Mono<User> loginUser(String email, String password);
+
+    /**
+     * Stores a new user with its password hashed and its email lower-cased.
+     * Fails with {@link unq.desapp.futbol.exceptions.EmailAlreadyTakenException}
+     * when the email is already registered.
+     */
+    Mono<User> registerUser(User user);
+}
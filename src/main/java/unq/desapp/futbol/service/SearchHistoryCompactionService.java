@@ -0,0 +1,10 @@
+package unq.desapp.futbol.service;
+
+public interface SearchHistoryCompactionService {
+
+    /**
+     * Rolls the history entries beyond each user's retention window into
+     * aggregates and deletes them. Returns the number of entries compacted.
+     */
+    int compact();
+}
@@ -0,0 +1,31 @@
+package unq.desapp.futbol.service;
+
+import reactor.core.publisher.Mono;
+import unq.desapp.futbol.model.HistorySort;
+import unq.desapp.futbol.model.SearchHistoryOverview;
+import unq.desapp.futbol.model.SearchHistoryPage;
+import unq.desapp.futbol.model.SearchType;
+import unq.desapp.futbol.model.User;
+
+public interface SearchHistoryService {
+
+    /**
+     * Queues a search for the user's history. Never blocks a non-blocking
+     * thread; the entry is written asynchronously.
+     */
+    void record(User user, SearchType type, String query);
+
+    /**
+     * Returns up to {@code limit} history entries of the user, one per
+     * distinct query, ordered by {@code sort} and starting after
+     * {@code cursor} (or from the first one when null), optionally restricted
+     * to one search type.
+     */
+    Mono<SearchHistoryPage> findHistory(User user, SearchType type, HistorySort sort, int limit, String cursor);
+
+    /**
+     * Returns the first page of raw history entries together with the
+     * aggregates of the compacted ones, most searched first.
+     */
+    Mono<SearchHistoryOverview> findOverview(User user, SearchType type, int limit);
+}
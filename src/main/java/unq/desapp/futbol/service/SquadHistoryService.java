@@ -0,0 +1,23 @@
+package unq.desapp.futbol.service;
+
+import java.util.List;
+import reactor.core.publisher.Mono;
+import unq.desapp.futbol.model.Player;
+import unq.desapp.futbol.model.PlayerTimeline;
+
+public interface SquadHistoryService {
+
+    /**
+     * Keeps the squad as today's snapshot of the team. Failures are logged
+     * and never reach the caller.
+     */
+    void record(String teamName, String country, List<Player> squad);
+
+    /**
+     * Time series of every player ever stored for the team, read only from
+     * local storage. Empty when the team has no snapshots.
+     */
+    Mono<List<PlayerTimeline>> findTimelines(String teamName, String country);
+
+    Mono<PlayerTimeline> findPlayerTimeline(String teamName, String country, String player);
+}
@@ -0,0 +1,10 @@
+package unq.desapp.futbol.service;
+
+import reactor.core.publisher.Mono;
+import unq.desapp.futbol.model.TeamComparisonResponse;
+
+public interface TeamComparisonService {
+
+    Mono<TeamComparisonResponse> compareTeams(String teamNameA, String countryA, String teamNameB,
+            String countryB);
+}
@@ -0,0 +1,12 @@
+package unq.desapp.futbol.service;
+
+import reactor.core.publisher.Mono;
+import unq.desapp.futbol.model.TeamStats;
+import unq.desapp.futbol.model.VersionedTeamStats;
+
+public interface TeamStatsService {
+
+    Mono<TeamStats> findTeamStats(String teamName, String country);
+
+    Mono<VersionedTeamStats> findVersionedTeamStats(String teamName, String country);
+}
@@ -0,0 +1,18 @@
+package unq.desapp.futbol.service;
+
+import java.util.List;
+import reactor.core.publisher.Mono;
+import unq.desapp.futbol.model.SearchType;
+import unq.desapp.futbol.model.TrendingQuery;
+import unq.desapp.futbol.model.TrendingWindow;
+
+public interface TrendingService {
+
+    void record(SearchType type, String query);
+
+    /**
+     * Most searched queries of the window, optionally restricted to one type.
+     * Returns at most {@code limit} entries ordered by count, highest first.
+     */
+    Mono<List<TrendingQuery>> findTrending(TrendingWindow window, SearchType type, int limit);
+}
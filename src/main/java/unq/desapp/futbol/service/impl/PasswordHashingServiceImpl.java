@@ -0,0 +1,141 @@
+package unq.desapp.futbol.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import unq.desapp.futbol.config.profiling.AuthenticationEvent;
+import unq.desapp.futbol.exceptions.PasswordHashingUnavailableException;
+import unq.desapp.futbol.service.PasswordHashingService;
+
+/**
+ * Runs BCrypt on its own pool of at most {@code maxConcurrency} threads, with
+ * at most {@code queueCapacity} operations waiting for one. A login burst can
+ * then neither stall the event loop nor take every thread of the shared
+ * bounded-elastic scheduler: once both limits are reached new operations are
+ * rejected straight away and the request is answered with 503.
+ */
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService, DisposableBean {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final int targetStrength;
+    private final int maxConcurrency;
+    private final int maxOutstanding;
+    private final Scheduler scheduler;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingServiceImpl(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+            @Value("${app.security.password.bcrypt-strength:10}") int targetStrength,
+            @Value("${app.security.password.max-concurrency:0}") int maxConcurrency,
+            @Value("${app.security.password.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.targetStrength = targetStrength;
+        // BCrypt is pure CPU work, so by default it gets one thread per core
+        this.maxConcurrency = maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors();
+        this.maxOutstanding = this.maxConcurrency + Math.max(0, queueCapacity);
+        this.scheduler = Schedulers.newBoundedElastic(this.maxConcurrency, Math.max(1, maxOutstanding),
+                "password-hashing");
+
+        this.matchesTimer = operationTimer("matches", meterRegistry);
+        this.encodeTimer = operationTimer("encode", meterRegistry);
+        this.queueWaitTimer = Timer.builder("app_password_hashing_queue_wait_seconds")
+                .description("Time a password operation waited for a hashing thread")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("app_password_hashing_rejected_total")
+                .description("Password operations rejected because the hashing pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("app_password_hashing_queue_size", this, PasswordHashingServiceImpl::queued)
+                .description("Password operations waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("app_password_hashing_active", active, AtomicInteger::get)
+                .description("Password operations running")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(AuthenticationEvent.PASSWORD_MATCHES, matchesTimer,
+                () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public Mono<String> encode(String rawPassword) {
+        return submit(AuthenticationEvent.PASSWORD_ENCODE, encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != targetStrength;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+
+    int queued() {
+        return Math.max(0, outstanding.get() - active.get());
+    }
+
+    private <T> Mono<T> submit(String step, Timer timer, Callable<T> operation) {
+        return Mono.defer(() -> {
+            if (outstanding.incrementAndGet() > maxOutstanding) {
+                outstanding.decrementAndGet();
+                rejectedCounter.increment();
+                return Mono.error(new PasswordHashingUnavailableException(
+                        "Too many password checks in progress, please retry shortly"));
+            }
+
+            long enqueuedAt = System.nanoTime();
+            return Mono.fromCallable(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                active.incrementAndGet();
+                AuthenticationEvent event = AuthenticationEvent.start(step);
+                boolean succeeded = false;
+                try {
+                    T result = timer.recordCallable(operation);
+                    succeeded = !Boolean.FALSE.equals(result);
+                    return result;
+                } finally {
+                    event.finish(succeeded);
+                    active.decrementAndGet();
+                }
+            })
+                    .subscribeOn(scheduler)
+                    .doFinally(signal -> outstanding.decrementAndGet());
+        });
+    }
+
+    private static Timer operationTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("app_password_hashing_seconds")
+                .description("Time spent hashing or verifying one password")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
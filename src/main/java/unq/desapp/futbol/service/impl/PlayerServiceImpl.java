@@ -7,25 +7,24 @@ import unq.desapp.futbol.model.SearchType;
 import unq.desapp.futbol.model.User;
 import unq.desapp.futbol.service.PlayerService;
 import unq.desapp.futbol.service.ScrapingService;
-import unq.desapp.futbol.service.UserService;
+import unq.desapp.futbol.service.SearchHistoryService;
 
 @Service
 public class PlayerServiceImpl implements PlayerService {
 
     private final ScrapingService scrapingService;
-    private final UserService userService;
+    private final SearchHistoryService searchHistoryService;
 
-    public PlayerServiceImpl(ScrapingService scrapingService, UserService userService) {
+    public PlayerServiceImpl(ScrapingService scrapingService, SearchHistoryService searchHistoryService) {
         this.scrapingService = scrapingService;
-        this.userService = userService;
+        this.searchHistoryService = searchHistoryService;
     }
 
     @Override
     public Mono<PlayerPerformance> getPlayerPerformance(String playerName, User user) {
         return scrapingService.findPlayerPerformance(playerName).doOnSuccess(performance -> {
             if (performance != null && user != null) {
-                user.addSearchHistory(SearchType.PLAYER, playerName);
-                userService.saveUser(user);
+                searchHistoryService.record(user, SearchType.PLAYER, playerName);
             }
         });
     }
@@ -0,0 +1,103 @@
+package unq.desapp.futbol.service.impl;
+
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import unq.desapp.futbol.exceptions.EmailAlreadyTakenException;
+import unq.desapp.futbol.exceptions.PasswordHashingUnavailableException;
+import unq.desapp.futbol.model.User;
+import unq.desapp.futbol.model.UserChangedEvent;
+import unq.desapp.futbol.repository.ReactiveUserRepository;
+import unq.desapp.futbol.repository.UserEmailRepository;
+import unq.desapp.futbol.service.PasswordHashingService;
+import unq.desapp.futbol.service.ReactiveUserService;
+
+@Service
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveUserServiceImpl.class);
+
+    private final ReactiveUserRepository userRepository;
+    private final UserEmailRepository userEmailRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReactiveUserServiceImpl(ReactiveUserRepository userRepository, UserEmailRepository userEmailRepository,
+            PasswordHashingService passwordHashingService, ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.userEmailRepository = userEmailRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Brings the emails stored before registration lower-cased them in line,
+     * so that the case-insensitive lookups find at most one user.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void normalizeStoredEmails() {
+        try {
+            int lowered = userEmailRepository.normalizeEmails();
+            if (lowered > 0) {
+                logger.info("Lower-cased the email of {} users", lowered);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Could not make user emails unique regardless of case", e);
+        }
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return userRepository.findByEmailIgnoreCase(email);
+    }
+
+    @Override
+    public Mono<User> loginUser(String email, String password) {
+        return findByEmail(email)
+                .filterWhen(user -> passwordHashingService.matches(password, user.getPassword()))
+                .doOnNext(user -> rehashIfNeeded(user, password));
+    }
+
+    @Override
+    public Mono<User> registerUser(User user) {
+        if (user.getEmail() == null || user.getEmail().isBlank()) {
+            return Mono.error(new IllegalArgumentException("Email is required"));
+        }
+
+        // Logins ignore case, and the email key only rejects case variants
+        // once the stored emails have been normalised
+        String email = user.getEmail().trim().toLowerCase(Locale.ROOT);
+        return passwordHashingService.encode(user.getPassword())
+                .map(hash -> new User(email, hash, user.getFirstName(), user.getLastName(), user.getRole()))
+                .flatMap(userRepository::insert)
+                .onErrorMap(DuplicateKeyException.class, e -> new EmailAlreadyTakenException(email))
+                .doOnNext(saved -> eventPublisher.publishEvent(new UserChangedEvent(saved.getEmail())));
+    }
+
+    /**
+     * Replaces a hash made with another cost factor while the raw password
+     * is at hand. It runs after the response, and a failure only means it is
+     * tried again on the next login.
+     */
+    private void rehashIfNeeded(User user, String password) {
+        if (user.getId() == null || !passwordHashingService.needsRehash(user.getPassword())) {
+            return;
+        }
+
+        passwordHashingService.encode(password)
+                .flatMap(hash -> userRepository.updatePassword(user.getId(), hash))
+                .subscribe(
+                        updated -> logger.debug("Rehashed the password of user {}", user.getId()),
+                        e -> {
+                            if (!(e instanceof PasswordHashingUnavailableException)) {
+                                logger.warn("Could not rehash the password of user {}", user.getId(), e);
+                            }
+                        });
+    }
+}
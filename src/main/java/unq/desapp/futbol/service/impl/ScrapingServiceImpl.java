@@ -3,6 +3,7 @@ package unq.desapp.futbol.service.impl;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -14,11 +15,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import unq.desapp.futbol.config.cache.ResultCache;
+import unq.desapp.futbol.config.cache.ResultCacheManager;
+import unq.desapp.futbol.config.metrics.ScrapeStage;
+import unq.desapp.futbol.config.metrics.ScrapeStages;
+import unq.desapp.futbol.config.profiling.DocumentParseEvent;
+import unq.desapp.futbol.config.profiling.JsonRewriteEvent;
+import unq.desapp.futbol.config.profiling.UpstreamFetchEvent;
 import unq.desapp.futbol.model.UpcomingMatch;
 import unq.desapp.futbol.exceptions.TeamNotFoundException;
 import unq.desapp.futbol.exceptions.NoUpcomingMatchException;
 import unq.desapp.futbol.service.ScrapingService;
-import unq.desapp.futbol.model.TeamStats;
+import unq.desapp.futbol.model.TeamSnapshot;
+import unq.desapp.futbol.model.CompletedMatch;
 import unq.desapp.futbol.model.MatchPrediction;
 import unq.desapp.futbol.model.Player;
 import unq.desapp.futbol.model.PlayerPerformance;
@@ -30,8 +39,9 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -44,19 +54,45 @@ public class ScrapingServiceImpl implements ScrapingService {
     private static final String HEADER_ACCEPT = "Accept";
     private static final String VICTORY_LITERAL = "Victory";
     private static final String DEFEAT_LITERAL = "Defeat";
+    private static final Pattern SCORE_PATTERN = Pattern.compile("(\\d+)\\s*[:-]\\s*(\\d+)");
+
+    // Endpoint classes used to tag the scraping stages
+    private static final String SEARCH = "search";
+    private static final String STATISTICS_FEED = "statistics_feed";
+    private static final String FIXTURES_PAGE = "fixtures_page";
+    private static final String FIXTURES_DATA = "fixtures_data";
+    private static final String MATCH_PAGE = "match_page";
+    private static final String MATCH_DATA = "match_data";
 
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final String baseUrl;
-
-    public ScrapingServiceImpl(@Value("${whoscored.base-url}") String baseUrl) {
+    private final ScrapeStages stages;
+    private final ResultCache<String> resolutions;
+    private final ResultCache<List<Player>> squads;
+    private final ResultCache<List<List<Object>>> fixtures;
+    private final ResultCache<JsonNode> matches;
+    private final ResultCache<List<SeasonPerformance>> playerSeasons;
+
+    public ScrapingServiceImpl(@Value("${whoscored.base-url}") String baseUrl, ResultCacheManager cacheManager,
+            ScrapeStages stages) {
         this.baseUrl = baseUrl;
+        this.stages = stages;
+        this.resolutions = cacheManager.create("resolutions", new TypeReference<String>() {},
+                UnaryOperator.identity());
+        this.squads = cacheManager.create("squads", new TypeReference<List<Player>>() {},
+                squad -> squad.stream().map(Player::copy).toList());
+        this.fixtures = cacheManager.create("fixtures", new TypeReference<List<List<Object>>>() {},
+                rows -> rows.stream().map(Collections::unmodifiableList).toList());
+        this.matches = cacheManager.create("matches", new TypeReference<JsonNode>() {}, JsonNode::deepCopy);
+        this.playerSeasons = cacheManager.create("player-seasons", new TypeReference<List<SeasonPerformance>>() {},
+                List::copyOf);
     }
 
     // TEAM SQUAD
 
     @Override
     public Mono<List<Player>> findTeamSquad(String teamName, String country) {
-        return Mono.fromCallable(() -> fetchTeamSquadFromAPI(teamName, country))
+        return stages.fromCallable("team_squad", () -> fetchTeamSquadFromAPI(teamName, country))
                 .subscribeOn(Schedulers.boundedElastic())
                 .onErrorResume(e -> {
                     if (e instanceof TeamNotFoundException) {
@@ -67,10 +103,31 @@ public class ScrapingServiceImpl implements ScrapingService {
                 });
     }
 
+    @Override
+    public Mono<Integer> findTeamId(String teamName, String country) {
+        return stages.fromCallable("team_id", () -> extractTeamId(searchTeam(teamName, country)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    if (e instanceof TeamNotFoundException) {
+                        return Mono.error(e);
+                    }
+                    logger.error("Error resolving team: {} ({})", teamName, country, e);
+                    return Mono.empty();
+                });
+    }
+
     private List<Player> fetchTeamSquadFromAPI(String teamName, String country) throws IOException {
         String teamPageUrl = searchTeam(teamName, country);
         int teamId = extractTeamId(teamPageUrl);
 
+        return fetchSquad(teamId, teamName);
+    }
+
+    private List<Player> fetchSquad(int teamId, String teamName) throws IOException {
+        return squads.getOrLoad(String.valueOf(teamId), () -> loadSquad(teamId, teamName));
+    }
+
+    private List<Player> loadSquad(int teamId, String teamName) throws IOException {
         String apiUrl = baseUrl + "/statisticsfeed/1/getplayerstatistics" +
                 "?category=summary&subcategory=all&statsAccumulationType=0&isCurrent=true" +
                 "&playerId=&teamIds=" + teamId +
@@ -78,22 +135,62 @@ public class ScrapingServiceImpl implements ScrapingService {
 
         logger.info("Fetching squad from API: {}", apiUrl);
 
-        String jsonResponse = Jsoup.connect(apiUrl)
-                .ignoreContentType(true)
-                .header(HEADER_ACCEPT, "application/json")
-                .userAgent(USER_AGENT)
-                .get()
-                .body()
-                .text();
-
-        JsonNode root = objectMapper.readTree(jsonResponse);
-        JsonNode playersArray = root.path("playerTableStats");
+        JsonNode playersArray = fetchStatistics(apiUrl).path("playerTableStats");
 
         if (!playersArray.isArray() || playersArray.isEmpty()) {
             logger.warn("No players found for team: {}", teamName);
             return Collections.emptyList();
         }
 
+        List<Player> players = stages.time(ScrapeStage.MAP, STATISTICS_FEED, () -> mapPlayers(playersArray));
+
+        logger.info("Successfully fetched {} players for '{}'", players.size(), teamName);
+        return players;
+    }
+
+    private JsonNode fetchStatistics(String apiUrl) throws IOException {
+        Document document = fetchDocument(STATISTICS_FEED, Jsoup.connect(apiUrl)
+                .ignoreContentType(true)
+                .header(HEADER_ACCEPT, "application/json")
+                .userAgent(USER_AGENT));
+
+        return stages.time(ScrapeStage.PARSE, STATISTICS_FEED,
+                () -> readJson(STATISTICS_FEED, document.body().text()));
+    }
+
+    /**
+     * Downloads the page, then parses it, recording both stages and the
+     * size of the body under the given endpoint class.
+     */
+    private Document fetchDocument(String endpoint, Connection connection) throws IOException {
+        Connection.Response response = stages.time(ScrapeStage.FETCH, endpoint, () -> fetch(endpoint, connection));
+        stages.recordBytes(endpoint, response.bodyAsBytes().length);
+
+        return stages.time(ScrapeStage.PARSE, endpoint, () -> parse(endpoint, response));
+    }
+
+    private Connection.Response fetch(String endpoint, Connection connection) throws IOException {
+        UpstreamFetchEvent event = UpstreamFetchEvent.start(endpoint);
+        Connection.Response response = connection.execute().bufferUp();
+        event.finish(response.statusCode(), response.bodyAsBytes().length);
+        return response;
+    }
+
+    private Document parse(String endpoint, Connection.Response response) throws IOException {
+        DocumentParseEvent event = DocumentParseEvent.start(endpoint, "html", response.bodyAsBytes().length);
+        Document document = response.parse();
+        event.finish();
+        return document;
+    }
+
+    private JsonNode readJson(String endpoint, String json) throws IOException {
+        DocumentParseEvent event = DocumentParseEvent.start(endpoint, "json", json.length());
+        JsonNode node = objectMapper.readTree(json);
+        event.finish();
+        return node;
+    }
+
+    List<Player> mapPlayers(JsonNode playersArray) {
         List<Player> players = new ArrayList<>();
         for (JsonNode p : playersArray) {
             Player player = new Player(
@@ -109,24 +206,25 @@ public class ScrapingServiceImpl implements ScrapingService {
                     p.path("yellowCard").asInt(0));
             players.add(player);
         }
-
-        logger.info("Successfully fetched {} players for '{}'", players.size(), teamName);
         return players;
     }
 
     private String searchTeam(String teamName, String country) throws IOException {
+        String key = "team:" + teamName.toLowerCase(Locale.ROOT) + "|" + country.toLowerCase(Locale.ROOT);
+        return resolutions.getOrLoad(key, () -> resolveTeamUrl(teamName, country));
+    }
+
+    private String resolveTeamUrl(String teamName, String country) throws IOException {
         String encodedName = URLEncoder.encode(teamName, StandardCharsets.UTF_8.name()).replace("+", "%20");
         String searchUrl = baseUrl + "/search/?t=" + encodedName;
 
         logger.info("Searching team '{}' at URL: {}", teamName, searchUrl);
 
-        Document searchResultPage = Jsoup.connect(searchUrl)
-                .userAgent(USER_AGENT)
-                .referrer(baseUrl + "/")
-                .header("Accept-Language", "en-US,en;q=0.9")
-                .header(HEADER_ACCEPT, "text/html")
-                .get();
+        return stages.time(ScrapeStage.RESOLVE, SEARCH,
+                () -> selectTeamUrl(fetchSearchPage(searchUrl), teamName, country));
+    }
 
+    String selectTeamUrl(Document searchResultPage, String teamName, String country) {
         Elements resultRows = searchResultPage.select(".search-result table tr");
 
         for (Element row : resultRows) {
@@ -160,7 +258,7 @@ public class ScrapingServiceImpl implements ScrapingService {
 
     @Override
     public Mono<PlayerPerformance> findPlayerPerformance(String playerName) {
-        return Mono.fromCallable(() -> fetchPlayerPerformanceFromAPI(playerName))
+        return stages.fromCallable("player_performance", () -> fetchPlayerPerformanceFromAPI(playerName))
                 .subscribeOn(Schedulers.boundedElastic())
                 .onErrorResume(e -> {
                     logger.error("Error fetching player performance for: {}", playerName, e);
@@ -172,6 +270,12 @@ public class ScrapingServiceImpl implements ScrapingService {
         String playerPageUrl = searchPlayer(playerName);
         int playerId = extractPlayerId(playerPageUrl);
 
+        List<SeasonPerformance> performances = playerSeasons.getOrLoad(String.valueOf(playerId),
+                () -> loadPlayerSeasons(playerId, playerName));
+        return new PlayerPerformance(playerName, performances);
+    }
+
+    private List<SeasonPerformance> loadPlayerSeasons(int playerId, String playerName) throws IOException {
         String apiUrl = baseUrl + "/statisticsfeed/1/getplayerstatistics" +
                 "?category=summary&subcategory=all&statsAccumulationType=0&isCurrent=false" +
                 "&playerId=" + playerId +
@@ -179,22 +283,21 @@ public class ScrapingServiceImpl implements ScrapingService {
 
         logger.info("Fetching player stats from API: {}", apiUrl);
 
-        String jsonResponse = Jsoup.connect(apiUrl)
-                .ignoreContentType(true)
-                .header(HEADER_ACCEPT, "application/json")
-                .userAgent(USER_AGENT)
-                .get()
-                .body()
-                .text();
-
-        JsonNode root = objectMapper.readTree(jsonResponse);
-        JsonNode statsArray = root.path("playerTableStats");
+        JsonNode statsArray = fetchStatistics(apiUrl).path("playerTableStats");
 
         if (!statsArray.isArray() || statsArray.isEmpty()) {
             logger.warn("No stats found for player: {}", playerName);
-            return new PlayerPerformance(playerName, Collections.emptyList());
+            return Collections.emptyList();
         }
 
+        List<SeasonPerformance> performances = stages.time(ScrapeStage.MAP, STATISTICS_FEED,
+                () -> mapSeasons(statsArray));
+
+        logger.info("Successfully fetched {} seasons for player '{}'", performances.size(), playerName);
+        return performances;
+    }
+
+    private List<SeasonPerformance> mapSeasons(JsonNode statsArray) {
         List<SeasonPerformance> performances = new ArrayList<>();
         for (JsonNode stat : statsArray) {
             SeasonPerformance seasonPerf = new SeasonPerformance(
@@ -207,24 +310,37 @@ public class ScrapingServiceImpl implements ScrapingService {
                     stat.path("rating").asDouble(0.0));
             performances.add(seasonPerf);
         }
-
-        logger.info("Successfully fetched {} seasons for player '{}'", performances.size(), playerName);
-        return new PlayerPerformance(playerName, performances);
+        return performances;
     }
 
     private String searchPlayer(String playerName) throws IOException {
+        String key = "player:" + playerName.toLowerCase(Locale.ROOT);
+        return resolutions.getOrLoad(key, () -> resolvePlayerUrl(playerName));
+    }
+
+    private String resolvePlayerUrl(String playerName) throws IOException {
         String encodedName = URLEncoder.encode(playerName, StandardCharsets.UTF_8.name()).replace("+", "%20");
         String searchUrl = baseUrl + "/search/?t=" + encodedName;
 
         logger.info("Searching player '{}' at URL: {}", playerName, searchUrl);
 
-        Document searchResultPage = Jsoup.connect(searchUrl)
+        return stages.time(ScrapeStage.RESOLVE, SEARCH,
+                () -> selectPlayerUrl(fetchSearchPage(searchUrl), playerName));
+    }
+
+    // Resolution is timed as a whole, so only the size of the page is recorded here
+    private Document fetchSearchPage(String searchUrl) throws IOException {
+        Connection.Response response = fetch(SEARCH, Jsoup.connect(searchUrl)
                 .userAgent(USER_AGENT)
                 .referrer(baseUrl + "/")
                 .header("Accept-Language", "en-US,en;q=0.9")
-                .header(HEADER_ACCEPT, "text/html")
-                .get();
+                .header(HEADER_ACCEPT, "text/html"));
+        stages.recordBytes(SEARCH, response.bodyAsBytes().length);
 
+        return parse(SEARCH, response);
+    }
+
+    String selectPlayerUrl(Document searchResultPage, String playerName) throws IOException {
         Element playerLink = searchResultPage.selectFirst(".search-result a[href^='/Players/']");
 
         if (playerLink != null) {
@@ -248,7 +364,7 @@ public class ScrapingServiceImpl implements ScrapingService {
     // UPCOMING MATCHES
 
     public Mono<List<UpcomingMatch>> findUpcomingMatches(String teamName, String country) {
-        return Mono.fromCallable(() -> scrapeUpcomingMatches(teamName, country))
+        return stages.fromCallable("upcoming_matches", () -> scrapeUpcomingMatches(teamName, country))
                 .subscribeOn(Schedulers.boundedElastic())
                 .onErrorResume(e -> {
                     if (e instanceof TeamNotFoundException) {
@@ -261,6 +377,11 @@ public class ScrapingServiceImpl implements ScrapingService {
 
     private List<UpcomingMatch> scrapeUpcomingMatches(String teamName, String country) throws IOException {
         List<List<Object>> fixtureMatches = buildFixtureMatches(teamName, country);
+
+        return stages.time(ScrapeStage.MAP, FIXTURES_DATA, () -> mapUpcomingMatches(fixtureMatches));
+    }
+
+    private List<UpcomingMatch> mapUpcomingMatches(List<List<Object>> fixtureMatches) {
         List<UpcomingMatch> upcomingMatches = new ArrayList<>();
 
         for (List<Object> fixtureMatch : fixtureMatches) {
@@ -275,7 +396,14 @@ public class ScrapingServiceImpl implements ScrapingService {
     }
 
     private List<List<Object>> buildFixtureMatches(String teamName, String country) throws IOException {
-        String fixturesUrl = buildFixturesUrl(teamName, country);
+        return buildFixtureMatches(buildFixturesUrl(teamName, country));
+    }
+
+    private List<List<Object>> buildFixtureMatches(String fixturesUrl) throws IOException {
+        return fixtures.getOrLoad(fixturesUrl, () -> loadFixtureMatches(fixturesUrl));
+    }
+
+    private List<List<Object>> loadFixtureMatches(String fixturesUrl) throws IOException {
         String fixturesData = buildFixturesData(fixturesUrl);
 
         if (fixturesData == null) {
@@ -283,41 +411,67 @@ public class ScrapingServiceImpl implements ScrapingService {
             return Collections.emptyList();
         }
 
+        return stages.time(ScrapeStage.PARSE, FIXTURES_DATA, () -> {
+            List<List<Object>> fixtureMatches = parseFixtureMatches(fixturesData);
+
+            if (fixtureMatches == null) {
+                logger.warn("Could not find matches data on page: {}", fixturesUrl);
+                return Collections.emptyList();
+            }
+
+            return fixtureMatches;
+        });
+    }
+
+    /**
+     * The fixture rows of the fixtures page script, or {@code null} if it
+     * holds no arguments literal.
+     */
+    List<List<Object>> parseFixtureMatches(String fixturesData) throws IOException {
         Matcher dataMatcher = Pattern.compile("require\\.config\\.params\\['args']\\s+=\\s+(\\{.*\\});", Pattern.DOTALL)
                 .matcher(fixturesData);
-        boolean hasMatchesData = dataMatcher.find();
 
-        if (!hasMatchesData) {
-            logger.warn("Could not find matches data on page: {}", fixturesUrl);
-            return Collections.emptyList();
-        }
-
-        return buildFixtureMatches(dataMatcher);
+        return dataMatcher.find() ? buildFixtureMatches(dataMatcher) : null;
     }
 
     private String buildFixturesUrl(String teamName, String country) throws IOException {
-        return searchTeam(teamName, country).replace("show", "fixtures");
+        return toFixturesUrl(searchTeam(teamName, country));
+    }
+
+    private String toFixturesUrl(String teamPageUrl) {
+        return teamPageUrl.replace("show", "fixtures");
     }
 
     private String buildFixturesData(String fixturesUrl) throws IOException {
-        Document fixturesPage = Jsoup.connect(fixturesUrl).userAgent(USER_AGENT).get();
-        Elements fixturesPageScripts = fixturesPage.getElementsByTag("script");
+        Document fixturesPage = fetchDocument(FIXTURES_PAGE, Jsoup.connect(fixturesUrl).userAgent(USER_AGENT));
+
+        return stages.time(ScrapeStage.PARSE, FIXTURES_PAGE,
+                () -> findScript(fixturesPage, "require.config.params['args']"));
+    }
 
-        return fixturesPageScripts.stream()
+    /**
+     * The first inline script of the page containing the marker, or
+     * {@code null}.
+     */
+    static String findScript(Document page, String marker) {
+        return page.getElementsByTag("script").stream()
                 .map(Element::data)
-                .filter(s -> s.contains("require.config.params['args']"))
+                .filter(s -> s.contains(marker))
                 .findFirst()
                 .orElse(null);
     }
 
     private List<List<Object>> buildFixtureMatches(Matcher dataMatcher) throws IOException {
-        String dataJson = dataMatcher.group(1)
+        String literal = dataMatcher.group(1);
+        JsonRewriteEvent rewrite = JsonRewriteEvent.start(FIXTURES_DATA, literal.length());
+        String dataJson = literal
                 .replace("'", "\"")
                 .replaceAll("([\\{,]\\s*)(\\w+)(\\s*:)", "$1\"$2\"$3")
                 .replaceAll(",\\s*,", ",\"\",")
                 .replaceAll(",\\s*]", "]");
+        rewrite.finish(dataJson.length());
 
-        JsonNode matchesNode = objectMapper.readTree(dataJson)
+        JsonNode matchesNode = readJson(FIXTURES_DATA, dataJson)
                 .path("fixtureMatches");
 
         return matchesNode.isArray()
@@ -350,7 +504,7 @@ public class ScrapingServiceImpl implements ScrapingService {
 
     @Override
     public Mono<MatchPrediction> predictNextMatch(String teamName, String country) {
-        return Mono.fromCallable(() -> buildMatchPrediction(teamName, country))
+        return stages.fromCallable("match_prediction", () -> buildMatchPrediction(teamName, country))
                 .subscribeOn(Schedulers.boundedElastic())
                 .onErrorResume(e -> {
                     if (e instanceof NoUpcomingMatchException || e instanceof TeamNotFoundException) {
@@ -384,6 +538,11 @@ public class ScrapingServiceImpl implements ScrapingService {
         if (rootNode == null)
             return null;
 
+        return stages.time(ScrapeStage.MAP, MATCH_DATA,
+                () -> mapMatchPrediction(rootNode, teamName, homeTeam, awayTeam));
+    }
+
+    private MatchPrediction mapMatchPrediction(JsonNode rootNode, String teamName, String homeTeam, String awayTeam) {
         List<PreviousMatch> previousMatches = buildPreviousMatches(
                 objectMapper.convertValue(rootNode.path("previousMeetings"), new TypeReference<List<List<Object>>>() {
                 }));
@@ -422,37 +581,44 @@ public class ScrapingServiceImpl implements ScrapingService {
     }
 
     private JsonNode extractMatchJson(String matchUrl) throws IOException {
-        Document matchPage = Jsoup.connect(matchUrl)
+        return matches.getOrLoad(matchUrl, () -> loadMatchJson(matchUrl));
+    }
+
+    private JsonNode loadMatchJson(String matchUrl) throws IOException {
+        Document matchPage = fetchDocument(MATCH_PAGE, Jsoup.connect(matchUrl)
                 .userAgent(USER_AGENT)
-                .timeout(15000)
-                .get();
+                .timeout(15000));
 
-        String script = matchPage.getElementsByTag("script").stream()
-                .map(Element::data)
-                .filter(s -> s.contains("require.config.params[\"args\"]"))
-                .findFirst()
-                .orElse(null);
+        String script = stages.time(ScrapeStage.PARSE, MATCH_PAGE,
+                () -> findScript(matchPage, "require.config.params[\"args\"]"));
 
         if (script == null) {
             logger.warn("No match data script found at {}", matchUrl);
             return null;
         }
 
+        return stages.time(ScrapeStage.PARSE, MATCH_DATA, () -> parseMatchJson(script));
+    }
+
+    JsonNode parseMatchJson(String script) throws IOException {
         Matcher matcher = Pattern.compile("require\\.config\\.params\\[\"args\"]\\s+=\\s+(\\{.*\\})", Pattern.DOTALL)
                 .matcher(script);
 
         if (!matcher.find())
             return null;
 
-        String json = matcher.group(1)
+        String literal = matcher.group(1);
+        JsonRewriteEvent rewrite = JsonRewriteEvent.start(MATCH_DATA, literal.length());
+        String json = literal
                 .replaceFirst("(?s)showLeagueTableStandings.*?homeMatches", "homeMatches")
                 .replace("'", "\"")
                 .replaceAll("([\\{,]\\s*)(\\w+)(\\s*:)", "$1\"$2\"$3")
                 .replaceAll(",\\s*,", ",\"\",")
                 .replaceAll(",\\s*]", "]")
                 .replaceAll(",\\s*}", "}");
+        rewrite.finish(json.length());
 
-        return objectMapper.readTree(json);
+        return readJson(MATCH_DATA, json);
     }
 
     private int evaluatePrediction(List<PreviousMatch> matches, String team, boolean forTeam) {
@@ -560,91 +726,65 @@ public class ScrapingServiceImpl implements ScrapingService {
         return upcomingMatches;
     }
 
-    // TEAM STATS
+    // TEAM SNAPSHOT
 
     @Override
-    public Mono<TeamStats> findTeamStats(String teamName, String country) {
-        return Mono.fromCallable(() -> fetchTeamStats(teamName, country))
+    public Mono<TeamSnapshot> findTeamSnapshot(String teamName, String country) {
+        return stages.fromCallable("team_snapshot", () -> fetchTeamSnapshot(teamName, country))
                 .subscribeOn(Schedulers.boundedElastic())
                 .onErrorResume(e -> {
                     if (e instanceof TeamNotFoundException) {
                         return Mono.error(e);
                     }
-                    logger.error("Error fetching team stats for team: {} ({})", teamName, country, e);
+                    logger.error("Error fetching team snapshot for team: {} ({})", teamName, country, e);
                     return Mono.empty();
                 });
     }
 
-    private TeamStats fetchTeamStats(String teamName, String country) throws IOException {
-        // 1. Reutilizar la búsqueda del equipo para obtener su URL y su ID
-        TeamStats stats = new TeamStats(teamName, country);
-
-        // 2. Obtener plantilla de jugadores y calcular estadísticas basadas en ellos
-        List<Player> squad = findTeamSquad(teamName, country).block();
-        if (squad != null && !squad.isEmpty()) {
-            calculatePlayerBasedStats(stats, squad);
-        }
-
-        // 3. Obtener historial de partidos y calcular resultados
-        List<List<Object>> fixtureMatches = buildFixtureMatches(teamName, country);
-        if (!fixtureMatches.isEmpty()) {
-            calculateMatchResults(stats, fixtureMatches, teamName);
-        }
-
-        logger.info("Successfully generated stats for team '{}'", teamName);
-        return stats;
-    }
-
-    private void calculatePlayerBasedStats(TeamStats stats, List<Player> players) {
-        if (players == null || players.isEmpty()) {
-            return;
-        }
-
-        double averageAge = players.stream()
-                .map(Player::getAge).filter(java.util.Objects::nonNull)
-                .mapToInt(a -> a).average().orElse(0.0);
-        stats.setAverageAge(Math.round(averageAge * 10.0) / 10.0);
+    private TeamSnapshot fetchTeamSnapshot(String teamName, String country) throws IOException {
+        String teamPageUrl = searchTeam(teamName, country);
+        int teamId = extractTeamId(teamPageUrl);
 
-        double averageRating = players.stream()
-                .map(Player::getRating).filter(java.util.Objects::nonNull)
-                .mapToDouble(r -> r).average().orElse(0.0);
-        stats.setAverageRating(Math.round(averageRating * 10.0) / 10.0);
+        List<Player> squad = fetchSquad(teamId, teamName);
+        List<List<Object>> fixtureMatches = buildFixtureMatches(toFixturesUrl(teamPageUrl));
+        List<CompletedMatch> completedMatches = stages.time(ScrapeStage.MAP, FIXTURES_DATA,
+                () -> buildCompletedMatches(fixtureMatches));
 
-        players.stream()
-                .filter(p -> p.getRating() != null)
-                .max(Comparator.comparing(Player::getRating))
-                .ifPresent(p -> stats.setBestPlayer(p.getName()));
+        return new TeamSnapshot(teamId, squad, completedMatches);
     }
 
-    private void calculateMatchResults(TeamStats stats, List<List<Object>> fixtureMatches, String teamName) {
-        int wins = 0;
-        int draws = 0;
-        int defeats = 0;
+    private List<CompletedMatch> buildCompletedMatches(List<List<Object>> fixtureMatches) {
+        List<CompletedMatch> completedMatches = new ArrayList<>();
 
         for (List<Object> match : fixtureMatches) {
             if (match.size() > 10 && !"vs".equals(match.get(10).toString())) { // Partido jugado
-                String homeTeam = match.get(5).toString(); // "1 : 0"
-                String result = match.get(10).toString().replace("*", "");
-                String[] scores = result.split(" : ");
-                int homeScore = Integer.parseInt(scores[0]);
-                int awayScore = Integer.parseInt(scores[1]);
-
-                boolean isHome = teamName.equalsIgnoreCase(homeTeam);
-                if (homeScore == awayScore)
-                    draws++;
-                else if ((isHome && homeScore > awayScore) || (!isHome && awayScore > homeScore))
-                    wins++;
-                else
-                    defeats++;
+                Matcher score = SCORE_PATTERN.matcher(match.get(10).toString());
+                Long matchId = parseIdOrNull(match.get(0));
+                Long homeTeamId = parseIdOrNull(match.get(4));
+                if (!score.find()) {
+                    logger.warn("Skipping completed match with unexpected score format: {}", match.get(10));
+                } else if (matchId == null || homeTeamId == null) {
+                    // Matches are deduplicated by id, so a made-up one would hide the next malformed row
+                    logger.warn("Skipping completed match with unexpected ids: {}, {}", match.get(0), match.get(4));
+                } else {
+                    completedMatches.add(new CompletedMatch(
+                            matchId,
+                            homeTeamId,
+                            match.get(5).toString(),
+                            Integer.parseInt(score.group(1)),
+                            Integer.parseInt(score.group(2))));
+                }
             }
         }
-        stats.setWins(wins);
-        stats.setDraws(draws);
-        stats.setDefeats(defeats);
 
-        int totalMatches = wins + draws + defeats;
-        if (totalMatches > 0) {
-            stats.setWinRate(Math.round(((double) wins / totalMatches) * 1000.0) / 10.0);
+        return completedMatches;
+    }
+
+    private Long parseIdOrNull(Object value) {
+        try {
+            return Long.parseLong(value.toString());
+        } catch (NumberFormatException e) {
+            return null;
         }
     }
 }
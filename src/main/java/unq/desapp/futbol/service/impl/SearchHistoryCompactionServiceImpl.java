@@ -0,0 +1,102 @@
+package unq.desapp.futbol.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import unq.desapp.futbol.model.SearchHistoryReappearance;
+import unq.desapp.futbol.repository.SearchHistoryCompactionRepository;
+import unq.desapp.futbol.service.SearchHistoryCompactionService;
+
+/**
+ * Keeps the newest raw history entries of every user and rolls the older
+ * ones into {@code search_history_rollup}. Each batch aggregates and deletes
+ * at most {@code batchSize} rows in its own transaction, so H2 never holds
+ * locks on the history table for long. Queries searched again after being
+ * rolled up first get their rolled-up hits back, so that a query is never
+ * counted in both tables for longer than one compaction interval.
+ */
+@Service
+public class SearchHistoryCompactionServiceImpl implements SearchHistoryCompactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchHistoryCompactionServiceImpl.class);
+
+    private final SearchHistoryCompactionRepository compactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retainedEntries;
+    private final int batchSize;
+    private final Counter compactedCounter;
+
+    public SearchHistoryCompactionServiceImpl(SearchHistoryCompactionRepository compactionRepository,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${app.history.retention.raw-entries:200}") int retainedEntries,
+            @Value("${app.history.compaction.batch-size:500}") int batchSize) {
+        this.compactionRepository = compactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retainedEntries = retainedEntries;
+        this.batchSize = batchSize;
+        this.compactedCounter = meterRegistry.counter("app_search_history_compacted_total");
+    }
+
+    @Scheduled(initialDelayString = "${app.history.compaction.initial-delay:PT5M}",
+            fixedDelayString = "${app.history.compaction.interval:PT1H}")
+    public void scheduledCompaction() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            logger.error("Search history compaction failed", e);
+        }
+    }
+
+    @Override
+    public int compact() {
+        for (Long userId : compactionRepository.findUsersWithReappearances()) {
+            transactionTemplate.executeWithoutResult(status -> absorbRollups(userId));
+        }
+
+        int compacted = 0;
+        for (Long userId : compactionRepository.findUsersAboveRetention(retainedEntries)) {
+            compacted += compactUser(userId);
+        }
+
+        if (compacted > 0) {
+            logger.info("Compacted {} search history entries", compacted);
+        }
+        return compacted;
+    }
+
+    private int compactUser(long userId) {
+        int compacted = 0;
+        int deleted;
+        do {
+            Integer batch = transactionTemplate.execute(status -> compactBatch(userId));
+            deleted = batch == null ? 0 : batch;
+            compacted += deleted;
+            compactedCounter.increment(deleted);
+        } while (deleted == batchSize);
+        return compacted;
+    }
+
+    private void absorbRollups(long userId) {
+        List<SearchHistoryReappearance> reappearances = compactionRepository.findReappearances(userId);
+        if (!reappearances.isEmpty()) {
+            compactionRepository.absorbRollups(reappearances);
+        }
+    }
+
+    private int compactBatch(long userId) {
+        List<Long> ids = compactionRepository.findIdsBeyondRetention(userId, retainedEntries, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        compactionRepository.mergeRollups(compactionRepository.aggregate(ids));
+        return compactionRepository.deleteByIds(ids);
+    }
+}
@@ -0,0 +1,503 @@
+package unq.desapp.futbol.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import unq.desapp.futbol.config.tracing.TraceSpans;
+import unq.desapp.futbol.exceptions.InvalidCursorException;
+import unq.desapp.futbol.model.HistorySort;
+import unq.desapp.futbol.model.SearchHistoryEntry;
+import unq.desapp.futbol.model.SearchHistoryEvent;
+import unq.desapp.futbol.model.SearchHistoryOverview;
+import unq.desapp.futbol.model.SearchHistoryPage;
+import unq.desapp.futbol.model.SearchHistoryRollup;
+import unq.desapp.futbol.model.SearchType;
+import unq.desapp.futbol.model.User;
+import unq.desapp.futbol.persistence.eventlog.SearchEventLog;
+import unq.desapp.futbol.repository.ReactiveSearchHistoryRepository;
+import unq.desapp.futbol.repository.SearchHistoryBatchRepository;
+import unq.desapp.futbol.repository.SearchHistoryRepository;
+import unq.desapp.futbol.repository.SearchHistoryRollupRepository;
+import unq.desapp.futbol.service.SearchHistoryService;
+import unq.desapp.futbol.service.TrendingService;
+
+/**
+ * Records searches through a bounded lock-free queue drained by a dedicated
+ * writer thread, which upserts them into per-query counters with JDBC batches. Callers only pay for an
+ * enqueue; when the queue is full the configured {@link OverflowPolicy}
+ * decides whether to drop, to wait or to append it reactively, and waiting
+ * never happens on a non-blocking thread. Whatever is still queued is flushed on shutdown.
+ */
+@Service
+public class SearchHistoryServiceImpl implements SearchHistoryService, SmartLifecycle {
+
+    public enum OverflowPolicy {
+        /** Discard the search being recorded. */
+        DROP_NEWEST,
+        /** Discard the oldest queued search to make room. */
+        DROP_OLDEST,
+        /** Wait up to the offer timeout for room, then discard. */
+        BLOCK,
+        /** Append the search straight through R2DBC, bounded to batch-size writes in flight. */
+        WRITE_THROUGH
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchHistoryServiceImpl.class);
+    private static final long BLOCK_RETRY_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final LocalDateTime NEWEST_CURSOR_TIMESTAMP = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final String CURSOR_SEPARATOR = "|";
+    private static final int MAX_FREQUENCY_SNAPSHOT_ROWS = 1_000;
+    private static final int MAX_FREQUENCY_SNAPSHOTS = 1_000;
+    private static final Duration FREQUENCY_SNAPSHOT_TTL = Duration.ofMinutes(15);
+
+    private final SearchHistoryBatchRepository batchRepository;
+    private final SearchHistoryRepository searchHistoryRepository;
+    private final SearchHistoryRollupRepository rollupRepository;
+    private final ReactiveSearchHistoryRepository reactiveRepository;
+    private final TrendingService trendingService;
+    private final SearchEventLog eventLog;
+    private final MeterRegistry meterRegistry;
+    private final int capacity;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long offerTimeoutNanos;
+    private final long flushIntervalNanos;
+    private final TraceSpans spans;
+
+    private final Queue<QueuedSearch> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+    private final Map<String, FrequencySnapshot> frequencySnapshots = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, FrequencySnapshot> eldest) {
+                    return size() > MAX_FREQUENCY_SNAPSHOTS;
+                }
+            });
+    private final Counter enqueuedCounter;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public SearchHistoryServiceImpl(SearchHistoryBatchRepository batchRepository,
+            SearchHistoryRepository searchHistoryRepository, SearchHistoryRollupRepository rollupRepository,
+            ReactiveSearchHistoryRepository reactiveRepository, TrendingService trendingService,
+            SearchEventLog eventLog, MeterRegistry meterRegistry,
+            @Value("${app.history.queue-capacity:10000}") int capacity,
+            @Value("${app.history.batch-size:256}") int batchSize,
+            @Value("${app.history.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy,
+            @Value("${app.history.offer-timeout:PT0.05S}") Duration offerTimeout,
+            @Value("${app.history.flush-interval:PT0.2S}") Duration flushInterval,
+            TraceSpans spans) {
+        this.batchRepository = batchRepository;
+        this.searchHistoryRepository = searchHistoryRepository;
+        this.rollupRepository = rollupRepository;
+        this.reactiveRepository = reactiveRepository;
+        this.trendingService = trendingService;
+        this.eventLog = eventLog;
+        this.meterRegistry = meterRegistry;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.spans = spans;
+
+        this.enqueuedCounter = meterRegistry.counter("app_search_history_enqueued_total");
+        this.writtenCounter = meterRegistry.counter("app_search_history_written_total");
+        this.failedCounter = meterRegistry.counter("app_search_history_failed_total");
+        this.batchTimer = Timer.builder("app_search_history_batch_seconds")
+                .description("Time spent writing one batch of search history entries")
+                .register(meterRegistry);
+        Gauge.builder("app_search_history_queue_size", size, AtomicInteger::get)
+                .description("Searches waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("app_search_history_lag_seconds", this, SearchHistoryServiceImpl::lagSeconds)
+                .description("Age of the oldest search waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void record(User user, SearchType type, String query) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+
+        trendingService.record(type, query);
+        appendToEventLog(user.getId(), type, query);
+        SearchHistoryEvent event = new SearchHistoryEvent(user.getId(), type, query, LocalDateTime.now());
+        enqueue(new QueuedSearch(event, System.nanoTime()));
+    }
+
+    @Override
+    public Mono<SearchHistoryPage> findHistory(User user, SearchType type, HistorySort sort, int limit,
+            String cursor) {
+        if (user == null || user.getId() == null) {
+            return Mono.just(new SearchHistoryPage(List.of(), null));
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return Mono.fromCallable(() -> sort == HistorySort.FREQUENT
+                ? loadMostSearchedPage(user.getId(), type, pageSize, cursor)
+                : loadPage(user.getId(), type, pageSize, cursor))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<SearchHistoryOverview> findOverview(User user, SearchType type, int limit) {
+        if (user == null || user.getId() == null) {
+            return Mono.just(new SearchHistoryOverview(List.of(), null, List.of()));
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return Mono.fromCallable(() -> {
+            SearchHistoryPage recent = loadPage(user.getId(), type, pageSize, null);
+            List<SearchHistoryRollup> aggregates = type == null
+                    ? rollupRepository.findByUserIdOrderByHitCountDescLastSeenDesc(user.getId(), Limit.of(pageSize))
+                    : rollupRepository.findByUserIdAndTypeOrderByHitCountDescLastSeenDesc(user.getId(), type,
+                            Limit.of(pageSize));
+            return new SearchHistoryOverview(recent.entries(), recent.nextCursor(), aggregates);
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private SearchHistoryPage loadPage(Long userId, SearchType type, int pageSize, String cursor) {
+        LocalDateTime timestamp = NEWEST_CURSOR_TIMESTAMP;
+        long id = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            try {
+                timestamp = LocalDateTime.parse(position[0]);
+            } catch (DateTimeParseException e) {
+                throw new InvalidCursorException("Malformed history cursor: " + cursor);
+            }
+            id = Long.parseLong(position[1]);
+        }
+
+        // One extra row tells whether there is a next page
+        Limit limit = Limit.of(pageSize + 1);
+        List<SearchHistoryEntry> rows = type == null
+                ? searchHistoryRepository.findPageBefore(userId, timestamp, id, limit)
+                : searchHistoryRepository.findPageBeforeByType(userId, type, timestamp, id, limit);
+        return toPage(rows, pageSize, last -> last.getTimestamp().toString());
+    }
+
+    /**
+     * Pages through the order the entries had when the first page was asked
+     * for. Hit counts keep growing while a client pages, so a keyset over them
+     * would skip entries that overtake the cursor; the cursor points into a
+     * short-lived snapshot of the ordered ids instead.
+     */
+    private SearchHistoryPage loadMostSearchedPage(Long userId, SearchType type, int pageSize, String cursor) {
+        String token;
+        FrequencySnapshot snapshot;
+        int offset = 0;
+        if (cursor == null || cursor.isBlank()) {
+            Limit limit = Limit.of(MAX_FREQUENCY_SNAPSHOT_ROWS);
+            List<Long> ids = type == null
+                    ? searchHistoryRepository.findMostSearchedIds(userId, limit)
+                    : searchHistoryRepository.findMostSearchedIdsByType(userId, type, limit);
+            token = UUID.randomUUID().toString();
+            snapshot = new FrequencySnapshot(userId, type, List.copyOf(ids),
+                    Instant.now().plus(FREQUENCY_SNAPSHOT_TTL));
+            if (ids.size() > pageSize) {
+                frequencySnapshots.put(token, snapshot);
+            }
+        } else {
+            String[] position = decodeCursor(cursor);
+            token = position[0];
+            snapshot = frequencySnapshots.get(token);
+            if (snapshot == null || !snapshot.isFor(userId, type, Instant.now())) {
+                throw new InvalidCursorException("Expired or unknown history cursor: " + cursor);
+            }
+            long requested = Long.parseLong(position[1]);
+            if (requested < 0 || requested > snapshot.ids().size()) {
+                throw new InvalidCursorException("Malformed history cursor: " + cursor);
+            }
+            offset = (int) requested;
+        }
+
+        int end = Math.min(offset + pageSize, snapshot.ids().size());
+        List<Long> pageIds = snapshot.ids().subList(offset, end);
+        Map<Long, SearchHistoryEntry> byId = new HashMap<>();
+        if (!pageIds.isEmpty()) {
+            searchHistoryRepository.findByUserIdAndIdIn(userId, pageIds)
+                    .forEach(entry -> byId.put(entry.getId(), entry));
+        }
+
+        // Entries compacted away since the snapshot are left out
+        List<SearchHistoryEntry> entries = pageIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        String nextCursor = end < snapshot.ids().size() ? encodeCursor(token, end) : null;
+        return new SearchHistoryPage(entries, nextCursor);
+    }
+
+    private SearchHistoryPage toPage(List<SearchHistoryEntry> rows, int pageSize,
+            Function<SearchHistoryEntry, String> sortKey) {
+        if (rows.size() <= pageSize) {
+            return new SearchHistoryPage(rows, null);
+        }
+        List<SearchHistoryEntry> page = rows.subList(0, pageSize);
+        SearchHistoryEntry last = page.get(pageSize - 1);
+        return new SearchHistoryPage(List.copyOf(page), encodeCursor(sortKey.apply(last), last.getId()));
+    }
+
+    private String encodeCursor(String sortKey, long id) {
+        String position = sortKey + CURSOR_SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split(Pattern.quote(CURSOR_SEPARATOR), 2);
+            if (parts.length != 2) {
+                throw new InvalidCursorException("Malformed history cursor: " + cursor);
+            }
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed history cursor: " + cursor);
+        }
+    }
+
+    private void enqueue(QueuedSearch search) {
+        if (tryReserve() || (overflowPolicy == OverflowPolicy.BLOCK && awaitRoom())) {
+            offer(search);
+            return;
+        }
+
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST && queue.poll() != null) {
+            // The slot of the evicted search is handed over, so size stays as is
+            queue.offer(search);
+            enqueuedCounter.increment();
+            dropped("oldest_evicted");
+            return;
+        }
+
+        if (overflowPolicy == OverflowPolicy.WRITE_THROUGH) {
+            writeThrough(search.event());
+            return;
+        }
+
+        dropped(overflowPolicy == OverflowPolicy.BLOCK ? "timeout" : "queue_full");
+    }
+
+    private boolean tryReserve() {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private boolean awaitRoom() {
+        if (Schedulers.isInNonBlockingThread()) {
+            return false;
+        }
+
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(this, BLOCK_RETRY_NANOS);
+            if (tryReserve()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void appendToEventLog(long userId, SearchType type, String query) {
+        try {
+            eventLog.append(System.currentTimeMillis(), userId, type, query);
+        } catch (RuntimeException e) {
+            logger.warn("Could not append search to the event log", e);
+        }
+    }
+
+    private void writeThrough(SearchHistoryEvent event) {
+        if (writesInFlight.incrementAndGet() > batchSize) {
+            writesInFlight.decrementAndGet();
+            dropped("write_through_saturated");
+            return;
+        }
+
+        enqueuedCounter.increment();
+        spans.trace("search_history.write_through", reactiveRepository.append(List.of(event)))
+                .doFinally(signal -> writesInFlight.decrementAndGet())
+                .subscribe(written -> writtenCounter.increment(written), e -> {
+                    failedCounter.increment();
+                    logger.error("Could not append search history entry", e);
+                });
+    }
+
+    private void offer(QueuedSearch search) {
+        queue.offer(search);
+        enqueuedCounter.increment();
+
+        int queued = size.get();
+        if (queued == 1 || queued >= batchSize) {
+            Thread current = writer;
+            if (current != null) {
+                LockSupport.unpark(current);
+            }
+        }
+    }
+
+    private void dropped(String reason) {
+        meterRegistry.counter("app_search_history_dropped_total", "reason", reason).increment();
+    }
+
+    private double lagSeconds() {
+        QueuedSearch oldest = queue.peek();
+        return oldest == null ? 0 : (System.nanoTime() - oldest.enqueuedAt()) / 1_000_000_000.0;
+    }
+
+    private void drainLoop() {
+        while (running) {
+            List<SearchHistoryEvent> batch = drainBatch();
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            } else {
+                writeBatch(batch);
+            }
+        }
+    }
+
+    private void upsert(List<SearchHistoryEvent> batch) {
+        try {
+            batchRepository.upsertBatch(batch);
+        } catch (DataIntegrityViolationException e) {
+            // A write-through may have inserted one of the queries first; the
+            // batch was rolled back, so replay it row by row
+            logger.debug("Search history batch conflicted, upserting its {} entries one by one", batch.size(), e);
+            batchRepository.upsertEach(batch);
+        }
+    }
+
+    private List<SearchHistoryEvent> drainBatch() {
+        List<SearchHistoryEvent> batch = new ArrayList<>(Math.min(batchSize, Math.max(size.get(), 1)));
+        QueuedSearch search;
+        while (batch.size() < batchSize && (search = queue.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(search.event());
+        }
+        return batch;
+    }
+
+    private void writeBatch(List<SearchHistoryEvent> batch) {
+        try {
+            spans.inSpan("search_history.write_batch", () -> {
+                batchTimer.record(() -> upsert(batch));
+                return null;
+            }, "entries", Integer.toString(batch.size()));
+            writtenCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            failedCounter.increment(batch.size());
+            logger.error("Could not write {} search history entries", batch.size(), e);
+        }
+    }
+
+    @Override
+    public void start() {
+        try {
+            int removed = batchRepository.deduplicate();
+            if (removed > 0) {
+                logger.info("Folded {} duplicated search history entries into counted ones", removed);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Could not deduplicate search history", e);
+        }
+
+        running = true;
+        Thread thread = new Thread(this::drainLoop, "search-history-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+
+        int flushed = 0;
+        for (List<SearchHistoryEvent> batch = drainBatch(); !batch.isEmpty(); batch = drainBatch()) {
+            writeBatch(batch);
+            flushed += batch.size();
+        }
+        logger.info("Search history writer stopped, {} pending entries flushed", flushed);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the web server, so searches recorded by
+     * in-flight requests are still flushed.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private record QueuedSearch(SearchHistoryEvent event, long enqueuedAt) {
+    }
+
+    private record FrequencySnapshot(long userId, SearchType type, List<Long> ids, Instant expiresAt) {
+
+        boolean isFor(long requestingUserId, SearchType requestedType, Instant now) {
+            return userId == requestingUserId && type == requestedType && expiresAt.isAfter(now);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package unq.desapp.futbol.service.impl;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import unq.desapp.futbol.config.cache.CacheValidation;
+import unq.desapp.futbol.model.Player;
+import unq.desapp.futbol.model.PlayerTimeline;
+import unq.desapp.futbol.persistence.warehouse.SquadWarehouse;
+import unq.desapp.futbol.service.ScrapingService;
+import unq.desapp.futbol.service.SquadHistoryService;
+
+/**
+ * Keeps the squad history of every team in the {@link SquadWarehouse}, keyed
+ * by the upstream team id. The id comes from the scraper's cached name
+ * resolution, which the squad request being recorded has just filled.
+ */
+@Service
+public class SquadHistoryServiceImpl implements SquadHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SquadHistoryServiceImpl.class);
+
+    private final SquadWarehouse warehouse;
+    private final ScrapingService scrapingService;
+
+    public SquadHistoryServiceImpl(SquadWarehouse warehouse, ScrapingService scrapingService) {
+        this.warehouse = warehouse;
+        this.scrapingService = scrapingService;
+    }
+
+    @Override
+    public void record(String teamName, String country, List<Player> squad) {
+        teamIdOf(teamName, country)
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(teamId -> {
+                    if (warehouse.record(teamId, LocalDate.now(ZoneOffset.UTC), squad)) {
+                        logger.debug("Stored squad snapshot of {} ({}) with {} players", teamName, country,
+                                squad.size());
+                    }
+                }, e -> logger.warn("Could not store squad snapshot of {} ({})", teamName, country, e));
+    }
+
+    @Override
+    public Mono<List<PlayerTimeline>> findTimelines(String teamName, String country) {
+        return teamIdOf(teamName, country)
+                .publishOn(Schedulers.boundedElastic())
+                .map(warehouse::timelines)
+                .filter(timelines -> !timelines.isEmpty());
+    }
+
+    @Override
+    public Mono<PlayerTimeline> findPlayerTimeline(String teamName, String country, String player) {
+        return teamIdOf(teamName, country)
+                .publishOn(Schedulers.boundedElastic())
+                .flatMap(teamId -> Mono.justOrEmpty(warehouse.timeline(teamId, player)));
+    }
+
+    private Mono<Integer> teamIdOf(String teamName, String country) {
+        // The resolution's validators say nothing about the stored history,
+        // so they must not end up in the history response's ETag
+        return scrapingService.findTeamId(teamName, country)
+                .contextWrite(context -> context.delete(CacheValidation.CONTEXT_KEY));
+    }
+}
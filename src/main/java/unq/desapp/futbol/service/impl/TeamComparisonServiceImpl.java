@@ -0,0 +1,187 @@
+package unq.desapp.futbol.service.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import unq.desapp.futbol.model.TeamComparisonDetails;
+import unq.desapp.futbol.model.TeamComparisonResponse;
+import unq.desapp.futbol.model.TeamStats;
+import unq.desapp.futbol.model.VersionedTeamStats;
+import unq.desapp.futbol.service.TeamComparisonService;
+import unq.desapp.futbol.service.TeamStatsService;
+
+/**
+ * Assembles team comparisons from the per-team stats units of
+ * {@link TeamStatsService}, so each side is refreshed on its own schedule and
+ * shared with the single-team stats endpoint. Generated responses are kept per
+ * unordered pair of teams, in both orientations, and reused for as long as
+ * neither side's version changes; the least recently used pairs go first once
+ * the bound is reached.
+ */
+@Service
+public class TeamComparisonServiceImpl implements TeamComparisonService {
+
+    private final TeamStatsService teamStatsService;
+    private final int maxComparisons;
+    private final Map<String, CachedComparison> comparisons = new ConcurrentHashMap<>();
+    private final AtomicLong accessClock = new AtomicLong();
+
+    public TeamComparisonServiceImpl(TeamStatsService teamStatsService,
+            @Value("${app.cache.max-entries:10000}") int maxComparisons) {
+        this.teamStatsService = teamStatsService;
+        this.maxComparisons = maxComparisons;
+    }
+
+    @Override
+    public Mono<TeamComparisonResponse> compareTeams(String teamNameA, String countryA, String teamNameB,
+            String countryB) {
+        Mono<VersionedTeamStats> monoStatsA = teamStatsService.findVersionedTeamStats(teamNameA, countryA);
+        Mono<VersionedTeamStats> monoStatsB = teamStatsService.findVersionedTeamStats(teamNameB, countryB);
+
+        return Mono.zip(monoStatsA, monoStatsB).map(tuple -> compare(tuple.getT1(), tuple.getT2()));
+    }
+
+    private TeamComparisonResponse compare(VersionedTeamStats statsA, VersionedTeamStats statsB) {
+        String keyA = teamKey(statsA.stats());
+        String keyB = teamKey(statsB.stats());
+        boolean reversed = keyA.compareTo(keyB) > 0;
+        VersionedTeamStats first = reversed ? statsB : statsA;
+        VersionedTeamStats second = reversed ? statsA : statsB;
+        String pairKey = reversed ? keyB + "||" + keyA : keyA + "||" + keyB;
+
+        CachedComparison cached = comparisons.get(pairKey);
+        if (cached == null || !cached.isFor(first.version(), second.version())) {
+            cached = new CachedComparison(first.version(), second.version(),
+                    buildComparisonResponse(first.stats(), second.stats()),
+                    buildComparisonResponse(second.stats(), first.stats()));
+            cached.lastAccess = accessClock.incrementAndGet();
+            comparisons.put(pairKey, cached);
+            evictIfNeeded();
+        } else {
+            cached.lastAccess = accessClock.incrementAndGet();
+        }
+
+        return reversed ? cached.reversed() : cached.forward();
+    }
+
+    private String teamKey(TeamStats stats) {
+        return stats.getTeamName() + "|" + stats.getCountry();
+    }
+
+    /**
+     * Drops the least recently used pairs, shrinking a tenth below the bound
+     * so that the sort is paid once per batch of inserts, as the scraped
+     * result caches do.
+     */
+    private void evictIfNeeded() {
+        if (comparisons.size() <= maxComparisons) {
+            return;
+        }
+
+        int excess = comparisons.size() - (maxComparisons - maxComparisons / 10);
+        // Sort on a copy of the access times, as they keep moving while we sort
+        comparisons.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().lastAccess))
+                .sorted(Map.Entry.comparingByValue())
+                .limit(excess)
+                .forEach(entry -> comparisons.remove(entry.getKey()));
+    }
+
+    private TeamComparisonResponse buildComparisonResponse(TeamStats statsA, TeamStats statsB) {
+        TeamComparisonDetails detailsA = new TeamComparisonDetails(statsA.getTeamName(), statsA.getCountry());
+        TeamComparisonDetails detailsB = new TeamComparisonDetails(statsB.getTeamName(), statsB.getCountry());
+
+        // Comparar Average Age
+        detailsA.setAverageAge(
+                compareAndDescribe(statsA.getAverageAge(), statsB.getAverageAge(), "average age", false));
+        detailsB.setAverageAge(
+                compareAndDescribe(statsB.getAverageAge(), statsA.getAverageAge(), "average age", false));
+
+        // Comparar Average Rating
+        detailsA.setAverageRating(
+                compareAndDescribe(statsA.getAverageRating(), statsB.getAverageRating(), "average rating", true));
+        detailsB.setAverageRating(
+                compareAndDescribe(statsB.getAverageRating(), statsA.getAverageRating(), "average rating", true));
+
+        // Comparar Win Rate
+        detailsA.setWinRate(compareAndDescribe(statsA.getWinRate(), statsB.getWinRate(), "win rate", true) + "%");
+        detailsB.setWinRate(compareAndDescribe(statsB.getWinRate(), statsA.getWinRate(), "win rate", true) + "%");
+
+        detailsA.setBestPlayer(statsA.getBestPlayer());
+        detailsB.setBestPlayer(statsB.getBestPlayer());
+
+        String verdict = generateVerdict(statsA, statsB);
+
+        return new TeamComparisonResponse(detailsA, detailsB, verdict);
+    }
+
+    private String compareAndDescribe(double valueA, double valueB, String metric, boolean higherIsBetter) {
+        java.util.Locale usLocale = java.util.Locale.US;
+        String comparison;
+        if (valueA > valueB) {
+            comparison = higherIsBetter ? "Higher" : "Lower";
+        } else if (valueA < valueB) {
+            comparison = higherIsBetter ? "Lower" : "Higher";
+        } else {
+            comparison = "Same";
+        }
+        return String.format(usLocale, "%s %s (%.1f vs %.1f)", comparison, metric, valueA, valueB);
+    }
+
+    private String generateVerdict(TeamStats statsA, TeamStats statsB) {
+        double ratingDiff = statsA.getAverageRating() - statsB.getAverageRating();
+        double winRateDiff = statsA.getWinRate() - statsB.getWinRate();
+
+        if (Math.abs(ratingDiff) < 0.1 && Math.abs(winRateDiff) < 2) {
+            return "Both teams seem to have a very similar level in rating and win rate.";
+        }
+
+        if (ratingDiff > 0.2 && winRateDiff > 5) {
+            return String.format(
+                    "%s seems superior, with a noticeably higher average rating and win rate.",
+                    statsA.getTeamName());
+        } else if (ratingDiff < -0.2 && winRateDiff < -5) {
+            return String.format(
+                    "%s seems superior, with a noticeably higher average rating and win rate.",
+                    statsB.getTeamName());
+        } else {
+            String betterRatingTeam = ratingDiff > 0 ? statsA.getTeamName() : statsB.getTeamName();
+            String betterWinRateTeam = winRateDiff > 0 ? statsA.getTeamName() : statsB.getTeamName();
+            return String.format(
+                    "The comparison is close. %s has a better average rating, while %s has a higher win rate.",
+                    betterRatingTeam, betterWinRateTeam);
+        }
+    }
+
+    private static final class CachedComparison {
+
+        private final String firstVersion;
+        private final String secondVersion;
+        private final TeamComparisonResponse forward;
+        private final TeamComparisonResponse reversed;
+        private volatile long lastAccess;
+
+        private CachedComparison(String firstVersion, String secondVersion, TeamComparisonResponse forward,
+                TeamComparisonResponse reversed) {
+            this.firstVersion = firstVersion;
+            this.secondVersion = secondVersion;
+            this.forward = forward;
+            this.reversed = reversed;
+        }
+
+        boolean isFor(String first, String second) {
+            return firstVersion.equals(first) && secondVersion.equals(second);
+        }
+
+        TeamComparisonResponse forward() {
+            return forward;
+        }
+
+        TeamComparisonResponse reversed() {
+            return reversed;
+        }
+    }
+}
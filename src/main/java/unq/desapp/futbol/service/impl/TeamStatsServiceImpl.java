@@ -0,0 +1,161 @@
+package unq.desapp.futbol.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import unq.desapp.futbol.config.cache.CacheValidation;
+import unq.desapp.futbol.config.tracing.TraceSpans;
+import unq.desapp.futbol.model.TeamSnapshot;
+import unq.desapp.futbol.model.TeamStats;
+import unq.desapp.futbol.model.TeamStatsRecord;
+import unq.desapp.futbol.model.VersionedTeamStats;
+import unq.desapp.futbol.repository.TeamStatsRecordRepository;
+import unq.desapp.futbol.service.ScrapingService;
+import unq.desapp.futbol.service.TeamStatsService;
+
+@Service
+public class TeamStatsServiceImpl implements TeamStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamStatsServiceImpl.class);
+
+    private final ScrapingService scrapingService;
+    private final TeamStatsRecordRepository teamStatsRepository;
+    private final Duration refreshInterval;
+    private final Duration retryInterval;
+    private final TraceSpans spans;
+    private final Map<String, VersionedTeamStats> units = new ConcurrentHashMap<>();
+    private final Map<String, Mono<VersionedTeamStats>> loading = new ConcurrentHashMap<>();
+
+    public TeamStatsServiceImpl(ScrapingService scrapingService, TeamStatsRecordRepository teamStatsRepository,
+            @Value("${app.stats.refresh-interval:PT30M}") Duration refreshInterval,
+            @Value("${app.stats.retry-interval:PT1M}") Duration retryInterval, TraceSpans spans) {
+        this.scrapingService = scrapingService;
+        this.teamStatsRepository = teamStatsRepository;
+        this.refreshInterval = refreshInterval;
+        this.retryInterval = retryInterval;
+        this.spans = spans;
+    }
+
+    @Override
+    public Mono<TeamStats> findTeamStats(String teamName, String country) {
+        return findVersionedTeamStats(teamName, country).map(VersionedTeamStats::stats);
+    }
+
+    @Override
+    public Mono<VersionedTeamStats> findVersionedTeamStats(String teamName, String country) {
+        // The table is looked up ignoring case, so the units are keyed the same way
+        String key = (teamName + "|" + country).toLowerCase(Locale.ROOT);
+        return spans.trace("team.stats", Mono.defer(() -> {
+            VersionedTeamStats cached = units.get(key);
+            if (cached != null && !cached.isExpired(Instant.now())) {
+                return Mono.just(cached);
+            }
+            return load(key, teamName, country);
+        }), "team", teamName, "country", country)
+                .flatMap(unit -> CacheValidation.justRecorded(unit, "team-stats:" + unit.version(),
+                        unit.expiresAt()));
+    }
+
+    /**
+     * Loads the unit, or joins the load already running for the same key, so
+     * that concurrent misses scrape once and never race to insert the same
+     * row, like {@code ResultCache} does for the scraped pages.
+     */
+    private Mono<VersionedTeamStats> load(String key, String teamName, String country) {
+        Mono<VersionedTeamStats> mine = loadTeamStats(teamName, country)
+                .doOnNext(unit -> units.put(key, unit))
+                .doFinally(signal -> loading.remove(key))
+                .cache();
+        Mono<VersionedTeamStats> running = loading.putIfAbsent(key, mine);
+        return running != null ? running : mine;
+    }
+
+    private Mono<VersionedTeamStats> loadTeamStats(String teamName, String country) {
+        return Mono.fromCallable(() -> teamStatsRepository
+                        .findFirstByTeamNameIgnoreCaseAndCountryIgnoreCase(teamName, country))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(stored -> stored
+                        .filter(record -> record.isFresh(Instant.now(), refreshInterval))
+                        .map(record -> Mono.just(toVersionedStats(record, teamName, country,
+                                record.getRefreshedAt().plus(refreshInterval))))
+                        .orElseGet(() -> refreshOrFallBack(teamName, country, stored)));
+    }
+
+    /**
+     * Refreshes the stats, falling back to the stored row when the scrape
+     * fails or finds nothing: the last known stats beat a 404 or a 500. The
+     * fallback only lasts the retry interval, so an upstream outage is
+     * retried at that pace rather than on every request.
+     */
+    private Mono<VersionedTeamStats> refreshOrFallBack(String teamName, String country,
+            Optional<TeamStatsRecord> stored) {
+        Mono<VersionedTeamStats> refreshed = refreshTeamStats(teamName, country)
+                .map(record -> toVersionedStats(record, teamName, country,
+                        record.getRefreshedAt().plus(refreshInterval)));
+        if (stored.isEmpty()) {
+            return refreshed;
+        }
+
+        TeamStatsRecord stale = stored.get();
+        return refreshed
+                .onErrorResume(e -> {
+                    logger.warn("Could not refresh stats for team '{}' ({}), serving the stored ones", teamName,
+                            country, e);
+                    return Mono.just(fallBackTo(stale, teamName, country));
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.warn("No snapshot for team '{}' ({}), serving the stored stats", teamName, country);
+                    return fallBackTo(stale, teamName, country);
+                }));
+    }
+
+    private VersionedTeamStats fallBackTo(TeamStatsRecord stale, String teamName, String country) {
+        return toVersionedStats(stale, teamName, country, Instant.now().plus(retryInterval));
+    }
+
+    private Mono<TeamStatsRecord> refreshTeamStats(String teamName, String country) {
+        // The response is validated against the stored row, not the scraped pages behind it
+        return scrapingService.findTeamSnapshot(teamName, country)
+                .contextWrite(context -> context.delete(CacheValidation.CONTEXT_KEY))
+                .publishOn(Schedulers.boundedElastic())
+                .map(snapshot -> applySnapshot(snapshot, teamName, country));
+    }
+
+    private TeamStatsRecord applySnapshot(TeamSnapshot snapshot, String teamName, String country) {
+        TeamStatsRecord record = teamStatsRepository.findById(snapshot.teamId())
+                .orElseGet(() -> new TeamStatsRecord(snapshot.teamId(), teamName, country));
+
+        record.rename(teamName, country);
+        record.applySquad(snapshot.squad());
+        // No completed matches means the fixtures could not be read, not that the results were wiped
+        int applied = snapshot.completedMatches().isEmpty()
+                ? 0
+                : record.applyCompletedMatches(snapshot.completedMatches(), teamName);
+        record.markRefreshed(Instant.now());
+
+        logger.info("Refreshed stats for team '{}' ({} newly completed matches applied)", teamName, applied);
+        return teamStatsRepository.save(record);
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.eviction-interval:PT5M}")
+    public void evictExpiredUnits() {
+        Instant now = Instant.now();
+        units.values().removeIf(unit -> unit.isExpired(now));
+    }
+
+    private VersionedTeamStats toVersionedStats(TeamStatsRecord record, String teamName, String country,
+            Instant expiresAt) {
+        return new VersionedTeamStats(record.toTeamStats(teamName, country), VersionedTeamStats.versionOf(record),
+                expiresAt);
+    }
+}
@@ -0,0 +1,250 @@
+package unq.desapp.futbol.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import unq.desapp.futbol.model.SearchType;
+import unq.desapp.futbol.model.TrendingQuery;
+import unq.desapp.futbol.model.TrendingWindow;
+import unq.desapp.futbol.service.TrendingService;
+
+/**
+ * Tracks the most searched queries with Space-Saving sketches, so memory is
+ * bounded by the sketch capacity no matter how many distinct queries arrive.
+ * Every window is a ring of time buckets, each holding its own sketch; a
+ * bucket is reset the first time it is written after it falls out of the
+ * window. The merged top queries of every window are rebuilt periodically, so
+ * reading them only costs copying the requested prefix.
+ */
+@Service
+public class TrendingServiceImpl implements TrendingService {
+
+    private static final Comparator<TrendingQuery> BY_COUNT = Comparator
+            .comparingLong(TrendingQuery::count).reversed()
+            .thenComparing(TrendingQuery::query);
+
+    private final int topK;
+    private final Map<TrendingWindow, SlidingWindow> windows = new EnumMap<>(TrendingWindow.class);
+
+    private volatile Map<TrendingWindow, Ranking> rankings = new EnumMap<>(TrendingWindow.class);
+
+    public TrendingServiceImpl(
+            @Value("${app.trending.sketch-capacity:512}") int sketchCapacity,
+            @Value("${app.trending.top-k:100}") int topK) {
+        this.topK = topK;
+        for (TrendingWindow window : TrendingWindow.values()) {
+            windows.put(window, new SlidingWindow(window, sketchCapacity));
+        }
+    }
+
+    @Override
+    public void record(SearchType type, String query) {
+        if (type == null || query == null || query.isBlank()) {
+            return;
+        }
+
+        Key key = new Key(type, query.trim().toLowerCase(Locale.ROOT));
+        long now = System.currentTimeMillis();
+        for (SlidingWindow window : windows.values()) {
+            window.offer(key, now);
+        }
+    }
+
+    @Override
+    public Mono<List<TrendingQuery>> findTrending(TrendingWindow window, SearchType type, int limit) {
+        return Mono.fromSupplier(() -> {
+            Ranking ranking = rankings.get(window);
+            if (ranking == null) {
+                return List.of();
+            }
+
+            List<TrendingQuery> ranked = type == null ? ranking.all() : ranking.byType().get(type);
+            return List.copyOf(ranked.subList(0, Math.max(0, Math.min(limit, ranked.size()))));
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.refresh-interval:PT10S}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        Map<TrendingWindow, Ranking> refreshed = new EnumMap<>(TrendingWindow.class);
+        windows.forEach((window, sliding) -> refreshed.put(window, rank(sliding.merge(now))));
+        rankings = refreshed;
+    }
+
+    private Ranking rank(List<TrendingQuery> merged) {
+        merged.sort(BY_COUNT);
+
+        Map<SearchType, List<TrendingQuery>> byType = new EnumMap<>(SearchType.class);
+        for (SearchType type : SearchType.values()) {
+            byType.put(type, new ArrayList<>());
+        }
+        for (TrendingQuery query : merged) {
+            List<TrendingQuery> ofType = byType.get(query.type());
+            if (ofType.size() < topK) {
+                ofType.add(query);
+            }
+        }
+        byType.replaceAll((type, queries) -> List.copyOf(queries));
+
+        return new Ranking(List.copyOf(merged.subList(0, Math.min(topK, merged.size()))), byType);
+    }
+
+    private record Key(SearchType type, String query) {
+    }
+
+    private record Ranking(List<TrendingQuery> all, Map<SearchType, List<TrendingQuery>> byType) {
+    }
+
+    private static final class SlidingWindow {
+
+        private final long bucketMillis;
+        private final SpaceSavingSketch[] buckets;
+
+        SlidingWindow(TrendingWindow window, int sketchCapacity) {
+            this.bucketMillis = window.getBucketMillis();
+            this.buckets = new SpaceSavingSketch[window.getBuckets()];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new SpaceSavingSketch(sketchCapacity);
+            }
+        }
+
+        void offer(Key key, long nowMillis) {
+            long epoch = nowMillis / bucketMillis;
+            buckets[(int) (epoch % buckets.length)].offer(key, epoch);
+        }
+
+        List<TrendingQuery> merge(long nowMillis) {
+            long oldestEpoch = nowMillis / bucketMillis - buckets.length + 1;
+            Map<Key, long[]> totals = new HashMap<>();
+            for (SpaceSavingSketch bucket : buckets) {
+                bucket.addTo(totals, oldestEpoch);
+            }
+
+            List<TrendingQuery> merged = new ArrayList<>(totals.size());
+            totals.forEach((key, counts) -> merged.add(new TrendingQuery(key.type(), key.query(), counts[0],
+                    counts[1])));
+            return merged;
+        }
+    }
+
+    /**
+     * Space-Saving summary: keeps at most {@code capacity} counters in a
+     * min-heap. An unseen key replaces the smallest counter and inherits its
+     * count as the error bound, so any query searched more than
+     * {@code total / capacity} times is guaranteed to be tracked.
+     */
+    private static final class SpaceSavingSketch {
+
+        private final Counter[] heap;
+        private final Map<Key, Counter> counters;
+        private int size;
+        private long epoch = Long.MIN_VALUE;
+
+        SpaceSavingSketch(int capacity) {
+            this.heap = new Counter[capacity];
+            this.counters = new HashMap<>(capacity * 2);
+        }
+
+        synchronized void offer(Key key, long bucketEpoch) {
+            // A late write for a bucket that has already moved on is counted in the newer one
+            if (bucketEpoch > epoch) {
+                counters.clear();
+                Arrays.fill(heap, 0, size, null);
+                size = 0;
+                epoch = bucketEpoch;
+            }
+
+            Counter counter = counters.get(key);
+            if (counter != null) {
+                counter.count++;
+                siftDown(counter.index);
+                return;
+            }
+
+            if (size < heap.length) {
+                counter = new Counter(key, size);
+                heap[size++] = counter;
+                counters.put(key, counter);
+                counter.count = 1;
+                siftUp(counter.index);
+                return;
+            }
+
+            Counter smallest = heap[0];
+            counters.remove(smallest.key);
+            smallest.key = key;
+            smallest.error = smallest.count;
+            smallest.count++;
+            counters.put(key, smallest);
+            siftDown(0);
+        }
+
+        synchronized void addTo(Map<Key, long[]> totals, long oldestEpoch) {
+            if (epoch < oldestEpoch) {
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                long[] total = totals.computeIfAbsent(heap[i].key, key -> new long[2]);
+                total[0] += heap[i].count;
+                total[1] += heap[i].error;
+            }
+        }
+
+        private void siftUp(int index) {
+            Counter counter = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (heap[parent].count <= counter.count) {
+                    break;
+                }
+                place(heap[parent], index);
+                index = parent;
+            }
+            place(counter, index);
+        }
+
+        private void siftDown(int index) {
+            Counter counter = heap[index];
+            int half = size >>> 1;
+            while (index < half) {
+                int child = 2 * index + 1;
+                int right = child + 1;
+                if (right < size && heap[right].count < heap[child].count) {
+                    child = right;
+                }
+                if (counter.count <= heap[child].count) {
+                    break;
+                }
+                place(heap[child], index);
+                index = child;
+            }
+            place(counter, index);
+        }
+
+        private void place(Counter counter, int index) {
+            heap[index] = counter;
+            counter.index = index;
+        }
+    }
+
+    private static final class Counter {
+        private Key key;
+        private int index;
+        private long count;
+        private long error;
+
+        Counter(Key key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+    }
+}
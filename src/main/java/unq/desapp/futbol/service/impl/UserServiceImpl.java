@@ -2,10 +2,12 @@ package unq.desapp.futbol.service.impl;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import unq.desapp.futbol.model.User;
+import unq.desapp.futbol.model.UserChangedEvent;
 import unq.desapp.futbol.repository.UserRepository;
 import unq.desapp.futbol.service.UserService;
 
@@ -14,10 +16,13 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -48,12 +53,16 @@ public class UserServiceImpl implements UserService {
                 user.getFirstName(),
                 user.getLastName(),
                 user.getRole());
-        return userRepository.save(newUser);
+        User saved = userRepository.save(newUser);
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getEmail()));
+        return saved;
     }
 
     @Override
     @Transactional
     public User saveUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getEmail()));
+        return saved;
     }
 }
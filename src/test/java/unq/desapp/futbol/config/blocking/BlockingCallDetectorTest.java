@@ -0,0 +1,92 @@
+package unq.desapp.futbol.config.blocking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Modifier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.blockhound.BlockingMethod;
+import reactor.blockhound.BlockingOperationError;
+
+@Tag("unit")
+class BlockingCallDetectorTest {
+
+    private static final BlockingMethod SLEEP = new BlockingMethod("java/lang/Thread", "sleep",
+            Modifier.PUBLIC | Modifier.STATIC);
+    private static final BlockingMethod READ = new BlockingMethod("java/io/FileInputStream", "readBytes",
+            Modifier.PRIVATE);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void onBlockingCall_InReportMode_ShouldCountBySignatureWithoutThrowing() {
+        // Arrange
+        BlockingCallDetector detector = new BlockingCallDetector(BlockingCallDetector.Mode.REPORT, meterRegistry, 10);
+
+        // Act
+        detector.onBlockingCall(SLEEP);
+        detector.onBlockingCall(SLEEP);
+        detector.onBlockingCall(READ);
+
+        // Assert
+        String caller = "config.blocking.BlockingCallDetectorTest"
+                + ".onBlockingCall_InReportMode_ShouldCountBySignatureWithoutThrowing";
+        assertThat(count("java.lang.Thread.sleep", caller)).isEqualTo(2.0);
+        assertThat(count("java.io.FileInputStream.readBytes", caller)).isEqualTo(1.0);
+    }
+
+    @Test
+    void onBlockingCall_InFailMode_ShouldCountAndThrow() {
+        // Arrange
+        BlockingCallDetector detector = new BlockingCallDetector(BlockingCallDetector.Mode.FAIL, meterRegistry, 10);
+
+        // Act & Assert
+        assertThatThrownBy(() -> detector.onBlockingCall(SLEEP))
+                .isInstanceOf(BlockingOperationError.class)
+                .hasMessageContaining("java.lang.Thread.sleep");
+        assertThat(meterRegistry.find("app_blocking_calls_total").tag("method", "java.lang.Thread.sleep")
+                .counter()).isNotNull();
+    }
+
+    @Test
+    void onBlockingCall_BeyondMaxSignatures_ShouldShareTheOverflowSeries() {
+        // Arrange
+        BlockingCallDetector detector = new BlockingCallDetector(BlockingCallDetector.Mode.REPORT, meterRegistry, 1);
+
+        // Act
+        detector.onBlockingCall(SLEEP);
+        detector.onBlockingCall(READ);
+        detector.onBlockingCall(READ);
+
+        // Assert
+        assertThat(meterRegistry.find("app_blocking_calls_total").counters()).hasSize(2);
+        assertThat(count(BlockingCallDetector.OVERFLOW, BlockingCallDetector.OVERFLOW)).isEqualTo(2.0);
+    }
+
+    @Test
+    void start_WhenOff_ShouldNotInstallAnything() {
+        // Arrange
+        BlockingCallDetector detector = new BlockingCallDetector(BlockingCallDetector.Mode.OFF, meterRegistry, 10);
+
+        // Act
+        detector.start();
+
+        // Assert
+        assertThat(detector.isRunning()).isTrue();
+        assertThat(meterRegistry.getMeters()).isEmpty();
+        detector.stop();
+        assertThat(detector.isRunning()).isFalse();
+    }
+
+    private double count(String method, String caller) {
+        Counter counter = meterRegistry.find("app_blocking_calls_total")
+                .tag("method", method)
+                .tag("caller", caller)
+                .counter();
+        assertThat(counter).isNotNull();
+        return counter.count();
+    }
+}
@@ -0,0 +1,115 @@
+package unq.desapp.futbol.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@Tag("unit")
+class CacheValidationTest {
+
+    private static final Instant EXPIRES_AT = Instant.now().plusSeconds(600);
+
+    @Test
+    void getETag_ShouldNotDependOnRecordingOrder() {
+        // Arrange
+        CacheValidation first = new CacheValidation(null);
+        CacheValidation second = new CacheValidation(null);
+
+        // Act
+        first.record("squads:1", EXPIRES_AT);
+        first.record("squads:2", EXPIRES_AT);
+        second.record("squads:2", EXPIRES_AT);
+        second.record("squads:1", EXPIRES_AT);
+
+        // Assert
+        assertThat(first.getETag()).isEqualTo(second.getETag());
+    }
+
+    @Test
+    void getETag_ShouldDifferForDifferentSetsOfValidators() {
+        // Arrange
+        CacheValidation first = new CacheValidation(null);
+        CacheValidation second = new CacheValidation(null);
+
+        // Act
+        first.record("squads:1", EXPIRES_AT);
+        first.record("fixtures:4", EXPIRES_AT);
+        second.record("squads:2", EXPIRES_AT);
+        second.record("fixtures:3", EXPIRES_AT);
+
+        // Assert
+        assertThat(first.getETag()).isNotEqualTo(second.getETag());
+    }
+
+    @Test
+    void isNotModified_ShouldMatchCurrentETag() {
+        // Arrange
+        CacheValidation reference = new CacheValidation(null);
+        reference.record("squads:42", EXPIRES_AT);
+        CacheValidation validation = new CacheValidation("\"other\", W/" + reference.getETag());
+
+        // Act
+        validation.record("squads:42", EXPIRES_AT);
+
+        // Assert
+        assertThat(validation.isNotModified()).isTrue();
+    }
+
+    @Test
+    void isNotModified_ShouldBeFalse_WhenVersionChanged() {
+        // Arrange
+        CacheValidation reference = new CacheValidation(null);
+        reference.record("squads:42", EXPIRES_AT);
+        CacheValidation validation = new CacheValidation(reference.getETag());
+
+        // Act
+        validation.record("squads:43", EXPIRES_AT);
+
+        // Assert
+        assertThat(validation.isNotModified()).isFalse();
+    }
+
+    @Test
+    void conditionalOk_ShouldReturnNotModified_WhenClientHoldsCurrentVersion() {
+        // Arrange
+        CacheValidation reference = new CacheValidation(null);
+        reference.record("squads:7", EXPIRES_AT);
+        CacheValidation validation = new CacheValidation(reference.getETag());
+        validation.record("squads:7", EXPIRES_AT);
+
+        // Act
+        Mono<ResponseEntity<String>> result = ConditionalResponses.ok("body")
+                .contextWrite(context -> context.put(CacheValidation.CONTEXT_KEY, validation));
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+                    assertThat(response.getBody()).isNull();
+                    assertThat(response.getHeaders().getETag()).isEqualTo(reference.getETag());
+                    assertThat(response.getHeaders().getCacheControl()).startsWith("max-age=");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void conditionalOk_ShouldReturnPlainOk_WithoutValidation() {
+        // Act
+        Mono<ResponseEntity<String>> result = ConditionalResponses.ok("body");
+
+        // Assert
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.getBody()).isEqualTo("body");
+                    assertThat(response.getHeaders().getETag()).isNull();
+                })
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,74 @@
+package unq.desapp.futbol.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@Tag("unit")
+class CacheValidationWebFilterTest {
+
+    private static final String URL = "/teams/england/arsenal/squad";
+
+    private final CacheValidationWebFilter filter = new CacheValidationWebFilter(100);
+    private final AtomicInteger handled = new AtomicInteger();
+
+    @Test
+    void filter_ShouldAnswerNotModifiedWithoutHandling_WhenETagIsStillCurrent() {
+        // Arrange
+        String etag = firstResponseETag(Instant.now().plusSeconds(600));
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get(URL).header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, this::handle)).verifyComplete();
+
+        // Assert
+        assertThat(handled.get()).isEqualTo(1);
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(exchange.getResponse().getHeaders().getETag()).isEqualTo(etag);
+    }
+
+    @Test
+    void filter_ShouldHandleTheRequest_WhenETagHasExpired() {
+        // Arrange
+        String etag = firstResponseETag(Instant.now().minusSeconds(1));
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get(URL).header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, this::handle)).verifyComplete();
+
+        // Assert
+        assertThat(handled.get()).isEqualTo(2);
+    }
+
+    private String firstResponseETag(Instant expiresAt) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(URL));
+        WebFilterChain chain = ex -> Mono.deferContextual(context -> {
+            CacheValidation.from(context).record("squads:1", expiresAt);
+            return handle(ex);
+        });
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        CacheValidation reference = new CacheValidation(null);
+        reference.record("squads:1", expiresAt);
+        return reference.getETag();
+    }
+
+    private Mono<Void> handle(ServerWebExchange exchange) {
+        handled.incrementAndGet();
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        return exchange.getResponse().setComplete();
+    }
+}
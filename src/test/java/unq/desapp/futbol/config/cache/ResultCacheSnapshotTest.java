@@ -0,0 +1,95 @@
+package unq.desapp.futbol.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import unq.desapp.futbol.model.Player;
+
+@Tag("unit")
+class ResultCacheSnapshotTest {
+
+    private static final TypeReference<List<Player>> PLAYERS = new TypeReference<>() {};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void restore_ShouldServeSnapshotEntriesWithoutLoading() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("result-cache.snapshot");
+        ResultCacheManager previous = new ResultCacheManager(Duration.ofMinutes(5), 100);
+        ResultCache<List<Player>> squads = previous.create("squads", PLAYERS, UnaryOperator.identity());
+        squads.getOrLoad("65", () -> List.of(player("Lionel Messi", 8.5)));
+        ResultCacheSnapshot.write(file, previous.getCaches(), Instant.now());
+
+        ResultCacheManager restarted = new ResultCacheManager(Duration.ofMinutes(5), 100);
+        ResultCache<List<Player>> restoredSquads = restarted.create("squads", PLAYERS, UnaryOperator.identity());
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        restarted.restore(ResultCacheSnapshot.open(file, Instant.now()));
+        List<Player> squad = restoredSquads.getOrLoad("65", () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        // Assert
+        assertThat(loads.get()).isZero();
+        assertThat(squad).extracting(Player::getName).containsExactly("Lionel Messi");
+    }
+
+    @Test
+    void restore_ShouldSkipExpiredEntries() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("result-cache.snapshot");
+        ResultCacheManager previous = new ResultCacheManager(Duration.ofMinutes(5), 100);
+        previous.create("squads", PLAYERS, UnaryOperator.identity())
+                .getOrLoad("65", () -> List.of(player("Lionel Messi", 8.5)));
+        ResultCacheSnapshot.write(file, previous.getCaches(), Instant.now());
+
+        // Act
+        ResultCacheSnapshot.Contents contents = ResultCacheSnapshot.open(file, Instant.now().plusSeconds(600));
+
+        // Assert
+        assertThat(contents.size()).isZero();
+    }
+
+    @Test
+    void write_ShouldKeepRestoredEntriesThatWereNeverRequested() throws IOException {
+        // Arrange
+        Path first = tempDir.resolve("first.snapshot");
+        Path second = tempDir.resolve("second.snapshot");
+        ResultCacheManager previous = new ResultCacheManager(Duration.ofMinutes(5), 100);
+        previous.create("squads", PLAYERS, UnaryOperator.identity())
+                .getOrLoad("65", () -> List.of(player("Lionel Messi", 8.5)));
+        ResultCacheSnapshot.write(first, previous.getCaches(), Instant.now());
+
+        ResultCacheManager restarted = new ResultCacheManager(Duration.ofMinutes(5), 100);
+        restarted.create("squads", PLAYERS, UnaryOperator.identity());
+        restarted.restore(ResultCacheSnapshot.open(first, Instant.now()));
+
+        // Act
+        int written = ResultCacheSnapshot.write(second, restarted.getCaches(), Instant.now());
+
+        // Assert
+        assertThat(written).isEqualTo(1);
+        assertThat(ResultCacheSnapshot.open(second, Instant.now()).entriesOf("squads")).containsKey("65");
+    }
+
+    private Player player(String name, double rating) {
+        Player player = new Player();
+        player.setName(name);
+        player.setRating(rating);
+        return player;
+    }
+}
@@ -0,0 +1,182 @@
+package unq.desapp.futbol.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class ResultCacheTest {
+
+    private static final TypeReference<String> STRING = new TypeReference<>() {};
+
+    private final AtomicLong versions = new AtomicLong();
+
+    @Test
+    void getOrLoad_ShouldLoadOnlyOnce_WhenEntryIsFresh() throws IOException {
+        // Arrange
+        ResultCache<String> cache = new ResultCache<>("test", STRING, Duration.ofMinutes(5), 10,
+                versions::incrementAndGet, UnaryOperator.identity());
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        String first = cache.getOrLoad("key", () -> "value-" + loads.incrementAndGet());
+        String second = cache.getOrLoad("key", () -> "value-" + loads.incrementAndGet());
+
+        // Assert
+        assertThat(first).isEqualTo("value-1");
+        assertThat(second).isEqualTo("value-1");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void getOrLoad_ShouldReload_WhenEntryIsExpired() throws IOException {
+        // Arrange
+        ResultCache<String> cache = new ResultCache<>("test", STRING, Duration.ZERO, 10,
+                versions::incrementAndGet, UnaryOperator.identity());
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.getOrLoad("key", () -> "value-" + loads.incrementAndGet());
+        String second = cache.getOrLoad("key", () -> "value-" + loads.incrementAndGet());
+
+        // Assert
+        assertThat(second).isEqualTo("value-2");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void getOrLoad_ShouldNotCacheNullResults() throws IOException {
+        // Arrange
+        ResultCache<String> cache = new ResultCache<>("test", STRING, Duration.ofMinutes(5), 10,
+                versions::incrementAndGet, String::trim);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        String first = cache.getOrLoad("key", () -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        String second = cache.getOrLoad("key", () -> "value-" + loads.incrementAndGet());
+
+        // Assert
+        assertThat(first).isNull();
+        assertThat(second).isEqualTo("value-2");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void getOrLoad_ShouldNeverExceedMaxEntries() throws IOException {
+        // Arrange
+        ResultCache<String> cache = new ResultCache<>("test", STRING, Duration.ofMinutes(5), 2,
+                versions::incrementAndGet, UnaryOperator.identity());
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            String value = "value-" + i;
+            cache.getOrLoad("key-" + i, () -> value);
+        }
+
+        // Assert
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void getOrLoad_ShouldRecordValidatorsOnBoundCacheValidation() {
+        // Arrange
+        ResultCache<String> cache = new ResultCache<>("test", STRING, Duration.ofMinutes(5), 10,
+                versions::incrementAndGet, UnaryOperator.identity());
+        CacheValidation validation = new CacheValidation(null);
+
+        // Act
+        CacheValidation.fromCallable(() -> cache.getOrLoad("key", () -> "value"))
+                .contextWrite(context -> context.put(CacheValidation.CONTEXT_KEY, validation))
+                .block();
+
+        // Assert
+        assertThat(validation.hasValidators()).isTrue();
+    }
+
+    @Test
+    void getOrLoad_ShouldEvictLeastRecentlyUsedEntries() throws IOException {
+        // Arrange
+        ResultCache<String> cache = new ResultCache<>("test", STRING, Duration.ofMinutes(5), 2,
+                versions::incrementAndGet, UnaryOperator.identity());
+        AtomicInteger loads = new AtomicInteger();
+        cache.getOrLoad("first", () -> "first-" + loads.incrementAndGet());
+        cache.getOrLoad("second", () -> "second-" + loads.incrementAndGet());
+        cache.getOrLoad("first", () -> "first-" + loads.incrementAndGet());
+
+        // Act
+        cache.getOrLoad("third", () -> "third-" + loads.incrementAndGet());
+        String first = cache.getOrLoad("first", () -> "first-" + loads.incrementAndGet());
+        String second = cache.getOrLoad("second", () -> "second-" + loads.incrementAndGet());
+
+        // Assert
+        assertThat(first).isEqualTo("first-1");
+        assertThat(second).isEqualTo("second-4");
+    }
+
+    @Test
+    void getOrLoad_ShouldShareOneLoadBetweenConcurrentMisses() throws Exception {
+        // Arrange
+        ResultCache<String> cache = new ResultCache<>("test", STRING, Duration.ofMinutes(5), 10,
+                versions::incrementAndGet, UnaryOperator.identity());
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // Act
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.getOrLoad("key", () -> {
+                loading.countDown();
+                release.join();
+                return "value-" + loads.incrementAndGet();
+            })));
+            loading.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> cache.getOrLoad("key", () -> "value-" + loads.incrementAndGet())));
+            }
+            release.complete(null);
+
+            // Assert
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value-1");
+            }
+            assertThat(loads.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getOrLoad_ShouldHandOutCopiesOfTheCachedValue() throws IOException {
+        // Arrange
+        ResultCache<List<String>> cache = new ResultCache<>("test", new TypeReference<>() {}, Duration.ofMinutes(5),
+                10, versions::incrementAndGet, ArrayList::new);
+        cache.getOrLoad("key", () -> new ArrayList<>(List.of("Lionel Messi")));
+
+        // Act
+        cache.getOrLoad("key", List::of).add("Julian Alvarez");
+        List<String> value = cache.getOrLoad("key", List::of);
+
+        // Assert
+        assertThat(value).containsExactly("Lionel Messi");
+    }
+}
@@ -0,0 +1,74 @@
+package unq.desapp.futbol.config.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import unq.desapp.futbol.config.cache.CacheValidation;
+
+@Tag("unit")
+class CorrelationIdWebFilterTest {
+
+    private final CorrelationIdWebFilter filter = new CorrelationIdWebFilter();
+
+    @Test
+    void filter_ShouldAcceptAndEchoAWellFormedId() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/teams/england/arsenal/stats").header("X-Correlation-Id", "req-42"));
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.deferContextual(context -> {
+            seen.set(CorrelationId.from(context));
+            return ex.getResponse().setComplete();
+        }))).verifyComplete();
+
+        // Assert
+        assertThat(seen.get()).isEqualTo("req-42");
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Correlation-Id")).isEqualTo("req-42");
+    }
+
+    @Test
+    void filter_ShouldReplaceAMalformedId() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/teams/england/arsenal/stats").header("X-Correlation-Id", "a b\nc"));
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.deferContextual(context -> {
+            seen.set(CorrelationId.from(context));
+            return ex.getResponse().setComplete();
+        }))).verifyComplete();
+
+        // Assert
+        assertThat(seen.get()).isNotBlank().isNotEqualTo("a b\nc");
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Correlation-Id")).isEqualTo(seen.get());
+    }
+
+    @Test
+    void filter_ShouldExposeTheIdInTheMdcOfScrapingThreads() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/teams/england/arsenal/stats").header("X-Correlation-Id", "req-7"));
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, ex -> CacheValidation
+                .fromCallable(() -> MDC.get(CorrelationId.MDC_KEY))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(seen::set)
+                .then(ex.getResponse().setComplete()))).verifyComplete();
+
+        // Assert
+        assertThat(seen.get()).isEqualTo("req-7");
+    }
+}
@@ -8,9 +8,12 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.Signature;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,7 +37,7 @@ class LoggingAspectTest {
     @BeforeEach
     void setUp() {
         mockLogger = mock(Logger.class);
-        loggingAspect = new LoggingAspect() {
+        loggingAspect = new LoggingAspect(LoggingAspect.Mode.FULL, 1.0, Duration.ZERO) {
             @Override
             protected Logger getLogger(Class<?> clazz) {
                 return mockLogger;
@@ -155,6 +158,85 @@ class LoggingAspectTest {
         verify(mockLogger).error(eq("Error executing method: {}"), anyString(), eq(exception));
     }
 
+    @Test
+    void shouldLogTheCorrelationIdOfTheExchange() throws Throwable {
+        // Arrange
+        when(joinPoint.proceed()).thenReturn(Mono.just("result"));
+        doAnswer(invocation -> {
+            assertEquals("req-1", MDC.get("correlation_id"), "MDC correlation_id should come from the context");
+            return null;
+        }).when(mockLogger).info(anyString(), anyLong());
+
+        // Act
+        Object result = loggingAspect.logMethodExecution(joinPoint);
+
+        // Assert
+        StepVerifier.create(((Mono<String>) result).contextWrite(ctx -> ctx.put(CorrelationId.CONTEXT_KEY, "req-1")))
+                .expectNext("result")
+                .verifyComplete();
+
+        verify(mockLogger).info(eq("Method executed successfully in {} ms"), anyLong());
+        assertEquals(null, MDC.get("correlation_id"));
+    }
+
+    @Test
+    void sampledModeShouldSkipFastSuccessOutsideTheSample() throws Throwable {
+        // Arrange
+        LoggingAspect sampledAspect = sampledAspect(0.0, Duration.ofSeconds(10));
+        when(joinPoint.proceed()).thenReturn(Mono.just("result"));
+
+        // Act
+        Object result = sampledAspect.logMethodExecution(joinPoint);
+
+        // Assert
+        StepVerifier.create((Mono<String>) result)
+                .expectNext("result")
+                .verifyComplete();
+
+        verify(mockLogger, never()).info(anyString(), anyLong());
+    }
+
+    @Test
+    void sampledModeShouldLogSlowCalls() throws Throwable {
+        // Arrange
+        LoggingAspect sampledAspect = sampledAspect(0.0, Duration.ZERO);
+        when(joinPoint.proceed()).thenReturn("result");
+
+        // Act
+        sampledAspect.logMethodExecution(joinPoint);
+
+        // Assert
+        verify(mockLogger).info(eq("Method executed successfully in {} ms"), anyLong());
+    }
+
+    @Test
+    void sampledModeShouldLogAnErrorOnceAcrossLayers() throws Throwable {
+        // Arrange
+        LoggingAspect sampledAspect = sampledAspect(0.0, Duration.ofSeconds(10));
+        RuntimeException exception = new RuntimeException("Error");
+        when(joinPoint.proceed()).thenReturn(Mono.error(exception));
+
+        // Act
+        Object service = sampledAspect.logMethodExecution(joinPoint);
+        when(joinPoint.proceed()).thenReturn(service);
+        Object controller = sampledAspect.logMethodExecution(joinPoint);
+
+        // Assert
+        StepVerifier.create((Mono<String>) controller)
+                .verifyError(RuntimeException.class);
+
+        verify(mockLogger, times(1)).error(eq("Error executing method: {}"), anyString(), eq(exception));
+    }
+
+    private LoggingAspect sampledAspect(double sampleRate, Duration slowThreshold) {
+        return new LoggingAspect(LoggingAspect.Mode.SAMPLED, sampleRate, slowThreshold) {
+            @Override
+            protected Logger getLogger(Class<?> clazz) {
+                return mockLogger;
+            }
+        };
+    }
+
     private static class TestService {
         public String testMethod() {
             return "result";
@@ -1,71 +1,156 @@
 package unq.desapp.futbol.config.metrics;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.Signature;
+import java.lang.reflect.Method;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import unq.desapp.futbol.exceptions.TeamNotFoundException;
 
 @ExtendWith(MockitoExtension.class)
 @Tag("unit")
 class BusinessMetricsAspectTest {
 
     @Mock
-    private JoinPoint joinPoint;
+    private ProceedingJoinPoint joinPoint;
 
     @Mock
-    private Signature signature;
+    private MethodSignature signature;
 
-    @Mock
+    private SimpleMeterRegistry simpleRegistry;
+    private BusinessMetricsAspect aspect;
     private BusinessMetric businessMetric;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws NoSuchMethodException {
+        simpleRegistry = new SimpleMeterRegistry();
+        aspect = new BusinessMetricsAspect(simpleRegistry);
+        Method method = TestController.class.getMethod("operation");
+        businessMetric = method.getAnnotation(BusinessMetric.class);
         lenient().when(joinPoint.getSignature()).thenReturn(signature);
-        lenient().when(signature.getDeclaringTypeName()).thenReturn("com.example.TestClass");
-        lenient().when(businessMetric.name()).thenReturn("test_operation");
-        lenient().when(businessMetric.help()).thenReturn("Test help");
+        lenient().when(signature.getMethod()).thenReturn(method);
+    }
+
+    @Test
+    void measure_ShouldCountSuccessOnlyWhenTheMonoCompletes() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(Mono.just(ResponseEntity.ok("body")));
+
+        Mono<?> result = (Mono<?>) aspect.measure(joinPoint, businessMetric);
+
+        assertThat(successCount()).isZero();
+        assertThat(timer("success").count()).isZero();
+
+        StepVerifier.create(result).expectNextCount(1).verifyComplete();
+
+        assertThat(successCount()).isEqualTo(1.0);
+        assertThat(timer("success").count()).isEqualTo(1);
     }
 
     @Test
-    void countSuccess_ShouldIncrementSuccessCounter() {
-        SimpleMeterRegistry simpleRegistry = new SimpleMeterRegistry();
-        BusinessMetricsAspect aspect = new BusinessMetricsAspect(simpleRegistry);
+    void measure_ShouldCountAsyncErrorAsFailure() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(Mono.error(new IllegalStateException("upstream down")));
 
-        aspect.countSuccess(joinPoint, businessMetric, "result");
+        StepVerifier.create((Mono<?>) aspect.measure(joinPoint, businessMetric))
+                .expectError(IllegalStateException.class)
+                .verify();
 
-        assert simpleRegistry.find("app_business_operation_success_total")
+        assertThat(successCount()).isZero();
+        assertThat(timer("error").count()).isEqualTo(1);
+        assertThat(simpleRegistry.find("app_business_operation_failed_total")
                 .tag("operation", "test_operation")
-                .tag("class", "com.example.TestClass")
-                .counter() != null;
+                .tag("exception", "IllegalStateException")
+                .counter())
+                .isNotNull()
+                .satisfies(counter -> assertThat(counter.count()).isEqualTo(1.0));
+    }
 
-        assert simpleRegistry.find("app_business_operation_success_total")
-                .counter()
-                .count() == 1.0;
+    @Test
+    void measure_ShouldClassifyEmptyAndNotFoundAsEmpty() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(
+                Mono.empty(),
+                Mono.just(ResponseEntity.notFound().build()),
+                Mono.error(new TeamNotFoundException("Team not found")));
+
+        StepVerifier.create((Mono<?>) aspect.measure(joinPoint, businessMetric)).verifyComplete();
+        StepVerifier.create((Mono<?>) aspect.measure(joinPoint, businessMetric)).expectNextCount(1).verifyComplete();
+        StepVerifier.create((Mono<?>) aspect.measure(joinPoint, businessMetric))
+                .expectError(TeamNotFoundException.class)
+                .verify();
+
+        assertThat(timer("empty").count()).isEqualTo(3);
+        assertThat(successCount()).isZero();
+        assertThat(simpleRegistry.find("app_business_operation_failed_total").counter()).isNull();
+    }
+
+    @Test
+    void measure_ShouldClassifyCancellationBeforeAnyValue() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(Mono.never());
+
+        Disposable subscription = ((Mono<?>) aspect.measure(joinPoint, businessMetric)).subscribe();
+        subscription.dispose();
+
+        assertThat(timer("cancelled").count()).isEqualTo(1);
     }
 
     @Test
-    void countFailure_ShouldIncrementFailureCounter() {
-        SimpleMeterRegistry simpleRegistry = new SimpleMeterRegistry();
-        BusinessMetricsAspect aspect = new BusinessMetricsAspect(simpleRegistry);
-        Exception exception = new RuntimeException("Error");
+    void measure_ShouldCountSynchronousFailure() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new RuntimeException("Error"));
 
-        aspect.countFailure(joinPoint, businessMetric, exception);
+        assertThrows(RuntimeException.class, () -> aspect.measure(joinPoint, businessMetric));
 
+        assertThat(timer("error").count()).isEqualTo(1);
         assert simpleRegistry.find("app_business_operation_failed_total")
                 .tag("operation", "test_operation")
-                .tag("class", "com.example.TestClass")
+                .tag("class", TestController.class.getName())
                 .tag("exception", "RuntimeException")
-                .counter() != null;
-
-        assert simpleRegistry.find("app_business_operation_failed_total")
                 .counter()
                 .count() == 1.0;
     }
+
+    @Test
+    void measure_ShouldRegisterEveryOutcomeTimerOnFirstUse() throws Throwable {
+        when(joinPoint.proceed()).thenReturn(Mono.just("value"));
+
+        StepVerifier.create((Mono<?>) aspect.measure(joinPoint, businessMetric)).expectNext("value").verifyComplete();
+
+        assertThat(simpleRegistry.find("app_business_operation_seconds").timers()).hasSize(4);
+    }
+
+    private double successCount() {
+        return simpleRegistry.get("app_business_operation_success_total")
+                .tag("operation", "test_operation")
+                .tag("class", TestController.class.getName())
+                .counter()
+                .count();
+    }
+
+    private Timer timer(String outcome) {
+        return simpleRegistry.get("app_business_operation_seconds")
+                .tag("operation", "test_operation")
+                .tag("outcome", outcome)
+                .timer();
+    }
+
+    static class TestController {
+
+        @BusinessMetric(name = "test_operation", help = "Test help")
+        public Mono<ResponseEntity<String>> operation() {
+            return Mono.empty();
+        }
+    }
 }
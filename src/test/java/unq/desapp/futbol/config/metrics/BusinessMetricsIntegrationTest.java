@@ -12,6 +12,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 @SpringBootTest(classes = { BusinessMetricsIntegrationTest.TestConfig.class, BusinessMetricsAspect.class })
 @Tag("e2e")
@@ -48,6 +50,34 @@ class BusinessMetricsIntegrationTest {
                 .satisfies(counter -> assertThat(counter.count()).isEqualTo(1.0));
     }
 
+    @Test
+    void shouldResolveTimersAtStartup() {
+        assertThat(meterRegistry.find("app_business_operation_seconds")
+                .tag("operation", "integration_reactive")
+                .timers())
+                .extracting(timer -> timer.getId().getTag("outcome"))
+                .containsExactlyInAnyOrder("success", "empty", "error", "cancelled");
+    }
+
+    @Test
+    void shouldTimeReactiveOperationOnCompletion() {
+        Mono<String> result = testService.performReactiveOperation();
+
+        assertThat(meterRegistry.get("app_business_operation_seconds")
+                .tag("operation", "integration_reactive")
+                .tag("outcome", "success")
+                .timer()
+                .count()).isZero();
+
+        StepVerifier.create(result).expectNext("done").verifyComplete();
+
+        assertThat(meterRegistry.get("app_business_operation_seconds")
+                .tag("operation", "integration_reactive")
+                .tag("outcome", "success")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
     @Configuration
     @EnableAspectJAutoProxy
     static class TestConfig {
@@ -74,5 +104,10 @@ class BusinessMetricsIntegrationTest {
         public void performFailureOperation() {
             throw new RuntimeException("Integration error");
         }
+
+        @BusinessMetric(name = "integration_reactive", help = "Integration reactive help")
+        public Mono<String> performReactiveOperation() {
+            return Mono.just("done");
+        }
     }
 }
@@ -0,0 +1,53 @@
+package unq.desapp.futbol.config.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@Tag("unit")
+class ServerTimingWebFilterTest {
+
+    private final ServerTimingWebFilter filter = new ServerTimingWebFilter();
+
+    @Test
+    void filter_ShouldAddServerTimingFromStagesRecordedDuringTheRequest() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/teams/england/arsenal/stats"));
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.deferContextual(context -> {
+            StageTimings timings = StageTimings.from(context);
+            timings.add(ScrapeStage.FETCH, TimeUnit.MILLISECONDS.toNanos(120));
+            timings.add(ScrapeStage.RESOLVE, TimeUnit.MICROSECONDS.toNanos(2500));
+            timings.add(ScrapeStage.FETCH, TimeUnit.MILLISECONDS.toNanos(30));
+            timings.addBytes(2048);
+            return ex.getResponse().setComplete();
+        }))).verifyComplete();
+
+        // Assert
+        assertThat(exchange.getResponse().getHeaders().getFirst("Server-Timing"))
+                .isEqualTo("resolve;dur=2.5, fetch;dur=150.0, bytes;desc=\"2048\"");
+    }
+
+    @Test
+    void filter_ShouldSkipRequestsThatDoNotScrape() {
+        // Arrange
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/user/history"));
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.deferContextual(context -> {
+            assertThat(StageTimings.from(context)).isNull();
+            return ex.getResponse().setComplete();
+        }))).verifyComplete();
+
+        // Assert
+        assertThat(exchange.getResponse().getHeaders().containsKey("Server-Timing")).isFalse();
+    }
+}
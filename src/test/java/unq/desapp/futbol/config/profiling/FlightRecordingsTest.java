@@ -0,0 +1,84 @@
+package unq.desapp.futbol.config.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+@Tag("unit")
+class FlightRecordingsTest {
+
+    private final FlightRecordings recordings = new FlightRecordings(false, Duration.ofMinutes(5),
+            DataSize.ofMegabytes(16), Duration.ofSeconds(30), Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        recordings.stop();
+    }
+
+    @Test
+    void dump_ShouldReturnTheOnDemandRecordingWithApplicationEvents() throws Exception {
+        // Arrange
+        recordings.start();
+        FlightRecordings.RecordingInfo info = recordings.start("default", Duration.ofHours(1));
+        UpstreamFetchEvent.start("search").finish(200, 2048);
+
+        // Act
+        Path file = recordings.dump().orElseThrow();
+
+        // Assert
+        try {
+            assertThat(info.duration()).isEqualTo(Duration.ofMinutes(1));
+            List<RecordedEvent> fetches = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("unq.desapp.futbol.UpstreamFetch"))
+                    .toList();
+            assertThat(fetches).hasSize(1);
+            assertThat(fetches.get(0).getString("endpoint")).isEqualTo("search");
+            assertThat(fetches.get(0).getLong("bytes")).isEqualTo(2048);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void dump_ShouldLeaveTheRecordingRunningUntilCancelled() throws Exception {
+        // Arrange
+        recordings.start();
+        recordings.start("default", null);
+        Files.delete(recordings.dump().orElseThrow());
+
+        // Act
+        Path again = recordings.dump().orElseThrow();
+
+        // Assert
+        try {
+            assertThat(again).exists();
+            assertThatThrownBy(() -> recordings.start("default", null)).isInstanceOf(IllegalStateException.class);
+            assertThat(recordings.cancel()).isTrue();
+            assertThat(recordings.dump()).isEmpty();
+        } finally {
+            Files.deleteIfExists(again);
+        }
+    }
+
+    @Test
+    void start_ShouldRejectUnknownSettingsAndConcurrentRecordings() {
+        // Arrange
+        recordings.start();
+
+        // Act & Assert
+        assertThatThrownBy(() -> recordings.start("verbose", null)).isInstanceOf(IllegalArgumentException.class);
+        recordings.start(null, null);
+        assertThatThrownBy(() -> recordings.start("profile", null)).isInstanceOf(IllegalStateException.class);
+        assertThat(recordings.cancel()).isTrue();
+    }
+}
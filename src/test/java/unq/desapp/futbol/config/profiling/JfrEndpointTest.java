@@ -0,0 +1,60 @@
+package unq.desapp.futbol.config.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class JfrEndpointTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private FlightRecordings recordings;
+
+    @Test
+    void dump_ShouldStreamTheRecordingAndDeleteItOnceRead() throws Exception {
+        // Arrange
+        Path file = Files.write(directory.resolve("recording.jfr"), new byte[] {1, 2, 3});
+        when(recordings.dump()).thenReturn(Optional.of(file));
+        JfrEndpoint endpoint = new JfrEndpoint(recordings);
+
+        // Act
+        WebEndpointResponse<Resource> response = endpoint.dump();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        try (InputStream content = response.getBody().getInputStream()) {
+            assertThat(content.readAllBytes()).containsExactly(1, 2, 3);
+        }
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void dump_ShouldAnswerNotFound_WhenThereIsNoRecording() throws Exception {
+        // Arrange
+        when(recordings.dump()).thenReturn(Optional.empty());
+        JfrEndpoint endpoint = new JfrEndpoint(recordings);
+
+        // Act
+        WebEndpointResponse<Resource> response = endpoint.dump();
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+        assertThat(response.getBody()).isNull();
+    }
+}
@@ -0,0 +1,95 @@
+package unq.desapp.futbol.config.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("unit")
+class LocalSpanExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void snapshot_ShouldRenderBufferedSpansAsOtlpJson() {
+        // Arrange
+        LocalSpanExporter exporter = new LocalSpanExporter(objectMapper, 10, "");
+        Tracer tracer = tracer(exporter);
+
+        // Act
+        Span parent = tracer.spanBuilder("team.compare").startSpan();
+        Span child = tracer.spanBuilder("scrape.fetch").setParent(Context.current().with(parent))
+                .setAttribute("endpoint", "search").startSpan();
+        child.end();
+        parent.end();
+        JsonNode spans = exporter.snapshot().at("/resourceSpans/0/scopeSpans/0/spans");
+
+        // Assert
+        assertThat(spans).hasSize(2);
+        JsonNode fetch = spans.get(0);
+        assertThat(fetch.get("name").asText()).isEqualTo("scrape.fetch");
+        assertThat(fetch.get("parentSpanId").asText()).isEqualTo(parent.getSpanContext().getSpanId());
+        assertThat(fetch.get("traceId").asText()).isEqualTo(parent.getSpanContext().getTraceId());
+        assertThat(fetch.get("kind").asInt()).isEqualTo(1);
+        assertThat(fetch.at("/attributes/0/key").asText()).isEqualTo("endpoint");
+        assertThat(fetch.at("/attributes/0/value/stringValue").asText()).isEqualTo("search");
+        assertThat(spans.get(1).has("parentSpanId")).isFalse();
+    }
+
+    @Test
+    void export_ShouldKeepOnlyTheMostRecentSpans() {
+        // Arrange
+        LocalSpanExporter exporter = new LocalSpanExporter(objectMapper, 2, "");
+        Tracer tracer = tracer(exporter);
+
+        // Act
+        for (String name : List.of("first", "second", "third")) {
+            tracer.spanBuilder(name).startSpan().end();
+        }
+        JsonNode spans = exporter.snapshot().at("/resourceSpans/0/scopeSpans/0/spans");
+
+        // Assert
+        assertThat(spans).extracting(span -> span.get("name").asText()).containsExactly("second", "third");
+        assertThat(exporter.clear()).isEqualTo(2);
+    }
+
+    @Test
+    void export_ShouldAppendOneRequestPerBatchToTheFile() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("traces/spans.jsonl");
+        LocalSpanExporter exporter = new LocalSpanExporter(objectMapper, 0, file.toString());
+        Tracer tracer = tracer(exporter);
+
+        // Act
+        tracer.spanBuilder("search_history.write_batch").startSpan().end();
+        tracer.spanBuilder("scrape").startSpan().end();
+
+        // Assert
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines.get(1)).at("/resourceSpans/0/scopeSpans/0/spans/0/name").asText())
+                .isEqualTo("scrape");
+        assertThat(exporter.snapshot().get("resourceSpans")).isEmpty();
+    }
+
+    private Tracer tracer(LocalSpanExporter exporter) {
+        return SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build()
+                .get("test");
+    }
+}
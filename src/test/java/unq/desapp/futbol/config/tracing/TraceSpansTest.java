@@ -0,0 +1,66 @@
+package unq.desapp.futbol.config.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import unq.desapp.futbol.config.metrics.ScrapeStage;
+import unq.desapp.futbol.config.metrics.ScrapeStages;
+
+@Tag("unit")
+class TraceSpansTest {
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    private final TraceSpans spans = TraceSpans.of(new OtelTracer(
+            SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter)).build().get("test"),
+            new OtelCurrentTraceContext(), event -> {
+            }));
+    private final ScrapeStages stages = new ScrapeStages(new SimpleMeterRegistry(), spans);
+
+    @Test
+    void trace_ShouldNestScrapeStagesRunOnAWorkerThread() {
+        // Arrange
+        Mono<String> scrape = stages.fromCallable("team_snapshot",
+                () -> stages.time(ScrapeStage.FETCH, "search", () -> "page"))
+                .subscribeOn(Schedulers.boundedElastic());
+
+        // Act
+        StepVerifier.create(spans.trace("team.stats", scrape, "team", "Arsenal"))
+                .expectNext("page")
+                .verifyComplete();
+
+        // Assert
+        Map<String, SpanData> byName = exporter.getFinishedSpanItems().stream()
+                .collect(Collectors.toMap(SpanData::getName, Function.identity()));
+        assertThat(byName).containsOnlyKeys("team.stats", "scrape", "scrape.fetch");
+        assertThat(byName.get("scrape").getParentSpanId()).isEqualTo(byName.get("team.stats").getSpanId());
+        assertThat(byName.get("scrape.fetch").getParentSpanId()).isEqualTo(byName.get("scrape").getSpanId());
+        assertThat(byName.get("team.stats").getAttributes().asMap().values()).contains("Arsenal");
+    }
+
+    @Test
+    void trace_ShouldRecordErrorsOnTheSpan() {
+        // Act
+        StepVerifier.create(spans.trace("team.compare", Mono.error(new IllegalStateException("boom"))))
+                .verifyError(IllegalStateException.class);
+
+        // Assert
+        List<SpanData> finished = exporter.getFinishedSpanItems();
+        assertThat(finished).hasSize(1);
+        assertThat(finished.get(0).getEvents()).anyMatch(event -> event.getName().equals("exception"));
+    }
+}
@@ -4,7 +4,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,20 +17,21 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import unq.desapp.futbol.exceptions.EmailAlreadyTakenException;
 import unq.desapp.futbol.model.AuthRequest;
 import unq.desapp.futbol.model.AuthResponse;
 import unq.desapp.futbol.model.RegisterRequest;
 import unq.desapp.futbol.model.Role;
 import unq.desapp.futbol.model.User;
 import unq.desapp.futbol.security.JwtTokenProvider;
-import unq.desapp.futbol.service.UserService;
+import unq.desapp.futbol.service.ReactiveUserService;
 
 @ExtendWith(MockitoExtension.class)
 @Tag("unit")
 class AuthControllerTest {
 
     @Mock
-    private UserService footballService;
+    private ReactiveUserService reactiveUserService;
 
     @Mock
     private JwtTokenProvider jwtTokenProvider;
@@ -53,7 +53,7 @@ class AuthControllerTest {
         String expectedToken = "header.payload.signature";
         long expectedExpiresIn = 3600L;
 
-        when(footballService.loginUser(request.getEmail(), request.getPassword())).thenReturn(Optional.of(testUser));
+        when(reactiveUserService.loginUser(request.getEmail(), request.getPassword())).thenReturn(Mono.just(testUser));
         when(jwtTokenProvider.generateToken(testUser)).thenReturn(expectedToken);
         when(jwtTokenProvider.getExpirationTime()).thenReturn(expectedExpiresIn);
 
@@ -77,7 +77,7 @@ class AuthControllerTest {
     void login_failure_propagatesException() {
         // Arrange
         AuthRequest request = new AuthRequest(testUser.getEmail(), "wrong-password");
-        when(footballService.loginUser(request.getEmail(), request.getPassword())).thenReturn(Optional.empty());
+        when(reactiveUserService.loginUser(request.getEmail(), request.getPassword())).thenReturn(Mono.empty());
 
         // Act & Assert
         StepVerifier.create(controller.login(request))
@@ -98,7 +98,7 @@ class AuthControllerTest {
         long expectedExpiresIn = 3600L;
 
         // We expect the service to be called with a User object that has the USER role
-        when(footballService.addUser(any(User.class))).thenReturn(testUser);
+        when(reactiveUserService.registerUser(any(User.class))).thenReturn(Mono.just(testUser));
         when(jwtTokenProvider.generateToken(testUser)).thenReturn(expectedToken);
         when(jwtTokenProvider.getExpirationTime()).thenReturn(expectedExpiresIn);
 
@@ -114,7 +114,7 @@ class AuthControllerTest {
                     assertThat(body.getToken()).isEqualTo(expectedToken);
                 })
                 .verifyComplete();
-        verify(footballService).addUser(any(User.class));
+        verify(reactiveUserService).registerUser(any(User.class));
     }
 
     @Test
@@ -122,8 +122,8 @@ class AuthControllerTest {
         // Arrange
         RegisterRequest request = new RegisterRequest(testUser.getEmail(), testUser.getPassword(),
                 testUser.getFirstName(), testUser.getLastName());
-        when(footballService.addUser(any(User.class)))
-                .thenThrow(new IllegalArgumentException("Email is already taken"));
+        when(reactiveUserService.registerUser(any(User.class)))
+                .thenReturn(Mono.error(new EmailAlreadyTakenException(testUser.getEmail())));
 
         // Act & Assert
         StepVerifier.create(controller.register(request))
@@ -0,0 +1,70 @@
+package unq.desapp.futbol.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import unq.desapp.futbol.model.AuthRequest;
+import unq.desapp.futbol.model.AuthResponse;
+import unq.desapp.futbol.model.RegisterRequest;
+
+// Requests go through Netty, so with -Pblockhound any blocking call the
+// security chain, the controllers or the services make on an event loop
+// fails the request and with it the test
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Tag("e2e")
+@DisplayName("Authenticated flow over HTTP")
+class AuthenticatedFlowTest {
+
+    private static final String EMAIL = "flow@user.com";
+    private static final String PASSWORD = "password";
+
+    @TempDir
+    static Path data;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:authenticated-flow;DB_CLOSE_DELAY=-1");
+        registry.add("app.cache.snapshot.path", () -> data.resolve("result-cache.snapshot").toString());
+        registry.add("app.eventlog.path", () -> data.resolve("events").toString());
+        registry.add("app.warehouse.path", () -> data.resolve("warehouse").toString());
+    }
+
+    @Test
+    void shouldRegisterLogInAndReadTheHistory() {
+        // Arrange
+        webTestClient.post().uri("/auth/register")
+                .bodyValue(new RegisterRequest(EMAIL, PASSWORD, "Flow", "User"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        // Act
+        AuthResponse login = webTestClient.post().uri("/auth/login")
+                .bodyValue(new AuthRequest(EMAIL, PASSWORD))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AuthResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        assertThat(login).isNotNull();
+        webTestClient.get().uri("/user/history")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + login.getToken())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("[]");
+    }
+}
@@ -0,0 +1,228 @@
+package unq.desapp.futbol.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufMono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.LoopResources;
+import unq.desapp.futbol.config.ReactiveDatabaseConfig;
+import unq.desapp.futbol.model.RegisterRequest;
+import unq.desapp.futbol.repository.ReactiveUserRepository;
+import unq.desapp.futbol.repository.UserEmailRepository;
+import unq.desapp.futbol.security.JwtTokenProvider;
+import unq.desapp.futbol.service.impl.PasswordHashingServiceImpl;
+import unq.desapp.futbol.service.impl.ReactiveUserServiceImpl;
+
+/**
+ * Serves the registration endpoint from a server with a single event loop,
+ * so any blocking step of the pipeline would delay every other request
+ * handled by that loop. A trivial endpoint on the same loop is probed before
+ * and during a burst of registrations, and its latency is reported against
+ * that baseline; the bound is loose, as a password hashed on the loop costs
+ * whole seconds over the burst, far more than scheduling noise.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Tag("e2e")
+@DisplayName("Registration under load")
+class RegistrationLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationLoadTest.class);
+    private static final int BURST_SIZE = 40;
+    private static final int BASELINE_PROBES = 50;
+    private static final Duration ALLOWED_SLOWDOWN = Duration.ofMillis(500);
+    private static final String LOOP_PREFIX = "registration-load";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ReactiveDatabaseConfig databaseConfig = new ReactiveDatabaseConfig();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Set<String> hashingThreads = ConcurrentHashMap.newKeySet();
+    private PasswordHashingServiceImpl passwordHashingService;
+    private LoopResources loopResources;
+    private DisposableServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        String url;
+        try (Connection connection = dataSource.getConnection()) {
+            url = connection.getMetaData().getURL();
+        }
+        DatabaseClient databaseClient = databaseConfig.reactiveDatabaseClient(url, "sa", "", 4,
+                Duration.ofMinutes(1));
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(10) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashingThreads.add(Thread.currentThread().getName());
+                return super.encode(rawPassword);
+            }
+        };
+        passwordHashingService = new PasswordHashingServiceImpl(encoder, new SimpleMeterRegistry(), 10, 2, 256);
+        ReactiveUserServiceImpl userService = new ReactiveUserServiceImpl(new ReactiveUserRepository(databaseClient),
+                new UserEmailRepository(jdbcTemplate), passwordHashingService, event -> {
+                });
+        byte[] secret = new byte[32];
+        for (int i = 0; i < secret.length; i++) {
+            secret[i] = (byte) (i + 1);
+        }
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(Base64.getEncoder().encodeToString(secret),
+                3_600_000L, Duration.ofMinutes(5), 10_000);
+        AuthController authController = new AuthController(userService, tokenProvider);
+
+        loopResources = LoopResources.create(LOOP_PREFIX, 1, true);
+        server = HttpServer.create()
+                .port(0)
+                .runOn(loopResources)
+                .route(routes -> routes
+                        .get("/probe", (request, response) -> response.sendString(Mono.just("ok")))
+                        .post("/auth/register", (request, response) -> register(authController, request, response)))
+                .bindNow();
+        client = HttpClient.create().baseUrl("http://localhost:" + server.port());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.disposeNow();
+        loopResources.disposeLater().block(Duration.ofSeconds(5));
+        passwordHashingService.destroy();
+        databaseConfig.destroy();
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    @DisplayName("should keep other endpoints responsive during a registration burst")
+    void shouldKeepEventLoopResponsiveDuringRegistrationBurst() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            probe();
+        }
+        List<Long> baseline = new ArrayList<>();
+        for (int i = 0; i < BASELINE_PROBES; i++) {
+            baseline.add(probe());
+        }
+
+        // Act
+        AtomicBoolean burstDone = new AtomicBoolean();
+        Mono<List<Integer>> burst = Flux.range(0, BURST_SIZE)
+                .flatMap(i -> register("burst" + i + "@example.com"), BURST_SIZE)
+                .collectList()
+                .doFinally(signal -> burstDone.set(true))
+                .cache();
+        burst.subscribe();
+
+        List<Long> duringBurst = new ArrayList<>();
+        while (!burstDone.get() || duringBurst.size() < BASELINE_PROBES) {
+            duringBurst.add(probe());
+        }
+        List<Integer> statuses = burst.block(Duration.ofSeconds(60));
+
+        // Assert
+        long baselineP95 = percentile95(baseline);
+        long burstP95 = percentile95(duringBurst);
+        logger.info("Probe p95 latency: {} µs at rest, {} µs during a burst of {} registrations ({} probes)",
+                baselineP95 / 1_000, burstP95 / 1_000, BURST_SIZE, duringBurst.size());
+
+        assertThat(statuses).hasSize(BURST_SIZE).containsOnly(201);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class))
+                .isEqualTo(BURST_SIZE);
+        assertThat(hashingThreads).isNotEmpty().noneMatch(thread -> thread.startsWith(LOOP_PREFIX));
+        assertThat(burstP95)
+                .as("p95 probe latency in nanos during the burst, baseline p95 was %d", baselineP95)
+                .isLessThanOrEqualTo(baselineP95 + ALLOWED_SLOWDOWN.toNanos());
+    }
+
+    @Test
+    @DisplayName("should register a concurrently requested email exactly once")
+    void shouldRegisterConcurrentDuplicateOnce() {
+        // Act
+        List<Integer> statuses = Flux.range(0, 8)
+                .flatMap(i -> register(i % 2 == 0 ? "Same@example.com" : "same@example.com"), 8)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        // Assert
+        assertThat(statuses).filteredOn(status -> status == 201).hasSize(1);
+        assertThat(statuses).filteredOn(status -> status == 400).hasSize(7);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE LOWER(email) = ?",
+                Long.class, "same@example.com")).isEqualTo(1L);
+    }
+
+    private Mono<Void> register(AuthController authController, HttpServerRequest request,
+            HttpServerResponse response) {
+        return request.receive().aggregate().asString()
+                .map(body -> {
+                    try {
+                        return objectMapper.readValue(body, RegisterRequest.class);
+                    } catch (Exception e) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+                    }
+                })
+                .flatMap(authController::register)
+                .map(entity -> entity.getStatusCode().value())
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(e.getStatusCode().value()))
+                .flatMap(status -> response.status(status).send().then());
+    }
+
+    private Mono<Integer> register(String email) {
+        String body = """
+                {"email":"%s","password":"secret123","firstName":"Load","lastName":"Test"}
+                """.formatted(email);
+        return client.headers(headers -> headers.set("Content-Type", "application/json"))
+                .post()
+                .uri("/auth/register")
+                .send(ByteBufMono.fromString(Mono.just(body)))
+                .responseSingle((response, content) -> content.then(Mono.just(response.status().code())));
+    }
+
+    private long probe() {
+        long start = System.nanoTime();
+        client.get().uri("/probe").responseContent().aggregate().asString().block(Duration.ofSeconds(10));
+        return System.nanoTime() - start;
+    }
+
+    private static long percentile95(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.95) - 1);
+    }
+}
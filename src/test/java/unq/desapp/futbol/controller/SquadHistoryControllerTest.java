@@ -0,0 +1,78 @@
+package unq.desapp.futbol.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import unq.desapp.futbol.model.PlayerTimeline;
+import unq.desapp.futbol.model.PlayerTimelinePoint;
+import unq.desapp.futbol.service.SquadHistoryService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SquadHistoryController Tests")
+@Tag("unit")
+class SquadHistoryControllerTest {
+
+    private static final PlayerTimeline TIMELINE = new PlayerTimeline("Franco Armani",
+            List.of(new PlayerTimelinePoint(LocalDate.of(2025, 3, 3), 7.5, 10, 0, 0, 0, 2)));
+
+    @Mock
+    private SquadHistoryService squadHistoryService;
+
+    @InjectMocks
+    private SquadHistoryController squadHistoryController;
+
+    @Test
+    @DisplayName("should return OK with the stored timelines of the team")
+    void getSquadHistory_returnsTimelines() {
+        // Arrange
+        when(squadHistoryService.findTimelines("river plate", "Argentina")).thenReturn(Mono.just(List.of(TIMELINE)));
+
+        // Act & Assert
+        StepVerifier.create(squadHistoryController.getSquadHistory("Argentina", "river-plate"))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.getBody()).containsExactly(TIMELINE);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should return NOT_FOUND when the team has no stored squads")
+    void getSquadHistory_withoutSnapshots_returnsNotFound() {
+        // Arrange
+        when(squadHistoryService.findTimelines("river plate", "Argentina")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(squadHistoryController.getSquadHistory("Argentina", "river-plate"))
+                .assertNext(response -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should return OK with the timeline of one player")
+    void getPlayerHistory_returnsTimeline() {
+        // Arrange
+        when(squadHistoryService.findPlayerTimeline("river plate", "Argentina", "franco-armani"))
+                .thenReturn(Mono.just(TIMELINE));
+
+        // Act & Assert
+        StepVerifier.create(squadHistoryController.getPlayerHistory("Argentina", "river-plate", "franco-armani"))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.getBody()).isEqualTo(TIMELINE);
+                })
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,61 @@
+package unq.desapp.futbol.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import unq.desapp.futbol.exceptions.InvalidTrendingWindowException;
+import unq.desapp.futbol.model.SearchType;
+import unq.desapp.futbol.model.TrendingQuery;
+import unq.desapp.futbol.model.TrendingWindow;
+import unq.desapp.futbol.service.TrendingService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TrendingController Tests")
+@Tag("unit")
+class TrendingControllerTest {
+
+    @Mock
+    private TrendingService trendingService;
+
+    @InjectMocks
+    private TrendingController trendingController;
+
+    @Test
+    @DisplayName("should return OK with the trending queries of the requested window")
+    void getTrending_returnsQueries() {
+        // Arrange
+        List<TrendingQuery> trending = List.of(new TrendingQuery(SearchType.PLAYER, "lionel messi", 12, 0));
+        when(trendingService.findTrending(TrendingWindow.LAST_HOUR, SearchType.PLAYER, 5))
+                .thenReturn(Mono.just(trending));
+
+        // Act & Assert
+        StepVerifier.create(trendingController.getTrending("1h", SearchType.PLAYER, 5))
+                .assertNext(response -> {
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                    assertThat(response.getBody()).isEqualTo(trending);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should reject an unknown window")
+    void getTrending_withUnknownWindow_returnsError() {
+        // Act & Assert
+        StepVerifier.create(trendingController.getTrending("2h", null, 5))
+                .expectError(InvalidTrendingWindowException.class)
+                .verify();
+        verifyNoInteractions(trendingService);
+    }
+}
@@ -1,6 +1,9 @@
 package unq.desapp.futbol.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,21 +12,32 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.Tag;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import unq.desapp.futbol.constants.ApiHeaders;
+import unq.desapp.futbol.exceptions.InvalidCursorException;
+import unq.desapp.futbol.model.HistorySort;
 import unq.desapp.futbol.model.Role;
 import unq.desapp.futbol.model.SearchHistoryEntry;
+import unq.desapp.futbol.model.SearchHistoryOverview;
+import unq.desapp.futbol.model.SearchHistoryPage;
+import unq.desapp.futbol.model.SearchHistoryRollup;
 import unq.desapp.futbol.model.SearchType;
 import unq.desapp.futbol.model.User;
+import unq.desapp.futbol.service.SearchHistoryService;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("UserController Integration Tests")
 @Tag("unit")
 class UserControllerTest {
 
+    @Mock
+    private SearchHistoryService searchHistoryService;
+
     @InjectMocks
     private UserController userController;
 
@@ -39,34 +53,40 @@ class UserControllerTest {
     class GetSearchHistory {
 
         @Test
-        @DisplayName("should return OK with full history when no type is provided")
-        void getHistory_noType_returnsFullHistory() {
+        @DisplayName("should return OK with the page entries and no cursor on the last page")
+        void getHistory_lastPage_returnsEntriesWithoutCursor() {
             // Arrange
-            testUser.addSearchHistory(SearchType.PLAYER, "lionel messi");
-            testUser.addSearchHistory(SearchType.TEAM, "boca juniors");
+            List<SearchHistoryEntry> entries = List.of(
+                    new SearchHistoryEntry(SearchType.TEAM, "boca juniors"),
+                    new SearchHistoryEntry(SearchType.PLAYER, "lionel messi"));
+            when(searchHistoryService.findHistory(testUser, null, HistorySort.RECENT, 20, null))
+                    .thenReturn(Mono.just(new SearchHistoryPage(entries, null)));
 
             // Act
-            Mono<ResponseEntity<List<SearchHistoryEntry>>> result = userController.getSearchHistory(testUser, null);
+            Mono<ResponseEntity<List<SearchHistoryEntry>>> result = userController.getSearchHistory(testUser, null,
+                    HistorySort.RECENT, 20, null);
 
             // Assert
             StepVerifier.create(result)
                     .assertNext(response -> {
                         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
                         assertThat(response.getBody()).isNotNull().hasSize(2);
+                        assertThat(response.getHeaders().containsKey(ApiHeaders.NEXT_CURSOR)).isFalse();
                     })
                     .verifyComplete();
         }
 
         @Test
-        @DisplayName("should return OK with only PLAYER history when filtered by PLAYER")
-        void getHistory_filteredByPlayer_returnsOnlyPlayerEntries() {
+        @DisplayName("should return the next cursor header when more entries exist")
+        void getHistory_withMoreEntries_returnsNextCursor() {
             // Arrange
-            testUser.addSearchHistory(SearchType.PLAYER, "lionel messi");
-            testUser.addSearchHistory(SearchType.TEAM, "boca juniors");
+            List<SearchHistoryEntry> entries = List.of(new SearchHistoryEntry(SearchType.PLAYER, "lionel messi"));
+            when(searchHistoryService.findHistory(testUser, SearchType.PLAYER, HistorySort.RECENT, 1, "previous"))
+                    .thenReturn(Mono.just(new SearchHistoryPage(entries, "next")));
 
             // Act
             Mono<ResponseEntity<List<SearchHistoryEntry>>> result = userController.getSearchHistory(testUser,
-                    SearchType.PLAYER);
+                    SearchType.PLAYER, HistorySort.RECENT, 1, "previous");
 
             // Assert
             StepVerifier.create(result)
@@ -76,43 +96,74 @@ class UserControllerTest {
                                 .first()
                                 .extracting(SearchHistoryEntry::getType, SearchHistoryEntry::getQuery)
                                 .containsExactly(SearchType.PLAYER, "lionel messi");
+                        assertThat(response.getHeaders().getFirst(ApiHeaders.NEXT_CURSOR)).isEqualTo("next");
                     })
                     .verifyComplete();
         }
 
         @Test
-        @DisplayName("should return OK with only TEAM history when filtered by TEAM")
-        void getHistory_filteredByTeam_returnsOnlyTeamEntries() {
+        @DisplayName("should return OK with an empty list for a user with no history")
+        void getHistory_withNoHistory_returnsEmptyList() {
             // Arrange
-            testUser.addSearchHistory(SearchType.PLAYER, "lionel messi");
-            testUser.addSearchHistory(SearchType.TEAM, "boca juniors");
+            when(searchHistoryService.findHistory(testUser, null, HistorySort.RECENT, 20, null))
+                    .thenReturn(Mono.just(new SearchHistoryPage(List.of(), null)));
 
             // Act
-            Mono<ResponseEntity<List<SearchHistoryEntry>>> result = userController.getSearchHistory(testUser,
-                    SearchType.TEAM);
+            Mono<ResponseEntity<List<SearchHistoryEntry>>> result = userController.getSearchHistory(testUser, null,
+                    HistorySort.RECENT, 20, null);
 
             // Assert
             StepVerifier.create(result)
                     .assertNext(response -> {
                         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-                        assertThat(response.getBody()).isNotNull().hasSize(1)
-                                .first()
-                                .extracting(SearchHistoryEntry::getType).isEqualTo(SearchType.TEAM);
+                        assertThat(response.getBody()).isNotNull().isEmpty();
                     })
                     .verifyComplete();
         }
 
         @Test
-        @DisplayName("should return OK with an empty list for a user with no history")
-        void getHistory_withNoHistory_returnsEmptyList() {
+        @DisplayName("should propagate a malformed cursor error")
+        void getHistory_withMalformedCursor_returnsError() {
+            // Arrange
+            when(searchHistoryService.findHistory(testUser, null, HistorySort.RECENT, 20, "garbage"))
+                    .thenReturn(Mono.error(new InvalidCursorException("Malformed history cursor: garbage")));
+
             // Act
-            Mono<ResponseEntity<List<SearchHistoryEntry>>> result = userController.getSearchHistory(testUser, null);
+            Mono<ResponseEntity<List<SearchHistoryEntry>>> result = userController.getSearchHistory(testUser, null,
+                    HistorySort.RECENT, 20, "garbage");
+
+            // Assert
+            StepVerifier.create(result)
+                    .expectError(InvalidCursorException.class)
+                    .verify();
+        }
+    }
+
+    @Nested
+    @DisplayName("getSearchHistoryOverview")
+    class GetSearchHistoryOverview {
+
+        @Test
+        @DisplayName("should return OK with recent entries and aggregates")
+        void getOverview_returnsRecentEntriesAndAggregates() {
+            // Arrange
+            List<SearchHistoryEntry> recent = List.of(new SearchHistoryEntry(SearchType.TEAM, "boca juniors"));
+            List<SearchHistoryRollup> aggregates = List.of(new SearchHistoryRollup(testUser, SearchType.TEAM,
+                    "river plate", 12, LocalDateTime.now().minusDays(10), LocalDateTime.now().minusDays(2)));
+            when(searchHistoryService.findOverview(testUser, SearchType.TEAM, 20))
+                    .thenReturn(Mono.just(new SearchHistoryOverview(recent, null, aggregates)));
+
+            // Act
+            Mono<ResponseEntity<SearchHistoryOverview>> result = userController.getSearchHistoryOverview(testUser,
+                    SearchType.TEAM, 20);
 
             // Assert
             StepVerifier.create(result)
                     .assertNext(response -> {
                         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-                        assertThat(response.getBody()).isNotNull().isEmpty();
+                        assertThat(response.getBody().recent()).hasSize(1);
+                        assertThat(response.getBody().aggregates()).extracting(SearchHistoryRollup::getHitCount)
+                                .containsExactly(12L);
                     })
                     .verifyComplete();
         }
@@ -0,0 +1,78 @@
+package unq.desapp.futbol.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+class TeamStatsRecordTest {
+
+    private static final int TEAM_ID = 69;
+
+    @Test
+    void shouldComputeAveragesAndBestPlayerFromSquad() {
+        TeamStatsRecord record = new TeamStatsRecord(TEAM_ID, "River Plate", "Argentina");
+
+        record.applySquad(List.of(
+                new Player("Franco Armani", 37, "Argentina", "Goalkeeper", 7.5, 30, 0, 0, 0, 2),
+                new Player("Paulo Díaz", 29, "Chile", "Defender", 7.8, 28, 2, 1, 1, 5),
+                new Player("Unknown", null, "-", "-", null, 0, 0, 0, 0, 0)));
+
+        TeamStats stats = record.toTeamStats("River Plate", "Argentina");
+        assertThat(stats.getAverageAge()).isEqualTo(33.0);
+        assertThat(stats.getAverageRating()).isEqualTo(7.7);
+        assertThat(stats.getBestPlayer()).isEqualTo("Paulo Díaz");
+        assertThat(record.getAgeSum()).isEqualTo(66);
+        assertThat(record.getRatingCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldApplyOnlyNewlyCompletedMatches() {
+        TeamStatsRecord record = new TeamStatsRecord(TEAM_ID, "River Plate", "Argentina");
+        CompletedMatch win = new CompletedMatch(1L, TEAM_ID, "River Plate", 2, 0);
+        CompletedMatch draw = new CompletedMatch(2L, 10L, "Boca Juniors", 1, 1);
+        CompletedMatch defeat = new CompletedMatch(3L, 10L, "Boca Juniors", 3, 1);
+
+        int firstApplied = record.applyCompletedMatches(List.of(win, draw), "River Plate");
+        int secondApplied = record.applyCompletedMatches(List.of(win, draw, defeat), "River Plate");
+
+        assertThat(firstApplied).isEqualTo(2);
+        assertThat(secondApplied).isEqualTo(1);
+        assertThat(record.getWins()).isEqualTo(1);
+        assertThat(record.getDraws()).isEqualTo(1);
+        assertThat(record.getDefeats()).isEqualTo(1);
+        assertThat(record.toTeamStats("River Plate", "Argentina").getWinRate()).isEqualTo(33.3);
+    }
+
+    @Test
+    void shouldRebuildResultsWhenAppliedMatchesLeaveTheSnapshot() {
+        TeamStatsRecord record = new TeamStatsRecord(TEAM_ID, "River Plate", "Argentina");
+        record.applyCompletedMatches(List.of(
+                new CompletedMatch(1L, TEAM_ID, "River Plate", 2, 0),
+                new CompletedMatch(2L, TEAM_ID, "River Plate", 1, 0)), "River Plate");
+
+        int applied = record.applyCompletedMatches(
+                List.of(new CompletedMatch(10L, TEAM_ID, "River Plate", 0, 1)), "River Plate");
+
+        assertThat(applied).isEqualTo(1);
+        assertThat(record.getWins()).isZero();
+        assertThat(record.getDefeats()).isEqualTo(1);
+        assertThat(record.getAppliedMatchIds()).containsExactly(10L);
+    }
+
+    @Test
+    void shouldBeFreshOnlyWithinRefreshInterval() {
+        TeamStatsRecord record = new TeamStatsRecord(TEAM_ID, "River Plate", "Argentina");
+        Instant now = Instant.now();
+
+        assertThat(record.isFresh(now, Duration.ofMinutes(30))).isFalse();
+
+        record.markRefreshed(now.minus(Duration.ofMinutes(10)));
+        assertThat(record.isFresh(now, Duration.ofMinutes(30))).isTrue();
+        assertThat(record.isFresh(now, Duration.ofMinutes(5))).isFalse();
+    }
+}
@@ -112,4 +112,20 @@ class UserTest {
             assertTrue(s.contains("USER"));
         }
     }
+
+    @Nested
+    class SearchHistoryTest {
+        @Test
+        void addSearchHistory_counts_repeated_queries_in_one_entry() {
+            User user = new User("fan@example.com", "p", "F", "L", Role.USER);
+
+            user.addSearchHistory(SearchType.TEAM, "river plate");
+            user.addSearchHistory(SearchType.TEAM, "river plate");
+            user.addSearchHistory(SearchType.PLAYER, "river plate");
+
+            assertEquals(2, user.getSearchHistory().size());
+            assertEquals(2, user.getSearchHistory().get(0).getHitCount());
+            assertEquals(1, user.getSearchHistory().get(1).getHitCount());
+        }
+    }
 }
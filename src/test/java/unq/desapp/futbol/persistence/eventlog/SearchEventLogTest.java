@@ -0,0 +1,161 @@
+package unq.desapp.futbol.persistence.eventlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import unq.desapp.futbol.model.SearchType;
+
+@Tag("unit")
+class SearchEventLogTest {
+
+    // Four records per segment, so a handful of appends already rotates
+    private static final DataSize SEGMENT_SIZE = DataSize.ofBytes(4L * LogSegment.RECORD_BYTES);
+
+    @TempDir
+    Path directory;
+
+    private SearchEventLog eventLog;
+
+    @AfterEach
+    void tearDown() {
+        if (eventLog != null) {
+            eventLog.close();
+        }
+    }
+
+    @Test
+    void shouldReadBackEveryEventAcrossRotatedSegments() throws IOException {
+        // Arrange
+        eventLog = openLog(10);
+        for (int i = 0; i < 10; i++) {
+            eventLog.append(1_000 + i, i % 3, i % 2 == 0 ? SearchType.TEAM : SearchType.PLAYER, "query-" + (i % 4));
+        }
+
+        // Act
+        List<String> events = new ArrayList<>();
+        long read;
+        try (SearchEventLogReader reader = SearchEventLogReader.open(directory)) {
+            read = reader.read(0, (sequence, timestamp, userId, type, queryId) -> events.add(
+                    sequence + ":" + timestamp + ":" + userId + ":" + type + ":" + reader.queryOf(queryId)));
+        }
+
+        // Assert
+        assertThat(read).isEqualTo(10);
+        assertThat(SearchEventLog.segmentFiles(directory)).hasSize(3);
+        assertThat(events).startsWith("0:1000:0:TEAM:query-0", "1:1001:1:PLAYER:query-1")
+                .endsWith("9:1009:0:PLAYER:query-1");
+    }
+
+    @Test
+    void shouldTailNewEventsAsTheyAreAppended() throws IOException {
+        // Arrange
+        eventLog = openLog(10);
+        eventLog.append(1_000, 1, SearchType.TEAM, "river plate");
+        SearchEventTailer tailer = eventLog.tailerFromEnd();
+        List<String> queries = new ArrayList<>();
+        SearchEventConsumer consumer = (sequence, timestamp, userId, type, queryId) ->
+                queries.add(eventLog.queryOf(queryId));
+
+        // Act & Assert
+        assertThat(tailer.poll(consumer, 100)).isZero();
+        for (int i = 0; i < 6; i++) {
+            eventLog.append(2_000 + i, 1, SearchType.PLAYER, "player-" + i);
+        }
+        assertThat(tailer.poll(consumer, 4)).isEqualTo(4);
+        assertThat(tailer.poll(consumer, 100)).isEqualTo(2);
+        assertThat(queries).containsExactly("player-0", "player-1", "player-2", "player-3", "player-4",
+                "player-5");
+        assertThat(tailer.position()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldResumeAfterReopeningAndKeepTheDictionary() throws IOException {
+        // Arrange
+        eventLog = openLog(10);
+        eventLog.append(1_000, 1, SearchType.TEAM, "river plate");
+        eventLog.append(1_001, 1, SearchType.TEAM, "boca juniors");
+        eventLog.close();
+
+        // Act
+        eventLog = openLog(10);
+        eventLog.append(1_002, 2, SearchType.TEAM, "river plate");
+
+        // Assert
+        assertThat(eventLog.nextSequence()).isEqualTo(3);
+        List<String> queries = new ArrayList<>();
+        eventLog.tailer(0).poll((sequence, timestamp, userId, type, queryId) ->
+                queries.add(userId + ":" + eventLog.queryOf(queryId)), 100);
+        assertThat(queries).containsExactly("1:river plate", "1:boca juniors", "2:river plate");
+    }
+
+    @Test
+    void shouldDropTheOldestSegmentsBeyondRetention() throws IOException {
+        // Arrange
+        eventLog = openLog(2);
+
+        // Act
+        for (int i = 0; i < 13; i++) {
+            eventLog.append(1_000 + i, 1, SearchType.TEAM, "query");
+        }
+
+        // Assert
+        assertThat(SearchEventLog.segmentFiles(directory)).hasSize(2);
+        assertThat(eventLog.firstSequence()).isEqualTo(8);
+        List<Long> sequences = new ArrayList<>();
+        eventLog.tailer(0).poll((sequence, timestamp, userId, type, queryId) -> sequences.add(sequence), 100);
+        assertThat(sequences).containsExactly(8L, 9L, 10L, 11L, 12L);
+    }
+
+    @Test
+    void shouldKeepSegmentsALaggingTailerHasNotReadYet() throws IOException {
+        // Arrange
+        eventLog = openLog(2);
+        SearchEventTailer tailer = eventLog.tailer(0);
+
+        // Act
+        for (int i = 0; i < 13; i++) {
+            eventLog.append(1_000 + i, 1, SearchType.TEAM, "query");
+        }
+
+        // Assert
+        assertThat(SearchEventLog.segmentFiles(directory)).hasSize(4);
+        List<Long> sequences = new ArrayList<>();
+        tailer.poll((sequence, timestamp, userId, type, queryId) -> sequences.add(sequence), 100);
+        assertThat(sequences).hasSize(13).startsWith(0L, 1L);
+    }
+
+    @Test
+    void shouldDropSegmentsOnceTheTailerHasMovedPastThem() throws IOException {
+        // Arrange
+        eventLog = openLog(2);
+        SearchEventTailer tailer = eventLog.tailer(0);
+        for (int i = 0; i < 9; i++) {
+            eventLog.append(1_000 + i, 1, SearchType.TEAM, "query");
+        }
+        tailer.poll((sequence, timestamp, userId, type, queryId) -> { }, 100);
+        tailer.close();
+
+        // Act - rotating into the fourth segment retries the drop
+        for (int i = 9; i < 13; i++) {
+            eventLog.append(1_000 + i, 1, SearchType.TEAM, "query");
+        }
+
+        // Assert
+        assertThat(SearchEventLog.segmentFiles(directory)).hasSize(2);
+        assertThat(eventLog.firstSequence()).isEqualTo(8);
+    }
+
+    private SearchEventLog openLog(int maxSegments) throws IOException {
+        SearchEventLog log = new SearchEventLog(true, directory.toString(), SEGMENT_SIZE, maxSegments);
+        log.open();
+        return log;
+    }
+}
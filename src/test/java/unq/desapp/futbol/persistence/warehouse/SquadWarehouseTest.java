@@ -0,0 +1,136 @@
+package unq.desapp.futbol.persistence.warehouse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import unq.desapp.futbol.model.Player;
+import unq.desapp.futbol.model.PlayerTimeline;
+import unq.desapp.futbol.model.PlayerTimelinePoint;
+
+@Tag("unit")
+class SquadWarehouseTest {
+
+    private static final int RIVER_PLATE = 1_863;
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReturnOnePointPerDayForEveryPlayer() {
+        // Arrange
+        SquadWarehouse warehouse = new SquadWarehouse(true, directory.toString());
+        warehouse.record(RIVER_PLATE, MONDAY, List.of(player("Franco Armani", 7.51, 10, 0),
+                player("Enzo Pérez", 7.2, 9, 1)));
+        warehouse.record(RIVER_PLATE, TUESDAY, List.of(player("Franco Armani", 7.6, 11, 0),
+                player("Miguel Borja", 6.9, 1, 1)));
+
+        // Act
+        List<PlayerTimeline> timelines = warehouse.timelines(RIVER_PLATE);
+
+        // Assert
+        assertThat(timelines).extracting(PlayerTimeline::player)
+                .containsExactly("Franco Armani", "Enzo Pérez", "Miguel Borja");
+        assertThat(timelines.get(0).points()).containsExactly(
+                new PlayerTimelinePoint(MONDAY, 7.51, 10, 0, 0, 0, 2),
+                new PlayerTimelinePoint(TUESDAY, 7.6, 11, 0, 0, 0, 2));
+        assertThat(timelines.get(1).points()).extracting(PlayerTimelinePoint::date).containsExactly(MONDAY);
+        assertThat(timelines.get(2).points()).extracting(PlayerTimelinePoint::date).containsExactly(TUESDAY);
+    }
+
+    @Test
+    void shouldKeepTheLatestSnapshotOfTheDayAndSkipIdenticalOnes() {
+        // Arrange
+        SquadWarehouse warehouse = new SquadWarehouse(true, directory.toString());
+        warehouse.record(RIVER_PLATE, MONDAY, List.of(player("Franco Armani", 7.5, 10, 0)));
+
+        // Act
+        boolean identical = warehouse.record(RIVER_PLATE, MONDAY,
+                List.of(player("Franco Armani", 7.5, 10, 0)));
+        boolean changed = warehouse.record(RIVER_PLATE, MONDAY,
+                List.of(player("Franco Armani", 7.7, 11, 0)));
+        boolean older = warehouse.record(RIVER_PLATE, MONDAY.minusDays(1),
+                List.of(player("Franco Armani", 7.0, 9, 0)));
+
+        // Assert
+        assertThat(identical).isFalse();
+        assertThat(changed).isTrue();
+        assertThat(older).isFalse();
+        assertThat(warehouse.timeline(RIVER_PLATE, "franco-armani"))
+                .hasValueSatisfying(timeline -> assertThat(timeline.points())
+                        .containsExactly(new PlayerTimelinePoint(MONDAY, 7.7, 11, 0, 0, 0, 2)));
+    }
+
+    @Test
+    void shouldReloadSnapshotsFromDiskAndDropATornFrame() throws IOException {
+        // Arrange
+        SquadWarehouse writer = new SquadWarehouse(true, directory.toString());
+        writer.record(RIVER_PLATE, MONDAY, List.of(player("Franco Armani", 7.5, 10, 0)));
+        writer.record(RIVER_PLATE, TUESDAY, List.of(player("Franco Armani", 7.6, 11, 0),
+                player("Enzo Pérez", 7.2, 9, 1)));
+        Path file = directory.resolve(SquadWarehouse.fileNameOf(RIVER_PLATE));
+        long size = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 0, 64, 1, 2 }));
+        }
+
+        // Act
+        SquadWarehouse reader = new SquadWarehouse(true, directory.toString());
+        List<PlayerTimeline> timelines = reader.timelines(RIVER_PLATE);
+
+        // Assert
+        assertThat(timelines).extracting(PlayerTimeline::player).containsExactly("Franco Armani", "Enzo Pérez");
+        assertThat(timelines.get(0).points()).hasSize(2);
+        assertThat(Files.size(file)).isEqualTo(size);
+    }
+
+    @Test
+    void shouldStoreNothingWhenDisabled() {
+        // Arrange
+        SquadWarehouse warehouse = new SquadWarehouse(false, directory.toString());
+
+        // Act
+        boolean stored = warehouse.record(RIVER_PLATE, MONDAY,
+                List.of(player("Franco Armani", 7.5, 10, 0)));
+
+        // Assert
+        assertThat(stored).isFalse();
+        assertThat(warehouse.timelines(RIVER_PLATE)).isEmpty();
+        assertThat(warehouse.timeline(RIVER_PLATE, "Franco Armani")).isEmpty();
+    }
+
+    @Test
+    void shouldNotCreateOrCacheAStoreWhenReadingAnUnknownTeam() throws IOException {
+        // Arrange
+        SquadWarehouse reader = new SquadWarehouse(true, directory.toString());
+
+        // Act
+        List<PlayerTimeline> before = reader.timelines(RIVER_PLATE);
+        new SquadWarehouse(true, directory.toString())
+                .record(RIVER_PLATE, MONDAY, List.of(player("Franco Armani", 7.5, 10, 0)));
+        List<PlayerTimeline> after = reader.timelines(RIVER_PLATE);
+
+        // Assert
+        assertThat(before).isEmpty();
+        assertThat(after).extracting(PlayerTimeline::player).containsExactly("Franco Armani");
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).containsExactly(directory.resolve(SquadWarehouse.fileNameOf(RIVER_PLATE)));
+        }
+    }
+
+    private static Player player(String name, double rating, int matches, int goals) {
+        return new Player(name, 30, "Argentina", "Forward", rating, matches, goals, 0, 0, 2);
+    }
+}
@@ -0,0 +1,154 @@
+package unq.desapp.futbol.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.test.StepVerifier;
+import unq.desapp.futbol.config.ReactiveDatabaseConfig;
+import unq.desapp.futbol.model.Role;
+import unq.desapp.futbol.model.SearchHistoryEvent;
+import unq.desapp.futbol.model.SearchType;
+import unq.desapp.futbol.model.User;
+
+// R2DBC uses its own connections, so the data must be committed to be visible
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Tag("e2e")
+@DisplayName("Reactive repositories Integration Tests")
+class ReactiveRepositoriesTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ReactiveDatabaseConfig databaseConfig = new ReactiveDatabaseConfig();
+    private ReactiveUserRepository reactiveUserRepository;
+    private ReactiveSearchHistoryRepository reactiveSearchHistoryRepository;
+    private User user;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        String url;
+        try (Connection connection = dataSource.getConnection()) {
+            url = connection.getMetaData().getURL();
+        }
+        DatabaseClient databaseClient = databaseConfig.reactiveDatabaseClient(url, "sa", "", 2,
+                Duration.ofMinutes(1));
+        reactiveUserRepository = new ReactiveUserRepository(databaseClient);
+        reactiveSearchHistoryRepository = new ReactiveSearchHistoryRepository(databaseClient);
+        user = userRepository.save(new User("reactive@example.com", "password123", "John", "Doe", Role.ADMIN));
+    }
+
+    @AfterEach
+    void tearDown() {
+        databaseConfig.destroy();
+        jdbcTemplate.update("DELETE FROM search_history");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    @DisplayName("should query the database off the subscribing thread")
+    void shouldQueryOnBoundedElasticThreads() {
+        StepVerifier.create(reactiveUserRepository.findByEmailIgnoreCase("reactive@example.com")
+                        .map(found -> Thread.currentThread().getName()))
+                .assertNext(thread -> assertThat(thread).startsWith("boundedElastic"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should find a user by email ignoring case")
+    void shouldFindUserByEmailIgnoringCase() {
+        StepVerifier.create(reactiveUserRepository.findByEmailIgnoreCase("REACTIVE@example.com"))
+                .assertNext(found -> {
+                    assertThat(found.getId()).isEqualTo(user.getId());
+                    assertThat(found.getFirstName()).isEqualTo("John");
+                    assertThat(found.getRole()).isEqualTo(Role.ADMIN);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should complete empty for an unknown email")
+    void shouldCompleteEmptyForUnknownEmail() {
+        StepVerifier.create(reactiveUserRepository.findByEmailIgnoreCase("nobody@example.com"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should insert a user and return it with its generated id")
+    void shouldInsertUserWithGeneratedId() {
+        // Arrange
+        User newUser = new User("inserted@example.com", "hash", "Jane", "Doe", Role.USER);
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserRepository.insert(newUser))
+                .assertNext(inserted -> assertThat(inserted.getId()).isNotNull().isNotEqualTo(user.getId()))
+                .verifyComplete();
+        assertThat(userRepository.findByEmailIgnoreCase("inserted@example.com")).isPresent();
+    }
+
+    @Test
+    @DisplayName("should prefer the exact email over a case variant registered before normalisation")
+    void shouldFindOneUserAmongCaseVariants() {
+        // Arrange
+        userRepository.save(new User("Reactive@Example.com", "hash", "Jane", "Doe", Role.USER));
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserRepository.findByEmailIgnoreCase("Reactive@Example.com"))
+                .assertNext(found -> assertThat(found.getFirstName()).isEqualTo("Jane"))
+                .verifyComplete();
+        StepVerifier.create(reactiveUserRepository.findByEmailIgnoreCase("REACTIVE@example.com"))
+                .assertNext(found -> assertThat(found.getId()).isEqualTo(user.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should reject a taken email through the unique constraint")
+    void shouldRejectDuplicateEmailOnInsert() {
+        // Arrange
+        User duplicate = new User("reactive@example.com", "hash", "Jane", "Doe", Role.USER);
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserRepository.insert(duplicate))
+                .expectError(DuplicateKeyException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("should append search history events one query at a time")
+    void shouldAppendSearchHistoryEvents() {
+        // Arrange
+        List<SearchHistoryEvent> events = List.of(
+                new SearchHistoryEvent(user.getId(), SearchType.TEAM, "river plate", LocalDateTime.now()),
+                new SearchHistoryEvent(user.getId(), SearchType.PLAYER, "lionel messi", LocalDateTime.now()));
+
+        // Act & Assert
+        StepVerifier.create(reactiveSearchHistoryRepository.append(events))
+                .expectNext(2L)
+                .verifyComplete();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM search_history WHERE user_id = ?",
+                Long.class, user.getId())).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,114 @@
+package unq.desapp.futbol.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import unq.desapp.futbol.model.Role;
+import unq.desapp.futbol.model.SearchHistoryEntry;
+import unq.desapp.futbol.model.SearchHistoryEvent;
+import unq.desapp.futbol.model.SearchType;
+import unq.desapp.futbol.model.User;
+
+// Schema changes commit in H2, so these tests commit and clean up after themselves
+@DataJpaTest
+@Import(SearchHistoryBatchRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Tag("e2e")
+@DisplayName("SearchHistoryBatchRepository Integration Tests")
+class SearchHistoryBatchRepositoryTest {
+
+    private static final String COUNTS_SQL = "SELECT query, hit_count FROM search_history WHERE user_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO search_history (user_id, type, query, timestamp, hit_count) VALUES (?, ?, ?, ?, 1)";
+
+    @Autowired
+    private SearchHistoryBatchRepository batchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("batch@example.com", "password123", "John", "Doe", Role.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM search_history");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    @DisplayName("should count repeated searches in a single row per query")
+    void shouldUpsertCounters() {
+        // Act
+        batchRepository.upsertBatch(List.of(
+                event("river plate", SearchType.TEAM),
+                event("lionel messi", SearchType.PLAYER),
+                event("river plate", SearchType.TEAM)));
+        batchRepository.upsertBatch(List.of(event("river plate", SearchType.TEAM)));
+
+        // Assert
+        assertThat(jdbcTemplate.queryForList(COUNTS_SQL, user.getId()))
+                .extracting(row -> row.get("QUERY"), row -> ((Number) row.get("HIT_COUNT")).longValue())
+                .containsExactlyInAnyOrder(
+                        tuple("river plate", 3L),
+                        tuple("lionel messi", 1L));
+    }
+
+    @Test
+    @DisplayName("should fold rows written before counting and restore the unique constraint")
+    void shouldDeduplicateLegacyRows() {
+        // Arrange
+        jdbcTemplate.execute("ALTER TABLE search_history DROP CONSTRAINT "
+                + SearchHistoryEntry.UNIQUE_QUERY_CONSTRAINT);
+        LocalDateTime lastAccess = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        insertLegacy("river plate", lastAccess.minusDays(2));
+        insertLegacy("river plate", lastAccess);
+        insertLegacy("river plate", lastAccess.minusDays(1));
+        insertLegacy("boca juniors", lastAccess);
+
+        // Act
+        int removed = batchRepository.deduplicate();
+
+        // Assert
+        assertThat(removed).isEqualTo(2);
+        Map<String, Object> river = jdbcTemplate.queryForMap(
+                "SELECT hit_count, timestamp FROM search_history WHERE query = 'river plate'");
+        assertThat(((Number) river.get("HIT_COUNT")).longValue()).isEqualTo(3L);
+        assertThat(((Timestamp) river.get("TIMESTAMP")).toLocalDateTime()).isEqualTo(lastAccess);
+        assertThatThrownBy(() -> insertLegacy("boca juniors", lastAccess))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private SearchHistoryEvent event(String query, SearchType type) {
+        return new SearchHistoryEvent(user.getId(), type, query, LocalDateTime.now());
+    }
+
+    private void insertLegacy(String query, LocalDateTime timestamp) {
+        jdbcTemplate.update(INSERT_SQL, user.getId(), SearchType.TEAM.name(), query, timestamp);
+    }
+}
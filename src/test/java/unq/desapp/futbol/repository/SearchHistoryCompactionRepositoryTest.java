@@ -0,0 +1,120 @@
+package unq.desapp.futbol.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import unq.desapp.futbol.model.Role;
+import unq.desapp.futbol.model.SearchHistoryEntry;
+import unq.desapp.futbol.model.SearchHistoryRollup;
+import unq.desapp.futbol.model.SearchType;
+import unq.desapp.futbol.model.User;
+
+@DataJpaTest
+@Import(SearchHistoryCompactionRepository.class)
+@Tag("e2e")
+@DisplayName("SearchHistoryCompactionRepository Integration Tests")
+class SearchHistoryCompactionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SearchHistoryCompactionRepository compactionRepository;
+
+    @Autowired
+    private SearchHistoryRepository searchHistoryRepository;
+
+    @Autowired
+    private SearchHistoryRollupRepository rollupRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("compaction@example.com", "password123", "John", "Doe", Role.USER);
+        user.addSearchHistory(SearchType.TEAM, "river plate");
+        user.addSearchHistory(SearchType.TEAM, "river plate");
+        user.addSearchHistory(SearchType.PLAYER, "lionel messi");
+        user.addSearchHistory(SearchType.TEAM, "boca juniors");
+        entityManager.persist(user);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("should roll entries beyond the retention window into aggregates")
+    void shouldRollOldEntriesIntoAggregates() {
+        // Act
+        assertThat(compactionRepository.findUsersAboveRetention(1)).containsExactly(user.getId());
+        List<Long> ids = compactionRepository.findIdsBeyondRetention(user.getId(), 1, 10);
+        compactionRepository.mergeRollups(compactionRepository.aggregate(ids));
+        int deleted = compactionRepository.deleteByIds(ids);
+
+        // Assert - "river plate" was counted in one row with two hits
+        assertThat(deleted).isEqualTo(2);
+        assertThat(searchHistoryRepository.findAll()).extracting(SearchHistoryEntry::getQuery)
+                .containsExactly("boca juniors");
+        assertThat(rollupRepository.findAll())
+                .extracting(SearchHistoryRollup::getQuery, SearchHistoryRollup::getHitCount)
+                .containsExactlyInAnyOrder(
+                        tuple("river plate", 2L),
+                        tuple("lionel messi", 1L));
+    }
+
+    @Test
+    @DisplayName("should add to existing aggregates when compacting again")
+    void shouldAccumulateIntoExistingAggregates() {
+        // Arrange
+        List<Long> firstIds = compactionRepository.findIdsBeyondRetention(user.getId(), 2, 10);
+        compactionRepository.mergeRollups(compactionRepository.aggregate(firstIds));
+        compactionRepository.deleteByIds(firstIds);
+        User stored = entityManager.find(User.class, user.getId());
+        stored.addSearchHistory(SearchType.TEAM, "river plate");
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<Long> secondIds = compactionRepository.findIdsBeyondRetention(user.getId(), 0, 10);
+        compactionRepository.mergeRollups(compactionRepository.aggregate(secondIds));
+        compactionRepository.deleteByIds(secondIds);
+
+        // Assert
+        assertThat(rollupRepository.findAll())
+                .filteredOn(rollup -> rollup.getQuery().equals("river plate"))
+                .extracting(SearchHistoryRollup::getHitCount)
+                .containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("should move the rolled-up hits of a query searched again back into its entry")
+    void shouldAbsorbRollupsOfReappearedQueries() {
+        // Arrange
+        List<Long> ids = compactionRepository.findIdsBeyondRetention(user.getId(), 0, 10);
+        compactionRepository.mergeRollups(compactionRepository.aggregate(ids));
+        compactionRepository.deleteByIds(ids);
+        User stored = entityManager.find(User.class, user.getId());
+        stored.addSearchHistory(SearchType.TEAM, "river plate");
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        assertThat(compactionRepository.findUsersWithReappearances()).containsExactly(user.getId());
+        compactionRepository.absorbRollups(compactionRepository.findReappearances(user.getId()));
+
+        // Assert - the two earlier hits and the new one live in the entry only
+        assertThat(searchHistoryRepository.findAll())
+                .extracting(SearchHistoryEntry::getQuery, SearchHistoryEntry::getHitCount)
+                .containsExactly(tuple("river plate", 3L));
+        assertThat(rollupRepository.findAll()).extracting(SearchHistoryRollup::getQuery)
+                .containsExactlyInAnyOrder("lionel messi", "boca juniors");
+    }
+}
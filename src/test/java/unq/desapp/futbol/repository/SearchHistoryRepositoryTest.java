@@ -0,0 +1,97 @@
+package unq.desapp.futbol.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import unq.desapp.futbol.model.Role;
+import unq.desapp.futbol.model.SearchHistoryEntry;
+import unq.desapp.futbol.model.SearchType;
+import unq.desapp.futbol.model.User;
+
+@DataJpaTest
+@Tag("e2e")
+@DisplayName("SearchHistoryRepository Integration Tests")
+class SearchHistoryRepositoryTest {
+
+    private static final LocalDateTime NEWEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SearchHistoryRepository searchHistoryRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("history@example.com", "password123", "John", "Doe", Role.USER);
+        user.addSearchHistory(SearchType.TEAM, "river plate");
+        user.addSearchHistory(SearchType.PLAYER, "lionel messi");
+        user.addSearchHistory(SearchType.TEAM, "boca juniors");
+        entityManager.persist(user);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("should page through history newest first using the keyset cursor")
+    void shouldPageNewestFirst() {
+        // Act
+        List<SearchHistoryEntry> firstPage = searchHistoryRepository.findPageBefore(user.getId(), NEWEST,
+                Long.MAX_VALUE, Limit.of(2));
+        SearchHistoryEntry last = firstPage.get(1);
+        List<SearchHistoryEntry> secondPage = searchHistoryRepository.findPageBefore(user.getId(),
+                last.getTimestamp(), last.getId(), Limit.of(2));
+
+        // Assert
+        assertThat(firstPage).extracting(SearchHistoryEntry::getQuery)
+                .containsExactly("boca juniors", "lionel messi");
+        assertThat(secondPage).extracting(SearchHistoryEntry::getQuery).containsExactly("river plate");
+    }
+
+    @Test
+    @DisplayName("should filter history by type in the database")
+    void shouldFilterByType() {
+        // Act
+        List<SearchHistoryEntry> teams = searchHistoryRepository.findPageBeforeByType(user.getId(), SearchType.TEAM,
+                NEWEST, Long.MAX_VALUE, Limit.of(10));
+
+        // Assert
+        assertThat(teams).extracting(SearchHistoryEntry::getQuery).containsExactly("boca juniors", "river plate");
+    }
+
+    @Test
+    @DisplayName("should keep one counted entry per query and order it most searched first")
+    void shouldOrderMostSearchedFirst() {
+        // Arrange
+        User stored = entityManager.find(User.class, user.getId());
+        stored.addSearchHistory(SearchType.PLAYER, "lionel messi");
+        stored.addSearchHistory(SearchType.PLAYER, "lionel messi");
+        stored.addSearchHistory(SearchType.TEAM, "river plate");
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<Long> ids = searchHistoryRepository.findMostSearchedIds(user.getId(), Limit.of(10));
+        List<Long> teamIds = searchHistoryRepository.findMostSearchedIdsByType(user.getId(), SearchType.TEAM,
+                Limit.of(10));
+
+        // Assert
+        assertThat(ids).extracting(id -> searchHistoryRepository.findById(id).orElseThrow())
+                .extracting(SearchHistoryEntry::getQuery, SearchHistoryEntry::getHitCount)
+                .containsExactly(tuple("lionel messi", 3L), tuple("river plate", 2L), tuple("boca juniors", 1L));
+        assertThat(teamIds).hasSize(2).isSubsetOf(ids);
+        assertThat(searchHistoryRepository.count()).isEqualTo(3);
+    }
+}
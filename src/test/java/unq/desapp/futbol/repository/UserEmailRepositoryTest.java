@@ -0,0 +1,75 @@
+package unq.desapp.futbol.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Schema changes commit in H2, so these tests commit and clean up after themselves
+@DataJpaTest
+@Import(UserEmailRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Tag("e2e")
+@DisplayName("UserEmailRepository Integration Tests")
+class UserEmailRepositoryTest {
+
+    private static final String INSERT_SQL = "INSERT INTO users (email, password, first_name, last_name, role)"
+            + " VALUES (?, 'hash', 'John', 'Doe', 'USER')";
+
+    @Autowired
+    private UserEmailRepository userEmailRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.execute("ALTER TABLE users DROP CONSTRAINT IF EXISTS "
+                + UserEmailRepository.UNIQUE_EMAIL_KEY_CONSTRAINT);
+        jdbcTemplate.execute("ALTER TABLE users DROP COLUMN IF EXISTS email_key");
+    }
+
+    @Test
+    @DisplayName("should lower-case stored emails and then reject case variants")
+    void shouldNormalizeMixedCaseEmails() {
+        // Arrange
+        jdbcTemplate.update(INSERT_SQL, "Mixed.Case@Example.com");
+        jdbcTemplate.update(INSERT_SQL, "lower@example.com");
+
+        // Act
+        int lowered = userEmailRepository.normalizeEmails();
+
+        // Assert
+        assertThat(lowered).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT email FROM users ORDER BY email", String.class))
+                .containsExactly("lower@example.com", "mixed.case@example.com");
+        assertThatThrownBy(() -> jdbcTemplate.update(INSERT_SQL, "LOWER@example.com"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("should leave emails registered twice in different cases untouched")
+    void shouldRefuseToNormalizeCaseDuplicates() {
+        // Arrange
+        jdbcTemplate.update(INSERT_SQL, "Twice@Example.com");
+        jdbcTemplate.update(INSERT_SQL, "twice@example.com");
+
+        // Act & Assert
+        assertThatThrownBy(() -> userEmailRepository.normalizeEmails())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("1 emails are registered more than once in different cases");
+        assertThat(jdbcTemplate.queryForList("SELECT email FROM users ORDER BY id", String.class))
+                .containsExactly("Twice@Example.com", "twice@example.com");
+    }
+}
@@ -4,7 +4,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
 import unq.desapp.futbol.model.Role;
@@ -17,7 +20,7 @@ class JwtTokenProviderTest {
     void generateToken_and_extractUsername_success() {
         // Arrange
         String secretBase64 = Base64.getEncoder().encodeToString(mockSecretBytes());
-        JwtTokenProvider tokenProvider = new JwtTokenProvider(secretBase64, 3_600_000L);
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(secretBase64, 3_600_000L, Duration.ofMinutes(5), 10_000);
         User user = new User("john.doe", "password", "John", "Doe", Role.USER);
 
         // Act
@@ -33,7 +36,7 @@ class JwtTokenProviderTest {
     void validateToken_withInvalidToken_returnsFalse() {
         // Arrange
         String secretBase64 = Base64.getEncoder().encodeToString(mockSecretBytes());
-        JwtTokenProvider tokenProvider = new JwtTokenProvider(secretBase64, 3_600_000L);
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(secretBase64, 3_600_000L, Duration.ofMinutes(5), 10_000);
         String invalidToken = "this-is-not-a-jwt";
 
         // Act
@@ -47,7 +50,7 @@ class JwtTokenProviderTest {
     void validateToken_withExpiredToken_returnsFalse() {
         // Arrange
         String secretBase64 = Base64.getEncoder().encodeToString(mockSecretBytes());
-        JwtTokenProvider expiredProvider = new JwtTokenProvider(secretBase64, -1_000L);
+        JwtTokenProvider expiredProvider = new JwtTokenProvider(secretBase64, -1_000L, Duration.ofMinutes(5), 10_000);
         User user = new User("alice@example.com", "pw", "Alice", "Test", Role.USER);
 
         // Act
@@ -57,6 +60,54 @@ class JwtTokenProviderTest {
         assertFalse(expiredProvider.validateToken(expiredToken));
     }
 
+    @Test
+    void verify_returnsSubjectAndExpiry_fromTheSameToken() {
+        // Arrange
+        String secretBase64 = Base64.getEncoder().encodeToString(mockSecretBytes());
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(secretBase64, 3_600_000L, Duration.ofMinutes(5), 10_000);
+        User user = new User("john.doe", "password", "John", "Doe", Role.USER);
+        String token = tokenProvider.generateToken(user);
+
+        // Act
+        Optional<VerifiedToken> first = tokenProvider.verify(token);
+        Optional<VerifiedToken> cached = tokenProvider.verify(token);
+
+        // Assert
+        assertTrue(first.isPresent());
+        assertEquals("john.doe", first.get().subject());
+        assertTrue(first.get().expiresAt().isAfter(Instant.now().plusSeconds(3_500)));
+        assertEquals(first, cached);
+    }
+
+    @Test
+    void verify_withTamperedSignature_returnsEmpty_evenAfterTheOriginalWasCached() {
+        // Arrange
+        String secretBase64 = Base64.getEncoder().encodeToString(mockSecretBytes());
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(secretBase64, 3_600_000L, Duration.ofMinutes(5), 10_000);
+        String token = tokenProvider.generateToken(new User("john.doe", "password", "John", "Doe", Role.USER));
+        tokenProvider.verify(token);
+        // Not the last character: its low bits are padding and may be ignored when decoding
+        int index = token.length() - 5;
+        char replacement = token.charAt(index) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, index) + replacement + token.substring(index + 1);
+
+        // Act & Assert
+        assertFalse(tokenProvider.verify(tampered).isPresent());
+        assertTrue(tokenProvider.verify(token).isPresent());
+    }
+
+    @Test
+    void verify_withoutCache_stillVerifiesEveryToken() {
+        // Arrange
+        String secretBase64 = Base64.getEncoder().encodeToString(mockSecretBytes());
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(secretBase64, 3_600_000L, Duration.ofMinutes(5), 0);
+        String token = tokenProvider.generateToken(new User("john.doe", "password", "John", "Doe", Role.USER));
+
+        // Act & Assert
+        assertEquals("john.doe", tokenProvider.verify(token).map(VerifiedToken::subject).orElse(null));
+        assertFalse(tokenProvider.verify("this-is-not-a-jwt").isPresent());
+    }
+
     private byte[] mockSecretBytes() {
         byte[] secretBytes = new byte[32];
 
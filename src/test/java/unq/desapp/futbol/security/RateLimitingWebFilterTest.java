@@ -0,0 +1,248 @@
+package unq.desapp.futbol.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@Tag("unit")
+@DisplayName("RateLimitingWebFilter Tests")
+class RateLimitingWebFilterTest {
+
+    // Buckets refill so slowly that no test sees a token come back
+    private static final Duration SLOW_REFILL = Duration.ofHours(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger forwarded;
+    private WebFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        forwarded = new AtomicInteger();
+        chain = exchange -> {
+            forwarded.incrementAndGet();
+            return Mono.empty();
+        };
+    }
+
+    @Test
+    @DisplayName("should charge a comparison four tokens and reject once the IP bucket is short")
+    void shouldWeightComparisonsAndRejectWithRetryAfter() {
+        // Arrange
+        RateLimitingWebFilter filter = new RateLimitingWebFilter(limiter(100, 8));
+
+        // Act
+        HttpStatus first = status(filter, exchange("/teams/compare/england/arsenal/vs/spain/barcelona", "10.0.0.1"));
+        HttpStatus second = status(filter, exchange("/teams/compare/england/arsenal/vs/spain/barcelona", "10.0.0.1"));
+        MockServerWebExchange third = exchange("/teams/compare/england/arsenal/vs/spain/barcelona", "10.0.0.1");
+        HttpStatus thirdStatus = status(filter, third);
+
+        // Assert
+        assertThat(first).isNull();
+        assertThat(second).isNull();
+        assertThat(thirdStatus).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(Long.parseLong(third.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)))
+                .isBetween(4 * 3600L - 60, 4 * 3600L);
+        assertThat(forwarded).hasValue(2);
+        assertThat(meterRegistry.get("app_rate_limit_rejected_total").tag("scope", "ip").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should keep a bucket per client IP")
+    void shouldKeepBucketsPerIp() {
+        // Arrange
+        RateLimitingWebFilter filter = new RateLimitingWebFilter(limiter(100, 1));
+
+        // Act & Assert
+        assertThat(status(filter, exchange("/teams/england/arsenal/squad", "10.0.0.1"))).isNull();
+        assertThat(status(filter, exchange("/teams/england/arsenal/squad", "10.0.0.1")))
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(status(filter, exchange("/teams/england/arsenal/squad", "10.0.0.2"))).isNull();
+    }
+
+    @Test
+    @DisplayName("should limit an authenticated subject across IPs")
+    void shouldLimitSubjectAcrossIps() {
+        // Arrange
+        RateLimitingWebFilter filter = new RateLimitingWebFilter(limiter(2, 100));
+
+        // Act & Assert
+        assertThat(status(filter, exchange("/player/messi", "10.0.0.1"), "john@example.com")).isNull();
+        assertThat(status(filter, exchange("/player/messi", "10.0.0.2"), "john@example.com")).isNull();
+        assertThat(status(filter, exchange("/player/messi", "10.0.0.3"), "john@example.com"))
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(status(filter, exchange("/player/messi", "10.0.0.3"), "jane@example.com")).isNull();
+        assertThat(meterRegistry.get("app_rate_limit_rejected_total").tag("scope", "subject").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should not charge the IP for requests its subject's bucket rejects")
+    void shouldNotChargeIpWhenSubjectIsRejected() {
+        // Arrange
+        RateLimitingWebFilter filter = new RateLimitingWebFilter(limiter(1, 2));
+
+        // Act & Assert
+        assertThat(status(filter, exchange("/player/messi", "10.0.0.1"), "john@example.com")).isNull();
+        for (int i = 0; i < 3; i++) {
+            assertThat(status(filter, exchange("/player/messi", "10.0.0.1"), "john@example.com"))
+                    .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        }
+        assertThat(status(filter, exchange("/player/messi", "10.0.0.1"), "jane@example.com")).isNull();
+        assertThat(meterRegistry.get("app_rate_limit_rejected_total").tag("scope", "ip").counter().count())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("should give the subject its tokens back when the IP bucket rejects the request")
+    void shouldRefundSubjectWhenIpIsRejected() {
+        // Arrange
+        RateLimitingWebFilter filter = new RateLimitingWebFilter(limiter(2, 1));
+
+        // Act & Assert
+        assertThat(status(filter, exchange("/player/messi", "10.0.0.1"), "john@example.com")).isNull();
+        assertThat(status(filter, exchange("/player/messi", "10.0.0.1"), "john@example.com"))
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(status(filter, exchange("/player/messi", "10.0.0.2"), "john@example.com")).isNull();
+        assertThat(meterRegistry.get("app_rate_limit_rejected_total").tag("scope", "subject").counter().count())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("should not charge actuator requests")
+    void shouldNotChargeActuator() {
+        // Arrange
+        RateLimitingWebFilter filter = new RateLimitingWebFilter(limiter(1, 1));
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertThat(status(filter, exchange("/actuator/prometheus", "10.0.0.1"))).isNull();
+        }
+        assertThat(forwarded).hasValue(5);
+    }
+
+    @Nested
+    @DisplayName("TokenBuckets")
+    class TokenBucketsTests {
+
+        @Test
+        @DisplayName("should grant exactly the capacity to concurrent callers")
+        void shouldGrantExactlyCapacityUnderContention() throws Exception {
+            // Arrange
+            TokenBuckets buckets = new TokenBuckets(100, SLOW_REFILL, 1_000);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger granted = new AtomicInteger();
+
+            // Act
+            try {
+                List<Future<?>> futures = IntStream.range(0, 8)
+                        .<Future<?>>mapToObj(t -> executor.submit(() -> {
+                            start.await();
+                            for (int i = 0; i < 50; i++) {
+                                if (buckets.tryAcquire("shared", 1) == TokenBuckets.GRANTED) {
+                                    granted.incrementAndGet();
+                                }
+                            }
+                            return null;
+                        }))
+                        .toList();
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            // Assert
+            assertThat(granted).hasValue(100);
+        }
+
+        @Test
+        @DisplayName("should stay within its bound and expire full buckets")
+        void shouldBoundAndExpireBuckets() {
+            // Arrange
+            TokenBuckets buckets = new TokenBuckets(10, Duration.ofNanos(1), 64);
+
+            // Act
+            for (int i = 0; i < 1_000; i++) {
+                buckets.tryAcquire("client-" + i, 1);
+            }
+
+            // Assert
+            assertThat(buckets.size()).isLessThanOrEqualTo(64 + 16);
+            buckets.expire();
+            assertThat(buckets.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("should keep limited clients when rotating keys overflow their stripes")
+        void shouldKeepLimitedClientsWhenFull() {
+            // Arrange
+            TokenBuckets buckets = new TokenBuckets(1, SLOW_REFILL, 16);
+            assertThat(buckets.tryAcquire("limited", 1)).isEqualTo(TokenBuckets.GRANTED);
+
+            // Act
+            long granted = IntStream.range(0, 1_000)
+                    .filter(i -> buckets.tryAcquire("rotating-" + i, 1) == TokenBuckets.GRANTED)
+                    .count();
+
+            // Assert
+            assertThat(buckets.tryAcquire("limited", 1)).isPositive();
+            assertThat(buckets.size()).isLessThanOrEqualTo(16);
+            // One bucket per stripe, shared by the keys that found their stripe full
+            assertThat(granted).isLessThanOrEqualTo(2 * 16);
+        }
+    }
+
+    private RequestRateLimiter limiter(int subjectCapacity, int ipCapacity) {
+        return new RequestRateLimiter(meterRegistry, true, subjectCapacity, SLOW_REFILL, ipCapacity, SLOW_REFILL,
+                10_000, 4, 1, 1);
+    }
+
+    private static MockServerWebExchange exchange(String path, String ip) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path)
+                .remoteAddress(new InetSocketAddress(ip, 40_000)));
+    }
+
+    private HttpStatus status(RateLimitingWebFilter filter, MockServerWebExchange exchange) {
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+        return (HttpStatus) exchange.getResponse().getStatusCode();
+    }
+
+    private HttpStatus status(RateLimitingWebFilter filter, MockServerWebExchange exchange, String subject) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(subject, null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        StepVerifier.create(filter.filter(exchange, chain)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication)))
+                .verifyComplete();
+        return (HttpStatus) exchange.getResponse().getStatusCode();
+    }
+}
@@ -1,11 +1,12 @@
 package unq.desapp.futbol.security;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,10 +16,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import unq.desapp.futbol.model.Role;
 import unq.desapp.futbol.model.User;
-import unq.desapp.futbol.service.UserService;
+import unq.desapp.futbol.model.UserChangedEvent;
+import unq.desapp.futbol.service.ReactiveUserService;
 
 @ExtendWith(MockitoExtension.class)
 @Tag("unit")
@@ -31,45 +34,52 @@ class ReactiveJwtAuthenticationManagerTest {
     private JwtTokenProvider jwtTokenProvider;
 
     @Mock
-    private UserService footballService;
+    private ReactiveUserService userService;
+
+    private PrincipalCache principalCache;
 
     private ReactiveJwtAuthenticationManager authenticationManager;
 
     @BeforeEach
     void setUp() {
-        authenticationManager = new ReactiveJwtAuthenticationManager(jwtTokenProvider, footballService);
+        principalCache = new PrincipalCache(Duration.ofMinutes(5), 100);
+        authenticationManager = new ReactiveJwtAuthenticationManager(jwtTokenProvider, userService, principalCache);
     }
 
     @Test
     void shouldReturnAuthentication_whenTokenIsValid() {
         // Arrange - token valid and user exists
         User user = new User(USERNAME, "password", "Some", "User", Role.USER);
+        user.setId(7L);
 
-        when(jwtTokenProvider.validateToken(TOKEN)).thenReturn(true);
-        when(jwtTokenProvider.getUsernameFromToken(TOKEN)).thenReturn(USERNAME);
-        when(footballService.findByEmail(USERNAME)).thenReturn(Optional.of(user));
+        when(jwtTokenProvider.verify(TOKEN))
+                .thenReturn(Optional.of(new VerifiedToken(USERNAME, Instant.now().plusSeconds(60))));
+        when(userService.findByEmail(USERNAME)).thenReturn(Mono.just(user));
 
         Authentication inputAuthentication = new UsernamePasswordAuthenticationToken(null, TOKEN);
 
-        // Act & Assert - expect authentication with same user and authorities
+        // Act & Assert - expect authentication with a detached copy of the user and its authorities
         StepVerifier.create(authenticationManager.authenticate(inputAuthentication))
                 .expectNextMatches(authentication -> {
-                    assertThat(authentication.getPrincipal()).isEqualTo(user);
+                    assertThat(authentication.getPrincipal()).isInstanceOf(User.class).isNotSameAs(user);
+                    User principal = (User) authentication.getPrincipal();
+                    assertThat(principal.getId()).isEqualTo(7L);
+                    assertThat(principal.getEmail()).isEqualTo(USERNAME);
+                    assertThat(principal.getPassword()).isNull();
                     assertThat(authentication.getAuthorities()).hasSize(1);
                     assertThat(authentication.getAuthorities().iterator().next().getAuthority()).isEqualTo("ROLE_USER");
                     return true;
                 })
                 .verifyComplete();
 
-        verify(jwtTokenProvider).validateToken(TOKEN);
-        verify(jwtTokenProvider).getUsernameFromToken(TOKEN);
-        verify(footballService).findByEmail(USERNAME);
+        verify(jwtTokenProvider).verify(TOKEN);
+        verify(userService).findByEmail(USERNAME);
     }
 
     @Test
     void shouldReturnEmpty_whenTokenIsInvalid() {
         // Arrange - token fails validation
-        when(jwtTokenProvider.validateToken(TOKEN)).thenReturn(false);
+        when(jwtTokenProvider.verify(TOKEN)).thenReturn(Optional.empty());
 
         Authentication inputAuthentication = new UsernamePasswordAuthenticationToken(null, TOKEN);
 
@@ -77,17 +87,56 @@ class ReactiveJwtAuthenticationManagerTest {
         StepVerifier.create(authenticationManager.authenticate(inputAuthentication))
                 .verifyComplete();
 
-        verify(jwtTokenProvider).validateToken(TOKEN);
-        verify(jwtTokenProvider, never()).getUsernameFromToken(anyString());
-        verifyNoInteractions(footballService);
+        verify(jwtTokenProvider).verify(TOKEN);
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void shouldReuseCachedPrincipal_untilTheUserChanges() {
+        // Arrange - two authentications, then the user changes
+        User user = new User(USERNAME, "password", "Some", "User", Role.USER);
+        user.setId(7L);
+
+        when(jwtTokenProvider.verify(TOKEN))
+                .thenReturn(Optional.of(new VerifiedToken(USERNAME, Instant.now().plusSeconds(60))));
+        when(userService.findByEmail(USERNAME)).thenReturn(Mono.just(user));
+
+        Authentication inputAuthentication = new UsernamePasswordAuthenticationToken(null, TOKEN);
+
+        // Act
+        authenticationManager.authenticate(inputAuthentication).block();
+        authenticationManager.authenticate(inputAuthentication).block();
+        principalCache.onUserChanged(new UserChangedEvent(USERNAME.toUpperCase()));
+        authenticationManager.authenticate(inputAuthentication).block();
+
+        // Assert - the database is only queried on the first call and after the change
+        verify(userService, times(2)).findByEmail(USERNAME);
+    }
+
+    @Test
+    void shouldNotCachePrincipal_whenTheTokenHasAlreadyExpired() {
+        // Arrange - token expiry in the past caps the entry lifetime to nothing
+        User user = new User(USERNAME, "password", "Some", "User", Role.USER);
+
+        when(jwtTokenProvider.verify(TOKEN))
+                .thenReturn(Optional.of(new VerifiedToken(USERNAME, Instant.now().minusSeconds(1))));
+        when(userService.findByEmail(USERNAME)).thenReturn(Mono.just(user));
+
+        Authentication inputAuthentication = new UsernamePasswordAuthenticationToken(null, TOKEN);
+
+        // Act
+        authenticationManager.authenticate(inputAuthentication).block();
+
+        // Assert
+        assertThat(principalCache.size()).isZero();
     }
 
     @Test
     void shouldReturnEmpty_whenUserNotFound() {
         // Arrange - valid token but user lookup empty
-        when(jwtTokenProvider.validateToken(TOKEN)).thenReturn(true);
-        when(jwtTokenProvider.getUsernameFromToken(TOKEN)).thenReturn(USERNAME);
-        when(footballService.findByEmail(USERNAME)).thenReturn(Optional.empty());
+        when(jwtTokenProvider.verify(TOKEN))
+                .thenReturn(Optional.of(new VerifiedToken(USERNAME, Instant.now().plusSeconds(60))));
+        when(userService.findByEmail(USERNAME)).thenReturn(Mono.empty());
 
         Authentication inputAuthentication = new UsernamePasswordAuthenticationToken(null, TOKEN);
 
@@ -95,8 +144,7 @@ class ReactiveJwtAuthenticationManagerTest {
         StepVerifier.create(authenticationManager.authenticate(inputAuthentication))
                 .verifyComplete();
 
-        verify(jwtTokenProvider).validateToken(TOKEN);
-        verify(jwtTokenProvider).getUsernameFromToken(TOKEN);
-        verify(footballService).findByEmail(USERNAME);
+        verify(jwtTokenProvider).verify(TOKEN);
+        verify(userService).findByEmail(USERNAME);
     }
 }
@@ -0,0 +1,59 @@
+package unq.desapp.futbol.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+@Tag("unit")
+@DisplayName("TrustedProxyForwardedHeaderTransformer Tests")
+class TrustedProxyForwardedHeaderTransformerTest {
+
+    private final TrustedProxyForwardedHeaderTransformer transformer =
+            new TrustedProxyForwardedHeaderTransformer(List.of("127.0.0.1", "10.0.0.0/8"));
+
+    @Test
+    @DisplayName("should take the first untrusted hop from the right")
+    void shouldTakeFirstUntrustedHopFromTheRight() {
+        // Act
+        ServerHttpRequest request = transformer.apply(request("10.0.0.5",
+                "6.6.6.6, 203.0.113.7, 10.0.0.9"));
+
+        // Assert
+        assertThat(request.getRemoteAddress().getHostString()).isEqualTo("203.0.113.7");
+        assertThat(request.getHeaders().containsKey("X-Forwarded-For")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should ignore forwarded headers sent by an untrusted peer")
+    void shouldIgnoreHeadersFromUntrustedPeer() {
+        // Act
+        ServerHttpRequest request = transformer.apply(request("203.0.113.7", "6.6.6.6"));
+
+        // Assert
+        assertThat(request.getRemoteAddress().getAddress().getHostAddress()).isEqualTo("203.0.113.7");
+        assertThat(request.getHeaders().containsKey("X-Forwarded-For")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should stop at a hop that is not an IP address")
+    void shouldStopAtMalformedHop() {
+        // Act
+        ServerHttpRequest request = transformer.apply(request("127.0.0.1", "6.6.6.6, unknown, 10.0.0.9:8080"));
+
+        // Assert
+        assertThat(request.getRemoteAddress().getHostString()).isEqualTo("10.0.0.9");
+    }
+
+    private static ServerHttpRequest request(String peer, String forwardedFor) {
+        return MockServerHttpRequest.get("/teams/england/arsenal/squad")
+                .remoteAddress(new InetSocketAddress(peer, 40_000))
+                .header("X-Forwarded-For", forwardedFor)
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package unq.desapp.futbol.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+import unq.desapp.futbol.exceptions.PasswordHashingUnavailableException;
+import unq.desapp.futbol.service.impl.PasswordHashingServiceImpl;
+
+@DisplayName("PasswordHashingService Tests")
+@Tag("unit")
+class PasswordHashingServiceImplTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingServiceImpl service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("matches() should verify the password on a hashing thread and time it")
+    void matches_runsOnHashingPool() {
+        // Arrange
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        String hash = encoder.encode("secret");
+        AtomicReference<String> thread = new AtomicReference<>();
+        PasswordEncoder recordingEncoder = new RecordingEncoder(encoder, thread, null);
+        service = new PasswordHashingServiceImpl(recordingEncoder, meterRegistry, 4, 2, 4);
+
+        // Act & Assert
+        StepVerifier.create(service.matches("secret", hash))
+                .expectNext(true)
+                .verifyComplete();
+        assertThat(thread.get()).startsWith("password-hashing");
+        assertThat(meterRegistry.get("app_password_hashing_seconds").tag("operation", "matches").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should reject with 503 once the pool and its queue are full")
+    void matches_whenSaturated_failsFast() throws InterruptedException {
+        // Arrange - one thread, no queue, and the thread blocked in the encoder
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = new RecordingEncoder(new BCryptPasswordEncoder(4), new AtomicReference<>(),
+                () -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                });
+        service = new PasswordHashingServiceImpl(blockingEncoder, meterRegistry, 4, 1, 0);
+        Disposable running = service.matches("secret", "hash").subscribe();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act & Assert
+        StepVerifier.create(service.matches("secret", "hash"))
+                .expectError(PasswordHashingUnavailableException.class)
+                .verify();
+        assertThat(meterRegistry.get("app_password_hashing_rejected_total").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        running.dispose();
+    }
+
+    @Test
+    @DisplayName("needsRehash() should only flag BCrypt hashes with another cost factor")
+    void needsRehash_comparesCostFactor() {
+        // Arrange
+        service = new PasswordHashingServiceImpl(new BCryptPasswordEncoder(4), meterRegistry, 10, 1, 1);
+
+        // Act & Assert
+        assertThat(service.needsRehash("$2a$10$abcdefghijklmnopqrstuv")).isFalse();
+        assertThat(service.needsRehash("$2a$04$abcdefghijklmnopqrstuv")).isTrue();
+        assertThat(service.needsRehash("$2b$12$abcdefghijklmnopqrstuv")).isTrue();
+        assertThat(service.needsRehash("plain")).isFalse();
+        assertThat(service.needsRehash(null)).isFalse();
+    }
+
+    @FunctionalInterface
+    private interface Pause {
+        void await() throws InterruptedException;
+    }
+
+    private record RecordingEncoder(PasswordEncoder delegate, AtomicReference<String> thread, Pause pause)
+            implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return delegate.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            thread.set(Thread.currentThread().getName());
+            if (pause != null) {
+                try {
+                    pause.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+    }
+}
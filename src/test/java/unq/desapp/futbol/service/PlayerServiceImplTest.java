@@ -1,7 +1,9 @@
 package unq.desapp.futbol.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -15,6 +17,7 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import unq.desapp.futbol.model.PlayerPerformance;
 import unq.desapp.futbol.model.Role;
+import unq.desapp.futbol.model.SearchType;
 import unq.desapp.futbol.model.SeasonPerformance;
 import unq.desapp.futbol.model.User;
 import unq.desapp.futbol.service.impl.PlayerServiceImpl;
@@ -22,16 +25,16 @@ import unq.desapp.futbol.service.impl.PlayerServiceImpl;
 class PlayerServiceImplTest {
 
     private User testUser;
-    private UserService userService;
+    private SearchHistoryService searchHistoryService;
     private ScrapingService scrapingService;
     private PlayerServiceImpl playerService;
 
     @BeforeEach
     void setUp() {
         testUser = new User("test@user.com", "password", "Test", "User", Role.USER);
-        userService = mock(UserService.class);
+        searchHistoryService = mock(SearchHistoryService.class);
         scrapingService = mock(ScrapingService.class);
-        playerService = new PlayerServiceImpl(scrapingService, userService);
+        playerService = new PlayerServiceImpl(scrapingService, searchHistoryService);
     }
 
     @Test
@@ -52,13 +55,12 @@ class PlayerServiceImplTest {
                     assertThat(performance).isNotNull();
                     assertThat(performance.getName()).isEqualTo(playerName);
                     assertThat(performance.getSeasons()).hasSize(2);
-                    assertThat(testUser.getSearchHistory()).hasSize(1);
-                    assertThat(testUser.getSearchHistory().get(0).getQuery()).isEqualTo(playerName);
                     return true;
                 })
                 .verifyComplete();
 
         verify(scrapingService, times(1)).findPlayerPerformance(playerName);
+        verify(searchHistoryService, times(1)).record(testUser, SearchType.PLAYER, playerName);
     }
 
     @Test
@@ -96,7 +98,7 @@ class PlayerServiceImplTest {
                 .verifyComplete();
 
         verify(scrapingService, times(1)).findPlayerPerformance(playerName);
-        assertThat(testUser.getSearchHistory()).isEmpty();
+        verify(searchHistoryService, never()).record(any(), any(), any());
     }
 
     @Test
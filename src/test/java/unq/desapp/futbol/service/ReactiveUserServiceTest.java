@@ -0,0 +1,151 @@
+package unq.desapp.futbol.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import unq.desapp.futbol.exceptions.EmailAlreadyTakenException;
+import unq.desapp.futbol.model.Role;
+import unq.desapp.futbol.model.User;
+import unq.desapp.futbol.model.UserChangedEvent;
+import unq.desapp.futbol.repository.ReactiveUserRepository;
+import unq.desapp.futbol.repository.UserEmailRepository;
+import unq.desapp.futbol.service.impl.ReactiveUserServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveUserService Tests")
+@Tag("unit")
+class ReactiveUserServiceTest {
+
+    @Mock
+    private ReactiveUserRepository userRepository;
+
+    @Mock
+    private UserEmailRepository userEmailRepository;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ReactiveUserService userService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userService = new ReactiveUserServiceImpl(userRepository, userEmailRepository, passwordHashingService,
+                eventPublisher);
+        user = new User("test@example.com", "encodedPassword", "Test", "User", Role.USER);
+    }
+
+    @Test
+    @DisplayName("loginUser() should emit the user when the password matches")
+    void loginUser_withValidCredentials_emitsUser() {
+        // Arrange
+        when(userRepository.findByEmailIgnoreCase("test@example.com")).thenReturn(Mono.just(user));
+        when(passwordHashingService.matches("password", "encodedPassword")).thenReturn(Mono.just(true));
+
+        // Act & Assert
+        StepVerifier.create(userService.loginUser("test@example.com", "password"))
+                .expectNext(user)
+                .verifyComplete();
+        verify(passwordHashingService, never()).encode(ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("loginUser() should store a new hash when the cost factor changed")
+    void loginUser_withOutdatedCostFactor_rehashesPassword() {
+        // Arrange
+        user.setId(3L);
+        when(userRepository.findByEmailIgnoreCase("test@example.com")).thenReturn(Mono.just(user));
+        when(passwordHashingService.matches("password", "encodedPassword")).thenReturn(Mono.just(true));
+        when(passwordHashingService.needsRehash("encodedPassword")).thenReturn(true);
+        when(passwordHashingService.encode("password")).thenReturn(Mono.just("rehashedPassword"));
+        when(userRepository.updatePassword(3L, "rehashedPassword")).thenReturn(Mono.just(1L));
+
+        // Act & Assert
+        StepVerifier.create(userService.loginUser("test@example.com", "password"))
+                .expectNext(user)
+                .verifyComplete();
+        verify(userRepository).updatePassword(3L, "rehashedPassword");
+    }
+
+    @Test
+    @DisplayName("loginUser() should complete empty when the password does not match")
+    void loginUser_withWrongPassword_completesEmpty() {
+        // Arrange
+        when(userRepository.findByEmailIgnoreCase("test@example.com")).thenReturn(Mono.just(user));
+        when(passwordHashingService.matches("wrong", "encodedPassword")).thenReturn(Mono.just(false));
+
+        // Act & Assert
+        StepVerifier.create(userService.loginUser("test@example.com", "wrong"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("loginUser() should not check the password of an unknown user")
+    void loginUser_withUnknownUser_completesEmpty() {
+        // Arrange
+        when(userRepository.findByEmailIgnoreCase("nobody@example.com")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(userService.loginUser("nobody@example.com", "password"))
+                .verifyComplete();
+        verify(passwordHashingService, never()).matches(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("registerUser() should insert the user with a hashed, lower-cased email and announce it")
+    void registerUser_insertsHashedUser() {
+        // Arrange
+        User newUser = new User(" New@Example.com ", "secret", "New", "User", Role.USER);
+        when(passwordHashingService.encode("secret")).thenReturn(Mono.just("hashed"));
+        when(userRepository.insert(ArgumentMatchers.any(User.class))).thenAnswer(invocation -> {
+            User inserted = invocation.getArgument(0);
+            inserted.setId(11L);
+            return Mono.just(inserted);
+        });
+
+        // Act & Assert
+        StepVerifier.create(userService.registerUser(newUser))
+                .assertNext(saved -> {
+                    assertThat(saved.getId()).isEqualTo(11L);
+                    assertThat(saved.getEmail()).isEqualTo("new@example.com");
+                    assertThat(saved.getPassword()).isEqualTo("hashed");
+                })
+                .verifyComplete();
+        verify(eventPublisher).publishEvent(new UserChangedEvent("new@example.com"));
+    }
+
+    @Test
+    @DisplayName("registerUser() should report a taken email from the unique constraint")
+    void registerUser_withTakenEmail_failsWithConflict() {
+        // Arrange
+        User newUser = new User("test@example.com", "secret", "Test", "User", Role.USER);
+        when(passwordHashingService.encode("secret")).thenReturn(Mono.just("hashed"));
+        when(userRepository.insert(ArgumentMatchers.any(User.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("uk_users_email")));
+
+        // Act & Assert
+        StepVerifier.create(userService.registerUser(newUser))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(EmailAlreadyTakenException.class)
+                        .hasMessage("Email is already taken: test@example.com"))
+                .verify();
+        verify(eventPublisher, never()).publishEvent(ArgumentMatchers.any(Object.class));
+    }
+}
@@ -3,28 +3,38 @@ package unq.desapp.futbol.service;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.configureFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Duration;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import reactor.test.StepVerifier;
+import unq.desapp.futbol.config.cache.ResultCacheManager;
+import unq.desapp.futbol.config.metrics.ScrapeStages;
+import unq.desapp.futbol.config.metrics.StageTimings;
+import unq.desapp.futbol.config.tracing.TraceSpans;
 import unq.desapp.futbol.exceptions.NoUpcomingMatchException;
 import unq.desapp.futbol.exceptions.TeamNotFoundException;
+import unq.desapp.futbol.model.CompletedMatch;
 import unq.desapp.futbol.service.impl.ScrapingServiceImpl;
 
 @Tag("e2e")
 class ScrapingServiceImplTest {
 
         private WireMockServer wireMockServer;
+        private SimpleMeterRegistry meterRegistry;
         private ScrapingServiceImpl scrapingService;
 
         @BeforeEach
@@ -38,7 +48,9 @@ class ScrapingServiceImplTest {
 
                 // Create service instance with WireMock URL
                 String baseUrl = "http://localhost:" + wireMockServer.port();
-                scrapingService = new ScrapingServiceImpl(baseUrl);
+                meterRegistry = new SimpleMeterRegistry();
+                scrapingService = new ScrapingServiceImpl(baseUrl, new ResultCacheManager(Duration.ofMinutes(5), 100),
+                                new ScrapeStages(meterRegistry, TraceSpans.NOOP));
         }
 
         @AfterEach
@@ -402,6 +414,123 @@ class ScrapingServiceImplTest {
                                 .verifyComplete(); // Empty Mono
         }
 
+        @Test
+        void shouldReturnEmptyMonoWithoutCachingWhenMatchPageHasNoData() {
+                // Arrange
+                String teamName = "River Plate";
+                String country = "Argentina";
+
+                stubFor(get(urlMatching("/search/.*"))
+                                .willReturn(aResponse()
+                                                .withStatus(200)
+                                                .withHeader("Content-Type", "text/html")
+                                                .withBody(loadTestResource("team-search-response.html"))));
+
+                stubFor(get(urlMatching("/.*fixtures.*"))
+                                .willReturn(aResponse()
+                                                .withStatus(200)
+                                                .withHeader("Content-Type", "text/html")
+                                                .withBody(loadTestResource("fixtures-response.html"))));
+
+                // Mock match page without the args script
+                stubFor(get(urlMatching("/matches/.*/show"))
+                                .willReturn(aResponse()
+                                                .withStatus(200)
+                                                .withHeader("Content-Type", "text/html")
+                                                .withBody("<html><body><script>var preview = {};</script></body></html>")));
+
+                // Act & Assert
+                StepVerifier.create(scrapingService.predictNextMatch(teamName, country))
+                                .verifyComplete();
+                StepVerifier.create(scrapingService.predictNextMatch(teamName, country))
+                                .verifyComplete();
+
+                // A missing preview is asked for again instead of being served from the cache
+                verify(2, getRequestedFor(urlMatching("/matches/.*/show")));
+        }
+
+        // ==================== TEAM SNAPSHOT TESTS ====================
+
+        @Test
+        void shouldSkipCompletedMatchesWhoseIdsDoNotParse() {
+                // Arrange
+                stubFor(get(urlMatching("/search/.*"))
+                                .willReturn(aResponse()
+                                                .withStatus(200)
+                                                .withHeader("Content-Type", "text/html")
+                                                .withBody(loadTestResource("team-search-response.html"))));
+
+                stubFor(get(urlMatching("/statisticsfeed/.*"))
+                                .willReturn(aResponse()
+                                                .withStatus(200)
+                                                .withHeader("Content-Type", "application/json")
+                                                .withBody(loadTestResource("team-squad-response.json"))));
+
+                // Mock fixtures page whose first two completed matches have malformed ids
+                stubFor(get(urlMatching("/.*fixtures.*"))
+                                .willReturn(aResponse()
+                                                .withStatus(200)
+                                                .withHeader("Content-Type", "text/html")
+                                                .withBody(loadTestResource("fixtures-malformed-ids-response.html"))));
+
+                // Act & Assert
+                StepVerifier.create(scrapingService.findTeamSnapshot("Boca Juniors", "Argentina"))
+                                .assertNext(snapshot -> assertThat(snapshot.completedMatches())
+                                                .extracting(CompletedMatch::matchId)
+                                                .containsExactly(12344L, 12347L))
+                                .verifyComplete();
+        }
+
+        // ==================== STAGE TIMINGS TESTS ====================
+
+        @Test
+        void shouldRecordScrapingStagesPerOperationAndEndpoint() {
+                // Arrange
+                stubFor(get(urlMatching("/search/.*"))
+                                .willReturn(aResponse()
+                                                .withStatus(200)
+                                                .withHeader("Content-Type", "text/html")
+                                                .withBody(loadTestResource("team-search-response.html"))));
+                stubFor(get(urlMatching("/.*fixtures.*"))
+                                .willReturn(aResponse()
+                                                .withStatus(200)
+                                                .withHeader("Content-Type", "text/html")
+                                                .withBody(loadTestResource("fixtures-response.html"))));
+                StageTimings timings = new StageTimings();
+
+                // Act
+                StepVerifier.create(scrapingService.findUpcomingMatches("Boca Juniors", "Argentina")
+                                .contextWrite(context -> context.put(StageTimings.CONTEXT_KEY, timings)))
+                                .expectNextCount(1)
+                                .verifyComplete();
+
+                // Assert
+                assertThat(meterRegistry.get("app_scraping_stage_seconds")
+                                .tag("operation", "upcoming_matches")
+                                .tag("stage", "resolve")
+                                .tag("endpoint", "search")
+                                .timer()
+                                .count()).isEqualTo(1);
+                assertThat(meterRegistry.get("app_scraping_stage_seconds")
+                                .tag("operation", "upcoming_matches")
+                                .tag("stage", "fetch")
+                                .tag("endpoint", "fixtures_page")
+                                .timer()
+                                .count()).isEqualTo(1);
+                assertThat(meterRegistry.get("app_scraping_stage_seconds")
+                                .tag("stage", "parse")
+                                .tag("endpoint", "fixtures_data")
+                                .timer()
+                                .count()).isEqualTo(1);
+                assertThat(meterRegistry.get("app_scraping_response_bytes")
+                                .tag("endpoint", "fixtures_page")
+                                .summary()
+                                .totalAmount()).isPositive();
+                assertThat(timings.toServerTiming())
+                                .startsWith("resolve;dur=")
+                                .contains("fetch;dur=", "parse;dur=", "map;dur=", "bytes;desc=");
+        }
+
         // ==================== HELPER METHODS ====================
 
         /**
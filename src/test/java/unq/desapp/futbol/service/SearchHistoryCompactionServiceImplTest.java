@@ -0,0 +1,98 @@
+package unq.desapp.futbol.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import unq.desapp.futbol.model.SearchHistoryReappearance;
+import unq.desapp.futbol.model.SearchHistoryRollupDelta;
+import unq.desapp.futbol.model.SearchType;
+import unq.desapp.futbol.repository.SearchHistoryCompactionRepository;
+import unq.desapp.futbol.service.impl.SearchHistoryCompactionServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class SearchHistoryCompactionServiceImplTest {
+
+    private static final int RETAINED = 200;
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private SearchHistoryCompactionRepository compactionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SearchHistoryCompactionServiceImpl compactionService;
+
+    @BeforeEach
+    void setUp() {
+        compactionService = new SearchHistoryCompactionServiceImpl(compactionRepository, transactionManager,
+                meterRegistry, RETAINED, BATCH_SIZE);
+    }
+
+    @Test
+    void shouldCompactInBoundedBatchesUntilUserIsWithinRetention() {
+        // Arrange
+        List<SearchHistoryRollupDelta> deltas = List.of(new SearchHistoryRollupDelta(1L, SearchType.TEAM,
+                "river plate", 2, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1)));
+        when(compactionRepository.findUsersAboveRetention(RETAINED)).thenReturn(List.of(1L));
+        when(compactionRepository.findIdsBeyondRetention(1L, RETAINED, BATCH_SIZE))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(compactionRepository.aggregate(List.of(1L, 2L))).thenReturn(deltas);
+        when(compactionRepository.aggregate(List.of(3L))).thenReturn(deltas);
+        when(compactionRepository.deleteByIds(List.of(1L, 2L))).thenReturn(2);
+        when(compactionRepository.deleteByIds(List.of(3L))).thenReturn(1);
+
+        // Act
+        int compacted = compactionService.compact();
+
+        // Assert
+        assertThat(compacted).isEqualTo(3);
+        verify(compactionRepository, times(2)).mergeRollups(deltas);
+        verify(transactionManager, times(2)).commit(null);
+        assertThat(meterRegistry.get("app_search_history_compacted_total").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void shouldAbsorbRollupsOfQueriesSearchedAgainBeforeCompacting() {
+        // Arrange
+        List<SearchHistoryReappearance> reappearances = List.of(new SearchHistoryReappearance(7L, 3L, 5));
+        when(compactionRepository.findUsersWithReappearances()).thenReturn(List.of(1L));
+        when(compactionRepository.findReappearances(1L)).thenReturn(reappearances);
+        when(compactionRepository.findUsersAboveRetention(RETAINED)).thenReturn(List.of());
+
+        // Act
+        compactionService.compact();
+
+        // Assert
+        verify(compactionRepository).absorbRollups(reappearances);
+        verify(transactionManager).commit(null);
+    }
+
+    @Test
+    void shouldDoNothingWhenNoUserExceedsRetention() {
+        // Arrange
+        when(compactionRepository.findUsersAboveRetention(RETAINED)).thenReturn(List.of());
+
+        // Act
+        int compacted = compactionService.compact();
+
+        // Assert
+        assertThat(compacted).isZero();
+        verify(compactionRepository, never()).deleteByIds(List.of());
+    }
+}
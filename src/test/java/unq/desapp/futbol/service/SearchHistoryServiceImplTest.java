@@ -0,0 +1,345 @@
+package unq.desapp.futbol.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import unq.desapp.futbol.config.tracing.TraceSpans;
+import unq.desapp.futbol.exceptions.InvalidCursorException;
+import unq.desapp.futbol.model.HistorySort;
+import unq.desapp.futbol.model.Role;
+import unq.desapp.futbol.model.SearchHistoryEntry;
+import unq.desapp.futbol.model.SearchHistoryEvent;
+import unq.desapp.futbol.model.SearchHistoryOverview;
+import unq.desapp.futbol.model.SearchHistoryPage;
+import unq.desapp.futbol.model.SearchHistoryRollup;
+import unq.desapp.futbol.model.SearchType;
+import unq.desapp.futbol.model.User;
+import unq.desapp.futbol.persistence.eventlog.SearchEventLog;
+import unq.desapp.futbol.repository.ReactiveSearchHistoryRepository;
+import unq.desapp.futbol.repository.SearchHistoryBatchRepository;
+import unq.desapp.futbol.repository.SearchHistoryRepository;
+import unq.desapp.futbol.repository.SearchHistoryRollupRepository;
+import unq.desapp.futbol.service.impl.SearchHistoryServiceImpl;
+import unq.desapp.futbol.service.impl.SearchHistoryServiceImpl.OverflowPolicy;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class SearchHistoryServiceImplTest {
+
+    @Mock
+    private SearchHistoryBatchRepository batchRepository;
+
+    @Mock
+    private SearchHistoryRepository searchHistoryRepository;
+
+    @Mock
+    private SearchHistoryRollupRepository rollupRepository;
+
+    @Mock
+    private ReactiveSearchHistoryRepository reactiveRepository;
+
+    @Mock
+    private TrendingService trendingService;
+
+    @Mock
+    private SearchEventLog eventLog;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<SearchHistoryEvent> written = new CopyOnWriteArrayList<>();
+    private User user;
+    private SearchHistoryServiceImpl searchHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("test@user.com", "password", "Test", "User", Role.USER);
+        user.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (searchHistoryService != null && searchHistoryService.isRunning()) {
+            searchHistoryService.stop();
+        }
+    }
+
+    @Test
+    void shouldWriteRecordedSearchesInBackground() {
+        // Arrange
+        captureWrites();
+        searchHistoryService = createService(100, OverflowPolicy.DROP_NEWEST);
+        searchHistoryService.start();
+
+        // Act
+        searchHistoryService.record(user, SearchType.TEAM, "River Plate (Argentina)");
+        searchHistoryService.record(user, SearchType.PLAYER, "Lionel Messi");
+
+        // Assert
+        verify(batchRepository, timeout(2000).atLeastOnce()).upsertBatch(anyList());
+        searchHistoryService.stop();
+        assertThat(written).extracting(SearchHistoryEvent::query)
+                .containsExactly("River Plate (Argentina)", "Lionel Messi");
+        assertThat(meterRegistry.get("app_search_history_written_total").counter().count()).isEqualTo(2.0);
+        verify(trendingService).record(SearchType.PLAYER, "Lionel Messi");
+        verify(eventLog).append(anyLong(), eq(1L), eq(SearchType.PLAYER), eq("Lionel Messi"));
+    }
+
+    @Test
+    void shouldReplayBatchRowByRowWhenItConflicts() {
+        // Arrange
+        doThrow(new DuplicateKeyException("search_history_user_query_unique"))
+                .when(batchRepository).upsertBatch(anyList());
+        searchHistoryService = createService(100, OverflowPolicy.DROP_NEWEST);
+        searchHistoryService.start();
+
+        // Act
+        searchHistoryService.record(user, SearchType.TEAM, "River Plate (Argentina)");
+
+        // Assert
+        verify(batchRepository, timeout(2000)).upsertEach(argThat(events -> events.size() == 1));
+        searchHistoryService.stop();
+        assertThat(meterRegistry.get("app_search_history_written_total").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldFlushPendingSearchesOnStop() {
+        // Arrange
+        captureWrites();
+        searchHistoryService = createService(100, OverflowPolicy.DROP_NEWEST);
+        searchHistoryService.record(user, SearchType.TEAM, "Boca Juniors (Argentina)");
+
+        // Act
+        searchHistoryService.stop();
+
+        // Assert
+        assertThat(written).hasSize(1);
+        assertThat(written.get(0).userId()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldDropNewestSearchWhenQueueIsFull() {
+        // Arrange
+        captureWrites();
+        searchHistoryService = createService(2, OverflowPolicy.DROP_NEWEST);
+
+        // Act
+        searchHistoryService.record(user, SearchType.TEAM, "first");
+        searchHistoryService.record(user, SearchType.TEAM, "second");
+        searchHistoryService.record(user, SearchType.TEAM, "third");
+        searchHistoryService.stop();
+
+        // Assert
+        assertThat(written).extracting(SearchHistoryEvent::query).containsExactly("first", "second");
+        assertThat(meterRegistry.get("app_search_history_dropped_total").tag("reason", "queue_full")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldDropOldestSearchWhenQueueIsFull() {
+        // Arrange
+        captureWrites();
+        searchHistoryService = createService(2, OverflowPolicy.DROP_OLDEST);
+
+        // Act
+        searchHistoryService.record(user, SearchType.TEAM, "first");
+        searchHistoryService.record(user, SearchType.TEAM, "second");
+        searchHistoryService.record(user, SearchType.TEAM, "third");
+        searchHistoryService.stop();
+
+        // Assert
+        assertThat(written).extracting(SearchHistoryEvent::query).containsExactly("second", "third");
+    }
+
+    @Test
+    void shouldAppendReactivelyWhenQueueIsFullWithWriteThrough() {
+        // Arrange
+        captureWrites();
+        when(reactiveRepository.append(anyList())).thenReturn(Mono.just(1L));
+        searchHistoryService = createService(1, OverflowPolicy.WRITE_THROUGH);
+
+        // Act
+        searchHistoryService.record(user, SearchType.TEAM, "first");
+        searchHistoryService.record(user, SearchType.TEAM, "second");
+        searchHistoryService.stop();
+
+        // Assert
+        assertThat(written).extracting(SearchHistoryEvent::query).containsExactly("first");
+        verify(reactiveRepository).append(argThat(events -> events.get(0).query().equals("second")));
+        assertThat(meterRegistry.get("app_search_history_written_total").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldIgnoreUsersWithoutId() {
+        // Arrange
+        searchHistoryService = createService(100, OverflowPolicy.DROP_NEWEST);
+        User anonymous = new User("anon@user.com", "password", "Anon", "User", Role.USER);
+
+        // Act
+        searchHistoryService.record(anonymous, SearchType.TEAM, "River Plate (Argentina)");
+        searchHistoryService.stop();
+
+        // Assert
+        verify(batchRepository, never()).upsertBatch(anyList());
+    }
+
+    @Test
+    void shouldReturnNextCursorWhenMoreEntriesExist() {
+        // Arrange
+        searchHistoryService = createService(100, OverflowPolicy.DROP_NEWEST);
+        SearchHistoryEntry newest = entry(3L, SearchType.TEAM, "boca juniors");
+        SearchHistoryEntry older = entry(2L, SearchType.TEAM, "river plate");
+        SearchHistoryEntry oldest = entry(1L, SearchType.TEAM, "racing club");
+        when(searchHistoryRepository.findPageBeforeByType(eq(1L), eq(SearchType.TEAM), any(), eq(Long.MAX_VALUE),
+                eq(Limit.of(3)))).thenReturn(List.of(newest, older, oldest));
+        when(searchHistoryRepository.findPageBeforeByType(1L, SearchType.TEAM, older.getTimestamp(), 2L,
+                Limit.of(3))).thenReturn(List.of(oldest));
+
+        // Act
+        SearchHistoryPage firstPage = searchHistoryService.findHistory(user, SearchType.TEAM, HistorySort.RECENT, 2, null).block();
+        SearchHistoryPage secondPage = searchHistoryService
+                .findHistory(user, SearchType.TEAM, HistorySort.RECENT, 2, firstPage.nextCursor()).block();
+
+        // Assert
+        assertThat(firstPage.entries()).containsExactly(newest, older);
+        assertThat(firstPage.nextCursor()).isNotNull();
+        assertThat(secondPage.entries()).containsExactly(oldest);
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldPageMostSearchedFirstFromTheOrderOfTheFirstPage() {
+        // Arrange
+        searchHistoryService = createService(100, OverflowPolicy.DROP_NEWEST);
+        SearchHistoryEntry top = entry(3L, SearchType.PLAYER, "lionel messi");
+        SearchHistoryEntry second = entry(1L, SearchType.TEAM, "river plate");
+        SearchHistoryEntry third = entry(2L, SearchType.TEAM, "boca juniors");
+        when(searchHistoryRepository.findMostSearchedIds(1L, Limit.of(1_000))).thenReturn(List.of(3L, 1L, 2L));
+        when(searchHistoryRepository.findByUserIdAndIdIn(1L, List.of(3L, 1L))).thenReturn(List.of(second, top));
+        when(searchHistoryRepository.findByUserIdAndIdIn(1L, List.of(2L))).thenReturn(List.of(third));
+
+        // Act
+        SearchHistoryPage firstPage = searchHistoryService.findHistory(user, null, HistorySort.FREQUENT, 2, null)
+                .block();
+        // "boca juniors" overtaking the first page while paging must not make it disappear
+        ReflectionTestUtils.setField(third, "hitCount", 50L);
+        SearchHistoryPage secondPage = searchHistoryService
+                .findHistory(user, null, HistorySort.FREQUENT, 2, firstPage.nextCursor()).block();
+
+        // Assert
+        assertThat(firstPage.entries()).containsExactly(top, second);
+        assertThat(secondPage.entries()).containsExactly(third);
+        assertThat(secondPage.nextCursor()).isNull();
+        verify(searchHistoryRepository).findMostSearchedIds(1L, Limit.of(1_000));
+    }
+
+    @Test
+    void shouldRejectFrequencyCursorOfAnotherUser() {
+        // Arrange
+        searchHistoryService = createService(100, OverflowPolicy.DROP_NEWEST);
+        when(searchHistoryRepository.findMostSearchedIds(1L, Limit.of(1_000))).thenReturn(List.of(3L, 1L, 2L));
+        when(searchHistoryRepository.findByUserIdAndIdIn(1L, List.of(3L))).thenReturn(List.of());
+        SearchHistoryPage firstPage = searchHistoryService.findHistory(user, null, HistorySort.FREQUENT, 1, null)
+                .block();
+        User other = new User("other@example.com", "password123", "Jane", "Doe", Role.USER);
+        other.setId(2L);
+
+        // Act & Assert
+        StepVerifier.create(searchHistoryService.findHistory(other, null, HistorySort.FREQUENT, 1,
+                        firstPage.nextCursor()))
+                .expectError(InvalidCursorException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldRejectRecencyCursorWhenSortingByFrequency() {
+        // Arrange
+        searchHistoryService = createService(100, OverflowPolicy.DROP_NEWEST);
+        String recencyCursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2024-05-01T10:00|4".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        StepVerifier.create(searchHistoryService.findHistory(user, null, HistorySort.FREQUENT, 20, recencyCursor))
+                .expectError(InvalidCursorException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        // Arrange
+        searchHistoryService = createService(100, OverflowPolicy.DROP_NEWEST);
+
+        // Act & Assert
+        StepVerifier.create(searchHistoryService.findHistory(user, null, HistorySort.RECENT, 20, "not-a-cursor"))
+                .expectError(InvalidCursorException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldReturnRecentEntriesAndAggregatesInOverview() {
+        // Arrange
+        searchHistoryService = createService(100, OverflowPolicy.DROP_NEWEST);
+        SearchHistoryEntry recent = entry(10L, SearchType.PLAYER, "lionel messi");
+        SearchHistoryRollup aggregate = new SearchHistoryRollup(user, SearchType.PLAYER, "lionel messi", 42,
+                LocalDateTime.now().minusDays(30), LocalDateTime.now().minusDays(1));
+        when(searchHistoryRepository.findPageBeforeByType(eq(1L), eq(SearchType.PLAYER), any(),
+                eq(Long.MAX_VALUE), eq(Limit.of(6)))).thenReturn(List.of(recent));
+        when(rollupRepository.findByUserIdAndTypeOrderByHitCountDescLastSeenDesc(1L, SearchType.PLAYER,
+                Limit.of(5))).thenReturn(List.of(aggregate));
+
+        // Act
+        SearchHistoryOverview overview = searchHistoryService.findOverview(user, SearchType.PLAYER, 5).block();
+
+        // Assert
+        assertThat(overview.recent()).containsExactly(recent);
+        assertThat(overview.nextCursor()).isNull();
+        assertThat(overview.aggregates()).extracting(SearchHistoryRollup::getHitCount).containsExactly(42L);
+    }
+
+    private SearchHistoryEntry entry(long id, SearchType type, String query) {
+        SearchHistoryEntry entry = new SearchHistoryEntry(type, query);
+        ReflectionTestUtils.setField(entry, "id", id);
+        return entry;
+    }
+
+    private SearchHistoryServiceImpl createService(int capacity, OverflowPolicy overflowPolicy) {
+        return new SearchHistoryServiceImpl(batchRepository, searchHistoryRepository, rollupRepository,
+                reactiveRepository, trendingService, eventLog, meterRegistry, capacity, 50, overflowPolicy,
+                Duration.ofMillis(10), Duration.ofMillis(20), TraceSpans.NOOP);
+    }
+
+    private void captureWrites() {
+        doAnswer(invocation -> {
+            List<SearchHistoryEvent> batch = invocation.getArgument(0);
+            written.addAll(batch);
+            return null;
+        }).when(batchRepository).upsertBatch(anyList());
+    }
+}
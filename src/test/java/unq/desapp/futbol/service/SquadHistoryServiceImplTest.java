@@ -0,0 +1,72 @@
+package unq.desapp.futbol.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import unq.desapp.futbol.exceptions.TeamNotFoundException;
+import unq.desapp.futbol.model.Player;
+import unq.desapp.futbol.model.PlayerTimeline;
+import unq.desapp.futbol.persistence.warehouse.SquadWarehouse;
+import unq.desapp.futbol.service.impl.SquadHistoryServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class SquadHistoryServiceImplTest {
+
+    private static final int RIVER_PLATE = 1_863;
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private ScrapingService scrapingService;
+
+    private SquadHistoryServiceImpl squadHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        squadHistoryService = new SquadHistoryServiceImpl(new SquadWarehouse(true, directory.toString()),
+                scrapingService);
+    }
+
+    @Test
+    void shouldShareTheHistoryBetweenSpellingsOfTheSameTeam() {
+        // Arrange
+        when(scrapingService.findTeamId("River Plate", "Argentina")).thenReturn(Mono.just(RIVER_PLATE));
+        when(scrapingService.findTeamId("river plate", "argentina")).thenReturn(Mono.just(RIVER_PLATE));
+        squadHistoryService.record("River Plate", "Argentina", List.of(
+                new Player("Franco Armani", 37, "Argentina", "Goalkeeper", 7.5, 10, 0, 0, 0, 2)));
+
+        // Act & Assert
+        StepVerifier.create(squadHistoryService.findTimelines("river plate", "argentina")
+                        // The snapshot is stored in the background
+                        .repeatWhenEmpty(attempts -> attempts.take(50).delayElements(Duration.ofMillis(20))))
+                .assertNext(timelines -> assertThat(timelines).extracting(PlayerTimeline::player)
+                        .containsExactly("Franco Armani"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldPropagateAnUnknownTeam() {
+        // Arrange
+        when(scrapingService.findTeamId("Atlantis", "Nowhere"))
+                .thenReturn(Mono.error(new TeamNotFoundException("Team not found")));
+
+        // Act & Assert
+        StepVerifier.create(squadHistoryService.findPlayerTimeline("Atlantis", "Nowhere", "franco-armani"))
+                .expectError(TeamNotFoundException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,129 @@
+package unq.desapp.futbol.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import unq.desapp.futbol.model.TeamComparisonResponse;
+import unq.desapp.futbol.model.TeamStats;
+import unq.desapp.futbol.model.VersionedTeamStats;
+import unq.desapp.futbol.service.impl.TeamComparisonServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class TeamComparisonServiceImplTest {
+
+    private static final Instant EXPIRES_AT = Instant.now().plusSeconds(1800);
+
+    @Mock
+    private TeamStatsService teamStatsService;
+
+    private TeamComparisonServiceImpl teamComparisonService;
+
+    @BeforeEach
+    void setUp() {
+        teamComparisonService = new TeamComparisonServiceImpl(teamStatsService, 100);
+    }
+
+    @Test
+    void shouldCompareBothTeams() {
+        // Arrange
+        stubStats("River Plate", 7.5, 60.0, 28.0, "69:1:0");
+        stubStats("Boca Juniors", 7.1, 50.0, 29.5, "12:1:0");
+
+        // Act & Assert
+        StepVerifier.create(teamComparisonService.compareTeams("River Plate", "Argentina", "Boca Juniors",
+                "Argentina"))
+                .assertNext(comparison -> {
+                    assertThat(comparison.getTeamA().getTeamName()).isEqualTo("River Plate");
+                    assertThat(comparison.getTeamB().getTeamName()).isEqualTo("Boca Juniors");
+                    assertThat(comparison.getTeamA().getAverageRating()).isEqualTo(
+                            String.format(Locale.US, "Higher average rating (%.1f vs %.1f)", 7.5, 7.1));
+                    assertThat(comparison.getTeamB().getWinRate()).isEqualTo(
+                            String.format(Locale.US, "Lower win rate (%.1f vs %.1f)%%", 50.0, 60.0));
+                    assertThat(comparison.getVerdict()).contains("seems superior");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReuseComparisonForReversedOrder() {
+        // Arrange
+        stubStats("River Plate", 7.5, 60.0, 28.0, "69:1:0");
+        stubStats("Boca Juniors", 7.1, 50.0, 29.5, "12:1:0");
+        TeamComparisonResponse forward = teamComparisonService
+                .compareTeams("River Plate", "Argentina", "Boca Juniors", "Argentina").block();
+
+        // Act
+        TeamComparisonResponse reversed = teamComparisonService
+                .compareTeams("Boca Juniors", "Argentina", "River Plate", "Argentina").block();
+        TeamComparisonResponse again = teamComparisonService
+                .compareTeams("River Plate", "Argentina", "Boca Juniors", "Argentina").block();
+
+        // Assert
+        assertThat(reversed.getTeamA().getTeamName()).isEqualTo("Boca Juniors");
+        assertThat(reversed.getTeamB().getTeamName()).isEqualTo("River Plate");
+        assertThat(reversed.getVerdict()).isEqualTo(forward.getVerdict());
+        assertThat(again).isSameAs(forward);
+    }
+
+    @Test
+    void shouldRebuildComparisonWhenOneSideChanges() {
+        // Arrange
+        stubStats("River Plate", 7.5, 60.0, 28.0, "69:1:0");
+        stubStats("Boca Juniors", 7.1, 50.0, 29.5, "12:1:0");
+        TeamComparisonResponse before = teamComparisonService
+                .compareTeams("River Plate", "Argentina", "Boca Juniors", "Argentina").block();
+        stubStats("Boca Juniors", 7.9, 70.0, 29.5, "12:2:0");
+
+        // Act
+        TeamComparisonResponse after = teamComparisonService
+                .compareTeams("River Plate", "Argentina", "Boca Juniors", "Argentina").block();
+
+        // Assert
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.getVerdict()).startsWith("Boca Juniors seems superior");
+    }
+
+    @Test
+    void shouldEvictTheLeastRecentlyUsedComparison() {
+        // Arrange
+        TeamComparisonServiceImpl boundedService = new TeamComparisonServiceImpl(teamStatsService, 2);
+        stubStats("River Plate", 7.5, 60.0, 28.0, "69:1:0");
+        stubStats("Boca Juniors", 7.1, 50.0, 29.5, "12:1:0");
+        stubStats("Racing Club", 6.9, 45.0, 27.0, "21:1:0");
+        TeamComparisonResponse riverBoca = boundedService
+                .compareTeams("River Plate", "Argentina", "Boca Juniors", "Argentina").block();
+        TeamComparisonResponse riverRacing = boundedService
+                .compareTeams("River Plate", "Argentina", "Racing Club", "Argentina").block();
+        boundedService.compareTeams("River Plate", "Argentina", "Boca Juniors", "Argentina").block();
+
+        // Act
+        boundedService.compareTeams("Boca Juniors", "Argentina", "Racing Club", "Argentina").block();
+
+        // Assert
+        assertThat(boundedService.compareTeams("River Plate", "Argentina", "Boca Juniors", "Argentina").block())
+                .isSameAs(riverBoca);
+        assertThat(boundedService.compareTeams("River Plate", "Argentina", "Racing Club", "Argentina").block())
+                .isNotSameAs(riverRacing);
+    }
+
+    private void stubStats(String teamName, double rating, double winRate, double age, String version) {
+        TeamStats stats = new TeamStats(teamName, "Argentina");
+        stats.setAverageRating(rating);
+        stats.setWinRate(winRate);
+        stats.setAverageAge(age);
+        stats.setBestPlayer("Best of " + teamName);
+        when(teamStatsService.findVersionedTeamStats(teamName, "Argentina"))
+                .thenReturn(Mono.just(new VersionedTeamStats(stats, version, EXPIRES_AT)));
+    }
+}
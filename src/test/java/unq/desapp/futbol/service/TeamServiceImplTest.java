@@ -7,7 +7,6 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import java.util.Locale;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -16,11 +15,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import unq.desapp.futbol.config.tracing.TraceSpans;
 import unq.desapp.futbol.model.MatchPrediction;
+import unq.desapp.futbol.model.TeamComparisonDetails;
+import unq.desapp.futbol.model.TeamComparisonResponse;
 import unq.desapp.futbol.model.TeamStats;
 import unq.desapp.futbol.model.Player;
 import unq.desapp.futbol.model.PreviousMatch;
 import unq.desapp.futbol.model.Role;
+import unq.desapp.futbol.model.SearchType;
 import unq.desapp.futbol.model.UpcomingMatch;
 import unq.desapp.futbol.model.User;
 import unq.desapp.futbol.service.impl.TeamServiceImpl;
@@ -28,12 +31,18 @@ import unq.desapp.futbol.service.impl.TeamServiceImpl;
 @Tag("unit")
 class TeamServiceImplTest {
         private User testUser;
-        private UserService userService;
+        private SearchHistoryService searchHistoryService;
+        private TeamStatsService teamStatsService;
+        private TeamComparisonService teamComparisonService;
+        private SquadHistoryService squadHistoryService;
 
         @BeforeEach
         void setUp() {
                 testUser = new User("test@user.com", "password", "Test", "User", Role.USER);
-                userService = mock(UserService.class);
+                searchHistoryService = mock(SearchHistoryService.class);
+                teamStatsService = mock(TeamStatsService.class);
+                teamComparisonService = mock(TeamComparisonService.class);
+                squadHistoryService = mock(SquadHistoryService.class);
         }
 
         @Test
@@ -51,7 +60,8 @@ class TeamServiceImplTest {
                 when(scrapingService.findTeamSquad(teamName, country))
                                 .thenReturn(Mono.just(expectedPlayers));
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert
                 StepVerifier.create(teamService.getTeamSquad(teamName, country, testUser))
@@ -67,6 +77,7 @@ class TeamServiceImplTest {
                                 .verifyComplete();
 
                 verify(scrapingService, times(1)).findTeamSquad(teamName, country);
+                verify(squadHistoryService).record(teamName, country, expectedPlayers);
         }
 
         @Test
@@ -79,7 +90,8 @@ class TeamServiceImplTest {
                 when(scrapingService.findTeamSquad(teamName, country))
                                 .thenReturn(Mono.just(Collections.emptyList()));
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert
                 StepVerifier.create(teamService.getTeamSquad(teamName, country, testUser))
@@ -90,6 +102,7 @@ class TeamServiceImplTest {
                                 .verifyComplete();
 
                 verify(scrapingService, times(1)).findTeamSquad(teamName, country);
+                verify(squadHistoryService, never()).record(any(), any(), any());
         }
 
         @Test
@@ -103,7 +116,8 @@ class TeamServiceImplTest {
                 when(scrapingService.findTeamSquad(teamName, country))
                                 .thenReturn(Mono.error(expectedException));
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert
                 StepVerifier.create(teamService.getTeamSquad(teamName, country, testUser))
@@ -131,7 +145,8 @@ class TeamServiceImplTest {
                 when(scrapingService.findUpcomingMatches(teamName, country))
                                 .thenReturn(Mono.just(expectedMatches));
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert
                 StepVerifier.create(teamService.getUpcomingMatches(teamName, country, testUser))
@@ -159,7 +174,8 @@ class TeamServiceImplTest {
                 when(scrapingService.findUpcomingMatches(teamName, country))
                                 .thenReturn(Mono.just(Collections.emptyList()));
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert
                 StepVerifier.create(teamService.getUpcomingMatches(teamName, country, testUser))
@@ -183,7 +199,8 @@ class TeamServiceImplTest {
                 when(scrapingService.findUpcomingMatches(teamName, country))
                                 .thenReturn(Mono.error(expectedException));
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert
                 StepVerifier.create(teamService.getUpcomingMatches(teamName, country, testUser))
@@ -207,7 +224,8 @@ class TeamServiceImplTest {
                 when(scrapingService.findTeamSquad(teamName, country))
                                 .thenReturn(Mono.just(expectedPlayers));
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert
                 StepVerifier.create(teamService.getTeamSquad(teamName, country, testUser))
@@ -234,7 +252,8 @@ class TeamServiceImplTest {
                 when(scrapingService.findTeamSquad(teamName, country))
                                 .thenReturn(Mono.just(expectedPlayers));
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert - First call
                 StepVerifier.create(teamService.getTeamSquad(teamName, country, testUser))
@@ -263,7 +282,8 @@ class TeamServiceImplTest {
                 when(scrapingService.findUpcomingMatches(teamName, country))
                                 .thenReturn(Mono.just(expectedMatches));
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert - First call
                 StepVerifier.create(teamService.getUpcomingMatches(teamName, country, testUser))
@@ -291,7 +311,8 @@ class TeamServiceImplTest {
                 when(scrapingService.findTeamSquad(teamName, country))
                                 .thenReturn(Mono.just(expectedPlayers));
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert
                 StepVerifier.create(teamService.getTeamSquad(teamName, country, testUser))
@@ -320,7 +341,8 @@ class TeamServiceImplTest {
                 when(scrapingService.findUpcomingMatches(teamName, country))
                                 .thenReturn(Mono.just(expectedMatches));
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert
                 StepVerifier.create(teamService.getUpcomingMatches(teamName, country, testUser))
@@ -355,7 +377,8 @@ class TeamServiceImplTest {
                 when(scrapingService.predictNextMatch(teamName, country))
                                 .thenReturn(Mono.just(expectedPrediction));
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert
                 StepVerifier.create(teamService.getNextMatchPrediction(teamName, country, testUser))
@@ -372,9 +395,8 @@ class TeamServiceImplTest {
 
                 verify(scrapingService, times(1)).predictNextMatch(teamName, country);
                 // Verify search history was added
-                assertThat(testUser.getSearchHistory()).hasSize(1);
-                assertThat(testUser.getSearchHistory().get(0).getQuery()).isEqualTo(teamName + " (" + country + ")");
-                verify(userService, times(1)).saveUser(testUser);
+                verify(searchHistoryService, times(1))
+                                .record(testUser, SearchType.TEAM, teamName + " (" + country + ")");
         }
 
         @Test
@@ -390,7 +412,8 @@ class TeamServiceImplTest {
                 when(scrapingService.predictNextMatch(teamName, country))
                                 .thenReturn(Mono.just(expectedPrediction));
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert
                 StepVerifier.create(teamService.getNextMatchPrediction(teamName, country, null))
@@ -403,7 +426,7 @@ class TeamServiceImplTest {
 
                 verify(scrapingService, times(1)).predictNextMatch(teamName, country);
                 // Verify search history was NOT added because user is null
-                verify(userService, never()).saveUser(any());
+                verify(searchHistoryService, never()).record(any(), any(), any());
         }
 
         @Test
@@ -416,7 +439,8 @@ class TeamServiceImplTest {
                 when(scrapingService.predictNextMatch(teamName, country))
                                 .thenReturn(Mono.empty());
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert
                 StepVerifier.create(teamService.getNextMatchPrediction(teamName, country, testUser))
@@ -424,8 +448,7 @@ class TeamServiceImplTest {
 
                 verify(scrapingService, times(1)).predictNextMatch(teamName, country);
                 // Verify search history was NOT added because prediction is empty
-                assertThat(testUser.getSearchHistory()).isEmpty();
-                verify(userService, never()).saveUser(any());
+                verify(searchHistoryService, never()).record(any(), any(), any());
         }
 
         @Test
@@ -439,7 +462,8 @@ class TeamServiceImplTest {
                 when(scrapingService.predictNextMatch(teamName, country))
                                 .thenReturn(Mono.error(expectedException));
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert
                 StepVerifier.create(teamService.getNextMatchPrediction(teamName, country, testUser))
@@ -453,7 +477,7 @@ class TeamServiceImplTest {
         // Tests for getSingleTeamStats
 
         @Test
-        void shouldReturnTeamStatsWhenScrapingServiceReturnsData() {
+        void shouldReturnTeamStatsWhenTeamStatsServiceReturnsData() {
                 // Arrange
                 String teamName = "River Plate";
                 String country = "Argentina";
@@ -463,9 +487,10 @@ class TeamServiceImplTest {
                 expectedStats.setBestPlayer("Franco Armani");
 
                 ScrapingService scrapingService = mock(ScrapingService.class);
-                when(scrapingService.findTeamStats(teamName, country)).thenReturn(Mono.just(expectedStats));
+                when(teamStatsService.findTeamStats(teamName, country)).thenReturn(Mono.just(expectedStats));
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert
                 StepVerifier.create(teamService.getSingleTeamStats(teamName, country, testUser))
@@ -474,56 +499,43 @@ class TeamServiceImplTest {
                                         assertThat(stats.getBestPlayer()).isEqualTo("Franco Armani");
                                         assertThat(stats.getWins()).isEqualTo(10);
                                         assertThat(stats.getAverageAge()).isEqualTo(28.5);
-                                        assertThat(testUser.getSearchHistory()).hasSize(1);
                                         return true;
                                 })
                                 .verifyComplete();
 
-                verify(scrapingService, times(1)).findTeamStats(teamName, country);
+                verify(teamStatsService, times(1)).findTeamStats(teamName, country);
+                verify(searchHistoryService, times(1))
+                                .record(testUser, SearchType.TEAM, "River Plate (Argentina) stats");
         }
 
         // Tests for compareTeams
 
         @Test
-        void shouldReturnTeamComparisonWhenScrapingServiceReturnsSquads() {
+        void shouldReturnTeamComparisonFromComparisonService() {
                 // Arrange
-                TeamStats statsA = new TeamStats("River Plate", "Argentina");
-                statsA.setAverageRating(7.5);
-                statsA.setWinRate(60.0);
-                statsA.setAverageAge(28.0);
-                statsA.setBestPlayer("Player A");
-
-                TeamStats statsB = new TeamStats("Boca Juniors", "Argentina");
-                statsB.setAverageRating(7.1);
-                statsB.setWinRate(50.0);
-                statsB.setAverageAge(29.5);
-                statsB.setBestPlayer("Player B");
+                TeamComparisonResponse expected = new TeamComparisonResponse(
+                                new TeamComparisonDetails("River Plate", "Argentina"),
+                                new TeamComparisonDetails("Boca Juniors", "Argentina"),
+                                "River Plate seems superior, with a noticeably higher average rating and win rate.");
 
                 ScrapingService scrapingService = mock(ScrapingService.class);
-                when(scrapingService.findTeamStats("River Plate", "Argentina")).thenReturn(Mono.just(statsA));
-                when(scrapingService.findTeamStats("Boca Juniors", "Argentina")).thenReturn(Mono.just(statsB));
+                when(teamComparisonService.compareTeams("River Plate", "Argentina", "Boca Juniors", "Argentina"))
+                                .thenReturn(Mono.just(expected));
 
-                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, userService);
+                TeamServiceImpl teamService = new TeamServiceImpl(scrapingService, teamStatsService,
+                                teamComparisonService, searchHistoryService, squadHistoryService, TraceSpans.NOOP);
 
                 // Act & Assert
                 StepVerifier.create(teamService.getTeamsComparasion("River Plate", "Argentina", "Boca Juniors",
                                 "Argentina", testUser))
                                 .expectNextMatches(comparison -> {
-                                        assertThat(comparison).isNotNull();
-                                        assertThat(comparison.getTeamA().getTeamName()).isEqualTo("River Plate");
-                                        assertThat(comparison.getTeamB().getTeamName()).isEqualTo("Boca Juniors");
-                                        String expectedRating = String.format(Locale.US,
-                                                        "Higher average rating (%.1f vs %.1f)", 7.5, 7.1);
-                                        assertThat(comparison.getTeamA().getAverageRating())
-                                                        .isEqualTo(expectedRating);
-                                        String expectedWinRate = String.format(Locale.US,
-                                                        "Lower win rate (%.1f vs %.1f)%%", 50.0, 60.0);
-                                        assertThat(comparison.getTeamB().getWinRate())
-                                                        .isEqualTo(expectedWinRate);
-                                        assertThat(comparison.getVerdict()).contains("seems superior");
-                                        assertThat(testUser.getSearchHistory()).hasSize(1);
+                                        assertThat(comparison).isSameAs(expected);
                                         return true;
                                 })
                                 .verifyComplete();
+
+                verify(teamStatsService, never()).findTeamStats(any(), any());
+                verify(searchHistoryService, times(1)).record(testUser, SearchType.TEAM,
+                                "River Plate (Argentina) vs Boca Juniors (Argentina)");
         }
 }
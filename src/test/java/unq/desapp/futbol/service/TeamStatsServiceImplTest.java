@@ -0,0 +1,241 @@
+package unq.desapp.futbol.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import unq.desapp.futbol.config.tracing.TraceSpans;
+import unq.desapp.futbol.model.CompletedMatch;
+import unq.desapp.futbol.model.Player;
+import unq.desapp.futbol.model.TeamSnapshot;
+import unq.desapp.futbol.model.TeamStatsRecord;
+import unq.desapp.futbol.model.VersionedTeamStats;
+import unq.desapp.futbol.repository.TeamStatsRecordRepository;
+import unq.desapp.futbol.service.impl.TeamStatsServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class TeamStatsServiceImplTest {
+
+    private static final String TEAM = "River Plate";
+    private static final String COUNTRY = "Argentina";
+
+    @Mock
+    private ScrapingService scrapingService;
+
+    @Mock
+    private TeamStatsRecordRepository teamStatsRepository;
+
+    private TeamStatsServiceImpl teamStatsService;
+
+    @BeforeEach
+    void setUp() {
+        teamStatsService = new TeamStatsServiceImpl(scrapingService, teamStatsRepository, Duration.ofMinutes(30),
+                Duration.ofMinutes(1), TraceSpans.NOOP);
+    }
+
+    @Test
+    void shouldAnswerFromTableWhenRecordIsFresh() {
+        TeamStatsRecord record = new TeamStatsRecord(69, TEAM, COUNTRY);
+        record.applySquad(List.of(new Player("Franco Armani", 37, "Argentina", "Goalkeeper", 7.5, 30, 0, 0, 0, 2)));
+        record.markRefreshed(Instant.now());
+        when(teamStatsRepository.findFirstByTeamNameIgnoreCaseAndCountryIgnoreCase(TEAM, COUNTRY))
+                .thenReturn(Optional.of(record));
+
+        StepVerifier.create(teamStatsService.findTeamStats(TEAM, COUNTRY))
+                .assertNext(stats -> {
+                    assertThat(stats.getTeamName()).isEqualTo(TEAM);
+                    assertThat(stats.getBestPlayer()).isEqualTo("Franco Armani");
+                })
+                .verifyComplete();
+
+        verify(scrapingService, never()).findTeamSnapshot(anyString(), anyString());
+        verify(teamStatsRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromMemory() {
+        TeamStatsRecord record = new TeamStatsRecord(69, TEAM, COUNTRY);
+        record.markRefreshed(Instant.now());
+        when(teamStatsRepository.findFirstByTeamNameIgnoreCaseAndCountryIgnoreCase(TEAM, COUNTRY))
+                .thenReturn(Optional.of(record));
+
+        VersionedTeamStats first = teamStatsService.findVersionedTeamStats(TEAM, COUNTRY).block();
+        VersionedTeamStats second = teamStatsService.findVersionedTeamStats(TEAM, COUNTRY).block();
+
+        assertThat(second).isSameAs(first);
+        verify(teamStatsRepository, times(1)).findFirstByTeamNameIgnoreCaseAndCountryIgnoreCase(TEAM, COUNTRY);
+    }
+
+    @Test
+    void shouldShareUnitsBetweenSpellingsThatDifferInCase() {
+        TeamStatsRecord record = new TeamStatsRecord(69, TEAM, COUNTRY);
+        record.markRefreshed(Instant.now());
+        when(teamStatsRepository.findFirstByTeamNameIgnoreCaseAndCountryIgnoreCase(TEAM, COUNTRY))
+                .thenReturn(Optional.of(record));
+
+        VersionedTeamStats first = teamStatsService.findVersionedTeamStats(TEAM, COUNTRY).block();
+        VersionedTeamStats second = teamStatsService.findVersionedTeamStats("RIVER PLATE", "argentina").block();
+
+        assertThat(second).isSameAs(first);
+        verify(teamStatsRepository, times(1)).findFirstByTeamNameIgnoreCaseAndCountryIgnoreCase(TEAM, COUNTRY);
+    }
+
+    @Test
+    void shouldRefreshFromSnapshotWhenRecordIsMissing() {
+        TeamSnapshot snapshot = new TeamSnapshot(69,
+                List.of(new Player("Franco Armani", 37, "Argentina", "Goalkeeper", 7.5, 30, 0, 0, 0, 2)),
+                List.of(new CompletedMatch(1L, 69L, TEAM, 2, 1)));
+        when(teamStatsRepository.findFirstByTeamNameIgnoreCaseAndCountryIgnoreCase(TEAM, COUNTRY))
+                .thenReturn(Optional.empty());
+        when(scrapingService.findTeamSnapshot(TEAM, COUNTRY)).thenReturn(Mono.just(snapshot));
+        when(teamStatsRepository.findById(69)).thenReturn(Optional.empty());
+        when(teamStatsRepository.save(any(TeamStatsRecord.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(teamStatsService.findTeamStats(TEAM, COUNTRY))
+                .assertNext(stats -> {
+                    assertThat(stats.getWins()).isEqualTo(1);
+                    assertThat(stats.getWinRate()).isEqualTo(100.0);
+                    assertThat(stats.getAverageAge()).isEqualTo(37.0);
+                })
+                .verifyComplete();
+
+        verify(teamStatsRepository).save(any(TeamStatsRecord.class));
+    }
+
+    @Test
+    void shouldApplyOnlyNewMatchesWhenRecordIsStale() {
+        TeamStatsRecord stale = new TeamStatsRecord(69, TEAM, COUNTRY);
+        stale.applyCompletedMatches(List.of(new CompletedMatch(1L, 69L, TEAM, 2, 1)), TEAM);
+        TeamSnapshot snapshot = new TeamSnapshot(69, List.of(), List.of(
+                new CompletedMatch(1L, 69L, TEAM, 2, 1),
+                new CompletedMatch(2L, 69L, TEAM, 0, 0)));
+        when(teamStatsRepository.findFirstByTeamNameIgnoreCaseAndCountryIgnoreCase(TEAM, COUNTRY))
+                .thenReturn(Optional.of(stale));
+        when(scrapingService.findTeamSnapshot(TEAM, COUNTRY)).thenReturn(Mono.just(snapshot));
+        when(teamStatsRepository.findById(69)).thenReturn(Optional.of(stale));
+        when(teamStatsRepository.save(any(TeamStatsRecord.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(teamStatsService.findTeamStats(TEAM, COUNTRY))
+                .assertNext(stats -> {
+                    assertThat(stats.getWins()).isEqualTo(1);
+                    assertThat(stats.getDraws()).isEqualTo(1);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnEmptyWhenSnapshotIsUnavailable() {
+        when(teamStatsRepository.findFirstByTeamNameIgnoreCaseAndCountryIgnoreCase(TEAM, COUNTRY))
+                .thenReturn(Optional.empty());
+        when(scrapingService.findTeamSnapshot(TEAM, COUNTRY)).thenReturn(Mono.empty());
+
+        StepVerifier.create(teamStatsService.findTeamStats(TEAM, COUNTRY))
+                .verifyComplete();
+
+        verify(teamStatsRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldServeStoredRecordWhenRefreshFails() {
+        TeamStatsRecord stale = new TeamStatsRecord(69, TEAM, COUNTRY);
+        stale.applyCompletedMatches(List.of(new CompletedMatch(1L, 69L, TEAM, 2, 1)), TEAM);
+        when(teamStatsRepository.findFirstByTeamNameIgnoreCaseAndCountryIgnoreCase(TEAM, COUNTRY))
+                .thenReturn(Optional.of(stale));
+        when(scrapingService.findTeamSnapshot(TEAM, COUNTRY))
+                .thenReturn(Mono.error(new IllegalStateException("site unavailable")));
+
+        StepVerifier.create(teamStatsService.findTeamStats(TEAM, COUNTRY))
+                .assertNext(stats -> assertThat(stats.getWins()).isEqualTo(1))
+                .verifyComplete();
+
+        verify(teamStatsRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldRetryTheRefreshOnlyAfterTheRetryIntervalWhenFallingBack() {
+        TeamStatsRecord stale = new TeamStatsRecord(69, TEAM, COUNTRY);
+        when(teamStatsRepository.findFirstByTeamNameIgnoreCaseAndCountryIgnoreCase(TEAM, COUNTRY))
+                .thenReturn(Optional.of(stale));
+        when(scrapingService.findTeamSnapshot(TEAM, COUNTRY))
+                .thenReturn(Mono.error(new IllegalStateException("site unavailable")));
+
+        VersionedTeamStats first = teamStatsService.findVersionedTeamStats(TEAM, COUNTRY).block();
+        VersionedTeamStats second = teamStatsService.findVersionedTeamStats(TEAM, COUNTRY).block();
+
+        assertThat(first.expiresAt()).isAfter(Instant.now().plusSeconds(30));
+        assertThat(second).isSameAs(first);
+        verify(scrapingService, times(1)).findTeamSnapshot(TEAM, COUNTRY);
+    }
+
+    @Test
+    void shouldShareOneRefreshBetweenConcurrentMisses() {
+        TeamSnapshot snapshot = new TeamSnapshot(69, List.of(), List.of(new CompletedMatch(1L, 69L, TEAM, 2, 1)));
+        when(teamStatsRepository.findFirstByTeamNameIgnoreCaseAndCountryIgnoreCase(TEAM, COUNTRY))
+                .thenReturn(Optional.empty());
+        when(scrapingService.findTeamSnapshot(TEAM, COUNTRY))
+                .thenReturn(Mono.just(snapshot).delayElement(Duration.ofMillis(100)));
+        when(teamStatsRepository.findById(69)).thenReturn(Optional.empty());
+        when(teamStatsRepository.save(any(TeamStatsRecord.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(Mono.zip(teamStatsService.findVersionedTeamStats(TEAM, COUNTRY),
+                        teamStatsService.findVersionedTeamStats("river plate", "argentina")))
+                .assertNext(units -> assertThat(units.getT2()).isSameAs(units.getT1()))
+                .verifyComplete();
+
+        verify(scrapingService, times(1)).findTeamSnapshot(TEAM, COUNTRY);
+        verify(teamStatsRepository, times(1)).save(any(TeamStatsRecord.class));
+    }
+
+    @Test
+    void shouldServeStoredRecordWhenSnapshotIsUnavailable() {
+        TeamStatsRecord stale = new TeamStatsRecord(69, TEAM, COUNTRY);
+        stale.applyCompletedMatches(List.of(new CompletedMatch(1L, 69L, TEAM, 0, 3)), TEAM);
+        when(teamStatsRepository.findFirstByTeamNameIgnoreCaseAndCountryIgnoreCase(TEAM, COUNTRY))
+                .thenReturn(Optional.of(stale));
+        when(scrapingService.findTeamSnapshot(TEAM, COUNTRY)).thenReturn(Mono.empty());
+
+        StepVerifier.create(teamStatsService.findTeamStats(TEAM, COUNTRY))
+                .assertNext(stats -> assertThat(stats.getDefeats()).isEqualTo(1))
+                .verifyComplete();
+
+        verify(teamStatsRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldKeepResultsWhenSnapshotHasNoCompletedMatches() {
+        TeamStatsRecord stale = new TeamStatsRecord(69, TEAM, COUNTRY);
+        stale.applyCompletedMatches(List.of(new CompletedMatch(1L, 69L, TEAM, 2, 1)), TEAM);
+        TeamSnapshot snapshot = new TeamSnapshot(69,
+                List.of(new Player("Franco Armani", 37, "Argentina", "Goalkeeper", 7.5, 30, 0, 0, 0, 2)),
+                List.of());
+        when(teamStatsRepository.findFirstByTeamNameIgnoreCaseAndCountryIgnoreCase(TEAM, COUNTRY))
+                .thenReturn(Optional.of(stale));
+        when(scrapingService.findTeamSnapshot(TEAM, COUNTRY)).thenReturn(Mono.just(snapshot));
+        when(teamStatsRepository.findById(69)).thenReturn(Optional.of(stale));
+        when(teamStatsRepository.save(any(TeamStatsRecord.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(teamStatsService.findTeamStats(TEAM, COUNTRY))
+                .assertNext(stats -> {
+                    assertThat(stats.getWins()).isEqualTo(1);
+                    assertThat(stats.getBestPlayer()).isEqualTo("Franco Armani");
+                })
+                .verifyComplete();
+    }
+}
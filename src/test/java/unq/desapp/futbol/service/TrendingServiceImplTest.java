@@ -0,0 +1,90 @@
+package unq.desapp.futbol.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import unq.desapp.futbol.model.SearchType;
+import unq.desapp.futbol.model.TrendingQuery;
+import unq.desapp.futbol.model.TrendingWindow;
+import unq.desapp.futbol.service.impl.TrendingServiceImpl;
+
+@Tag("unit")
+class TrendingServiceImplTest {
+
+    @Test
+    void shouldRankQueriesByCountInEveryWindow() {
+        // Arrange
+        TrendingServiceImpl trendingService = new TrendingServiceImpl(16, 10);
+        record(trendingService, SearchType.TEAM, "River Plate (Argentina)", 3);
+        record(trendingService, SearchType.PLAYER, "Lionel Messi", 5);
+        record(trendingService, SearchType.TEAM, "Boca Juniors (Argentina)", 1);
+
+        // Act
+        trendingService.refresh();
+
+        // Assert
+        for (TrendingWindow window : TrendingWindow.values()) {
+            assertThat(trendingService.findTrending(window, null, 10).block())
+                    .extracting(TrendingQuery::query, TrendingQuery::count)
+                    .containsExactly(
+                            tuple("lionel messi", 5L),
+                            tuple("river plate (argentina)", 3L),
+                            tuple("boca juniors (argentina)", 1L));
+        }
+    }
+
+    @Test
+    void shouldFilterByTypeAndLimitTheResult() {
+        // Arrange
+        TrendingServiceImpl trendingService = new TrendingServiceImpl(16, 10);
+        record(trendingService, SearchType.TEAM, "River Plate (Argentina)", 3);
+        record(trendingService, SearchType.TEAM, "Boca Juniors (Argentina)", 2);
+        record(trendingService, SearchType.PLAYER, "Lionel Messi", 5);
+        trendingService.refresh();
+
+        // Act
+        List<TrendingQuery> trending = trendingService.findTrending(TrendingWindow.LAST_HOUR, SearchType.TEAM, 1)
+                .block();
+
+        // Assert
+        assertThat(trending).extracting(TrendingQuery::query).containsExactly("river plate (argentina)");
+    }
+
+    @Test
+    void shouldKeepHeavyHittersWhenSketchIsFull() {
+        // Arrange
+        TrendingServiceImpl trendingService = new TrendingServiceImpl(2, 10);
+        record(trendingService, SearchType.PLAYER, "Lionel Messi", 5);
+        record(trendingService, SearchType.PLAYER, "Julian Alvarez", 3);
+        record(trendingService, SearchType.PLAYER, "Enzo Fernandez", 1);
+
+        // Act
+        trendingService.refresh();
+
+        // Assert - the newcomer evicts the smallest counter and inherits its count as error
+        assertThat(trendingService.findTrending(TrendingWindow.LAST_DAY, null, 10).block())
+                .extracting(TrendingQuery::query, TrendingQuery::count, TrendingQuery::error)
+                .containsExactly(
+                        tuple("lionel messi", 5L, 0L),
+                        tuple("enzo fernandez", 4L, 3L));
+    }
+
+    @Test
+    void shouldReturnEmptyBeforeFirstRefresh() {
+        // Arrange
+        TrendingServiceImpl trendingService = new TrendingServiceImpl(16, 10);
+        record(trendingService, SearchType.PLAYER, "Lionel Messi", 1);
+
+        // Act & Assert
+        assertThat(trendingService.findTrending(TrendingWindow.LAST_WEEK, null, 10).block()).isEmpty();
+    }
+
+    private void record(TrendingService trendingService, SearchType type, String query, int times) {
+        for (int i = 0; i < times; i++) {
+            trendingService.record(type, query);
+        }
+    }
+}
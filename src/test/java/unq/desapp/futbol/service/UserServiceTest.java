@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
@@ -17,9 +18,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.Tag;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import unq.desapp.futbol.model.Role;
 import unq.desapp.futbol.model.User;
+import unq.desapp.futbol.model.UserChangedEvent;
 import unq.desapp.futbol.service.impl.UserServiceImpl;
 import unq.desapp.futbol.repository.UserRepository;
 
@@ -34,11 +37,14 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private UserService userService;
 
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(userRepository, passwordEncoder);
+        userService = new UserServiceImpl(userRepository, passwordEncoder, eventPublisher);
     }
 
     @Test
@@ -180,6 +186,7 @@ class UserServiceTest {
             verify(passwordEncoder).encode("newpass");
             verify(userRepository).findByEmailIgnoreCase("new@example.com");
             verify(userRepository).save(any(User.class));
+            verify(eventPublisher).publishEvent(new UserChangedEvent("new@example.com"));
         }
 
         @Test
@@ -194,6 +201,7 @@ class UserServiceTest {
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessage("Email is already taken: user@example.com");
             verify(userRepository).findByEmailIgnoreCase("user@example.com");
+            verifyNoInteractions(eventPublisher);
         }
     }
 }